@@ -0,0 +1,199 @@
+package com.tomassirio.wanderer.commons.cache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Small in-process cache bounded both by entry count and by age.
+ *
+ * <p>Entries are kept in access order; once {@code maxEntries} is reached the least recently used
+ * entry is evicted. Every entry also carries an expiry instant (the default TTL, or an explicit one
+ * via {@link #put(Object, Object, Instant)}) after which it is treated as absent and dropped on the
+ * next read.
+ *
+ * <p>Hit, miss, put and eviction counts are tracked so callers can expose them as metrics. All
+ * operations are thread-safe; a single lock guards the underlying map, which is adequate for the
+ * read rates of the lookups this is used for (external API results, token checks, name lookups).
+ *
+ * <p>{@code null} values are not stored: {@link #get(Object)} returning {@code null} always means
+ * "not cached".
+ *
+ * <p>A caller that loads a value after a miss and caches it can race with an invalidation of the
+ * same key, leaving the stale value cached. Taking an {@link #invalidationStamp()} before loading
+ * and caching through {@link #putIfNotInvalidatedSince(Object, Object, long)} closes that race.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+public class BoundedCache<K, V> {
+
+    private final int maxEntries;
+    private final Duration ttl;
+    private final Clock clock;
+    private final LinkedHashMap<K, Entry<V>> entries;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong puts = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    // Bumped under the map lock by every invalidate and clear
+    private long invalidations;
+
+    public BoundedCache(int maxEntries, Duration ttl) {
+        this(maxEntries, ttl, Clock.systemUTC());
+    }
+
+    public BoundedCache(int maxEntries, Duration ttl, Clock clock) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+        if (ttl == null || ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("ttl must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.ttl = ttl;
+        this.clock = clock;
+        this.entries =
+                new LinkedHashMap<>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                        if (size() > BoundedCache.this.maxEntries) {
+                            evictions.incrementAndGet();
+                            return true;
+                        }
+                        return false;
+                    }
+                };
+    }
+
+    /**
+     * Returns the cached value for {@code key}, or {@code null} if it is absent or expired.
+     *
+     * @param key the cache key
+     * @return the cached value, or {@code null}
+     */
+    public V get(K key) {
+        long now = clock.millis();
+        synchronized (entries) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null && entry.expiresAtMillis > now) {
+                hits.incrementAndGet();
+                return entry.value;
+            }
+            if (entry != null) {
+                entries.remove(key);
+                evictions.incrementAndGet();
+            }
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Caches {@code value} under {@code key} using the default TTL. {@code null} values are
+     * ignored.
+     */
+    public void put(K key, V value) {
+        put(key, value, clock.instant().plus(ttl));
+    }
+
+    /**
+     * Caches {@code value} under {@code key} until {@code expiresAt}, or until the default TTL
+     * elapses if that comes first. {@code null} values and already-expired entries are ignored.
+     */
+    public void put(K key, V value, Instant expiresAt) {
+        if (value == null) {
+            return;
+        }
+        long now = clock.millis();
+        long expiresAtMillis = Math.min(expiresAt.toEpochMilli(), now + ttl.toMillis());
+        if (expiresAtMillis <= now) {
+            return;
+        }
+        synchronized (entries) {
+            entries.put(key, new Entry<>(value, expiresAtMillis));
+        }
+        puts.incrementAndGet();
+    }
+
+    /**
+     * Returns a stamp to pass to {@link #putIfNotInvalidatedSince(Object, Object, long)}, taken
+     * before loading the value to cache.
+     */
+    public long invalidationStamp() {
+        synchronized (entries) {
+            return invalidations;
+        }
+    }
+
+    /**
+     * Caches {@code value} under {@code key} using the default TTL, unless an entry was invalidated
+     * or the cache cleared since {@code stamp} was taken. Any invalidation counts, not only one of
+     * {@code key}, so a skipped put merely costs a later miss.
+     *
+     * @param key the cache key
+     * @param value the value loaded after taking {@code stamp}; {@code null} is ignored
+     * @param stamp a stamp from {@link #invalidationStamp()}
+     * @return {@code true} if the value was cached
+     */
+    public boolean putIfNotInvalidatedSince(K key, V value, long stamp) {
+        if (value == null) {
+            return false;
+        }
+        long expiresAtMillis = clock.millis() + ttl.toMillis();
+        synchronized (entries) {
+            if (invalidations != stamp) {
+                return false;
+            }
+            entries.put(key, new Entry<>(value, expiresAtMillis));
+        }
+        puts.incrementAndGet();
+        return true;
+    }
+
+    /** Removes the entry for {@code key}, if any. */
+    public void invalidate(K key) {
+        synchronized (entries) {
+            entries.remove(key);
+            invalidations++;
+        }
+    }
+
+    /** Removes every entry. Counters are left untouched. */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+            invalidations++;
+        }
+    }
+
+    /** Returns the number of entries currently held, including any not yet purged as expired. */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public long hitCount() {
+        return hits.get();
+    }
+
+    public long missCount() {
+        return misses.get();
+    }
+
+    public long putCount() {
+        return puts.get();
+    }
+
+    public long evictionCount() {
+        return evictions.get();
+    }
+
+    private record Entry<V>(V value, long expiresAtMillis) {}
+}
@@ -1,5 +1,6 @@
 package com.tomassirio.wanderer.commons.config;
 
+import com.tomassirio.wanderer.commons.constants.ApiConstants;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
@@ -20,6 +21,7 @@ public class CorsConfig implements WebMvcConfigurer {
                 .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS", "PATCH")
                 .allowedHeaders(
                         "Authorization", "Content-Type", "Accept", "Origin", "X-Requested-With")
+                .exposedHeaders(ApiConstants.NEXT_CURSOR_HEADER)
                 .allowCredentials(true)
                 .maxAge(3600);
         registry.addMapping("/auth/**")
@@ -139,6 +139,12 @@ public final class ApiConstants {
     public static final String TRIPS_AVAILABLE_ENDPOINT = ME_SUFFIX + "/available";
     public static final String TRIP_FROM_PLAN_ENDPOINT = "/from-plan/{tripPlanId}";
 
+    // Keyset pagination of trip listings: request parameters and the response header carrying
+    // the cursor of the next page (absent on the last page)
+    public static final String CURSOR_PARAM = "cursor";
+    public static final String LIMIT_PARAM = "limit";
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     // ============================================================
     // Promoted Trips endpoints
     // ============================================================
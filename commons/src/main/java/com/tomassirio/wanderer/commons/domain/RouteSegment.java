@@ -0,0 +1,48 @@
+package com.tomassirio.wanderer.commons.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotNull;
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entity representing a routed segment between two rounded locations, as previously returned by the
+ * directions provider.
+ *
+ * <p>Segments are keyed by the grid cells of their origin and destination plus the travel mode, so
+ * recomputing a polyline reuses segments that were already fetched instead of requesting them
+ * again.
+ *
+ * @since 0.9.5
+ */
+@Entity
+@Table(name = "route_segments")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RouteSegment {
+
+    @Id
+    @Column(name = "segment_key", length = 128)
+    @NotNull
+    private String segmentKey;
+
+    @NotNull
+    @Column(name = "encoded_polyline", nullable = false, columnDefinition = "TEXT")
+    private String encodedPolyline;
+
+    @NotNull
+    @Column(name = "point_count", nullable = false)
+    private Integer pointCount;
+
+    @NotNull
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+}
@@ -16,10 +16,16 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.SQLRestriction;
 
+/**
+ * A trip and its route. Updates only write the columns that changed, so flushing a trip loaded for
+ * a status or metadata change never writes back a polyline that was appended in the meantime.
+ */
 @Entity
 @Table(name = "trips")
+@DynamicUpdate
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -56,6 +62,11 @@ public class Trip implements Polylineable {
     @Column(name = "polyline_updated_at")
     private Instant polylineUpdatedAt;
 
+    /** Incremented on every polyline change, so clients applying appended suffixes spot gaps. */
+    @Builder.Default
+    @Column(name = "polyline_version", nullable = false)
+    private long polylineVersion = 0L;
+
     @NotNull
     @Column(name = "creation_timestamp", nullable = false)
     private Instant creationTimestamp;
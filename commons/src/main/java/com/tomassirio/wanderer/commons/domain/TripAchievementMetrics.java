@@ -0,0 +1,51 @@
+package com.tomassirio.wanderer.commons.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.validation.constraints.NotNull;
+import java.time.Instant;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Running per-trip aggregate used to evaluate trip achievements.
+ *
+ * <p>Each new trip update adjusts the aggregate in constant time (one more update, one more hop of
+ * distance from the last located point), so evaluating achievements does not reload the trip's
+ * history.
+ *
+ * @since 0.9.5
+ */
+@Entity
+@Table(name = "trip_achievement_metrics")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TripAchievementMetrics {
+
+    @Id
+    @Column(name = "trip_id")
+    @NotNull
+    private UUID tripId;
+
+    @Column(name = "update_count", nullable = false)
+    private long updateCount;
+
+    @Column(name = "distance_km", nullable = false)
+    private double distanceKm;
+
+    @Column(name = "last_lat")
+    private Double lastLat;
+
+    @Column(name = "last_lon")
+    private Double lastLon;
+
+    @Column(name = "last_update_timestamp")
+    private Instant lastUpdateTimestamp;
+}
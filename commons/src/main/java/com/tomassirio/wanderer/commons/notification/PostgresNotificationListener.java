@@ -0,0 +1,161 @@
+package com.tomassirio.wanderer.commons.notification;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+
+/**
+ * Listens on a PostgreSQL notification channel from a virtual thread and hands every payload to a
+ * {@link Handler}. wanderer-command relays WebSocket broadcasts between nodes through it and
+ * wanderer-query receives the {@link ReadModelChange} notifications with it.
+ *
+ * <p>The listener borrows one connection from the application's pool for as long as it runs, so
+ * it shares the pool's settings and counts against its size, and it reconnects after the
+ * configured delay whenever that connection is lost. The connection is returned with {@code
+ * UNLISTEN *}, so no other borrower receives the channel's notifications. Notifications sent while
+ * the listener is disconnected are lost, which is why the handler is told each time the listener
+ * (re)connects.
+ *
+ * <p>LISTEN does not take bind parameters, so the channel is checked against {@link
+ * #CHANNEL_PATTERN} up front and quoted in the statement.
+ *
+ * @since 0.9.5
+ */
+@Slf4j
+public class PostgresNotificationListener {
+
+    /** Channels accepted: lower-case unquoted PostgreSQL identifiers of at most 63 bytes. */
+    public static final Pattern CHANNEL_PATTERN = Pattern.compile("[a-z_][a-z0-9_]{0,62}");
+
+    /** Receives what happens on the channel. Called from the listener thread only. */
+    @FunctionalInterface
+    public interface Handler {
+
+        /** Called once LISTEN succeeded, after every (re)connect. */
+        default void connected() {}
+
+        /**
+         * Handles one notification. An exception is logged and does not stop the listener.
+         *
+         * @param payload the notification payload
+         */
+        void receive(String payload);
+    }
+
+    private final String name;
+    private final String channel;
+    private final DataSource dataSource;
+    private final Duration pollTimeout;
+    private final Duration reconnectDelay;
+    private final Handler handler;
+
+    private final CountDownLatch stopped = new CountDownLatch(1);
+
+    private volatile boolean running;
+    private Thread thread;
+
+    /**
+     * @param name the listener thread's name, also used in log messages
+     * @param channel the channel to LISTEN on; must match {@link #CHANNEL_PATTERN}
+     * @param dataSource the pool the listener's connection is borrowed from
+     * @param pollTimeout how long to wait for notifications before checking whether to stop
+     * @param reconnectDelay how long to wait before reconnecting after the connection was lost
+     * @param handler receives the notifications
+     * @throws IllegalArgumentException if {@code channel} is not a valid channel name
+     */
+    public PostgresNotificationListener(
+            String name,
+            String channel,
+            DataSource dataSource,
+            Duration pollTimeout,
+            Duration reconnectDelay,
+            Handler handler) {
+        if (channel == null || !CHANNEL_PATTERN.matcher(channel).matches()) {
+            throw new IllegalArgumentException("Invalid notification channel: " + channel);
+        }
+        this.name = name;
+        this.channel = channel;
+        this.dataSource = dataSource;
+        this.pollTimeout = pollTimeout;
+        this.reconnectDelay = reconnectDelay;
+        this.handler = handler;
+    }
+
+    /** Starts listening in the background. */
+    public void start() {
+        running = true;
+        thread = Thread.ofVirtual().name(name).start(this::listen);
+    }
+
+    /**
+     * Stops listening and waits for the listener thread to release its connection. The thread is
+     * not interrupted, as interrupting a virtual thread blocked on a socket closes it; it notices
+     * within one poll timeout instead.
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void stop() throws InterruptedException {
+        running = false;
+        stopped.countDown();
+        if (thread != null) {
+            thread.join(pollTimeout.toMillis() + 1000);
+        }
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = dataSource.getConnection();
+                    Statement statement = connection.createStatement()) {
+                statement.execute("LISTEN \"" + channel + '"');
+                try {
+                    handler.connected();
+                    poll(connection.unwrap(PGConnection.class));
+                } finally {
+                    statement.execute("UNLISTEN *");
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn(
+                        "{} lost its connection, reconnecting in {}: {}",
+                        name,
+                        reconnectDelay,
+                        e.getMessage());
+                try {
+                    if (stopped.await(reconnectDelay.toMillis(), TimeUnit.MILLISECONDS)) {
+                        return;
+                    }
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void poll(PGConnection connection) throws SQLException {
+        int timeoutMillis = (int) pollTimeout.toMillis();
+        while (running) {
+            PGNotification[] notifications = connection.getNotifications(timeoutMillis);
+            if (notifications == null) {
+                continue;
+            }
+            for (PGNotification notification : notifications) {
+                try {
+                    handler.receive(notification.getParameter());
+                } catch (RuntimeException e) {
+                    log.error("{} failed to handle a notification", name, e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.tomassirio.wanderer.commons.notification;
+
+import java.util.UUID;
+
+/**
+ * A change made by wanderer-command that read-side caches in wanderer-query need to hear about.
+ *
+ * <p>Changes are sent as PostgreSQL notifications on {@link #CHANNEL} from inside the transaction
+ * that made them, so they are only delivered once that transaction commits. The payload is the
+ * change type and the id of the affected row, separated by a colon.
+ *
+ * @param type what kind of row changed
+ * @param id id of the row that changed
+ * @since 0.9.5
+ */
+public record ReadModelChange(Type type, UUID id) {
+
+    /** PostgreSQL notification channel shared by wanderer-command and wanderer-query. */
+    public static final String CHANNEL = "wanderer_read_model";
+
+    private static final char SEPARATOR = ':';
+
+    /** Kinds of read model changes. */
+    public enum Type {
+        /** A user was created or deleted; {@code id} is the user id. */
+        USER,
+        /**
+         * A trip was created or deleted, or its status or visibility changed; {@code id} is the
+         * trip id.
+         */
+        TRIP,
+        /** A user followed or unfollowed someone; {@code id} is the follower's id. */
+        FOLLOW
+    }
+
+    public static ReadModelChange user(UUID userId) {
+        return new ReadModelChange(Type.USER, userId);
+    }
+
+    public static ReadModelChange trip(UUID tripId) {
+        return new ReadModelChange(Type.TRIP, tripId);
+    }
+
+    public static ReadModelChange follow(UUID followerId) {
+        return new ReadModelChange(Type.FOLLOW, followerId);
+    }
+
+    /** Returns the notification payload for this change. */
+    public String encode() {
+        return type.name() + SEPARATOR + id;
+    }
+
+    /**
+     * Parses a notification payload written by {@link #encode()}.
+     *
+     * @param payload the notification payload
+     * @return the decoded change
+     * @throws IllegalArgumentException if the payload is malformed or of an unknown type
+     */
+    public static ReadModelChange decode(String payload) {
+        int separator = payload.indexOf(SEPARATOR);
+        if (separator < 0) {
+            throw new IllegalArgumentException("Malformed read model change: " + payload);
+        }
+        return new ReadModelChange(
+                Type.valueOf(payload.substring(0, separator)),
+                UUID.fromString(payload.substring(separator + 1)));
+    }
+}
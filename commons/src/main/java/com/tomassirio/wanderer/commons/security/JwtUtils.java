@@ -2,16 +2,24 @@ package com.tomassirio.wanderer.commons.security;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tomassirio.wanderer.commons.cache.BoundedCache;
 import io.jsonwebtoken.SignatureAlgorithm;
 import java.nio.charset.StandardCharsets;
 import java.security.InvalidKeyException;
+import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Base64;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import javax.crypto.Mac;
 import javax.crypto.spec.SecretKeySpec;
 import org.springframework.beans.factory.annotation.Value;
@@ -19,36 +27,131 @@ import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 import org.springframework.web.server.ResponseStatusException;
 
+/**
+ * Verifies HS256 JWTs signed with {@code jwt.secret} and reads their claims.
+ *
+ * <p>Verified tokens are cached until they expire (their {@code exp} plus the allowed clock skew),
+ * so the REST calls and WebSocket handshakes of a session only pay for the HMAC and the JSON parse
+ * once per token. The cache is keyed by the whole token, so a hit is only possible for a token that
+ * was verified byte for byte; failures are never cached. Initialised {@link Mac} instances are
+ * pooled rather than created per call.
+ */
 @Component
 public class JwtUtils {
 
+    /** Maximum number of verified tokens kept. */
+    static final int CACHE_MAX_ENTRIES = 10_000;
+
+    /** How long a verified token without {@code exp} is kept. */
+    static final Duration CACHE_TTL = Duration.ofMinutes(15);
+
+    /** Same leeway as Spring Security's JWT timestamp validator. */
+    static final Duration ALLOWED_CLOCK_SKEW = Duration.ofSeconds(60);
+
+    private static final String ALGORITHM = SignatureAlgorithm.HS256.getJcaName();
+
     @Value("${jwt.secret}")
     private String secret;
 
     private final ObjectMapper mapper = new ObjectMapper();
+    private final Clock clock;
+    private final BoundedCache<String, VerifiedToken> verifiedTokens;
+    // initialised Macs, reused across calls; a Mac is not thread-safe so each is used by one caller
+    private final Queue<Mac> macs = new ConcurrentLinkedQueue<>();
 
-    public Map<String, Object> parsePayload(String token) {
+    public JwtUtils() {
+        this(Clock.systemUTC());
+    }
+
+    JwtUtils(Clock clock) {
+        this.clock = clock;
+        this.verifiedTokens = new BoundedCache<>(CACHE_MAX_ENTRIES, CACHE_TTL, clock);
+    }
+
+    /**
+     * Claims of a verified token, with the subject and roles already extracted.
+     *
+     * @param claims the token payload (unmodifiable)
+     * @param subject the {@code sub}, {@code userId} or {@code user_id} claim, or {@code null}
+     * @param roles the roles from {@link #getRolesFromClaims(Map)}
+     */
+    public record VerifiedToken(Map<String, Object> claims, String subject, List<String> roles) {}
+
+    /**
+     * Verifies a token and returns its claims, from the cache when it was verified before.
+     *
+     * @param token the compact JWT
+     * @return the verified token
+     * @throws ResponseStatusException with 401 if the token is missing, malformed, badly signed or
+     *     expired
+     */
+    public VerifiedToken verify(String token) {
         if (token == null || token.isBlank()) {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Missing token");
         }
-        String[] parts = token.split("\\.");
-        if (parts.length != 3) {
+        VerifiedToken cached = verifiedTokens.get(token);
+        if (cached != null) {
+            return cached;
+        }
+
+        int firstDot = token.indexOf('.');
+        int secondDot = firstDot < 0 ? -1 : token.indexOf('.', firstDot + 1);
+        if (secondDot < 0 || token.indexOf('.', secondDot + 1) >= 0) {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Malformed JWT token");
         }
-        String headerB64 = parts[0];
-        String payloadB64 = parts[1];
-        String signatureB64 = parts[2];
 
-        if (!verifySignature(headerB64, payloadB64, signatureB64)) {
+        if (!verifySignature(token, secondDot)) {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid JWT signature");
         }
 
+        Map<String, Object> claims;
         try {
-            String payloadJson = base64UrlDecodeToString(payloadB64);
-            return mapper.readValue(payloadJson, new TypeReference<>() {});
+            String payloadJson = base64UrlDecodeToString(token.substring(firstDot + 1, secondDot));
+            claims = mapper.readValue(payloadJson, new TypeReference<>() {});
         } catch (Exception ex) {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid JWT payload", ex);
         }
+
+        Instant expiresAt = expiresAt(claims);
+        if (expiresAt != null && !clock.instant().isBefore(expiresAt)) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "JWT token has expired");
+        }
+
+        VerifiedToken verified =
+                new VerifiedToken(
+                        Collections.unmodifiableMap(claims),
+                        subjectOf(claims),
+                        List.copyOf(getRolesFromClaims(claims)));
+        if (expiresAt != null) {
+            verifiedTokens.put(token, verified, expiresAt);
+        } else {
+            verifiedTokens.put(token, verified);
+        }
+        return verified;
+    }
+
+    public Map<String, Object> parsePayload(String token) {
+        return verify(token).claims();
+    }
+
+    /**
+     * Returns the user ID of a token's subject.
+     *
+     * @param token the compact JWT
+     * @return the user ID
+     * @throws ResponseStatusException with 401 if the token is invalid or has no valid subject
+     */
+    public UUID getUserId(String token) {
+        String sub = verify(token).subject();
+        if (sub == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Token missing subject");
+        }
+        try {
+            return UUID.fromString(sub);
+        } catch (Exception ex) {
+            throw new ResponseStatusException(
+                    HttpStatus.UNAUTHORIZED, "Invalid user id in token", ex);
+        }
     }
 
     public UUID getUserIdFromAuthorizationHeader(String authorizationHeader) {
@@ -61,22 +164,7 @@ public class JwtUtils {
                 authorizationHeader.startsWith(prefix)
                         ? authorizationHeader.substring(prefix.length())
                         : authorizationHeader;
-        Map<String, Object> payload = parsePayload(token);
-        Object sub = payload.get("sub");
-        if (sub == null) {
-            // some tokens put subject in "userId" or similar; try "user_id" or "userId"
-            sub = payload.get("userId");
-            if (sub == null) sub = payload.get("user_id");
-        }
-        if (sub == null) {
-            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Token missing subject");
-        }
-        try {
-            return UUID.fromString(sub.toString());
-        } catch (Exception ex) {
-            throw new ResponseStatusException(
-                    HttpStatus.UNAUTHORIZED, "Invalid user id in token", ex);
-        }
+        return getUserId(token);
     }
 
     public List<String> getRolesFromClaims(Map<String, Object> claims) {
@@ -97,6 +185,24 @@ public class JwtUtils {
         return roles;
     }
 
+    private static String subjectOf(Map<String, Object> claims) {
+        Object sub = claims.get("sub");
+        if (sub == null) {
+            // some tokens put subject in "userId" or similar; try "user_id" or "userId"
+            sub = claims.get("userId");
+            if (sub == null) sub = claims.get("user_id");
+        }
+        return sub != null ? sub.toString() : null;
+    }
+
+    /** Returns when the token stops being accepted, or null if it has no numeric exp claim. */
+    private static Instant expiresAt(Map<String, Object> claims) {
+        if (claims.get("exp") instanceof Number exp) {
+            return Instant.ofEpochSecond(exp.longValue()).plus(ALLOWED_CLOCK_SKEW);
+        }
+        return null;
+    }
+
     private static String base64UrlDecodeToString(String input) {
         return new String(Base64.getUrlDecoder().decode(padBase64(input)), StandardCharsets.UTF_8);
     }
@@ -113,29 +219,35 @@ public class JwtUtils {
         return s;
     }
 
-    private boolean verifySignature(String headerB64, String payloadB64, String signatureB64) {
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM));
+            return mac;
+        } catch (NoSuchAlgorithmException | InvalidKeyException ex) {
+            throw new IllegalStateException("Cannot initialise " + ALGORITHM, ex);
+        }
+    }
+
+    /** Checks the signature of {@code token}, whose signature starts after {@code secondDot}. */
+    private boolean verifySignature(String token, int secondDot) {
         if (secret == null || secret.isBlank()) {
             // if no secret configured, don't verify (environment may choose to provide it)
             return true;
         }
+        Mac mac = macs.poll();
+        if (mac == null) {
+            mac = newMac();
+        }
         try {
-            String data = headerB64 + "." + payloadB64;
-            Mac mac = Mac.getInstance(SignatureAlgorithm.HS256.getJcaName());
-            SecretKeySpec keySpec =
-                    new SecretKeySpec(
-                            secret.getBytes(StandardCharsets.UTF_8),
-                            SignatureAlgorithm.HS256.getJcaName());
-            mac.init(keySpec);
-            byte[] computed = mac.doFinal(data.getBytes(StandardCharsets.US_ASCII));
-            byte[] provided = base64UrlDecode(signatureB64);
-            if (computed.length != provided.length) return false;
-            int diff = 0;
-            for (int i = 0; i < computed.length; i++) {
-                diff |= computed[i] ^ provided[i];
-            }
-            return diff == 0;
-        } catch (NoSuchAlgorithmException | InvalidKeyException | IllegalArgumentException ex) {
+            mac.update(token.getBytes(StandardCharsets.US_ASCII), 0, secondDot);
+            byte[] computed = mac.doFinal();
+            byte[] provided = base64UrlDecode(token.substring(secondDot + 1));
+            return MessageDigest.isEqual(computed, provided);
+        } catch (IllegalArgumentException ex) {
             return false;
+        } finally {
+            macs.offer(mac);
         }
     }
 }
@@ -0,0 +1,172 @@
+package com.tomassirio.wanderer.commons.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BoundedCacheTest {
+
+    private MutableClock clock;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+    }
+
+    @Test
+    void get_whenAbsent_shouldReturnNullAndCountMiss() {
+        BoundedCache<String, String> cache = new BoundedCache<>(10, Duration.ofMinutes(1), clock);
+
+        assertThat(cache.get("missing")).isNull();
+        assertThat(cache.missCount()).isEqualTo(1);
+        assertThat(cache.hitCount()).isZero();
+    }
+
+    @Test
+    void get_whenPresent_shouldReturnValueAndCountHit() {
+        BoundedCache<String, String> cache = new BoundedCache<>(10, Duration.ofMinutes(1), clock);
+        cache.put("a", "alpha");
+
+        assertThat(cache.get("a")).isEqualTo("alpha");
+        assertThat(cache.hitCount()).isEqualTo(1);
+        assertThat(cache.putCount()).isEqualTo(1);
+    }
+
+    @Test
+    void get_whenTtlElapsed_shouldReturnNullAndDropEntry() {
+        BoundedCache<String, String> cache = new BoundedCache<>(10, Duration.ofMinutes(1), clock);
+        cache.put("a", "alpha");
+
+        clock.advance(Duration.ofMinutes(1));
+
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.size()).isZero();
+        assertThat(cache.evictionCount()).isEqualTo(1);
+    }
+
+    @Test
+    void put_withExplicitExpiry_shouldExpireAtGivenInstant() {
+        BoundedCache<String, String> cache = new BoundedCache<>(10, Duration.ofHours(1), clock);
+        cache.put("a", "alpha", clock.instant().plusSeconds(30));
+
+        clock.advance(Duration.ofSeconds(29));
+        assertThat(cache.get("a")).isEqualTo("alpha");
+
+        clock.advance(Duration.ofSeconds(1));
+        assertThat(cache.get("a")).isNull();
+    }
+
+    @Test
+    void put_withExpiryBeyondTtl_shouldBeCappedByTtl() {
+        BoundedCache<String, String> cache = new BoundedCache<>(10, Duration.ofMinutes(1), clock);
+        cache.put("a", "alpha", clock.instant().plus(Duration.ofDays(1)));
+
+        clock.advance(Duration.ofMinutes(1));
+
+        assertThat(cache.get("a")).isNull();
+    }
+
+    @Test
+    void put_whenValueIsNull_shouldNotCache() {
+        BoundedCache<String, String> cache = new BoundedCache<>(10, Duration.ofMinutes(1), clock);
+        cache.put("a", null);
+
+        assertThat(cache.size()).isZero();
+        assertThat(cache.putCount()).isZero();
+    }
+
+    @Test
+    void put_whenFull_shouldEvictLeastRecentlyUsed() {
+        BoundedCache<String, String> cache = new BoundedCache<>(2, Duration.ofMinutes(1), clock);
+        cache.put("a", "alpha");
+        cache.put("b", "beta");
+        cache.get("a");
+
+        cache.put("c", "gamma");
+
+        assertThat(cache.get("a")).isEqualTo("alpha");
+        assertThat(cache.get("b")).isNull();
+        assertThat(cache.get("c")).isEqualTo("gamma");
+        assertThat(cache.evictionCount()).isEqualTo(1);
+    }
+
+    @Test
+    void invalidate_shouldRemoveEntry() {
+        BoundedCache<String, String> cache = new BoundedCache<>(10, Duration.ofMinutes(1), clock);
+        cache.put("a", "alpha");
+
+        cache.invalidate("a");
+
+        assertThat(cache.get("a")).isNull();
+    }
+
+    @Test
+    void putIfNotInvalidatedSince_whenNothingInvalidated_shouldCache() {
+        BoundedCache<String, String> cache = new BoundedCache<>(10, Duration.ofMinutes(1), clock);
+        long stamp = cache.invalidationStamp();
+
+        assertThat(cache.putIfNotInvalidatedSince("a", "alpha", stamp)).isTrue();
+        assertThat(cache.get("a")).isEqualTo("alpha");
+    }
+
+    @Test
+    void putIfNotInvalidatedSince_whenInvalidatedAfterStamp_shouldNotCache() {
+        BoundedCache<String, String> cache = new BoundedCache<>(10, Duration.ofMinutes(1), clock);
+        long stamp = cache.invalidationStamp();
+
+        cache.invalidate("a");
+
+        assertThat(cache.putIfNotInvalidatedSince("a", "stale", stamp)).isFalse();
+        assertThat(cache.get("a")).isNull();
+    }
+
+    @Test
+    void putIfNotInvalidatedSince_whenClearedAfterStamp_shouldNotCache() {
+        BoundedCache<String, String> cache = new BoundedCache<>(10, Duration.ofMinutes(1), clock);
+        long stamp = cache.invalidationStamp();
+
+        cache.clear();
+
+        assertThat(cache.putIfNotInvalidatedSince("a", "stale", stamp)).isFalse();
+        assertThat(cache.putCount()).isZero();
+    }
+
+    @Test
+    void constructor_whenMaxEntriesNotPositive_shouldThrow() {
+        assertThatThrownBy(() -> new BoundedCache<String, String>(0, Duration.ofMinutes(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.tomassirio.wanderer.commons.notification;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.postgresql.ds.PGSimpleDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+@Testcontainers
+class PostgresNotificationListenerTest {
+
+    private static final String CHANNEL = "listener_test";
+
+    @Container
+    static PostgreSQLContainer<?> postgres =
+            new PostgreSQLContainer<>("postgres:15-alpine")
+                    .withDatabaseName("wanderer_test")
+                    .withUsername("test")
+                    .withPassword("test");
+
+    private final BlockingQueue<String> received = new LinkedBlockingQueue<>();
+    private final CountDownLatch connected = new CountDownLatch(1);
+
+    private final PGSimpleDataSource dataSource = new PGSimpleDataSource();
+
+    private PostgresNotificationListener listener;
+
+    @BeforeEach
+    void setUp() {
+        dataSource.setUrl(postgres.getJdbcUrl());
+        dataSource.setUser(postgres.getUsername());
+        dataSource.setPassword(postgres.getPassword());
+        listener =
+                new PostgresNotificationListener(
+                        "test-listener",
+                        CHANNEL,
+                        dataSource,
+                        Duration.ofMillis(100),
+                        Duration.ofMillis(100),
+                        new PostgresNotificationListener.Handler() {
+                            @Override
+                            public void connected() {
+                                connected.countDown();
+                            }
+
+                            @Override
+                            public void receive(String payload) {
+                                if (payload.equals("fail")) {
+                                    throw new IllegalStateException("handler failure");
+                                }
+                                received.add(payload);
+                            }
+                        });
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        listener.stop();
+    }
+
+    @Test
+    void start_shouldHandNotificationsToHandlerInOrder() throws Exception {
+        // Given
+        listener.start();
+        assertThat(connected.await(10, TimeUnit.SECONDS)).isTrue();
+
+        // When
+        notify("first");
+        notify("second");
+
+        // Then
+        assertThat(received.poll(10, TimeUnit.SECONDS)).isEqualTo("first");
+        assertThat(received.poll(10, TimeUnit.SECONDS)).isEqualTo("second");
+    }
+
+    @Test
+    void start_whenHandlerThrows_shouldKeepListening() throws Exception {
+        // Given
+        listener.start();
+        assertThat(connected.await(10, TimeUnit.SECONDS)).isTrue();
+
+        // When
+        notify("fail");
+        notify("after");
+
+        // Then
+        assertThat(received.poll(10, TimeUnit.SECONDS)).isEqualTo("after");
+    }
+
+    @Test
+    void stop_shouldUnlistenBeforeReturningConnectionToPool() throws Exception {
+        // Given — a pool whose connection outlives the listener's close
+        try (Connection pooled = dataSource.getConnection()) {
+            DataSource pool = mock(DataSource.class);
+            when(pool.getConnection()).thenReturn(unclosable(pooled));
+            CountDownLatch pooledConnected = new CountDownLatch(1);
+            PostgresNotificationListener pooledListener =
+                    new PostgresNotificationListener(
+                            "pooled-listener",
+                            CHANNEL,
+                            pool,
+                            Duration.ofMillis(100),
+                            Duration.ofMillis(100),
+                            new PostgresNotificationListener.Handler() {
+                                @Override
+                                public void connected() {
+                                    pooledConnected.countDown();
+                                }
+
+                                @Override
+                                public void receive(String payload) {}
+                            });
+            pooledListener.start();
+            assertThat(pooledConnected.await(10, TimeUnit.SECONDS)).isTrue();
+
+            // When
+            pooledListener.stop();
+            notify("after stop");
+
+            // Then
+            PGNotification[] notifications =
+                    pooled.unwrap(PGConnection.class).getNotifications(500);
+            assertThat(notifications).isNullOrEmpty();
+        }
+    }
+
+    @Test
+    void constructor_whenChannelIsNotAnIdentifier_shouldThrow() {
+        assertThatThrownBy(
+                        () ->
+                                new PostgresNotificationListener(
+                                        "test-listener",
+                                        "x; DROP TABLE trips",
+                                        dataSource,
+                                        Duration.ofMillis(100),
+                                        Duration.ofMillis(100),
+                                        payload -> {}))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void notify(String payload) throws Exception {
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement =
+                        connection.prepareStatement("SELECT pg_notify(?, ?)")) {
+            statement.setString(1, CHANNEL);
+            statement.setString(2, payload);
+            statement.execute();
+        }
+    }
+
+    private static Connection unclosable(Connection connection) {
+        return (Connection)
+                Proxy.newProxyInstance(
+                        Connection.class.getClassLoader(),
+                        new Class<?>[] {Connection.class},
+                        (proxy, method, args) -> {
+                            if (method.getName().equals("close")) {
+                                return null;
+                            }
+                            try {
+                                return method.invoke(connection, args);
+                            } catch (InvocationTargetException e) {
+                                throw e.getCause();
+                            }
+                        });
+    }
+}
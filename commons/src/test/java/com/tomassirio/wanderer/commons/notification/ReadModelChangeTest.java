@@ -0,0 +1,58 @@
+package com.tomassirio.wanderer.commons.notification;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class ReadModelChangeTest {
+
+    @Test
+    void decode_shouldReverseEncode() {
+        // Given
+        ReadModelChange change = ReadModelChange.user(UUID.randomUUID());
+
+        // When
+        ReadModelChange decoded = ReadModelChange.decode(change.encode());
+
+        // Then
+        assertThat(decoded).isEqualTo(change);
+    }
+
+    @Test
+    void decode_shouldReverseEncodeForEveryType() {
+        // Given
+        UUID id = UUID.randomUUID();
+
+        // When & Then
+        assertThat(ReadModelChange.decode(ReadModelChange.trip(id).encode()))
+                .isEqualTo(new ReadModelChange(ReadModelChange.Type.TRIP, id));
+        assertThat(ReadModelChange.decode(ReadModelChange.follow(id).encode()))
+                .isEqualTo(new ReadModelChange(ReadModelChange.Type.FOLLOW, id));
+    }
+
+    @Test
+    void encode_shouldWriteTypeAndId() {
+        // Given
+        UUID userId = UUID.fromString("00000000-0000-0000-0000-000000000001");
+
+        // When
+        String payload = ReadModelChange.user(userId).encode();
+
+        // Then
+        assertThat(payload).isEqualTo("USER:00000000-0000-0000-0000-000000000001");
+    }
+
+    @Test
+    void decode_whenSeparatorMissing_shouldThrow() {
+        assertThatThrownBy(() -> ReadModelChange.decode("USER"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void decode_whenTypeUnknown_shouldThrow() {
+        assertThatThrownBy(() -> ReadModelChange.decode("PLANET:" + UUID.randomUUID()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
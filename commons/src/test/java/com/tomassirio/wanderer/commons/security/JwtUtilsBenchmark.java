@@ -0,0 +1,122 @@
+package com.tomassirio.wanderer.commons.security;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * JMH benchmark of {@link JwtUtils} token verification.
+ *
+ * <p>{@code cold} cycles through more distinct tokens than the verification cache holds, so every
+ * call verifies the signature and parses the payload; {@code warm} verifies the same token again,
+ * as every request of a session does. {@code uncached} repeats the previous implementation (a new
+ * {@link Mac} per call, regex split and full parse) for comparison.
+ *
+ * <p>Run with (after {@code mvn install -pl commons -DskipTests}):
+ *
+ * <pre>{@code
+ * mvn -pl commons test-compile exec:exec -Dexec.classpathScope=test \
+ *     -Dexec.executable=java \
+ *     -Dexec.args="-cp %classpath org.openjdk.jmh.Main JwtUtilsBenchmark"
+ * }</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class JwtUtilsBenchmark {
+
+    private static final String SECRET = "0123456789ABCDEF0123456789ABCDEF";
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private JwtUtils jwtUtils;
+    private String[] tokens;
+    private String token;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Setup
+    public void setUp() throws Exception {
+        jwtUtils = new JwtUtils();
+        ReflectionTestUtils.setField(jwtUtils, "secret", SECRET);
+        tokens = new String[JwtUtils.CACHE_MAX_ENTRIES * 2];
+        for (int i = 0; i < tokens.length; i++) {
+            tokens[i] = token();
+        }
+        token = token();
+    }
+
+    @Benchmark
+    public JwtUtils.VerifiedToken cold(Cursor cursor) {
+        cursor.next = (cursor.next + 1) % tokens.length;
+        return jwtUtils.verify(tokens[cursor.next]);
+    }
+
+    @Benchmark
+    public JwtUtils.VerifiedToken warm() {
+        return jwtUtils.verify(token);
+    }
+
+    @Benchmark
+    public Map<String, Object> uncached() throws Exception {
+        String[] parts = token.split("\\.");
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        byte[] computed =
+                mac.doFinal((parts[0] + "." + parts[1]).getBytes(StandardCharsets.US_ASCII));
+        if (!java.security.MessageDigest.isEqual(
+                computed, Base64.getUrlDecoder().decode(parts[2]))) {
+            throw new IllegalStateException("Invalid signature");
+        }
+        String payload =
+                new String(Base64.getUrlDecoder().decode(parts[1]), StandardCharsets.UTF_8);
+        return mapper.readValue(payload, new TypeReference<>() {});
+    }
+
+    private String token() throws Exception {
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        String header =
+                encoder.encodeToString(
+                        "{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8));
+        Map<String, Object> claims =
+                Map.of(
+                        "sub", UUID.randomUUID().toString(),
+                        "roles", List.of("USER"),
+                        "iat", Instant.now().getEpochSecond(),
+                        "exp", Instant.now().plusSeconds(3600).getEpochSecond());
+        String payload = encoder.encodeToString(mapper.writeValueAsBytes(claims));
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        String signature =
+                encoder.encodeToString(
+                        mac.doFinal((header + "." + payload).getBytes(StandardCharsets.US_ASCII)));
+        return header + "." + payload + "." + signature;
+    }
+}
@@ -4,12 +4,17 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.util.Base64;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
 import javax.crypto.Mac;
 import javax.crypto.spec.SecretKeySpec;
 import org.junit.jupiter.api.BeforeEach;
@@ -349,6 +354,102 @@ class JwtUtilsTest {
         assertTrue(roles.contains("ADMIN"));
     }
 
+    @Test
+    void verify_shouldExtractSubjectAndRoles() throws Exception {
+        // Given
+        UUID userId = UUID.randomUUID();
+        String token = createValidToken(Map.of("sub", userId.toString(), "roles", "USER,ADMIN"));
+
+        // When
+        JwtUtils.VerifiedToken verified = jwtUtils.verify(token);
+
+        // Then
+        assertEquals(userId.toString(), verified.subject());
+        assertEquals(List.of("USER", "ADMIN"), verified.roles());
+        assertEquals(userId, jwtUtils.getUserId(token));
+    }
+
+    @Test
+    void verify_shouldReuseVerificationOfSameToken() throws Exception {
+        // Given
+        String token = createValidToken(Map.of("sub", UUID.randomUUID().toString()));
+
+        // When
+        JwtUtils.VerifiedToken first = jwtUtils.verify(token);
+        JwtUtils.VerifiedToken second = jwtUtils.verify(token);
+
+        // Then
+        assertSame(first, second);
+    }
+
+    @Test
+    void verify_shouldNotReuseVerificationForTamperedToken() throws Exception {
+        // Given
+        String token = createValidToken(Map.of("sub", UUID.randomUUID().toString()));
+        jwtUtils.verify(token);
+        String tampered = token.substring(0, token.length() - 2) + "AA";
+
+        // When & Then
+        ResponseStatusException exception =
+                assertThrows(ResponseStatusException.class, () -> jwtUtils.verify(tampered));
+        assertTrue(Objects.requireNonNull(exception.getReason()).contains("Invalid JWT signature"));
+    }
+
+    @Test
+    void verify_shouldRejectTokenWithExtraSegment() throws Exception {
+        // Given
+        String token = createValidToken(Map.of("sub", UUID.randomUUID().toString())) + ".extra";
+
+        // When & Then
+        ResponseStatusException exception =
+                assertThrows(ResponseStatusException.class, () -> jwtUtils.verify(token));
+        assertTrue(Objects.requireNonNull(exception.getReason()).contains("Malformed JWT token"));
+    }
+
+    @Test
+    void verify_shouldRejectExpiredToken() throws Exception {
+        // Given
+        long exp = Instant.now().minusSeconds(120).getEpochSecond();
+        String token = createValidToken(Map.of("sub", UUID.randomUUID().toString(), "exp", exp));
+
+        // When & Then
+        ResponseStatusException exception =
+                assertThrows(ResponseStatusException.class, () -> jwtUtils.verify(token));
+        assertEquals(HttpStatus.UNAUTHORIZED, exception.getStatusCode());
+        assertTrue(Objects.requireNonNull(exception.getReason()).contains("expired"));
+    }
+
+    @Test
+    void verify_shouldAcceptTokenExpiredWithinClockSkew() throws Exception {
+        // Given
+        long exp = Instant.now().minusSeconds(30).getEpochSecond();
+        String token = createValidToken(Map.of("sub", UUID.randomUUID().toString(), "exp", exp));
+
+        // When
+        JwtUtils.VerifiedToken verified = jwtUtils.verify(token);
+
+        // Then
+        assertNotNull(verified);
+    }
+
+    @Test
+    void verify_cachedToken_shouldBeRejectedOnceExpired() throws Exception {
+        // Given
+        Instant now = Instant.parse("2026-01-01T00:00:00Z");
+        AtomicReference<Instant> time = new AtomicReference<>(now);
+        JwtUtils clockedJwtUtils = new JwtUtils(new SettableClock(time));
+        ReflectionTestUtils.setField(clockedJwtUtils, "secret", TEST_SECRET);
+        long exp = now.plusSeconds(60).getEpochSecond();
+        String token = createValidToken(Map.of("sub", UUID.randomUUID().toString(), "exp", exp));
+        clockedJwtUtils.verify(token);
+
+        // When
+        time.set(now.plus(JwtUtils.ALLOWED_CLOCK_SKEW).plusSeconds(61));
+
+        // Then
+        assertThrows(ResponseStatusException.class, () -> clockedJwtUtils.verify(token));
+    }
+
     // Helper methods
     private String createValidToken(Map<String, Object> payload) throws Exception {
         String header = "{\"alg\":\"HS256\",\"typ\":\"JWT\"}";
@@ -386,4 +487,28 @@ class JwtUtilsTest {
             throw new RuntimeException(e);
         }
     }
+
+    private static final class SettableClock extends Clock {
+
+        private final AtomicReference<Instant> time;
+
+        private SettableClock(AtomicReference<Instant> time) {
+            this.time = time;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return time.get();
+        }
+    }
 }
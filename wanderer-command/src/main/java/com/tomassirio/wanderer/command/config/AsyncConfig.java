@@ -1,5 +1,10 @@
 package com.tomassirio.wanderer.command.config;
 
+import com.tomassirio.wanderer.command.config.properties.TripUpdateEnrichmentProperties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
 
@@ -14,4 +19,19 @@ import org.springframework.scheduling.annotation.EnableAsync;
  */
 @Configuration
 @EnableAsync(proxyTargetClass = true)
-public class AsyncConfig {}
+@EnableConfigurationProperties(TripUpdateEnrichmentProperties.class)
+public class AsyncConfig {
+
+    /**
+     * Executor used to run the external lookups (reverse geocoding, weather) that enrich a trip
+     * update. Each lookup gets its own virtual thread, so blocking HTTP calls do not pin platform
+     * threads and the lookups for one update run side by side.
+     *
+     * @return a virtual-thread-per-task executor
+     */
+    @Bean(destroyMethod = "close")
+    public ExecutorService enrichmentExecutor() {
+        return Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("trip-enrichment-", 0).factory());
+    }
+}
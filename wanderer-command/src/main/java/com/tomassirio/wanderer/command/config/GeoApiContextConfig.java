@@ -1,16 +1,24 @@
 package com.tomassirio.wanderer.command.config;
 
 import com.google.maps.GeoApiContext;
+import com.tomassirio.wanderer.command.config.properties.DirectionsProperties;
+import com.tomassirio.wanderer.command.config.properties.GeocodingCacheProperties;
 import com.tomassirio.wanderer.command.config.properties.GoogleMapsProperties;
+import com.tomassirio.wanderer.command.config.properties.RouteCacheProperties;
 import com.tomassirio.wanderer.command.service.DistanceCalculationStrategy;
 import com.tomassirio.wanderer.command.service.GeocodingService;
 import com.tomassirio.wanderer.command.service.RouteService;
+import com.tomassirio.wanderer.command.service.helper.GeoCell;
+import com.tomassirio.wanderer.command.service.helper.RouteSegmentCache;
+import com.tomassirio.wanderer.command.service.impl.CachingGeocodingServiceImpl;
 import com.tomassirio.wanderer.command.service.impl.GoogleGeocodingServiceImpl;
 import com.tomassirio.wanderer.command.service.impl.NoOpGeocodingServiceImpl;
 import com.tomassirio.wanderer.command.service.impl.strategy.GoogleDirectionsRouteStrategy;
 import com.tomassirio.wanderer.command.service.impl.strategy.GoogleMapsDistanceStrategy;
 import com.tomassirio.wanderer.command.service.impl.strategy.HaversineDistanceStrategy;
 import com.tomassirio.wanderer.command.service.impl.strategy.StraightLineRouteStrategy;
+import com.tomassirio.wanderer.commons.cache.BoundedCache;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -31,7 +39,12 @@ import org.springframework.context.annotation.Configuration;
  */
 @Slf4j
 @Configuration
-@EnableConfigurationProperties(GoogleMapsProperties.class)
+@EnableConfigurationProperties({
+    GoogleMapsProperties.class,
+    GeocodingCacheProperties.class,
+    RouteCacheProperties.class,
+    DirectionsProperties.class
+})
 public class GeoApiContextConfig {
 
     private GeoApiContext geoApiContext;
@@ -83,18 +96,24 @@ public class GeoApiContextConfig {
      * Selects the route service strategy based on whether the Google Maps API is available.
      *
      * <p>When the API is configured, uses {@link GoogleDirectionsRouteStrategy} with straight-line
-     * as a runtime fallback for transient failures. Otherwise, uses {@link
-     * StraightLineRouteStrategy} directly.
+     * as a runtime fallback for transient failures and the {@link RouteSegmentCache} in front of
+     * the API. Otherwise, uses {@link StraightLineRouteStrategy} directly.
      *
      * @param geoApiContext the Google Maps API context (nullable)
+     * @param segmentCache the cache of already-fetched route segments
+     * @param directionsProperties concurrency and rate limits for Directions requests
      * @return the selected strategy
      */
     @Bean
-    public RouteService routeService(GeoApiContext geoApiContext) {
+    public RouteService routeService(
+            GeoApiContext geoApiContext,
+            RouteSegmentCache segmentCache,
+            DirectionsProperties directionsProperties) {
         StraightLineRouteStrategy straightLine = new StraightLineRouteStrategy();
         if (geoApiContext != null) {
             log.info("Using Google Directions API for route computation");
-            return new GoogleDirectionsRouteStrategy(geoApiContext, straightLine);
+            return new GoogleDirectionsRouteStrategy(
+                    geoApiContext, straightLine, segmentCache, directionsProperties);
         }
         log.info("Using straight-line fallback for route computation");
         return straightLine;
@@ -103,20 +122,63 @@ public class GeoApiContextConfig {
     /**
      * Selects the geocoding service based on whether the Google Maps API is available.
      *
-     * <p>When the API is configured, uses {@link GoogleGeocodingServiceImpl} for reverse geocoding.
-     * Otherwise, uses a no-op implementation that always returns {@code null}.
+     * <p>When the API is configured, uses {@link GoogleGeocodingServiceImpl} for reverse geocoding,
+     * wrapped in a {@link CachingGeocodingServiceImpl} unless the cache is disabled. Otherwise,
+     * uses a no-op implementation that always returns {@code null}.
      *
      * @param geoApiContext the Google Maps API context (nullable)
+     * @param cacheProperties the geocoding cache configuration
      * @return the selected geocoding service
      */
     @Bean
-    public GeocodingService geocodingService(GeoApiContext geoApiContext) {
-        if (geoApiContext != null) {
-            log.info("Using Google Geocoding API for reverse geocoding");
-            return new GoogleGeocodingServiceImpl(geoApiContext);
+    public GeocodingService geocodingService(
+            GeoApiContext geoApiContext, GeocodingCacheProperties cacheProperties) {
+        if (geoApiContext == null) {
+            log.info("Geocoding disabled — no API key configured");
+            return new NoOpGeocodingServiceImpl();
+        }
+
+        log.info("Using Google Geocoding API for reverse geocoding");
+        GeocodingService google = new GoogleGeocodingServiceImpl(geoApiContext);
+        if (!cacheProperties.isEnabled()) {
+            return google;
         }
-        log.info("Geocoding disabled — no API key configured");
-        return new NoOpGeocodingServiceImpl();
+
+        log.info(
+                "Caching reverse-geocoding results per {} m grid cell (max {} cells)",
+                cacheProperties.getCellSizeMetres(),
+                cacheProperties.getMaxEntries());
+        BoundedCache<GeoCell, GeocodingService.GeocodingResult> cache =
+                new BoundedCache<>(cacheProperties.getMaxEntries(), cacheProperties.getTtl());
+        return new CachingGeocodingServiceImpl(google, cacheProperties.getCellSizeMetres(), cache);
+    }
+
+    /**
+     * Exposes the geocoding cache counters as {@code cache.*} meters tagged {@code
+     * cache=geocoding}. Does nothing when geocoding is not cached.
+     *
+     * @param geocodingService the selected geocoding service
+     * @return a binder registering the cache meters
+     */
+    @Bean
+    public MeterBinder geocodingCacheMetrics(GeocodingService geocodingService) {
+        return registry -> {
+            if (geocodingService instanceof CachingGeocodingServiceImpl caching) {
+                new BoundedCacheMetrics(caching.getCache(), "geocoding").bindTo(registry);
+            }
+        };
+    }
+
+    /**
+     * Exposes the in-memory tier of the route segment cache as {@code cache.*} meters tagged {@code
+     * cache=route-segments}.
+     *
+     * @param segmentCache the route segment cache
+     * @return a binder registering the cache meters
+     */
+    @Bean
+    public MeterBinder routeSegmentCacheMetrics(RouteSegmentCache segmentCache) {
+        return new BoundedCacheMetrics(segmentCache.getMemoryCache(), "route-segments");
     }
 
     @PreDestroy
@@ -2,9 +2,14 @@ package com.tomassirio.wanderer.command.config;
 
 import com.tomassirio.wanderer.command.client.GoogleWeatherClient;
 import com.tomassirio.wanderer.command.config.properties.GoogleWeatherProperties;
+import com.tomassirio.wanderer.command.config.properties.WeatherCacheProperties;
 import com.tomassirio.wanderer.command.service.WeatherService;
+import com.tomassirio.wanderer.command.service.impl.CachingWeatherServiceImpl;
 import com.tomassirio.wanderer.command.service.impl.GoogleWeatherServiceImpl;
 import com.tomassirio.wanderer.command.service.impl.NoOpWeatherServiceImpl;
+import com.tomassirio.wanderer.commons.cache.BoundedCache;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Clock;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
@@ -18,23 +23,59 @@ import org.springframework.context.annotation.Configuration;
  * GoogleWeatherProperties#isEnabled() enabled} toggle allows disabling weather lookups
  * independently.
  *
+ * <p>Google lookups are wrapped in a {@link CachingWeatherServiceImpl} unless {@code
+ * app.weather.cache.enabled} is false.
+ *
  * <p>If the API key is not configured or weather is disabled, a no-op implementation is used.
  */
 @Slf4j
 @Configuration
-@EnableConfigurationProperties(GoogleWeatherProperties.class)
+@EnableConfigurationProperties({GoogleWeatherProperties.class, WeatherCacheProperties.class})
 public class WeatherConfig {
 
     @Bean
     public WeatherService weatherService(
-            GoogleWeatherProperties weatherProperties, GoogleWeatherClient weatherClient) {
+            GoogleWeatherProperties weatherProperties,
+            WeatherCacheProperties cacheProperties,
+            GoogleWeatherClient weatherClient) {
+
+        if (!weatherClient.isConfigured() || !weatherProperties.isEnabled()) {
+            log.info("Weather lookups disabled — no API key configured or feature disabled");
+            return new NoOpWeatherServiceImpl();
+        }
 
-        if (weatherClient.isConfigured() && weatherProperties.isEnabled()) {
-            log.info("Using Google Weather API for weather lookups");
-            return new GoogleWeatherServiceImpl(weatherClient);
+        log.info("Using Google Weather API for weather lookups");
+        WeatherService google = new GoogleWeatherServiceImpl(weatherClient);
+        if (!cacheProperties.isEnabled()) {
+            return google;
         }
 
-        log.info("Weather lookups disabled — no API key configured or feature disabled");
-        return new NoOpWeatherServiceImpl();
+        log.info(
+                "Caching weather per {} m grid cell and {} time bucket",
+                cacheProperties.getCellSizeMetres(),
+                cacheProperties.getTtl());
+        return new CachingWeatherServiceImpl(
+                google,
+                cacheProperties.getCellSizeMetres(),
+                cacheProperties.getTtl(),
+                cacheProperties.getJoinTimeout(),
+                new BoundedCache<>(cacheProperties.getMaxEntries(), cacheProperties.getTtl()),
+                Clock.systemUTC());
+    }
+
+    /**
+     * Exposes the weather cache counters as {@code cache.*} meters tagged {@code cache=weather}.
+     * Does nothing when weather is not cached.
+     *
+     * @param weatherService the selected weather service
+     * @return a binder registering the cache meters
+     */
+    @Bean
+    public MeterBinder weatherCacheMetrics(WeatherService weatherService) {
+        return registry -> {
+            if (weatherService instanceof CachingWeatherServiceImpl caching) {
+                new BoundedCacheMetrics(caching.getCache(), "weather").bindTo(registry);
+            }
+        };
     }
 }
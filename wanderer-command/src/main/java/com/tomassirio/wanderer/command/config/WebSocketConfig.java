@@ -1,19 +1,35 @@
 package com.tomassirio.wanderer.command.config;
 
+import com.tomassirio.wanderer.command.config.properties.WebSocketBroadcastProperties;
+import com.tomassirio.wanderer.command.config.properties.WebSocketBusProperties;
+import com.tomassirio.wanderer.command.config.properties.WebSocketHeartbeatProperties;
+import com.tomassirio.wanderer.command.config.properties.WebSocketOutboundProperties;
+import com.tomassirio.wanderer.command.config.properties.WebSocketSubscriptionProperties;
+import com.tomassirio.wanderer.command.websocket.PerMessageDeflateUpgradeStrategy;
 import com.tomassirio.wanderer.command.websocket.WebSocketConnectionHandler;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.socket.config.annotation.EnableWebSocket;
 import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
 import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+import org.springframework.web.socket.server.support.DefaultHandshakeHandler;
 
 @Configuration
 @EnableWebSocket
+@EnableConfigurationProperties({
+    WebSocketOutboundProperties.class,
+    WebSocketBroadcastProperties.class,
+    WebSocketBusProperties.class,
+    WebSocketHeartbeatProperties.class,
+    WebSocketSubscriptionProperties.class
+})
 @RequiredArgsConstructor
 public class WebSocketConfig implements WebSocketConfigurer {
 
     private final WebSocketConnectionHandler webSocketConnectionHandler;
+    private final WebSocketOutboundProperties outboundProperties;
 
     @Value("${app.cors.allowed-origins:http://localhost:51538}")
     private String allowedOriginsString;
@@ -21,6 +37,11 @@ public class WebSocketConfig implements WebSocketConfigurer {
     @Override
     public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
         String[] allowedOrigins = allowedOriginsString.split(",");
-        registry.addHandler(webSocketConnectionHandler, "/ws").setAllowedOrigins(allowedOrigins);
+        registry.addHandler(webSocketConnectionHandler, "/ws")
+                .setHandshakeHandler(
+                        new DefaultHandshakeHandler(
+                                new PerMessageDeflateUpgradeStrategy(
+                                        outboundProperties.isPerMessageDeflate())))
+                .setAllowedOrigins(allowedOrigins);
     }
 }
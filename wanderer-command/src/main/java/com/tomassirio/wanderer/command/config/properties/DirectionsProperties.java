@@ -0,0 +1,38 @@
+package com.tomassirio.wanderer.command.config.properties;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration properties for Google Directions API usage.
+ *
+ * <p>Binds to properties with the prefix "app.route.directions". The limits apply to the whole
+ * service, so concurrent polyline recomputes share the same Maps quota.
+ */
+@ConfigurationProperties(prefix = "app.route.directions")
+@Data
+@Validated
+public class DirectionsProperties {
+
+    /** Maximum number of Directions requests in flight at the same time. */
+    @Positive private int maxConcurrentRequests = 8;
+
+    /** Sustained Directions request rate allowed, in requests per second. */
+    @Positive private double requestsPerSecond = 10;
+
+    /** Number of requests that may be sent back to back before the rate applies. */
+    @Positive private int burst = 10;
+
+    /**
+     * Maximum intermediate waypoints packed into one request when routing a full path, so that up
+     * to this many plus one segments cost a single call; 0 routes every segment separately. Capped
+     * at 10: requests with more waypoints are billed at the higher Advanced SKU rate.
+     */
+    @PositiveOrZero
+    @Max(10)
+    private int maxWaypointsPerRequest = 10;
+}
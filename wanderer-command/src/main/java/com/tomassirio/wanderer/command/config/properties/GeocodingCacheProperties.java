@@ -0,0 +1,32 @@
+package com.tomassirio.wanderer.command.config.properties;
+
+import jakarta.validation.constraints.Positive;
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration properties for the reverse-geocoding cache.
+ *
+ * <p>Binds to properties with the prefix "app.geocoding.cache". Results are cached per grid cell,
+ * so consecutive updates sent from nearly the same place resolve without calling the Google
+ * Geocoding API.
+ */
+@ConfigurationProperties(prefix = "app.geocoding.cache")
+@Data
+@Validated
+public class GeocodingCacheProperties {
+
+    /** Whether reverse-geocoding results are cached. Defaults to true. */
+    private boolean enabled = true;
+
+    /** Side of a grid cell in metres; all points inside one cell share a result. */
+    @Positive private double cellSizeMetres = 500;
+
+    /** Maximum number of cells kept in memory; least recently used cells are evicted first. */
+    @Positive private int maxEntries = 10_000;
+
+    /** How long a cached result is kept. Defaults to 1 day. */
+    private Duration ttl = Duration.ofDays(1);
+}
@@ -0,0 +1,32 @@
+package com.tomassirio.wanderer.command.config.properties;
+
+import jakarta.validation.constraints.Positive;
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration properties for the route segment cache.
+ *
+ * <p>Binds to properties with the prefix "app.route.cache". Segments fetched from the Google
+ * Directions API are persisted and kept in memory, keyed by the grid cells of their endpoints, so
+ * polyline recomputes do not request the same segment twice.
+ */
+@ConfigurationProperties(prefix = "app.route.cache")
+@Data
+@Validated
+public class RouteCacheProperties {
+
+    /** Whether routed segments are cached. Defaults to true. */
+    private boolean enabled = true;
+
+    /** Side of the grid cell endpoints are rounded to, in metres. */
+    @Positive private double cellSizeMetres = 10;
+
+    /** Maximum number of segments kept in memory in front of the database table. */
+    @Positive private int maxEntries = 20_000;
+
+    /** How long a segment stays in the in-memory tier. Defaults to 1 day. */
+    private Duration ttl = Duration.ofDays(1);
+}
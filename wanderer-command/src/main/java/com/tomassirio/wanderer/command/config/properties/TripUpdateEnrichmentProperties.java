@@ -0,0 +1,25 @@
+package com.tomassirio.wanderer.command.config.properties;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration properties for the location enrichment performed when a trip update is created.
+ *
+ * <p>Binds to properties with the prefix "app.trip-update.enrichment". Reverse geocoding and
+ * weather lookups run concurrently, each bounded by its own deadline; a lookup that misses its
+ * deadline is treated as if it had returned no data.
+ */
+@ConfigurationProperties(prefix = "app.trip-update.enrichment")
+@Data
+@Validated
+public class TripUpdateEnrichmentProperties {
+
+    /** Maximum time to wait for the reverse-geocoding lookup. Defaults to 2 seconds. */
+    private Duration geocodingTimeout = Duration.ofSeconds(2);
+
+    /** Maximum time to wait for the current-weather lookup. Defaults to 2 seconds. */
+    private Duration weatherTimeout = Duration.ofSeconds(2);
+}
@@ -0,0 +1,38 @@
+package com.tomassirio.wanderer.command.config.properties;
+
+import jakarta.validation.constraints.Positive;
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration properties for the current-weather cache.
+ *
+ * <p>Binds to properties with the prefix "app.weather.cache". Conditions are cached per grid cell
+ * and time bucket: every lookup inside the same cell during the same {@link #ttl} window shares one
+ * upstream call.
+ */
+@ConfigurationProperties(prefix = "app.weather.cache")
+@Data
+@Validated
+public class WeatherCacheProperties {
+
+    /** Whether weather results are cached. Defaults to true. */
+    private boolean enabled = true;
+
+    /** Side of a grid cell in metres; all points inside one cell share a result. */
+    @Positive private double cellSizeMetres = 3_000;
+
+    /** Width of a time bucket, which is also how long a cached result lives. Defaults to 15m. */
+    private Duration ttl = Duration.ofMinutes(15);
+
+    /**
+     * How long a lookup waits for a concurrent lookup of the same cell before giving up. Defaults
+     * to 5s.
+     */
+    private Duration joinTimeout = Duration.ofSeconds(5);
+
+    /** Maximum number of cell/bucket entries kept in memory. */
+    @Positive private int maxEntries = 5_000;
+}
@@ -0,0 +1,39 @@
+package com.tomassirio.wanderer.command.config.properties;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration properties for the WebSocket broadcast dispatcher.
+ *
+ * <p>Binds to properties with the prefix "app.websocket.broadcast". Committed events are handed to
+ * a bounded queue and collected by a dedicated thread, which groups the events of each topic that
+ * arrive within the batch window and hands each group to a publisher thread.
+ */
+@ConfigurationProperties(prefix = "app.websocket.broadcast")
+@Data
+@Validated
+public class WebSocketBroadcastProperties {
+
+    /** Maximum number of events waiting to be broadcast; further events are dropped. */
+    @Positive private int queueCapacity = 10000;
+
+    /** How long to keep collecting events after the first one before broadcasting them. */
+    @NotNull private Duration batchWindow = Duration.ofMillis(50);
+
+    /** Maximum number of events collected in one window. */
+    @Positive private int maxBatchSize = 500;
+
+    /**
+     * Number of threads serializing and publishing the collected groups. A topic is always
+     * published by the same thread, so its events keep their order.
+     */
+    @Positive private int publisherThreads = 4;
+
+    /** Maximum number of groups waiting for each publisher thread before the collector waits. */
+    @Positive private int publisherQueueCapacity = 1000;
+}
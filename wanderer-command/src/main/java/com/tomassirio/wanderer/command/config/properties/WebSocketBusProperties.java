@@ -0,0 +1,41 @@
+package com.tomassirio.wanderer.command.config.properties;
+
+import com.tomassirio.wanderer.commons.notification.PostgresNotificationListener;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration properties for the WebSocket broadcast bus.
+ *
+ * <p>Binds to properties with the prefix "app.websocket.bus". With {@code type=local} broadcasts
+ * only reach clients connected to this node; with {@code type=postgres} they are relayed to every
+ * node through PostgreSQL LISTEN/NOTIFY.
+ */
+@ConfigurationProperties(prefix = "app.websocket.bus")
+@Data
+@Validated
+public class WebSocketBusProperties {
+
+    /** Which bus implementation to use: {@code local} or {@code postgres}. */
+    @NotNull private String type = "local";
+
+    /**
+     * PostgreSQL notification channel shared by all nodes. Must be a lower-case identifier, as
+     * required by {@link PostgresNotificationListener#CHANNEL_PATTERN}.
+     */
+    @Pattern(regexp = "[a-z_][a-z0-9_]{0,62}")
+    private String channel = "wanderer_websocket_broadcast";
+
+    /** How long the listener waits for notifications before checking whether it should stop. */
+    @NotNull private Duration pollTimeout = Duration.ofMillis(500);
+
+    /** Delay before reconnecting the listener after its connection was lost. */
+    @NotNull private Duration reconnectDelay = Duration.ofSeconds(5);
+
+    /** How long messages too large for a notification are kept for other nodes to read. */
+    @NotNull private Duration oversizeRetention = Duration.ofMinutes(1);
+}
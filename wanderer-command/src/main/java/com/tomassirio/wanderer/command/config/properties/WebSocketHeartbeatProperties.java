@@ -0,0 +1,32 @@
+package com.tomassirio.wanderer.command.config.properties;
+
+import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration properties for the server-driven WebSocket heartbeat.
+ *
+ * <p>Binds to properties with the prefix "app.websocket.heartbeat". Each session is visited once
+ * per ping interval; a session that has sent nothing for the ping interval is sent a protocol ping,
+ * and one that has sent nothing, pongs included, for the idle timeout is closed.
+ */
+@ConfigurationProperties(prefix = "app.websocket.heartbeat")
+@Data
+@Validated
+public class WebSocketHeartbeatProperties {
+
+    /** Whether the server pings sessions and evicts idle ones. */
+    private boolean enabled = true;
+
+    /** How often each session is checked, and pinged if it has been quiet. */
+    @NotNull private Duration pingInterval = Duration.ofSeconds(25);
+
+    /** A session that has sent nothing for this long is closed. */
+    @NotNull private Duration idleTimeout = Duration.ofSeconds(75);
+
+    /** Resolution of the heartbeat timer; the sessions are spread over the ticks of an interval. */
+    @NotNull private Duration tick = Duration.ofSeconds(1);
+}
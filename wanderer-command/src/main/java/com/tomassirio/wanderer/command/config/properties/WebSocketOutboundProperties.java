@@ -0,0 +1,33 @@
+package com.tomassirio.wanderer.command.config.properties;
+
+import com.tomassirio.wanderer.command.websocket.OutboundOverflowPolicy;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration properties for outbound WebSocket delivery.
+ *
+ * <p>Binds to properties with the prefix "app.websocket.outbound". Every session gets its own
+ * bounded queue drained by a virtual thread, so a slow client only delays its own frames.
+ */
+@ConfigurationProperties(prefix = "app.websocket.outbound")
+@Data
+@Validated
+public class WebSocketOutboundProperties {
+
+    /** Maximum number of frames queued per session. */
+    @Positive private int queueCapacity = 256;
+
+    /** What to do when a frame arrives for a session whose queue is full. */
+    @NotNull private OutboundOverflowPolicy overflowPolicy = OutboundOverflowPolicy.DROP_OLDEST;
+
+    /** A session whose current send has been blocked for longer than this is disconnected. */
+    @NotNull private Duration sendTimeLimit = Duration.ofSeconds(10);
+
+    /** Whether to accept clients' permessage-deflate offers and compress frames. */
+    private boolean perMessageDeflate = true;
+}
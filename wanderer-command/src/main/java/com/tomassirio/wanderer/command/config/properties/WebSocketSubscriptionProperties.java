@@ -0,0 +1,35 @@
+package com.tomassirio.wanderer.command.config.properties;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration properties for WebSocket subscriptions and feed topics.
+ *
+ * <p>Binds to properties with the prefix "app.websocket.subscriptions". The feed index is kept up
+ * to date by the events raised on this node; the refresh interval and the trip cache TTL bound how
+ * stale it can get with respect to changes made through other nodes.
+ */
+@ConfigurationProperties(prefix = "app.websocket.subscriptions")
+@Data
+@Validated
+public class WebSocketSubscriptionProperties {
+
+    /** Maximum number of destinations accepted in a single SUBSCRIBE or UNSUBSCRIBE message. */
+    @Min(1)
+    private int maxDestinationsPerMessage = 500;
+
+    /** How often the promoted trips and the follow lists of feed subscribers are reloaded. */
+    @NotNull private Duration feedRefreshInterval = Duration.ofMinutes(1);
+
+    /** Maximum number of trips whose owner and visibility are cached for feed routing. */
+    @Min(1)
+    private int tripCacheSize = 10_000;
+
+    /** How long a trip's owner and visibility are cached for feed routing. */
+    @NotNull private Duration tripCacheTtl = Duration.ofMinutes(1);
+}
@@ -38,4 +38,14 @@ public interface Broadcastable {
      * @return the payload object to be serialized and sent
      */
     Object toWebSocketPayload();
+
+    /**
+     * Returns the payload for subscriptions that opted into polyline deltas, when it differs from
+     * {@link #toWebSocketPayload()}.
+     *
+     * @return the delta payload, or {@code null} if every subscriber gets the same payload
+     */
+    default Object toDeltaWebSocketPayload() {
+        return null;
+    }
 }
@@ -8,6 +8,13 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+/**
+ * Published whenever a trip's polyline changes.
+ *
+ * <p>Subscribers receive the whole polyline and its new {@code version}. When the change only
+ * appended points, {@code encodedSuffix} holds the characters added to the end of the encoded
+ * polyline, and subscriptions that opted into polyline deltas receive just that suffix instead.
+ */
 @Data
 @Builder
 @NoArgsConstructor
@@ -15,6 +22,8 @@ import lombok.NoArgsConstructor;
 public class PolylineUpdatedEvent implements Broadcastable {
     private UUID tripId;
     private String encodedPolyline;
+    private String encodedSuffix;
+    private long version;
 
     @Override
     public String getEventType() {
@@ -35,7 +44,20 @@ public class PolylineUpdatedEvent implements Broadcastable {
     public Object toWebSocketPayload() {
         return PolylineUpdatedPayload.builder()
                 .tripId(tripId)
+                .version(version)
                 .encodedPolyline(encodedPolyline)
                 .build();
     }
+
+    @Override
+    public Object toDeltaWebSocketPayload() {
+        if (encodedSuffix == null) {
+            return null;
+        }
+        return PolylineUpdatedPayload.builder()
+                .tripId(tripId)
+                .version(version)
+                .encodedSuffix(encodedSuffix)
+                .build();
+    }
 }
@@ -19,6 +19,13 @@ import lombok.NoArgsConstructor;
 public class TripUpdatedEvent implements DomainEvent, Broadcastable {
     private UUID tripUpdateId;
     private UUID tripId;
+
+    /** Trip owner and lifecycle, snapshotted when the update is made for achievement checks. */
+    private UUID userId;
+
+    private Instant tripStartTimestamp;
+    private Instant tripEndTimestamp;
+
     private GeoLocation location;
     private Integer batteryLevel;
     private String message;
@@ -2,9 +2,11 @@ package com.tomassirio.wanderer.command.handler;
 
 import com.tomassirio.wanderer.command.event.TripCreatedEvent;
 import com.tomassirio.wanderer.command.repository.TripRepository;
+import com.tomassirio.wanderer.command.service.helper.ReadModelChangeNotifier;
 import com.tomassirio.wanderer.command.service.helper.TripEmbeddedObjectsInitializer;
 import com.tomassirio.wanderer.commons.domain.Trip;
 import com.tomassirio.wanderer.commons.domain.TripVisibility;
+import com.tomassirio.wanderer.commons.notification.ReadModelChange;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.event.EventListener;
@@ -25,6 +27,7 @@ public class TripCreatedEventHandler implements EventHandler<TripCreatedEvent> {
 
     private final TripEmbeddedObjectsInitializer embeddedObjectsInitializer;
     private final TripRepository tripRepository;
+    private final ReadModelChangeNotifier readModelChangeNotifier;
 
     @Override
     @EventListener
@@ -57,6 +60,7 @@ public class TripCreatedEventHandler implements EventHandler<TripCreatedEvent> {
                         .build();
 
         tripRepository.save(trip);
+        readModelChangeNotifier.notify(ReadModelChange.trip(trip.getId()));
         log.info("Trip created and persisted: {}", event.getTripId());
     }
 }
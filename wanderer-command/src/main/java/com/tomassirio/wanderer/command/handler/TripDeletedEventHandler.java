@@ -2,6 +2,8 @@ package com.tomassirio.wanderer.command.handler;
 
 import com.tomassirio.wanderer.command.event.TripDeletedEvent;
 import com.tomassirio.wanderer.command.repository.TripRepository;
+import com.tomassirio.wanderer.command.service.helper.ReadModelChangeNotifier;
+import com.tomassirio.wanderer.commons.notification.ReadModelChange;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.event.EventListener;
@@ -21,6 +23,7 @@ import org.springframework.transaction.annotation.Transactional;
 public class TripDeletedEventHandler implements EventHandler<TripDeletedEvent> {
 
     private final TripRepository tripRepository;
+    private final ReadModelChangeNotifier readModelChangeNotifier;
 
     @Override
     @EventListener
@@ -29,6 +32,7 @@ public class TripDeletedEventHandler implements EventHandler<TripDeletedEvent> {
         log.debug("Persisting TripDeletedEvent for trip: {}", event.getTripId());
 
         tripRepository.deleteById(event.getTripId());
+        readModelChangeNotifier.notify(ReadModelChange.trip(event.getTripId()));
         log.info("Trip deleted: {}", event.getTripId());
     }
 }
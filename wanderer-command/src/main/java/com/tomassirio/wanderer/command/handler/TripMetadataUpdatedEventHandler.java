@@ -2,8 +2,10 @@ package com.tomassirio.wanderer.command.handler;
 
 import com.tomassirio.wanderer.command.event.TripMetadataUpdatedEvent;
 import com.tomassirio.wanderer.command.repository.TripRepository;
+import com.tomassirio.wanderer.command.service.helper.ReadModelChangeNotifier;
 import com.tomassirio.wanderer.command.service.helper.TripEmbeddedObjectsInitializer;
 import com.tomassirio.wanderer.commons.domain.TripVisibility;
+import com.tomassirio.wanderer.commons.notification.ReadModelChange;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.event.EventListener;
@@ -25,6 +27,7 @@ public class TripMetadataUpdatedEventHandler implements EventHandler<TripMetadat
 
     private final TripRepository tripRepository;
     private final TripEmbeddedObjectsInitializer embeddedObjectsInitializer;
+    private final ReadModelChangeNotifier readModelChangeNotifier;
 
     @Override
     @EventListener
@@ -44,6 +47,7 @@ public class TripMetadataUpdatedEventHandler implements EventHandler<TripMetadat
                             embeddedObjectsInitializer.ensureTripDetails(trip);
                             // No need to call save() - entity is managed and will be flushed
                             // automatically
+                            readModelChangeNotifier.notify(ReadModelChange.trip(trip.getId()));
                             log.info("Trip metadata updated: {}", event.getTripId());
                         });
     }
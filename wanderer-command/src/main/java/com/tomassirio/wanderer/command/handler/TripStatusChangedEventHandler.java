@@ -3,10 +3,12 @@ package com.tomassirio.wanderer.command.handler;
 import com.tomassirio.wanderer.command.event.TripStatusChangedEvent;
 import com.tomassirio.wanderer.command.repository.ActiveTripRepository;
 import com.tomassirio.wanderer.command.repository.TripRepository;
+import com.tomassirio.wanderer.command.service.helper.ReadModelChangeNotifier;
 import com.tomassirio.wanderer.command.service.helper.TripEmbeddedObjectsInitializer;
 import com.tomassirio.wanderer.command.service.helper.TripStatusTransitionHandler;
 import com.tomassirio.wanderer.commons.domain.ActiveTrip;
 import com.tomassirio.wanderer.commons.domain.TripStatus;
+import com.tomassirio.wanderer.commons.notification.ReadModelChange;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.event.EventListener;
@@ -30,6 +32,7 @@ public class TripStatusChangedEventHandler implements EventHandler<TripStatusCha
     private final ActiveTripRepository activeTripRepository;
     private final TripEmbeddedObjectsInitializer embeddedObjectsInitializer;
     private final TripStatusTransitionHandler statusTransitionHandler;
+    private final ReadModelChangeNotifier readModelChangeNotifier;
 
     @Override
     @EventListener
@@ -59,6 +62,7 @@ public class TripStatusChangedEventHandler implements EventHandler<TripStatusCha
 
                             // No need to call save() - entity is managed and will be flushed
                             // automatically
+                            readModelChangeNotifier.notify(ReadModelChange.trip(trip.getId()));
                             log.info("Trip status changed: {}", event.getTripId());
                         });
     }
@@ -4,7 +4,10 @@ import com.tomassirio.wanderer.command.event.TripUpdatedEvent;
 import com.tomassirio.wanderer.command.repository.TripRepository;
 import com.tomassirio.wanderer.command.repository.TripUpdateRepository;
 import com.tomassirio.wanderer.command.service.AchievementService;
+import com.tomassirio.wanderer.command.service.AchievementService.TripAchievementContext;
+import com.tomassirio.wanderer.command.service.helper.TripAchievementMetricsAggregator;
 import com.tomassirio.wanderer.commons.domain.Trip;
+import com.tomassirio.wanderer.commons.domain.TripAchievementMetrics;
 import com.tomassirio.wanderer.commons.domain.TripUpdate;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -28,6 +31,7 @@ public class TripUpdatedEventHandler implements EventHandler<TripUpdatedEvent> {
 
     private final TripRepository tripRepository;
     private final TripUpdateRepository tripUpdateRepository;
+    private final TripAchievementMetricsAggregator achievementMetricsAggregator;
     private final AchievementService achievementCalculationService;
 
     @Override
@@ -57,7 +61,16 @@ public class TripUpdatedEventHandler implements EventHandler<TripUpdatedEvent> {
         tripUpdateRepository.save(tripUpdate);
         log.info("Trip update created and persisted: {}", event.getTripUpdateId());
 
-        // Check and unlock achievements after persisting the update
-        achievementCalculationService.checkAndUnlockAchievements(event.getTripId());
+        // Fold the update into the trip's running metrics, then check achievements against them
+        TripAchievementMetrics metrics =
+                achievementMetricsAggregator.recordUpdate(
+                        event.getTripId(), event.getLocation(), event.getTimestamp());
+        achievementCalculationService.checkAndUnlockAchievements(
+                new TripAchievementContext(
+                        event.getTripId(),
+                        event.getUserId(),
+                        event.getTripStartTimestamp(),
+                        event.getTripEndTimestamp(),
+                        metrics));
     }
 }
@@ -2,7 +2,9 @@ package com.tomassirio.wanderer.command.handler;
 
 import com.tomassirio.wanderer.command.event.UserCreatedEvent;
 import com.tomassirio.wanderer.command.repository.UserRepository;
+import com.tomassirio.wanderer.command.service.helper.ReadModelChangeNotifier;
 import com.tomassirio.wanderer.commons.domain.User;
+import com.tomassirio.wanderer.commons.notification.ReadModelChange;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.event.EventListener;
@@ -16,6 +18,7 @@ import org.springframework.transaction.annotation.Transactional;
 public class UserCreatedEventHandler implements EventHandler<UserCreatedEvent> {
 
     private final UserRepository userRepository;
+    private final ReadModelChangeNotifier readModelChangeNotifier;
 
     @Override
     @EventListener
@@ -26,6 +29,7 @@ public class UserCreatedEventHandler implements EventHandler<UserCreatedEvent> {
         User user = User.builder().id(event.getUserId()).username(event.getUsername()).build();
 
         userRepository.save(user);
+        readModelChangeNotifier.notify(ReadModelChange.user(user.getId()));
         log.info("User created and persisted: {}", event.getUserId());
     }
 }
@@ -10,7 +10,9 @@ import com.tomassirio.wanderer.command.repository.TripRepository;
 import com.tomassirio.wanderer.command.repository.UserAchievementRepository;
 import com.tomassirio.wanderer.command.repository.UserFollowRepository;
 import com.tomassirio.wanderer.command.repository.UserRepository;
+import com.tomassirio.wanderer.command.service.helper.ReadModelChangeNotifier;
 import com.tomassirio.wanderer.commons.domain.Trip;
+import com.tomassirio.wanderer.commons.notification.ReadModelChange;
 import java.util.List;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
@@ -25,7 +27,7 @@ import org.springframework.transaction.annotation.Transactional;
  *
  * <p>Deletes user achievements, active trips, promoted trips, trips (which cascade to comments and
  * trip updates), trip plans, friendships, friend requests, follow relationships, and finally the
- * user record itself.
+ * user record itself, then notifies wanderer-query so it drops the user from its caches.
  *
  * @since 0.5.3
  */
@@ -43,6 +45,7 @@ public class UserDeletedEventHandler implements EventHandler<UserDeletedEvent> {
     private final UserAchievementRepository userAchievementRepository;
     private final ActiveTripRepository activeTripRepository;
     private final PromotedTripRepository promotedTripRepository;
+    private final ReadModelChangeNotifier readModelChangeNotifier;
 
     @Override
     @EventListener
@@ -85,6 +88,7 @@ public class UserDeletedEventHandler implements EventHandler<UserDeletedEvent> {
 
         // Delete the user record
         userRepository.deleteById(userId);
+        readModelChangeNotifier.notify(ReadModelChange.user(userId));
         log.info("User deleted and all related data cleaned up: {}", userId);
     }
 }
@@ -3,7 +3,9 @@ package com.tomassirio.wanderer.command.handler;
 import com.tomassirio.wanderer.command.event.UserFollowedEvent;
 import com.tomassirio.wanderer.command.repository.UserFollowRepository;
 import com.tomassirio.wanderer.command.service.AchievementService;
+import com.tomassirio.wanderer.command.service.helper.ReadModelChangeNotifier;
 import com.tomassirio.wanderer.commons.domain.UserFollow;
+import com.tomassirio.wanderer.commons.notification.ReadModelChange;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.event.EventListener;
@@ -25,6 +27,7 @@ public class UserFollowedEventHandler implements EventHandler<UserFollowedEvent>
 
     private final UserFollowRepository userFollowRepository;
     private final AchievementService achievementCalculationService;
+    private final ReadModelChangeNotifier readModelChangeNotifier;
 
     @Override
     @EventListener
@@ -44,6 +47,7 @@ public class UserFollowedEventHandler implements EventHandler<UserFollowedEvent>
                         .build();
 
         userFollowRepository.save(follow);
+        readModelChangeNotifier.notify(ReadModelChange.follow(event.getFollowerId()));
         log.info(
                 "User follow created and persisted: {} follows {}",
                 event.getFollowerId(),
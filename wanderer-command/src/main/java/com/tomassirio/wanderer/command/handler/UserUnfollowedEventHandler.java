@@ -2,6 +2,8 @@ package com.tomassirio.wanderer.command.handler;
 
 import com.tomassirio.wanderer.command.event.UserUnfollowedEvent;
 import com.tomassirio.wanderer.command.repository.UserFollowRepository;
+import com.tomassirio.wanderer.command.service.helper.ReadModelChangeNotifier;
+import com.tomassirio.wanderer.commons.notification.ReadModelChange;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.event.EventListener;
@@ -22,6 +24,7 @@ import org.springframework.transaction.annotation.Transactional;
 public class UserUnfollowedEventHandler implements EventHandler<UserUnfollowedEvent> {
 
     private final UserFollowRepository userFollowRepository;
+    private final ReadModelChangeNotifier readModelChangeNotifier;
 
     @Override
     @EventListener
@@ -35,6 +38,7 @@ public class UserUnfollowedEventHandler implements EventHandler<UserUnfollowedEv
         userFollowRepository
                 .findByFollowerIdAndFollowedId(event.getFollowerId(), event.getFollowedId())
                 .ifPresent(userFollowRepository::delete);
+        readModelChangeNotifier.notify(ReadModelChange.follow(event.getFollowerId()));
 
         log.info(
                 "User unfollow persisted: {} unfollowed {}",
@@ -1,9 +1,11 @@
 package com.tomassirio.wanderer.command.repository;
 
 import com.tomassirio.wanderer.commons.domain.PromotedTrip;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -26,6 +28,14 @@ public interface PromotedTripRepository extends JpaRepository<PromotedTrip, UUID
      */
     Optional<PromotedTrip> findByTripId(UUID tripId);
 
+    /**
+     * Returns the IDs of all promoted trips.
+     *
+     * @return the trip IDs
+     */
+    @Query("SELECT p.tripId FROM PromotedTrip p")
+    List<UUID> findAllTripIds();
+
     /**
      * Checks if a trip has been promoted.
      *
@@ -0,0 +1,41 @@
+package com.tomassirio.wanderer.command.repository;
+
+import com.tomassirio.wanderer.commons.domain.RouteSegment;
+import java.time.Instant;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for managing cached {@link RouteSegment} entities.
+ *
+ * @since 0.9.5
+ */
+@Repository
+public interface RouteSegmentRepository extends JpaRepository<RouteSegment, String> {
+
+    /**
+     * Inserts a segment unless one with the same key already exists. Concurrent recomputes routing
+     * the same segment therefore never fail on the primary key.
+     *
+     * @param segmentKey the segment key
+     * @param encodedPolyline the encoded route points
+     * @param pointCount the number of encoded points
+     * @param createdAt when the segment was fetched
+     * @return the number of rows inserted (0 or 1)
+     */
+    @Modifying
+    @Query(
+            value =
+                    "INSERT INTO route_segments (segment_key, encoded_polyline, point_count,"
+                            + " created_at) VALUES (:segmentKey, :encodedPolyline, :pointCount,"
+                            + " :createdAt) ON CONFLICT (segment_key) DO NOTHING",
+            nativeQuery = true)
+    int insertIfAbsent(
+            @Param("segmentKey") String segmentKey,
+            @Param("encodedPolyline") String encodedPolyline,
+            @Param("pointCount") int pointCount,
+            @Param("createdAt") Instant createdAt);
+}
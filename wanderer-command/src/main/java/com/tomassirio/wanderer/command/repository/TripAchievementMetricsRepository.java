@@ -0,0 +1,49 @@
+package com.tomassirio.wanderer.command.repository;
+
+import com.tomassirio.wanderer.commons.domain.TripAchievementMetrics;
+import jakarta.persistence.LockModeType;
+import java.util.Optional;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for managing {@link TripAchievementMetrics} aggregates.
+ *
+ * @since 0.9.5
+ */
+@Repository
+public interface TripAchievementMetricsRepository
+        extends JpaRepository<TripAchievementMetrics, UUID> {
+
+    /**
+     * Loads a trip's aggregate and locks its row until the transaction ends, so concurrent updates
+     * to the same trip are applied one after another instead of overwriting each other.
+     *
+     * @param tripId the trip ID
+     * @return the locked aggregate, if it exists
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT m FROM TripAchievementMetrics m WHERE m.tripId = :tripId")
+    Optional<TripAchievementMetrics> findByIdForUpdate(@Param("tripId") UUID tripId);
+
+    /**
+     * Inserts an empty aggregate for a trip unless one already exists. The first updates of a trip
+     * can arrive concurrently; with this insert the loser waits for the winner's row instead of
+     * failing on the primary key, which would roll back its trip update.
+     *
+     * @param tripId the trip ID
+     * @return the number of rows inserted (0 or 1)
+     */
+    @Modifying
+    @Query(
+            value =
+                    "INSERT INTO trip_achievement_metrics (trip_id, update_count, distance_km)"
+                            + " VALUES (:tripId, 0, 0) ON CONFLICT (trip_id) DO NOTHING",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("tripId") UUID tripId);
+}
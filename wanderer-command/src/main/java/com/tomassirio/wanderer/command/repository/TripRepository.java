@@ -1,12 +1,59 @@
 package com.tomassirio.wanderer.command.repository;
 
 import com.tomassirio.wanderer.commons.domain.Trip;
+import com.tomassirio.wanderer.commons.domain.TripVisibility;
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface TripRepository extends JpaRepository<Trip, UUID> {
     List<Trip> findAllByUserId(UUID userId);
+
+    /**
+     * Replaces a trip's polyline and bumps its version, unless another writer changed the polyline
+     * since {@code expectedVersion} was read. Only the polyline columns are written, so concurrent
+     * changes to the rest of the trip are kept.
+     *
+     * @param tripId the UUID of the trip
+     * @param expectedVersion the polyline version the new polyline was computed from
+     * @param encodedPolyline the new encoded polyline, or {@code null} to clear it
+     * @param polylineUpdatedAt when the polyline was computed, or {@code null} when clearing it
+     * @return the number of rows updated (0 if the version moved on or the trip is gone)
+     */
+    @Modifying
+    @Query(
+            "UPDATE Trip t SET t.encodedPolyline = :encodedPolyline,"
+                    + " t.polylineUpdatedAt = :polylineUpdatedAt,"
+                    + " t.polylineVersion = t.polylineVersion + 1"
+                    + " WHERE t.id = :tripId AND t.polylineVersion = :expectedVersion")
+    int updatePolylineIfVersion(
+            @Param("tripId") UUID tripId,
+            @Param("expectedVersion") long expectedVersion,
+            @Param("encodedPolyline") String encodedPolyline,
+            @Param("polylineUpdatedAt") Instant polylineUpdatedAt);
+
+    /**
+     * Finds who owns a trip and who may see it, without loading the trip itself.
+     *
+     * @param tripId the UUID of the trip
+     * @return an Optional containing the trip's owner and visibility if found
+     */
+    @Query(
+            "SELECT t.userId AS userId, t.tripSettings.visibility AS visibility FROM Trip t"
+                    + " WHERE t.id = :tripId")
+    Optional<TripAudience> findAudienceById(@Param("tripId") UUID tripId);
+
+    /** Owner and visibility of a trip. */
+    interface TripAudience {
+        UUID getUserId();
+
+        TripVisibility getVisibility();
+    }
 }
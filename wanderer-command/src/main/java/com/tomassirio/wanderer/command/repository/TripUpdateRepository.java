@@ -4,6 +4,8 @@ import com.tomassirio.wanderer.commons.domain.TripUpdate;
 import java.util.List;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -11,4 +13,17 @@ public interface TripUpdateRepository extends JpaRepository<TripUpdate, UUID> {
     long countByTripId(UUID tripId);
 
     List<TripUpdate> findByTripIdOrderByTimestampAsc(UUID tripId);
+
+    /**
+     * Returns the two most recent updates of a trip that carry both a latitude and a longitude,
+     * newest first. Served by a backward scan of {@code idx_trip_updates_trip_id_timestamp}, so the
+     * cost does not grow with the number of updates in the trip.
+     */
+    @Query(
+            value =
+                    "SELECT * FROM trip_updates WHERE trip_id = :tripId "
+                            + "AND location ->> 'lat' IS NOT NULL AND location ->> 'lon' IS NOT NULL "
+                            + "ORDER BY timestamp DESC LIMIT 2",
+            nativeQuery = true)
+    List<TripUpdate> findLastTwoLocatedByTripId(@Param("tripId") UUID tripId);
 }
@@ -5,6 +5,8 @@ import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -13,6 +15,9 @@ public interface UserFollowRepository extends JpaRepository<UserFollow, UUID> {
 
     List<UserFollow> findByFollowedId(UUID followedId);
 
+    @Query("SELECT f.followedId FROM UserFollow f WHERE f.followerId = :followerId")
+    List<UUID> findFollowedIdsByFollowerId(@Param("followerId") UUID followerId);
+
     boolean existsByFollowerIdAndFollowedId(UUID followerId, UUID followedId);
 
     void deleteByFollowerIdOrFollowedId(UUID followerId, UUID followedId);
@@ -1,5 +1,7 @@
 package com.tomassirio.wanderer.command.service;
 
+import com.tomassirio.wanderer.commons.domain.TripAchievementMetrics;
+import java.time.Instant;
 import java.util.UUID;
 
 /**
@@ -8,7 +10,8 @@ import java.util.UUID;
  * <p>Provides two entry points depending on the trigger context:
  *
  * <ul>
- *   <li>{@link #checkAndUnlockAchievements(UUID)} — trip-scoped (distance, updates, duration)
+ *   <li>{@link #checkAndUnlockAchievements(TripAchievementContext)} — trip-scoped (distance,
+ *       updates, duration)
  *   <li>{@link #checkAndUnlockSocialAchievements(UUID)} — user-scoped (followers, friends)
  * </ul>
  *
@@ -16,12 +19,29 @@ import java.util.UUID;
  */
 public interface AchievementService {
 
+    /**
+     * Snapshot of a trip that trip-scoped achievements are evaluated against. The caller already
+     * holds these values, so evaluating achievements needs no trip lookup.
+     *
+     * @param tripId the trip ID
+     * @param userId the trip owner, who earns the achievements
+     * @param startTimestamp when the trip started, or {@code null} if it has not
+     * @param endTimestamp when the trip ended, or {@code null} if it is still ongoing
+     * @param metrics the trip's running achievement metrics
+     */
+    record TripAchievementContext(
+            UUID tripId,
+            UUID userId,
+            Instant startTimestamp,
+            Instant endTimestamp,
+            TripAchievementMetrics metrics) {}
+
     /**
      * Checks and unlocks trip-scoped achievements after a trip update.
      *
-     * @param tripId the trip ID to evaluate
+     * @param context the trip to evaluate
      */
-    void checkAndUnlockAchievements(UUID tripId);
+    void checkAndUnlockAchievements(TripAchievementContext context);
 
     /**
      * Checks and unlocks social achievements for a user.
@@ -1,6 +1,7 @@
 package com.tomassirio.wanderer.command.service;
 
 import com.google.maps.model.LatLng;
+import com.tomassirio.wanderer.command.service.helper.PolylineCodec;
 import com.tomassirio.wanderer.commons.domain.GeoLocation;
 import java.util.List;
 
@@ -31,4 +32,17 @@ public interface RouteService {
      * @return list of LatLng points along the full route, or empty list if fewer than 2 locations
      */
     List<LatLng> getFullRoutePoints(List<GeoLocation> locations);
+
+    /**
+     * Gets the full path through all provided locations as a Google Encoded Polyline.
+     *
+     * <p>The default encodes {@link #getFullRoutePoints(List)}. Implementations that already hold
+     * the route as encoded segments override it to stitch them without a {@link LatLng} per point.
+     *
+     * @param locations ordered list of locations (at least 2)
+     * @return the encoded route, or null if there are no route points
+     */
+    default String getFullRouteEncoded(List<GeoLocation> locations) {
+        return PolylineCodec.encode(getFullRoutePoints(locations));
+    }
 }
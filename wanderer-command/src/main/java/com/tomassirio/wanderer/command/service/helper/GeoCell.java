@@ -0,0 +1,41 @@
+package com.tomassirio.wanderer.command.service.helper;
+
+import com.tomassirio.wanderer.commons.domain.GeoLocation;
+
+/**
+ * A cell of a fixed-size latitude/longitude grid, used as a cache key for lookups whose result is
+ * effectively constant within a small area (reverse geocoding, current weather).
+ *
+ * <p>The grid is square in degrees: the cell side is derived from a size in metres measured along a
+ * meridian. Away from the equator cells are therefore narrower east-west than north-south, which
+ * only makes the cache more conservative.
+ *
+ * @param latIndex index of the cell along the latitude axis
+ * @param lonIndex index of the cell along the longitude axis
+ */
+public record GeoCell(long latIndex, long lonIndex) {
+
+    /** Approximate length of one degree of latitude, in metres. */
+    private static final double METRES_PER_DEGREE = 111_320d;
+
+    /**
+     * Returns the cell containing {@code location} on a grid whose cells are roughly {@code
+     * cellSizeMetres} wide, or {@code null} if the location has no coordinates.
+     */
+    public static GeoCell of(GeoLocation location, double cellSizeMetres) {
+        if (location == null || location.getLat() == null || location.getLon() == null) {
+            return null;
+        }
+        return of(location.getLat(), location.getLon(), cellSizeMetres);
+    }
+
+    /** Returns the cell containing the given coordinates. */
+    public static GeoCell of(double lat, double lon, double cellSizeMetres) {
+        if (cellSizeMetres <= 0) {
+            throw new IllegalArgumentException("cellSizeMetres must be positive");
+        }
+        double cellSizeDegrees = cellSizeMetres / METRES_PER_DEGREE;
+        return new GeoCell(
+                (long) Math.floor(lat / cellSizeDegrees), (long) Math.floor(lon / cellSizeDegrees));
+    }
+}
@@ -0,0 +1,69 @@
+package com.tomassirio.wanderer.command.service.helper;
+
+import java.util.Arrays;
+
+/**
+ * Growable buffer of polyline points backed by a single primitive array of interleaved {@code lat,
+ * lng} pairs.
+ *
+ * <p>Used by {@link PolylineCodec} to decode into and encode from without allocating an object per
+ * point. A buffer can be {@link #clear() cleared} and reused across calls; it is not thread-safe.
+ *
+ * @since 0.9.5
+ */
+public final class PolylineBuffer {
+
+    private double[] coordinates;
+    private int size;
+
+    public PolylineBuffer() {
+        this(64);
+    }
+
+    public PolylineBuffer(int initialCapacity) {
+        this.coordinates = new double[Math.max(1, initialCapacity) * 2];
+    }
+
+    /** Appends a point. */
+    public void add(double lat, double lng) {
+        if (size * 2 == coordinates.length) {
+            coordinates = Arrays.copyOf(coordinates, coordinates.length * 2);
+        }
+        coordinates[size * 2] = lat;
+        coordinates[size * 2 + 1] = lng;
+        size++;
+    }
+
+    /** Returns the latitude of the point at {@code index}. */
+    public double lat(int index) {
+        checkIndex(index);
+        return coordinates[index * 2];
+    }
+
+    /** Returns the longitude of the point at {@code index}. */
+    public double lng(int index) {
+        checkIndex(index);
+        return coordinates[index * 2 + 1];
+    }
+
+    /** Returns the number of points held. */
+    public int size() {
+        return size;
+    }
+
+    /** Removes all points, keeping the allocated capacity. */
+    public void clear() {
+        size = 0;
+    }
+
+    /** Returns the backing array; only the first {@code size() * 2} values are meaningful. */
+    double[] coordinates() {
+        return coordinates;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for " + size);
+        }
+    }
+}
@@ -1,7 +1,7 @@
 package com.tomassirio.wanderer.command.service.helper;
 
-import com.google.maps.model.EncodedPolyline;
 import com.google.maps.model.LatLng;
+import java.util.ArrayList;
 import java.util.List;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
@@ -13,11 +13,26 @@ import lombok.NoArgsConstructor;
  * href="https://developers.google.com/maps/documentation/utilities/polylinealgorithm">Google
  * Encoded Polyline Algorithm</a> with 1e-5 precision (5 decimal places).
  *
+ * <p>The algorithm is implemented directly on primitives rather than through {@code
+ * com.google.maps.model.EncodedPolyline}, so long polylines can be processed without a {@link
+ * LatLng} per point: use {@link #decode(String, PolylineBuffer)} to decode into a reusable buffer,
+ * {@link #decode(String, PointConsumer)} to stream points, and {@link #encode(double[], int)} or
+ * {@link #encodeBuffer(PolylineBuffer)} to encode from primitive coordinates. The {@link
+ * LatLng}-based methods are kept for callers working with the Google Maps model.
+ *
  * @since 0.8.0
  */
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public final class PolylineCodec {
 
+    private static final double PRECISION = 1e5;
+
+    /** Receives decoded points one at a time. */
+    @FunctionalInterface
+    public interface PointConsumer {
+        void accept(double lat, double lng);
+    }
+
     /**
      * Encodes a list of LatLng points into a Google Encoded Polyline string.
      *
@@ -28,7 +43,56 @@ public final class PolylineCodec {
         if (points == null || points.isEmpty()) {
             return null;
         }
-        return new EncodedPolyline(points).getEncodedPath();
+        StringBuilder result = new StringBuilder(points.size() * 8);
+        long previousLat = 0;
+        long previousLng = 0;
+        for (LatLng point : points) {
+            long lat = Math.round(point.lat * PRECISION);
+            long lng = Math.round(point.lng * PRECISION);
+            encodeValue(lat - previousLat, result);
+            encodeValue(lng - previousLng, result);
+            previousLat = lat;
+            previousLng = lng;
+        }
+        return result.toString();
+    }
+
+    /**
+     * Encodes the points held in a {@link PolylineBuffer}.
+     *
+     * @param buffer the points to encode
+     * @return the encoded polyline string, or null if the buffer is null or empty
+     */
+    public static String encodeBuffer(PolylineBuffer buffer) {
+        if (buffer == null) {
+            return null;
+        }
+        return encode(buffer.coordinates(), buffer.size());
+    }
+
+    /**
+     * Encodes {@code pointCount} points stored as interleaved {@code lat, lng} pairs.
+     *
+     * @param coordinates interleaved coordinates; must hold at least {@code pointCount * 2} values
+     * @param pointCount the number of points to encode
+     * @return the encoded polyline string, or null if there are no points
+     */
+    public static String encode(double[] coordinates, int pointCount) {
+        if (coordinates == null || pointCount <= 0) {
+            return null;
+        }
+        StringBuilder result = new StringBuilder(pointCount * 8);
+        long previousLat = 0;
+        long previousLng = 0;
+        for (int i = 0; i < pointCount * 2; i += 2) {
+            long lat = Math.round(coordinates[i] * PRECISION);
+            long lng = Math.round(coordinates[i + 1] * PRECISION);
+            encodeValue(lat - previousLat, result);
+            encodeValue(lng - previousLng, result);
+            previousLat = lat;
+            previousLng = lng;
+        }
+        return result.toString();
     }
 
     /**
@@ -41,6 +105,148 @@ public final class PolylineCodec {
         if (encodedPolyline == null || encodedPolyline.isEmpty()) {
             return List.of();
         }
-        return new EncodedPolyline(encodedPolyline).decodePath();
+        List<LatLng> points = new ArrayList<>(encodedPolyline.length() / 8 + 1);
+        decode(encodedPolyline, (lat, lng) -> points.add(new LatLng(lat, lng)));
+        return points;
+    }
+
+    /**
+     * Decodes a polyline into {@code buffer}, replacing its contents.
+     *
+     * @param encodedPolyline the encoded polyline string (may be null or empty)
+     * @param buffer the buffer to fill; cleared first
+     * @return {@code buffer}, for chaining
+     */
+    public static PolylineBuffer decode(String encodedPolyline, PolylineBuffer buffer) {
+        buffer.clear();
+        decode(encodedPolyline, buffer::add);
+        return buffer;
+    }
+
+    /**
+     * Decodes a polyline and hands each point to {@code consumer} in order, without materialising
+     * the point list.
+     *
+     * @param encodedPolyline the encoded polyline string (may be null or empty)
+     * @param consumer receives every decoded point
+     * @return the number of points decoded
+     */
+    public static int decode(String encodedPolyline, PointConsumer consumer) {
+        if (encodedPolyline == null || encodedPolyline.isEmpty()) {
+            return 0;
+        }
+        int length = encodedPolyline.length();
+        int index = 0;
+        int count = 0;
+        long lat = 0;
+        long lng = 0;
+        while (index < length) {
+            long latResult = 1;
+            int shift = 0;
+            int b;
+            do {
+                b = encodedPolyline.charAt(index++) - 63 - 1;
+                latResult += (long) b << shift;
+                shift += 5;
+            } while (b >= 0x1f && index < length);
+            lat += (latResult & 1) != 0 ? ~(latResult >> 1) : (latResult >> 1);
+
+            if (index >= length) {
+                // Truncated input: a latitude without its longitude
+                break;
+            }
+
+            long lngResult = 1;
+            shift = 0;
+            do {
+                b = encodedPolyline.charAt(index++) - 63 - 1;
+                lngResult += (long) b << shift;
+                shift += 5;
+            } while (b >= 0x1f && index < length);
+            lng += (lngResult & 1) != 0 ? ~(lngResult >> 1) : (lngResult >> 1);
+
+            consumer.accept(lat / PRECISION, lng / PRECISION);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Appends points to an existing encoded polyline without decoding it into objects.
+     *
+     * <p>Each point of an encoded polyline is stored as a delta from the previous one, so extending
+     * it only requires the absolute coordinates of its last point: the new points are delta-encoded
+     * from there and concatenated onto the existing string. The existing string is walked once to
+     * recover that last point, without allocating per point.
+     *
+     * @param encodedPolyline the existing encoded polyline (may be null or empty)
+     * @param points the points to append
+     * @return the extended encoded polyline, or the input unchanged if there is nothing to append
+     */
+    public static String append(String encodedPolyline, List<LatLng> points) {
+        if (encodedPolyline == null || encodedPolyline.isEmpty()) {
+            return encode(points);
+        }
+        if (points == null || points.isEmpty()) {
+            return encodedPolyline;
+        }
+
+        long[] last = lastPointE5(encodedPolyline);
+        long previousLat = last[0];
+        long previousLng = last[1];
+
+        StringBuilder result = new StringBuilder(encodedPolyline.length() + points.size() * 8);
+        result.append(encodedPolyline);
+        for (LatLng point : points) {
+            long lat = Math.round(point.lat * PRECISION);
+            long lng = Math.round(point.lng * PRECISION);
+            encodeValue(lat - previousLat, result);
+            encodeValue(lng - previousLng, result);
+            previousLat = lat;
+            previousLng = lng;
+        }
+        return result.toString();
+    }
+
+    /**
+     * Returns the last point of an encoded polyline in 1e-5 units as {@code [lat, lng]}.
+     *
+     * @param encodedPolyline a non-empty encoded polyline
+     * @return the absolute coordinates of the last point, scaled by 1e5
+     */
+    static long[] lastPointE5(String encodedPolyline) {
+        long lat = 0;
+        long lng = 0;
+        int index = 0;
+        int length = encodedPolyline.length();
+        boolean latitude = true;
+        while (index < length) {
+            // Starting at 1 cancels the "-1" folded into every chunk by the "- 63 - 1" below
+            long result = 1;
+            int shift = 0;
+            int b;
+            do {
+                b = encodedPolyline.charAt(index++) - 63 - 1;
+                result += (long) b << shift;
+                shift += 5;
+            } while (b >= 0x1f && index < length);
+            long delta = (result & 1) != 0 ? ~(result >> 1) : (result >> 1);
+            if (latitude) {
+                lat += delta;
+            } else {
+                lng += delta;
+            }
+            latitude = !latitude;
+        }
+        return new long[] {lat, lng};
+    }
+
+    private static void encodeValue(long value, StringBuilder out) {
+        value = value < 0 ? ~(value << 1) : (value << 1);
+        while (value >= 0x20) {
+            out.append((char) ((0x20 | (value & 0x1f)) + 63));
+            value >>= 5;
+        }
+        out.append((char) (value + 63));
     }
 }
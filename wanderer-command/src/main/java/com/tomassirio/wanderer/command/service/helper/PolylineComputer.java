@@ -1,6 +1,5 @@
 package com.tomassirio.wanderer.command.service.helper;
 
-import com.google.maps.model.LatLng;
 import com.tomassirio.wanderer.command.service.RouteService;
 import com.tomassirio.wanderer.commons.domain.GeoLocation;
 import com.tomassirio.wanderer.commons.domain.Polylineable;
@@ -37,34 +36,42 @@ public class PolylineComputer {
      */
     public <T extends Polylineable> void computeAndApply(
             T entity, List<GeoLocation> locations, Consumer<T> save) {
-        List<GeoLocation> validLocations =
-                locations.stream()
-                        .filter(loc -> loc != null && loc.getLat() != null && loc.getLon() != null)
-                        .toList();
+        String encoded = compute(locations);
 
-        if (validLocations.size() < 2) {
-            entity.setEncodedPolyline(null);
-            entity.setPolylineUpdatedAt(null);
-            save.accept(entity);
+        entity.setEncodedPolyline(encoded);
+        entity.setPolylineUpdatedAt(encoded == null ? null : Instant.now());
+        save.accept(entity);
+
+        if (encoded == null) {
             log.debug(
                     "{} {} has fewer than 2 valid locations, polyline cleared",
                     entity.getClass().getSimpleName(),
                     entity.getId());
             return;
         }
-
-        List<LatLng> routePoints = routeService.getFullRoutePoints(validLocations);
-        String encoded = PolylineCodec.encode(routePoints);
-
-        entity.setEncodedPolyline(encoded);
-        entity.setPolylineUpdatedAt(Instant.now());
-        save.accept(entity);
-
         log.info(
-                "Polyline computed for {} {}. Locations: {}, Points: {}",
+                "Polyline computed for {} {}. Encoded length: {}",
                 entity.getClass().getSimpleName(),
                 entity.getId(),
-                validLocations.size(),
-                routePoints.size());
+                encoded.length());
+    }
+
+    /**
+     * Computes the encoded polyline through the given locations, skipping incomplete ones.
+     *
+     * @param locations the raw (unfiltered) list of locations
+     * @return the encoded polyline, or {@code null} if fewer than 2 locations are complete
+     */
+    public String compute(List<GeoLocation> locations) {
+        List<GeoLocation> validLocations =
+                locations.stream()
+                        .filter(loc -> loc != null && loc.getLat() != null && loc.getLon() != null)
+                        .toList();
+
+        if (validLocations.size() < 2) {
+            return null;
+        }
+
+        return routeService.getFullRouteEncoded(validLocations);
     }
 }
@@ -0,0 +1,35 @@
+package com.tomassirio.wanderer.command.service.helper;
+
+import com.tomassirio.wanderer.commons.notification.ReadModelChange;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tells wanderer-query about changes that invalidate its in-process caches, by sending a {@link
+ * ReadModelChange} on {@link ReadModelChange#CHANNEL}.
+ *
+ * <p>Call it from inside the transaction making the change: PostgreSQL holds the notification
+ * until that transaction commits and drops it on rollback, so listeners never see a change that
+ * did not happen.
+ *
+ * @since 0.9.5
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReadModelChangeNotifier {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public void notify(ReadModelChange change) {
+        log.debug("Notifying read model change {}", change);
+        jdbcTemplate.query(
+                "SELECT pg_notify(?, ?)",
+                (RowCallbackHandler) rs -> {},
+                ReadModelChange.CHANNEL,
+                change.encode());
+    }
+}
@@ -0,0 +1,155 @@
+package com.tomassirio.wanderer.command.service.helper;
+
+import com.google.maps.model.LatLng;
+import com.google.maps.model.TravelMode;
+import com.tomassirio.wanderer.command.config.properties.RouteCacheProperties;
+import com.tomassirio.wanderer.command.repository.RouteSegmentRepository;
+import com.tomassirio.wanderer.commons.cache.BoundedCache;
+import com.tomassirio.wanderer.commons.domain.GeoLocation;
+import com.tomassirio.wanderer.commons.domain.RouteSegment;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Two-tier cache of routed segments: a bounded in-memory map in front of the {@code route_segments}
+ * table.
+ *
+ * <p>Segments are stored as encoded polylines, which keeps both tiers compact. Lookups check memory
+ * first, then the table (promoting hits into memory). Only segments actually returned by the
+ * directions provider should be stored — straight-line fallbacks are not worth persisting.
+ *
+ * @since 0.9.5
+ */
+@Slf4j
+@Component
+public class RouteSegmentCache {
+
+    private final RouteSegmentRepository routeSegmentRepository;
+    private final boolean enabled;
+    private final double cellSizeMetres;
+    @Getter private final BoundedCache<RouteSegmentKey, String> memoryCache;
+
+    public RouteSegmentCache(
+            RouteSegmentRepository routeSegmentRepository, RouteCacheProperties properties) {
+        this.routeSegmentRepository = routeSegmentRepository;
+        this.enabled = properties.isEnabled();
+        this.cellSizeMetres = properties.getCellSizeMetres();
+        this.memoryCache = new BoundedCache<>(properties.getMaxEntries(), properties.getTtl());
+    }
+
+    /**
+     * Returns the cached route points from {@code origin} to {@code destination}, if any.
+     *
+     * @param origin the segment origin
+     * @param destination the segment destination
+     * @param mode the travel mode
+     * @return the cached points, or empty on a miss or when caching is disabled
+     */
+    public Optional<List<LatLng>> find(
+            GeoLocation origin, GeoLocation destination, TravelMode mode) {
+        RouteSegmentKey key = keyOf(origin, destination, mode);
+        if (key == null) {
+            return Optional.empty();
+        }
+
+        String encoded = memoryCache.get(key);
+        if (encoded == null) {
+            encoded =
+                    routeSegmentRepository
+                            .findById(key.id())
+                            .map(RouteSegment::getEncodedPolyline)
+                            .orElse(null);
+            if (encoded == null) {
+                return Optional.empty();
+            }
+            memoryCache.put(key, encoded);
+        }
+        return Optional.of(PolylineCodec.decode(encoded));
+    }
+
+    /**
+     * Returns the cached encoded polyline of every consecutive pair of {@code locations}, in
+     * order, with {@code null} for each segment that is not cached. Segments missing from memory
+     * are loaded from the table in a single query. Nothing is decoded, so callers can stitch the
+     * segments with the primitive {@link PolylineCodec} paths.
+     *
+     * @param locations the ordered route locations
+     * @param mode the travel mode
+     * @return one entry per segment ({@code locations.size() - 1} entries)
+     */
+    public List<String> findAll(List<GeoLocation> locations, TravelMode mode) {
+        int segmentCount = Math.max(0, locations.size() - 1);
+        List<String> segments = new ArrayList<>(Collections.nCopies(segmentCount, null));
+        Map<String, List<Integer>> missingByKey = new HashMap<>();
+        Map<String, RouteSegmentKey> keysById = new HashMap<>();
+
+        for (int i = 0; i < segmentCount; i++) {
+            RouteSegmentKey key = keyOf(locations.get(i), locations.get(i + 1), mode);
+            if (key == null) {
+                continue;
+            }
+            String encoded = memoryCache.get(key);
+            if (encoded != null) {
+                segments.set(i, encoded);
+            } else {
+                String id = key.id();
+                keysById.put(id, key);
+                missingByKey.computeIfAbsent(id, k -> new ArrayList<>()).add(i);
+            }
+        }
+
+        if (!missingByKey.isEmpty()) {
+            for (RouteSegment segment : routeSegmentRepository.findAllById(missingByKey.keySet())) {
+                memoryCache.put(
+                        keysById.get(segment.getSegmentKey()), segment.getEncodedPolyline());
+                for (int index : missingByKey.get(segment.getSegmentKey())) {
+                    segments.set(index, segment.getEncodedPolyline());
+                }
+            }
+        }
+        return segments;
+    }
+
+    /**
+     * Stores a routed segment in both tiers.
+     *
+     * <p>Joins the caller's transaction, so storing a segment never takes a second pooled
+     * connection while the caller holds one; callers store from their own thread, not from the
+     * threads that fetched the segments. If that transaction rolls back, the segment is only
+     * kept in memory.
+     *
+     * @param origin the segment origin
+     * @param destination the segment destination
+     * @param mode the travel mode
+     * @param points the route points returned by the provider
+     */
+    @Transactional
+    public void store(
+            GeoLocation origin, GeoLocation destination, TravelMode mode, List<LatLng> points) {
+        RouteSegmentKey key = keyOf(origin, destination, mode);
+        if (key == null || points == null || points.isEmpty()) {
+            return;
+        }
+
+        String encoded = PolylineCodec.encode(points);
+        memoryCache.put(key, encoded);
+        routeSegmentRepository.insertIfAbsent(key.id(), encoded, points.size(), Instant.now());
+        log.debug("Cached route segment {} ({} points)", key.id(), points.size());
+    }
+
+    private RouteSegmentKey keyOf(GeoLocation origin, GeoLocation destination, TravelMode mode) {
+        if (!enabled) {
+            return null;
+        }
+        return RouteSegmentKey.of(origin, destination, mode, cellSizeMetres);
+    }
+}
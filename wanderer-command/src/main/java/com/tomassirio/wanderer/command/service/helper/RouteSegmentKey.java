@@ -0,0 +1,48 @@
+package com.tomassirio.wanderer.command.service.helper;
+
+import com.google.maps.model.TravelMode;
+import com.tomassirio.wanderer.commons.domain.GeoLocation;
+
+/**
+ * Cache key of a routed segment: the grid cells of its origin and destination plus the travel mode.
+ *
+ * @param origin the cell containing the segment origin
+ * @param destination the cell containing the segment destination
+ * @param mode the travel mode the segment was routed with
+ * @param cellSizeMetres the grid size the cells were computed with
+ */
+public record RouteSegmentKey(
+        GeoCell origin, GeoCell destination, TravelMode mode, double cellSizeMetres) {
+
+    /**
+     * Returns the key of the segment from {@code origin} to {@code destination}, or {@code null} if
+     * either location has no coordinates.
+     */
+    public static RouteSegmentKey of(
+            GeoLocation origin, GeoLocation destination, TravelMode mode, double cellSizeMetres) {
+        GeoCell originCell = GeoCell.of(origin, cellSizeMetres);
+        GeoCell destinationCell = GeoCell.of(destination, cellSizeMetres);
+        if (originCell == null || destinationCell == null) {
+            return null;
+        }
+        return new RouteSegmentKey(originCell, destinationCell, mode, cellSizeMetres);
+    }
+
+    /**
+     * Returns the string form stored as the primary key of {@code route_segments}. The grid size is
+     * part of it so that changing the configured size never mixes segments from different grids.
+     */
+    public String id() {
+        return mode.name()
+                + ':'
+                + cellSizeMetres
+                + ':'
+                + origin.latIndex()
+                + ','
+                + origin.lonIndex()
+                + ':'
+                + destination.latIndex()
+                + ','
+                + destination.lonIndex();
+    }
+}
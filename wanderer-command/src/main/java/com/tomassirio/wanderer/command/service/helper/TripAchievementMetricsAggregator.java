@@ -0,0 +1,118 @@
+package com.tomassirio.wanderer.command.service.helper;
+
+import com.google.maps.model.LatLng;
+import com.tomassirio.wanderer.command.repository.TripAchievementMetricsRepository;
+import com.tomassirio.wanderer.command.repository.TripUpdateRepository;
+import com.tomassirio.wanderer.command.service.DistanceCalculationStrategy;
+import com.tomassirio.wanderer.commons.domain.GeoLocation;
+import com.tomassirio.wanderer.commons.domain.TripAchievementMetrics;
+import com.tomassirio.wanderer.commons.domain.TripUpdate;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Maintains the {@link TripAchievementMetrics} aggregate of each trip as updates arrive.
+ *
+ * <p>A new update costs one row lock and, if it is located, one hop of distance from the previous
+ * located point. The aggregate is rebuilt from the full update history only when it does not exist
+ * yet (trips that predate it) or when an update arrives with a timestamp older than the latest one,
+ * which would put its point in the middle of the path. A missing row is created with an insert
+ * that ignores conflicts, so concurrent first updates of a trip never fail on the primary key.
+ *
+ * @since 0.9.5
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TripAchievementMetricsAggregator {
+
+    private final TripAchievementMetricsRepository metricsRepository;
+    private final TripUpdateRepository tripUpdateRepository;
+    private final DistanceCalculationStrategy distanceCalculationStrategy;
+
+    /**
+     * Folds a newly persisted trip update into its trip's aggregate. Must run in the transaction
+     * that persisted the update.
+     *
+     * @param tripId the trip the update belongs to
+     * @param location the update location (may be {@code null} or lack coordinates)
+     * @param timestamp the update timestamp
+     * @return the updated aggregate
+     */
+    public TripAchievementMetrics recordUpdate(
+            UUID tripId, GeoLocation location, Instant timestamp) {
+        Optional<TripAchievementMetrics> existing = metricsRepository.findByIdForUpdate(tripId);
+        if (existing.isEmpty()) {
+            // Create the row race-free, then lock it; whichever update gets the lock first
+            // rebuilds from the history, which by then holds every committed update
+            metricsRepository.insertIfAbsent(tripId);
+            return rebuild(metricsRepository.findByIdForUpdate(tripId).orElseThrow());
+        }
+
+        TripAchievementMetrics metrics = existing.get();
+        if (timestamp != null
+                && metrics.getLastUpdateTimestamp() != null
+                && timestamp.isBefore(metrics.getLastUpdateTimestamp())) {
+            log.debug("Out-of-order update for trip {}, rebuilding achievement metrics", tripId);
+            return rebuild(metrics);
+        }
+
+        metrics.setUpdateCount(metrics.getUpdateCount() + 1);
+        if (timestamp != null) {
+            metrics.setLastUpdateTimestamp(timestamp);
+        }
+        if (isLocated(location)) {
+            if (metrics.getLastLat() != null && metrics.getLastLon() != null) {
+                double hopKm =
+                        distanceCalculationStrategy.calculatePathDistance(
+                                List.of(
+                                        new LatLng(metrics.getLastLat(), metrics.getLastLon()),
+                                        new LatLng(location.getLat(), location.getLon())));
+                metrics.setDistanceKm(metrics.getDistanceKm() + hopKm);
+            }
+            metrics.setLastLat(location.getLat());
+            metrics.setLastLon(location.getLon());
+        }
+        return metricsRepository.save(metrics);
+    }
+
+    /**
+     * Recomputes a trip's aggregate from its full update history.
+     *
+     * @param tripId the trip ID
+     * @return the rebuilt aggregate
+     */
+    public TripAchievementMetrics rebuild(UUID tripId) {
+        return rebuild(TripAchievementMetrics.builder().tripId(tripId).build());
+    }
+
+    private TripAchievementMetrics rebuild(TripAchievementMetrics metrics) {
+        List<TripUpdate> updates =
+                tripUpdateRepository.findByTripIdOrderByTimestampAsc(metrics.getTripId());
+        List<LatLng> coordinates =
+                updates.stream()
+                        .map(TripUpdate::getLocation)
+                        .filter(TripAchievementMetricsAggregator::isLocated)
+                        .map(location -> new LatLng(location.getLat(), location.getLon()))
+                        .toList();
+
+        metrics.setUpdateCount(updates.size());
+        metrics.setDistanceKm(
+                coordinates.size() < 2
+                        ? 0.0
+                        : distanceCalculationStrategy.calculatePathDistance(coordinates));
+        metrics.setLastLat(coordinates.isEmpty() ? null : coordinates.getLast().lat);
+        metrics.setLastLon(coordinates.isEmpty() ? null : coordinates.getLast().lng);
+        metrics.setLastUpdateTimestamp(updates.isEmpty() ? null : updates.getLast().getTimestamp());
+        return metricsRepository.save(metrics);
+    }
+
+    private static boolean isLocated(GeoLocation location) {
+        return location != null && location.getLat() != null && location.getLon() != null;
+    }
+}
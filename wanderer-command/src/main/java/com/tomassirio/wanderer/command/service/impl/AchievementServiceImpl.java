@@ -2,17 +2,22 @@ package com.tomassirio.wanderer.command.service.impl;
 
 import com.tomassirio.wanderer.command.event.AchievementUnlockedEvent;
 import com.tomassirio.wanderer.command.repository.AchievementRepository;
-import com.tomassirio.wanderer.command.repository.TripRepository;
 import com.tomassirio.wanderer.command.repository.UserAchievementRepository;
 import com.tomassirio.wanderer.command.service.AchievementService;
+import com.tomassirio.wanderer.command.service.AchievementService.TripAchievementContext;
 import com.tomassirio.wanderer.command.service.impl.checker.AchievementChecker;
 import com.tomassirio.wanderer.command.service.impl.checker.SocialAchievementChecker;
 import com.tomassirio.wanderer.command.service.impl.checker.TripAchievementChecker;
+import com.tomassirio.wanderer.commons.cache.BoundedCache;
 import com.tomassirio.wanderer.commons.domain.Achievement;
 import com.tomassirio.wanderer.commons.domain.AchievementType;
-import com.tomassirio.wanderer.commons.domain.Trip;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -32,27 +37,25 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class AchievementServiceImpl implements AchievementService {
 
-    private final TripRepository tripRepository;
+    private static final Duration ACHIEVEMENT_CACHE_TTL = Duration.ofMinutes(10);
+
     private final UserAchievementRepository userAchievementRepository;
     private final AchievementRepository achievementRepository;
     private final ApplicationEventPublisher eventPublisher;
     private final List<TripAchievementChecker> tripCheckers;
     private final List<SocialAchievementChecker> socialCheckers;
+    private final BoundedCache<AchievementType, Achievement> achievementCache =
+            new BoundedCache<>(AchievementType.values().length, ACHIEVEMENT_CACHE_TTL);
 
     /**
      * Checks and unlocks trip-scoped achievements after a new update is added.
      *
-     * @param tripId the trip ID to check achievements for
+     * @param context the trip to check achievements for
      */
     @Override
     @Transactional
-    public void checkAndUnlockAchievements(UUID tripId) {
-        Trip trip =
-                tripRepository
-                        .findById(tripId)
-                        .orElseThrow(() -> new RuntimeException("Trip not found"));
-
-        evaluate(tripCheckers, trip, trip.getUserId(), trip.getId());
+    public void checkAndUnlockAchievements(TripAchievementContext context) {
+        evaluate(tripCheckers, context, context.userId(), context.tripId());
     }
 
     /**
@@ -70,6 +73,9 @@ public class AchievementServiceImpl implements AchievementService {
      * Evaluates a list of checkers against a context and unlocks any achievements whose thresholds
      * are met.
      *
+     * <p>The user's already-unlocked types for the scope are loaded in a single query, and only
+     * when at least one threshold is met.
+     *
      * @param checkers the achievement checkers to evaluate
      * @param context the context passed to each checker's {@code computeMetric}
      * @param userId the user who earns the achievement
@@ -78,26 +84,33 @@ public class AchievementServiceImpl implements AchievementService {
      */
     private <T> void evaluate(
             List<? extends AchievementChecker<T>> checkers, T context, UUID userId, UUID tripId) {
+        Map<AchievementType, Double> candidates = new EnumMap<>(AchievementType.class);
         for (AchievementChecker<T> checker : checkers) {
             double metric = checker.computeMetric(context);
             for (AchievementType type : checker.getApplicableTypes()) {
                 if (metric >= type.getThreshold()) {
-                    unlockIfNotExists(userId, type, tripId, metric);
+                    candidates.putIfAbsent(type, metric);
                 }
             }
         }
-    }
-
-    private void unlockIfNotExists(UUID userId, AchievementType type, UUID tripId, double value) {
-        boolean exists =
-                userAchievementRepository.existsByUserIdAndAchievementTypeAndOptionalTripId(
-                        userId, type, tripId);
-
-        if (exists) {
-            log.debug("Achievement {} already unlocked for user {}", type, userId);
+        if (candidates.isEmpty()) {
             return;
         }
 
+        Set<AchievementType> unlocked =
+                userAchievementRepository.findUnlockedTypesByUserIdAndOptionalTripId(
+                        userId, tripId);
+        candidates.forEach(
+                (type, metric) -> {
+                    if (unlocked.contains(type)) {
+                        log.debug("Achievement {} already unlocked for user {}", type, userId);
+                    } else {
+                        unlock(userId, type, tripId, metric);
+                    }
+                });
+    }
+
+    private void unlock(UUID userId, AchievementType type, UUID tripId, double value) {
         Achievement achievement = getOrCreateAchievement(type);
 
         eventPublisher.publishEvent(
@@ -115,19 +128,29 @@ public class AchievementServiceImpl implements AchievementService {
         log.info("Achievement {} unlocked for user {}", type, userId);
     }
 
+    /**
+     * Returns the enabled achievement of a type, creating it if missing. Achievements read from the
+     * database are cached for a few minutes; freshly created ones are not, since the creating
+     * transaction may still roll back.
+     */
     private Achievement getOrCreateAchievement(AchievementType type) {
-        return achievementRepository
-                .findByTypeAndEnabledTrue(type)
-                .orElseGet(
-                        () ->
-                                achievementRepository.save(
-                                        Achievement.builder()
-                                                .id(UUID.randomUUID())
-                                                .type(type)
-                                                .name(type.getName())
-                                                .description(type.getDescription())
-                                                .thresholdValue(type.getThreshold())
-                                                .enabled(true)
-                                                .build()));
+        Achievement cached = achievementCache.get(type);
+        if (cached != null) {
+            return cached;
+        }
+
+        Optional<Achievement> existing = achievementRepository.findByTypeAndEnabledTrue(type);
+        existing.ifPresent(achievement -> achievementCache.put(type, achievement));
+        return existing.orElseGet(
+                () ->
+                        achievementRepository.save(
+                                Achievement.builder()
+                                        .id(UUID.randomUUID())
+                                        .type(type)
+                                        .name(type.getName())
+                                        .description(type.getDescription())
+                                        .thresholdValue(type.getThreshold())
+                                        .enabled(true)
+                                        .build()));
     }
 }
@@ -0,0 +1,50 @@
+package com.tomassirio.wanderer.command.service.impl;
+
+import com.tomassirio.wanderer.command.service.GeocodingService;
+import com.tomassirio.wanderer.command.service.helper.GeoCell;
+import com.tomassirio.wanderer.commons.cache.BoundedCache;
+import com.tomassirio.wanderer.commons.domain.GeoLocation;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {@link GeocodingService} decorator that caches results per {@link GeoCell}.
+ *
+ * <p>Walkers send updates every few minutes from nearly the same place, so most lookups land in a
+ * cell that was already resolved. Only successful results are cached; a {@code null} from the
+ * delegate (failure or no result) is retried on the next update.
+ */
+@Slf4j
+public class CachingGeocodingServiceImpl implements GeocodingService {
+
+    private final GeocodingService delegate;
+    private final double cellSizeMetres;
+    @Getter private final BoundedCache<GeoCell, GeocodingResult> cache;
+
+    public CachingGeocodingServiceImpl(
+            GeocodingService delegate,
+            double cellSizeMetres,
+            BoundedCache<GeoCell, GeocodingResult> cache) {
+        this.delegate = delegate;
+        this.cellSizeMetres = cellSizeMetres;
+        this.cache = cache;
+    }
+
+    @Override
+    public GeocodingResult reverseGeocode(GeoLocation location) {
+        GeoCell cell = GeoCell.of(location, cellSizeMetres);
+        if (cell == null) {
+            return delegate.reverseGeocode(location);
+        }
+
+        GeocodingResult cached = cache.get(cell);
+        if (cached != null) {
+            log.debug("Geocoding cache hit for cell {}", cell);
+            return cached;
+        }
+
+        GeocodingResult result = delegate.reverseGeocode(location);
+        cache.put(cell, result);
+        return result;
+    }
+}
@@ -0,0 +1,112 @@
+package com.tomassirio.wanderer.command.service.impl;
+
+import com.tomassirio.wanderer.command.service.WeatherService;
+import com.tomassirio.wanderer.command.service.helper.GeoCell;
+import com.tomassirio.wanderer.commons.cache.BoundedCache;
+import com.tomassirio.wanderer.commons.domain.GeoLocation;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {@link WeatherService} decorator that caches current conditions per {@link GeoCell} and time
+ * bucket.
+ *
+ * <p>Conditions within a few kilometres and a quarter of an hour are effectively the same, so the
+ * cache key is the grid cell plus the index of the {@code ttl}-wide bucket the lookup falls in. A
+ * cached entry expires at the end of its bucket.
+ *
+ * <p>Concurrent lookups for the same key are coalesced: the first caller performs the upstream call
+ * and the others wait for its result, so a burst of updates from one group of pilgrims makes a
+ * single request. Only successful results are cached. A waiter gives up after {@code joinTimeout}
+ * and reports the lookup as failed, while the shared lookup carries on for the others.
+ */
+@Slf4j
+public class CachingWeatherServiceImpl implements WeatherService {
+
+    private final WeatherService delegate;
+    private final double cellSizeMetres;
+    private final Duration ttl;
+    private final Duration joinTimeout;
+    private final Clock clock;
+    @Getter private final BoundedCache<Key, WeatherResult> cache;
+    private final Map<Key, CompletableFuture<WeatherResult>> inFlight = new ConcurrentHashMap<>();
+
+    public CachingWeatherServiceImpl(
+            WeatherService delegate,
+            double cellSizeMetres,
+            Duration ttl,
+            Duration joinTimeout,
+            BoundedCache<Key, WeatherResult> cache,
+            Clock clock) {
+        this.delegate = delegate;
+        this.cellSizeMetres = cellSizeMetres;
+        this.ttl = ttl;
+        this.joinTimeout = joinTimeout;
+        this.cache = cache;
+        this.clock = clock;
+    }
+
+    @Override
+    public WeatherResult lookupCurrentWeather(GeoLocation location) {
+        GeoCell cell = GeoCell.of(location, cellSizeMetres);
+        if (cell == null) {
+            return delegate.lookupCurrentWeather(location);
+        }
+
+        long bucket = clock.millis() / ttl.toMillis();
+        Key key = new Key(cell, bucket);
+
+        WeatherResult cached = cache.get(key);
+        if (cached != null) {
+            log.debug("Weather cache hit for {}", key);
+            return cached;
+        }
+
+        CompletableFuture<WeatherResult> pending = new CompletableFuture<>();
+        CompletableFuture<WeatherResult> existing = inFlight.putIfAbsent(key, pending);
+        if (existing != null) {
+            log.debug("Joining in-flight weather lookup for {}", key);
+            return join(key, existing);
+        }
+
+        WeatherResult result = null;
+        try {
+            result = delegate.lookupCurrentWeather(location);
+            cache.put(key, result, Instant.ofEpochMilli((bucket + 1) * ttl.toMillis()));
+            return result;
+        } finally {
+            // Waiters see null when the lookup failed, whatever it threw
+            inFlight.remove(key, pending);
+            pending.complete(result);
+        }
+    }
+
+    /**
+     * Waits up to {@code joinTimeout} for another caller's lookup. The timeout is applied to a copy
+     * so it does not fail the shared future for the other waiters.
+     */
+    private WeatherResult join(Key key, CompletableFuture<WeatherResult> existing) {
+        try {
+            return existing.copy().orTimeout(joinTimeout.toMillis(), TimeUnit.MILLISECONDS).join();
+        } catch (CompletionException e) {
+            log.warn("Gave up waiting {} for in-flight weather lookup for {}", joinTimeout, key);
+            return null;
+        }
+    }
+
+    /**
+     * Cache key: a grid cell plus the index of the time bucket the lookup was made in.
+     *
+     * @param cell the grid cell containing the location
+     * @param bucket epoch millis divided by the bucket width
+     */
+    public record Key(GeoCell cell, long bucket) {}
+}
@@ -18,113 +18,158 @@ import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 /**
  * Implementation of {@link PolylineService} that computes encoded polylines for trips using Google
  * Directions API (walking mode).
  *
  * <p>Supports incremental segment appending for optimal performance when new trip updates are
- * added, and full recomputation when trip updates are deleted.
+ * added, and full recomputation when trip updates are deleted. Appending only reads the two latest
+ * located updates and extends the encoded string in place, so its cost depends on the new segment
+ * rather than on the length of the trip, and subscribers that opted into polyline deltas only
+ * receive the appended suffix.
+ *
+ * <p>Routes are fetched before anything is locked. The new polyline is then written with a single
+ * UPDATE that only succeeds if the polyline version is still the one it was computed from, so the
+ * trip row is locked just for that short transaction, never across a Directions request. When
+ * another writer got there first, the change is computed again from the fresh polyline: each change
+ * extends the polyline the previous one left and bumps the version by exactly one.
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class PolylineServiceImpl implements PolylineService {
 
+    /** How often a change is computed before giving up on writers that keep getting there first. */
+    private static final int MAX_ATTEMPTS = 3;
+
     private final TripRepository tripRepository;
     private final TripUpdateRepository tripUpdateRepository;
     private final RouteService routeService;
     private final PolylineComputer polylineComputer;
     private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
 
     @Override
-    @Transactional
     public void appendSegment(UUID tripId) {
-        Trip trip =
-                tripRepository
-                        .findById(tripId)
-                        .orElseThrow(
-                                () -> new EntityNotFoundException("Trip not found: " + tripId));
-
-        List<TripUpdate> updates = tripUpdateRepository.findByTripIdOrderByTimestampAsc(tripId);
-
-        // Filter to updates with valid locations
-        List<TripUpdate> validUpdates =
-                updates.stream()
-                        .filter(
-                                u ->
-                                        u.getLocation() != null
-                                                && u.getLocation().getLat() != null
-                                                && u.getLocation().getLon() != null)
-                        .toList();
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            if (tryAppendSegment(findTrip(tripId))) {
+                return;
+            }
+            log.debug("Polyline of trip {} changed while appending, retrying", tripId);
+        }
+        log.warn("Polyline of trip {} kept changing while appending, recomputing it", tripId);
+        recomputePolyline(tripId);
+    }
 
-        if (validUpdates.size() < 2) {
-            // Not enough valid locations to compute a polyline
-            trip.setEncodedPolyline(null);
-            trip.setPolylineUpdatedAt(null);
-            tripRepository.save(trip);
-            log.debug("Trip {} has fewer than 2 valid locations, polyline cleared", tripId);
-            publishPolylineUpdatedEvent(tripId, null);
-            return;
+    @Override
+    public void recomputePolyline(UUID tripId) {
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            if (tryRecomputePolyline(findTrip(tripId))) {
+                return;
+            }
+            log.debug("Polyline of trip {} changed while recomputing, retrying", tripId);
         }
+        throw new ConcurrencyFailureException(
+                "Polyline of trip " + tripId + " kept changing while recomputing");
+    }
 
-        GeoLocation previousLast = validUpdates.get(validUpdates.size() - 2).getLocation();
-        GeoLocation newLast = validUpdates.getLast().getLocation();
+    private boolean tryAppendSegment(Trip trip) {
+        String previous = trip.getEncodedPolyline();
+        if (previous == null || previous.isEmpty()) {
+            // No existing polyline — full recompute
+            return tryRecomputePolyline(trip);
+        }
+
+        // Only the two latest located updates are needed to route the new segment
+        List<TripUpdate> lastTwo = tripUpdateRepository.findLastTwoLocatedByTripId(trip.getId());
 
-        if (trip.getEncodedPolyline() != null && !trip.getEncodedPolyline().isEmpty()) {
-            // Incremental: decode existing, fetch new segment, append, re-encode
-            List<LatLng> existingPoints = PolylineCodec.decode(trip.getEncodedPolyline());
+        if (lastTwo.size() < 2) {
+            // Not enough valid locations to compute a polyline
+            log.debug("Trip {} has fewer than 2 valid locations, clearing polyline", trip.getId());
+            return writePolyline(trip, null, null);
+        }
 
-            List<LatLng> newSegmentPoints = routeService.getRoutePoints(previousLast, newLast);
+        GeoLocation newLast = lastTwo.get(0).getLocation();
+        GeoLocation previousLast = lastTwo.get(1).getLocation();
 
-            if (!newSegmentPoints.isEmpty()) {
-                // Skip first point to avoid duplicate with last point of existing polyline
-                existingPoints.addAll(newSegmentPoints.subList(1, newSegmentPoints.size()));
-            }
+        // Incremental: fetch the new segment and delta-encode it onto the existing string
+        List<LatLng> newSegmentPoints = routeService.getRoutePoints(previousLast, newLast);
 
-            String encoded = PolylineCodec.encode(existingPoints);
-            trip.setEncodedPolyline(encoded);
-            trip.setPolylineUpdatedAt(Instant.now());
-            tripRepository.save(trip);
-
-            log.info(
-                    "Polyline incrementally updated for trip {}. Total points: {}",
-                    tripId,
-                    existingPoints.size());
-            publishPolylineUpdatedEvent(tripId, encoded);
-        } else {
-            // No existing polyline — full recompute
-            recomputePolylineInternal(trip, updates);
+        // Skip first point to avoid duplicate with last point of existing polyline
+        List<LatLng> appendedPoints =
+                newSegmentPoints.isEmpty()
+                        ? List.of()
+                        : newSegmentPoints.subList(1, newSegmentPoints.size());
+
+        String encoded = PolylineCodec.append(previous, appendedPoints);
+        // Appending only extends the string, so subscribers just need the new characters
+        if (!writePolyline(trip, encoded, encoded.substring(previous.length()))) {
+            return false;
         }
+        log.info(
+                "Polyline incrementally updated for trip {}. Appended points: {}",
+                trip.getId(),
+                appendedPoints.size());
+        return true;
     }
 
-    @Override
-    @Transactional
-    public void recomputePolyline(UUID tripId) {
-        Trip trip =
-                tripRepository
-                        .findById(tripId)
-                        .orElseThrow(
-                                () -> new EntityNotFoundException("Trip not found: " + tripId));
-
-        List<TripUpdate> updates = tripUpdateRepository.findByTripIdOrderByTimestampAsc(tripId);
-        recomputePolylineInternal(trip, updates);
+    private boolean tryRecomputePolyline(Trip trip) {
+        List<GeoLocation> locations =
+                tripUpdateRepository.findByTripIdOrderByTimestampAsc(trip.getId()).stream()
+                        .map(TripUpdate::getLocation)
+                        .toList();
+        return writePolyline(trip, polylineComputer.compute(locations), null);
     }
 
-    private void recomputePolylineInternal(Trip trip, List<TripUpdate> updates) {
-        List<GeoLocation> locations = updates.stream().map(TripUpdate::getLocation).toList();
+    /**
+     * Writes and publishes a polyline computed from {@code trip}, unless the trip's polyline
+     * changed since it was read.
+     *
+     * @return whether the polyline was written
+     */
+    private boolean writePolyline(Trip trip, String encodedPolyline, String encodedSuffix) {
+        Instant updatedAt = encodedPolyline == null ? null : Instant.now();
+        long version = trip.getPolylineVersion() + 1;
+        return Boolean.TRUE.equals(
+                transactionTemplate.execute(
+                        status -> {
+                            int updated =
+                                    tripRepository.updatePolylineIfVersion(
+                                            trip.getId(),
+                                            trip.getPolylineVersion(),
+                                            encodedPolyline,
+                                            updatedAt);
+                            if (updated == 0) {
+                                return false;
+                            }
+                            publishPolylineUpdatedEvent(
+                                    trip.getId(), encodedPolyline, encodedSuffix, version);
+                            return true;
+                        }));
+    }
 
-        polylineComputer.computeAndApply(trip, locations, tripRepository::save);
-        publishPolylineUpdatedEvent(trip.getId(), trip.getEncodedPolyline());
+    private Trip findTrip(UUID tripId) {
+        return tripRepository
+                .findById(tripId)
+                .orElseThrow(() -> new EntityNotFoundException("Trip not found: " + tripId));
     }
 
-    private void publishPolylineUpdatedEvent(UUID tripId, String encodedPolyline) {
+    /**
+     * Publishes a trip's new polyline, or only the characters just appended to it when {@code
+     * encodedSuffix} is given.
+     */
+    private void publishPolylineUpdatedEvent(
+            UUID tripId, String encodedPolyline, String encodedSuffix, long version) {
         eventPublisher.publishEvent(
                 PolylineUpdatedEvent.builder()
                         .tripId(tripId)
                         .encodedPolyline(encodedPolyline)
+                        .encodedSuffix(encodedSuffix)
+                        .version(version)
                         .build());
     }
 }
@@ -1,5 +1,6 @@
 package com.tomassirio.wanderer.command.service.impl;
 
+import com.tomassirio.wanderer.command.config.properties.TripUpdateEnrichmentProperties;
 import com.tomassirio.wanderer.command.controller.request.TripUpdateCreationRequest;
 import com.tomassirio.wanderer.command.event.TripUpdatedEvent;
 import com.tomassirio.wanderer.command.repository.TripRepository;
@@ -9,18 +10,27 @@ import com.tomassirio.wanderer.command.service.WeatherService;
 import com.tomassirio.wanderer.command.service.validator.OwnershipValidator;
 import com.tomassirio.wanderer.commons.domain.GeoLocation;
 import com.tomassirio.wanderer.commons.domain.Trip;
+import com.tomassirio.wanderer.commons.domain.TripDetails;
 import jakarta.persistence.EntityNotFoundException;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+@Slf4j
 @Service
 @AllArgsConstructor
-@Transactional
 public class TripUpdateServiceImpl implements TripUpdateService {
 
     private final TripRepository tripRepository;
@@ -28,6 +38,9 @@ public class TripUpdateServiceImpl implements TripUpdateService {
     private final ApplicationEventPublisher eventPublisher;
     private final GeocodingService geocodingService;
     private final WeatherService weatherService;
+    private final TripUpdateEnrichmentProperties enrichmentProperties;
+    private final ExecutorService enrichmentExecutor;
+    private final TransactionTemplate transactionTemplate;
 
     @Override
     public UUID createTripUpdate(UUID userId, UUID tripId, TripUpdateCreationRequest request) {
@@ -42,14 +55,29 @@ public class TripUpdateServiceImpl implements TripUpdateService {
         UUID tripUpdateId = UUID.randomUUID();
         Instant timestamp = Instant.now();
 
-        GeocodingService.GeocodingResult geocodingResult = resolveGeocoding(request.location());
-        WeatherService.WeatherResult weatherResult = resolveWeather(request.location());
+        // Both lookups hit external APIs; run them side by side so the request waits for the
+        // slower of the two (bounded by its deadline) rather than for their sum. They run before
+        // the transaction starts, so no pooled connection is held while waiting on them.
+        CompletableFuture<GeocodingService.GeocodingResult> geocodingFuture =
+                resolveGeocoding(request.location());
+        CompletableFuture<WeatherService.WeatherResult> weatherFuture =
+                resolveWeather(request.location());
+        GeocodingService.GeocodingResult geocodingResult = geocodingFuture.join();
+        WeatherService.WeatherResult weatherResult = weatherFuture.join();
 
-        // Publish event - persistence handler will write to DB
-        eventPublisher.publishEvent(
+        TripUpdatedEvent event =
                 TripUpdatedEvent.builder()
                         .tripUpdateId(tripUpdateId)
                         .tripId(tripId)
+                        .userId(trip.getUserId())
+                        .tripStartTimestamp(
+                                Optional.ofNullable(trip.getTripDetails())
+                                        .map(TripDetails::getStartTimestamp)
+                                        .orElse(null))
+                        .tripEndTimestamp(
+                                Optional.ofNullable(trip.getTripDetails())
+                                        .map(TripDetails::getEndTimestamp)
+                                        .orElse(null))
                         .location(request.location())
                         .batteryLevel(request.battery())
                         .message(request.message())
@@ -71,16 +99,53 @@ public class TripUpdateServiceImpl implements TripUpdateService {
                                         .orElse(null))
                         .updateType(request.updateType())
                         .timestamp(timestamp)
-                        .build());
+                        .build();
+
+        // Publish event - persistence handler will write to DB
+        transactionTemplate.executeWithoutResult(status -> eventPublisher.publishEvent(event));
 
         return tripUpdateId;
     }
 
-    private GeocodingService.GeocodingResult resolveGeocoding(GeoLocation location) {
-        return geocodingService.reverseGeocode(location);
+    private CompletableFuture<GeocodingService.GeocodingResult> resolveGeocoding(
+            GeoLocation location) {
+        return lookupWithDeadline(
+                () -> geocodingService.reverseGeocode(location),
+                enrichmentProperties.getGeocodingTimeout(),
+                "Geocoding");
+    }
+
+    private CompletableFuture<WeatherService.WeatherResult> resolveWeather(GeoLocation location) {
+        return lookupWithDeadline(
+                () -> weatherService.lookupCurrentWeather(location),
+                enrichmentProperties.getWeatherTimeout(),
+                "Weather");
     }
 
-    private WeatherService.WeatherResult resolveWeather(GeoLocation location) {
-        return weatherService.lookupCurrentWeather(location);
+    /**
+     * Starts the given lookup on the enrichment executor. The returned future completes with {@code
+     * null} if the lookup fails or does not finish within {@code timeout}, so a slow upstream only
+     * drops its own enrichment instead of failing the trip update.
+     */
+    private <T> CompletableFuture<T> lookupWithDeadline(
+            Supplier<T> lookup, Duration timeout, String lookupName) {
+        return CompletableFuture.supplyAsync(lookup, enrichmentExecutor)
+                .orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+                .exceptionally(
+                        ex -> {
+                            Throwable cause =
+                                    ex instanceof CompletionException && ex.getCause() != null
+                                            ? ex.getCause()
+                                            : ex;
+                            if (cause instanceof TimeoutException) {
+                                log.warn(
+                                        "{} lookup did not complete within {}",
+                                        lookupName,
+                                        timeout);
+                            } else {
+                                log.warn("{} lookup failed: {}", lookupName, cause.toString());
+                            }
+                            return null;
+                        });
     }
 }
@@ -12,13 +12,15 @@ import java.util.List;
  * metric value from the given context.
  *
  * <ul>
- *   <li>{@code AchievementChecker<Trip>} — trip-scoped (distance, updates, duration)
+ *   <li>{@code AchievementChecker<TripAchievementContext>} — trip-scoped (distance, updates,
+ *       duration)
  *   <li>{@code AchievementChecker<UUID>} — user-scoped / social (followers, friends)
  * </ul>
  *
  * <p>Implementations are auto-discovered by Spring and collected by {@link AchievementServiceImpl}.
  *
- * @param <T> the context type used to compute the metric (e.g., {@code Trip}, {@code UUID})
+ * @param <T> the context type used to compute the metric (e.g., {@code TripAchievementContext},
+ *     {@code UUID})
  * @since 0.8.0
  */
 public interface AchievementChecker<T> {
@@ -33,7 +35,7 @@ public interface AchievementChecker<T> {
     /**
      * Computes the current metric value from the given context.
      *
-     * @param context the context to evaluate (e.g., a Trip or a user ID)
+     * @param context the context to evaluate (e.g., a trip snapshot or a user ID)
      * @return the computed metric value
      */
     double computeMetric(T context);
@@ -1,23 +1,18 @@
 package com.tomassirio.wanderer.command.service.impl.checker;
 
-import com.google.maps.model.LatLng;
-import com.tomassirio.wanderer.command.repository.TripUpdateRepository;
-import com.tomassirio.wanderer.command.service.DistanceCalculationStrategy;
+import com.tomassirio.wanderer.command.service.AchievementService.TripAchievementContext;
 import com.tomassirio.wanderer.commons.domain.AchievementType;
-import com.tomassirio.wanderer.commons.domain.Trip;
-import com.tomassirio.wanderer.commons.domain.TripUpdate;
+import com.tomassirio.wanderer.commons.domain.TripAchievementMetrics;
 import java.util.List;
-import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
-/** Checks achievements based on the total distance walked during a trip. */
+/**
+ * Checks achievements based on the total distance walked during a trip, as accumulated in the
+ * trip's {@link TripAchievementMetrics}.
+ */
 @Component
-@RequiredArgsConstructor
 public class DistanceAchievementChecker implements TripAchievementChecker {
 
-    private final TripUpdateRepository tripUpdateRepository;
-    private final DistanceCalculationStrategy distanceCalculationStrategy;
-
     @Override
     public List<AchievementType> getApplicableTypes() {
         return List.of(
@@ -31,32 +26,8 @@ public class DistanceAchievementChecker implements TripAchievementChecker {
     }
 
     @Override
-    public double computeMetric(Trip trip) {
-        List<TripUpdate> updates =
-                tripUpdateRepository.findByTripIdOrderByTimestampAsc(trip.getId());
-
-        if (updates.size() < 2) {
-            return 0.0;
-        }
-
-        List<LatLng> coordinates =
-                updates.stream()
-                        .filter(
-                                update ->
-                                        update.getLocation() != null
-                                                && update.getLocation().getLat() != null
-                                                && update.getLocation().getLon() != null)
-                        .map(
-                                update ->
-                                        new LatLng(
-                                                update.getLocation().getLat(),
-                                                update.getLocation().getLon()))
-                        .toList();
-
-        if (coordinates.size() < 2) {
-            return 0.0;
-        }
-
-        return distanceCalculationStrategy.calculatePathDistance(coordinates);
+    public double computeMetric(TripAchievementContext context) {
+        TripAchievementMetrics metrics = context.metrics();
+        return metrics == null ? 0.0 : metrics.getDistanceKm();
     }
 }
@@ -1,7 +1,7 @@
 package com.tomassirio.wanderer.command.service.impl.checker;
 
+import com.tomassirio.wanderer.command.service.AchievementService.TripAchievementContext;
 import com.tomassirio.wanderer.commons.domain.AchievementType;
-import com.tomassirio.wanderer.commons.domain.Trip;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
@@ -21,16 +21,13 @@ public class DurationAchievementChecker implements TripAchievementChecker {
     }
 
     @Override
-    public double computeMetric(Trip trip) {
-        if (trip.getTripDetails() == null || trip.getTripDetails().getStartTimestamp() == null) {
+    public double computeMetric(TripAchievementContext context) {
+        if (context.startTimestamp() == null) {
             return 0.0;
         }
 
-        Instant endTime =
-                trip.getTripDetails().getEndTimestamp() != null
-                        ? trip.getTripDetails().getEndTimestamp()
-                        : Instant.now();
+        Instant endTime = context.endTimestamp() != null ? context.endTimestamp() : Instant.now();
 
-        return Duration.between(trip.getTripDetails().getStartTimestamp(), endTime).toDays();
+        return Duration.between(context.startTimestamp(), endTime).toDays();
     }
 }
@@ -1,13 +1,13 @@
 package com.tomassirio.wanderer.command.service.impl.checker;
 
-import com.tomassirio.wanderer.commons.domain.Trip;
+import com.tomassirio.wanderer.command.service.AchievementService.TripAchievementContext;
 
 /**
- * Achievement checker scoped to a {@link Trip}.
+ * Achievement checker scoped to a trip, evaluated against a {@link TripAchievementContext}.
  *
- * <p>Convenience type alias for {@code AchievementChecker<Trip>} — used by Spring to collect all
- * trip-scoped checkers into {@code List<TripAchievementChecker>}.
+ * <p>Convenience type alias for {@code AchievementChecker<TripAchievementContext>} — used by
+ * Spring to collect all trip-scoped checkers into {@code List<TripAchievementChecker>}.
  *
  * @see AchievementChecker
  */
-public interface TripAchievementChecker extends AchievementChecker<Trip> {}
+public interface TripAchievementChecker extends AchievementChecker<TripAchievementContext> {}
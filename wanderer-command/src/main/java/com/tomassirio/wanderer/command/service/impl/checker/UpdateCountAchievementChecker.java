@@ -1,19 +1,18 @@
 package com.tomassirio.wanderer.command.service.impl.checker;
 
-import com.tomassirio.wanderer.command.repository.TripUpdateRepository;
+import com.tomassirio.wanderer.command.service.AchievementService.TripAchievementContext;
 import com.tomassirio.wanderer.commons.domain.AchievementType;
-import com.tomassirio.wanderer.commons.domain.Trip;
+import com.tomassirio.wanderer.commons.domain.TripAchievementMetrics;
 import java.util.List;
-import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
-/** Checks achievements based on the number of trip updates posted. */
+/**
+ * Checks achievements based on the number of trip updates posted, as counted in the trip's {@link
+ * TripAchievementMetrics}.
+ */
 @Component
-@RequiredArgsConstructor
 public class UpdateCountAchievementChecker implements TripAchievementChecker {
 
-    private final TripUpdateRepository tripUpdateRepository;
-
     @Override
     public List<AchievementType> getApplicableTypes() {
         return List.of(
@@ -23,7 +22,8 @@ public class UpdateCountAchievementChecker implements TripAchievementChecker {
     }
 
     @Override
-    public double computeMetric(Trip trip) {
-        return tripUpdateRepository.countByTripId(trip.getId());
+    public double computeMetric(TripAchievementContext context) {
+        TripAchievementMetrics metrics = context.metrics();
+        return metrics == null ? 0.0 : metrics.getUpdateCount();
     }
 }
@@ -1,41 +1,81 @@
 package com.tomassirio.wanderer.command.service.impl.strategy;
 
 import com.google.maps.DirectionsApi;
+import com.google.maps.DirectionsApiRequest;
 import com.google.maps.GeoApiContext;
+import com.google.maps.model.DirectionsLeg;
 import com.google.maps.model.DirectionsResult;
 import com.google.maps.model.DirectionsRoute;
 import com.google.maps.model.LatLng;
 import com.google.maps.model.TravelMode;
+import com.tomassirio.wanderer.command.config.properties.DirectionsProperties;
 import com.tomassirio.wanderer.command.service.RouteService;
+import com.tomassirio.wanderer.command.service.helper.PolylineBuffer;
+import com.tomassirio.wanderer.command.service.helper.PolylineCodec;
+import com.tomassirio.wanderer.command.service.helper.RouteSegmentCache;
+import com.tomassirio.wanderer.command.service.helper.TokenBucket;
 import com.tomassirio.wanderer.commons.domain.GeoLocation;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import lombok.RequiredArgsConstructor;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * Route strategy that uses the Google Directions API (walking mode) for road-snapped routes.
  *
- * <p>Falls back to {@link StraightLineRouteStrategy} if an API call fails at runtime.
+ * <p>Segments are looked up in the {@link RouteSegmentCache} before calling the API, and every
+ * segment the API returns is stored there, so recomputing a polyline only pays for segments that
+ * were never fetched before.
+ *
+ * <p>Full routes pack consecutive uncached segments into one request with up to {@code
+ * maxWaypointsPerRequest} intermediate waypoints, and split the returned legs back into segments.
+ * Batches are fetched concurrently on virtual threads. API calls are bounded by a service-wide
+ * in-flight limit and a token bucket sized to the Maps quota (see {@link DirectionsProperties});
+ * segments are stitched back in their original order. Segments are kept encoded while the route
+ * is assembled and are stitched through a reused {@link PolylineBuffer}, so {@link
+ * #getFullRouteEncoded(List)} never builds a {@link LatLng} per route point.
+ *
+ * <p>Falls back to {@link StraightLineRouteStrategy}, segment by segment, if an API call fails at
+ * runtime.
  */
 @Slf4j
-@RequiredArgsConstructor
 public class GoogleDirectionsRouteStrategy implements RouteService {
 
     private final GeoApiContext geoApiContext;
     private final StraightLineRouteStrategy fallback;
+    private final RouteSegmentCache segmentCache;
+    private final int maxSegmentsPerRequest;
+    private final Semaphore inFlight;
+    private final TokenBucket rateLimiter;
+
+    public GoogleDirectionsRouteStrategy(
+            GeoApiContext geoApiContext,
+            StraightLineRouteStrategy fallback,
+            RouteSegmentCache segmentCache,
+            DirectionsProperties properties) {
+        this.geoApiContext = geoApiContext;
+        this.fallback = fallback;
+        this.segmentCache = segmentCache;
+        this.maxSegmentsPerRequest = properties.getMaxWaypointsPerRequest() + 1;
+        this.inFlight = new Semaphore(properties.getMaxConcurrentRequests(), true);
+        this.rateLimiter =
+                new TokenBucket(properties.getRequestsPerSecond(), properties.getBurst());
+    }
 
     @Override
     public List<LatLng> getRoutePoints(GeoLocation origin, GeoLocation destination) {
-        try {
-            return fetchRouteFromGoogle(origin, destination);
-        } catch (Exception e) {
-            log.warn(
-                    "Failed to fetch route from Google Directions API, falling back to"
-                            + " straight-line: {}",
-                    e.getMessage());
-            return fallback.getRoutePoints(origin, destination);
+        Optional<List<LatLng>> cached = findCachedSegment(origin, destination);
+        if (cached.isPresent()) {
+            return cached.get();
         }
+        List<GeoLocation> stops = List.of(origin, destination);
+        return routedOrFallback(stops, fetchBatch(stops)).getFirst();
     }
 
     @Override
@@ -43,42 +83,283 @@ public class GoogleDirectionsRouteStrategy implements RouteService {
         if (locations == null || locations.size() < 2) {
             return List.of();
         }
+        List<LatLng> allPoints = new ArrayList<>();
+        stitch(fetchSegments(locations), (lat, lng) -> allPoints.add(new LatLng(lat, lng)));
+        return allPoints;
+    }
 
-        ArrayList<LatLng> allPoints = new ArrayList<>();
+    @Override
+    public String getFullRouteEncoded(List<GeoLocation> locations) {
+        if (locations == null || locations.size() < 2) {
+            return null;
+        }
+        PolylineBuffer route = new PolylineBuffer();
+        stitch(fetchSegments(locations), route::add);
+        return PolylineCodec.encodeBuffer(route);
+    }
 
-        for (int i = 0; i < locations.size() - 1; i++) {
-            List<LatLng> segmentPoints = getRoutePoints(locations.get(i), locations.get(i + 1));
-            if (allPoints.isEmpty()) {
-                allPoints.addAll(segmentPoints);
-            } else if (!segmentPoints.isEmpty()) {
-                // Skip first point of new segment to avoid duplicate with last point
-                allPoints.addAll(segmentPoints.subList(1, segmentPoints.size()));
+    /**
+     * Decodes {@code segments} in order into {@code consumer}, skipping the first point of every
+     * segment after the first non-empty one, as it duplicates the last point of the previous one.
+     */
+    private static void stitch(List<String> segments, PolylineCodec.PointConsumer consumer) {
+        PolylineBuffer points = new PolylineBuffer();
+        boolean started = false;
+        for (String segment : segments) {
+            PolylineCodec.decode(segment, points);
+            for (int i = started ? 1 : 0; i < points.size(); i++) {
+                consumer.accept(points.lat(i), points.lng(i));
             }
+            started |= points.size() > 0;
         }
+    }
 
-        return allPoints;
+    /**
+     * Routes every consecutive pair of {@code locations} and returns the encoded segments in
+     * order.
+     *
+     * <p>Cached segments are resolved first; the remaining ones are grouped into runs of
+     * consecutive segments, each run split into batches of at most {@code maxSegmentsPerRequest}.
+     * Every batch gets its own virtual thread; the service-wide in-flight limit caps how many of
+     * them call the API at once. A batch whose task fails is replaced by straight-line segments.
+     */
+    private List<String> fetchSegments(List<GeoLocation> locations) {
+        List<String> segments = findCachedSegments(locations);
+        List<int[]> batches = planBatches(segments);
+        if (batches.isEmpty()) {
+            return segments;
+        }
+        if (batches.size() == 1) {
+            int[] batch = batches.getFirst();
+            List<GeoLocation> stops = locations.subList(batch[0], batch[1] + 1);
+            fill(segments, batch, routedOrFallback(stops, fetchBatch(stops)));
+            return segments;
+        }
+
+        // fetchBatch waits for an in-flight slot, so only that many of these threads call out
+        List<Future<List<List<LatLng>>>> futures = new ArrayList<>(batches.size());
+        try (ExecutorService executor =
+                Executors.newThreadPerTaskExecutor(
+                        Thread.ofVirtual().name("directions-", 0).factory())) {
+            for (int[] batch : batches) {
+                List<GeoLocation> stops = locations.subList(batch[0], batch[1] + 1);
+                futures.add(executor.submit(() -> fetchBatch(stops)));
+            }
+        }
+
+        // Store on this thread so the segments join the caller's transaction
+        for (int i = 0; i < batches.size(); i++) {
+            int[] batch = batches.get(i);
+            List<GeoLocation> stops = locations.subList(batch[0], batch[1] + 1);
+            fill(segments, batch, routedOrFallback(stops, batchResult(futures.get(i))));
+        }
+        return segments;
     }
 
-    private List<LatLng> fetchRouteFromGoogle(GeoLocation origin, GeoLocation destination)
-            throws Exception {
-        LatLng originLatLng = new LatLng(origin.getLat(), origin.getLon());
-        LatLng destLatLng = new LatLng(destination.getLat(), destination.getLon());
+    /**
+     * Groups the uncached ({@code null}) segments into {@code [from, to)} index ranges of
+     * consecutive segments, each at most {@code maxSegmentsPerRequest} long.
+     */
+    private List<int[]> planBatches(List<String> segments) {
+        List<int[]> batches = new ArrayList<>();
+        int i = 0;
+        while (i < segments.size()) {
+            if (segments.get(i) != null) {
+                i++;
+                continue;
+            }
+            int from = i;
+            while (i < segments.size()
+                    && segments.get(i) == null
+                    && i - from < maxSegmentsPerRequest) {
+                i++;
+            }
+            batches.add(new int[] {from, i});
+        }
+        return batches;
+    }
+
+    private static void fill(List<String> segments, int[] batch, List<List<LatLng>> legs) {
+        for (int i = batch[0]; i < batch[1]; i++) {
+            List<LatLng> leg = legs.get(i - batch[0]);
+            // Empty legs become "" so they are not mistaken for uncached segments
+            segments.set(i, leg.isEmpty() ? "" : PolylineCodec.encode(leg));
+        }
+    }
 
-        DirectionsResult result =
+    /** Returns the legs a batch task fetched, or {@code null} if the task failed. */
+    private List<List<LatLng>> batchResult(Future<List<List<LatLng>>> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.warn("Route batch task failed, using straight-line: {}", e.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * Stores each routed leg as a segment and returns them, or returns straight-line segments for
+     * {@code stops} when {@code legs} is {@code null}.
+     */
+    private List<List<LatLng>> routedOrFallback(List<GeoLocation> stops, List<List<LatLng>> legs) {
+        if (legs == null) {
+            return straightLineSegments(stops);
+        }
+        for (int i = 0; i < legs.size(); i++) {
+            storeSegment(stops.get(i), stops.get(i + 1), legs.get(i));
+        }
+        return legs;
+    }
+
+    /**
+     * Routes {@code stops} in a single Directions request (the first and last stop being origin and
+     * destination, the rest waypoints). Safe to call from any thread: it does not touch the
+     * segment cache.
+     *
+     * @return one entry per consecutive pair of {@code stops}, or {@code null} if the request
+     *     fails or returns no usable route
+     */
+    private List<List<LatLng>> fetchBatch(List<GeoLocation> stops) {
+        List<List<LatLng>> legs;
+        try {
+            inFlight.acquire();
+            try {
+                rateLimiter.acquire();
+                legs = requestLegs(stops);
+            } finally {
+                inFlight.release();
+            }
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            log.warn(
+                    "Failed to fetch route from Google Directions API, falling back to"
+                            + " straight-line: {}",
+                    e.getMessage());
+            return null;
+        }
+
+        if (legs == null || legs.size() != stops.size() - 1) {
+            log.warn("No routes returned from Google API, using straight-line fallback");
+            return null;
+        }
+        return legs;
+    }
+
+    /**
+     * Requests a walking route through {@code stops} and returns the points of each leg, or {@code
+     * null} if no route was returned.
+     *
+     * <p>Legs are cut from the overview polyline whether the request has waypoints or not, so a
+     * segment is cached at the same resolution however it was fetched.
+     */
+    List<List<LatLng>> requestLegs(List<GeoLocation> stops) throws Exception {
+        DirectionsApiRequest request =
                 DirectionsApi.newRequest(geoApiContext)
-                        .origin(originLatLng)
-                        .destination(destLatLng)
-                        .mode(TravelMode.WALKING)
-                        .await();
-
-        if (result.routes != null && result.routes.length > 0) {
-            DirectionsRoute route = result.routes[0];
-            if (route.overviewPolyline != null) {
-                return route.overviewPolyline.decodePath();
+                        .origin(toLatLng(stops.getFirst()))
+                        .destination(toLatLng(stops.getLast()))
+                        .mode(TravelMode.WALKING);
+        if (stops.size() > 2) {
+            request.waypoints(
+                    stops.subList(1, stops.size() - 1).stream()
+                            .map(GoogleDirectionsRouteStrategy::toLatLng)
+                            .toArray(LatLng[]::new));
+        }
+
+        DirectionsResult result = request.await();
+        if (result.routes == null || result.routes.length == 0) {
+            return null;
+        }
+
+        DirectionsRoute route = result.routes[0];
+        if (route.overviewPolyline == null || route.legs == null) {
+            return null;
+        }
+
+        List<LatLng> overview = route.overviewPolyline.decodePath();
+        if (overview.isEmpty()) {
+            return null;
+        }
+
+        List<LatLng> legEnds = new ArrayList<>(route.legs.length);
+        for (DirectionsLeg leg : route.legs) {
+            legEnds.add(leg.endLocation);
+        }
+        return splitAtLegEnds(overview, legEnds);
+    }
+
+    /**
+     * Cuts {@code overview} into one piece per entry of {@code legEnds}, each ending at the
+     * overview point closest to that leg's end and searched for from the previous cut onwards.
+     * Adjacent pieces share their cut point and the last piece runs to the end of the overview.
+     */
+    static List<List<LatLng>> splitAtLegEnds(List<LatLng> overview, List<LatLng> legEnds) {
+        List<List<LatLng>> legs = new ArrayList<>(legEnds.size());
+        int from = 0;
+        for (int i = 0; i < legEnds.size(); i++) {
+            int to =
+                    i == legEnds.size() - 1
+                            ? overview.size() - 1
+                            : closestPoint(overview, from, legEnds.get(i));
+            legs.add(new ArrayList<>(overview.subList(from, to + 1)));
+            from = to;
+        }
+        return legs;
+    }
+
+    private static int closestPoint(List<LatLng> points, int from, LatLng target) {
+        int closest = from;
+        double closestDistance = Double.MAX_VALUE;
+        for (int i = from; i < points.size(); i++) {
+            double dLat = points.get(i).lat - target.lat;
+            double dLng = points.get(i).lng - target.lng;
+            double distance = dLat * dLat + dLng * dLng;
+            if (distance < closestDistance) {
+                closest = i;
+                closestDistance = distance;
             }
         }
+        return closest;
+    }
+
+    private static LatLng toLatLng(GeoLocation location) {
+        return new LatLng(location.getLat(), location.getLon());
+    }
+
+    private List<List<LatLng>> straightLineSegments(List<GeoLocation> stops) {
+        List<List<LatLng>> segments = new ArrayList<>(stops.size() - 1);
+        for (int i = 0; i < stops.size() - 1; i++) {
+            segments.add(fallback.getRoutePoints(stops.get(i), stops.get(i + 1)));
+        }
+        return segments;
+    }
+
+    private Optional<List<LatLng>> findCachedSegment(GeoLocation origin, GeoLocation destination) {
+        try {
+            return segmentCache.find(origin, destination, TravelMode.WALKING);
+        } catch (RuntimeException e) {
+            log.warn("Failed to read route segment cache: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private List<String> findCachedSegments(List<GeoLocation> locations) {
+        try {
+            return segmentCache.findAll(locations, TravelMode.WALKING);
+        } catch (RuntimeException e) {
+            log.warn("Failed to read route segment cache: {}", e.getMessage());
+            return new ArrayList<>(Collections.nCopies(locations.size() - 1, null));
+        }
+    }
 
-        log.warn("No routes returned from Google API, using straight-line fallback");
-        return fallback.getRoutePoints(origin, destination);
+    private void storeSegment(GeoLocation origin, GeoLocation destination, List<LatLng> points) {
+        try {
+            segmentCache.store(origin, destination, TravelMode.WALKING, points);
+        } catch (RuntimeException e) {
+            log.warn("Failed to store route segment: {}", e.getMessage());
+        }
     }
 }
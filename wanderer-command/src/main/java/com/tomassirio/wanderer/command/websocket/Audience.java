@@ -0,0 +1,88 @@
+package com.tomassirio.wanderer.command.websocket;
+
+/**
+ * The subscriptions a broadcast frame is meant for, by the options they opted into at SUBSCRIBE.
+ *
+ * <p>An event whose frame depends on those options is published once per variant, each with the
+ * audience that should receive it, so every subscriber gets exactly one of them.
+ *
+ * @param polylineDeltas the {@link SubscriptionOptions#polylineDeltas()} a subscription must have,
+ *     or {@code null} for either
+ * @param batches the {@link SubscriptionOptions#batches()} a subscription must have, or {@code
+ *     null} for either
+ * @since 0.9.5
+ */
+public record Audience(Boolean polylineDeltas, Boolean batches) {
+
+    /** Every subscriber. */
+    public static final Audience ALL = new Audience(null, null);
+
+    /** Subscribers that receive full polylines. */
+    public static final Audience FULL_POLYLINES = new Audience(false, null);
+
+    /** Subscribers that opted into polyline suffixes. */
+    public static final Audience POLYLINE_DELTAS = new Audience(true, null);
+
+    private static final char EITHER = '*';
+
+    /**
+     * Tells whether a subscription belongs to this audience.
+     *
+     * @param options the options the subscription was made with
+     * @return {@code true} if frames for this audience should be sent to it
+     */
+    public boolean includes(SubscriptionOptions options) {
+        return (polylineDeltas == null || polylineDeltas == options.polylineDeltas())
+                && (batches == null || batches == options.batches());
+    }
+
+    /**
+     * Narrows this audience to the subscriptions with the given {@link
+     * SubscriptionOptions#batches()}.
+     *
+     * @param batches whether the subscriptions accept batch frames, or {@code null} for either
+     * @return the narrowed audience
+     */
+    public Audience withBatches(Boolean batches) {
+        return new Audience(polylineDeltas, batches);
+    }
+
+    /**
+     * Encodes the audience for the broadcast bus: one character per option, {@code 1}, {@code 0}
+     * or {@code *} for either.
+     *
+     * @return the encoded audience
+     */
+    public String encode() {
+        return new String(new char[] {flag(polylineDeltas), flag(batches)});
+    }
+
+    /**
+     * Decodes an audience written by {@link #encode()}. Missing characters mean either, so
+     * messages from nodes that know fewer options reach everyone.
+     *
+     * @param encoded the encoded audience
+     * @return the audience
+     */
+    public static Audience decode(String encoded) {
+        return new Audience(flagAt(encoded, 0), flagAt(encoded, 1));
+    }
+
+    private static char flag(Boolean value) {
+        if (value == null) {
+            return EITHER;
+        }
+        return value ? '1' : '0';
+    }
+
+    private static Boolean flagAt(String encoded, int index) {
+        if (encoded == null || index >= encoded.length()) {
+            return null;
+        }
+        return switch (encoded.charAt(index)) {
+            case '1' -> true;
+            case '0' -> false;
+            default -> null;
+        };
+    }
+}
@@ -0,0 +1,209 @@
+package com.tomassirio.wanderer.command.websocket;
+
+import com.tomassirio.wanderer.command.config.properties.WebSocketBroadcastProperties;
+import com.tomassirio.wanderer.command.event.Broadcastable;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Broadcasts {@link Broadcastable} events off the publishing thread.
+ *
+ * <p>{@link #submit} only puts the event on a bounded queue. A dedicated virtual thread takes the
+ * first waiting event, keeps collecting for the configured batch window, then groups what it
+ * collected by topic: several events for the same topic (for example a trip update followed by its
+ * polyline update) are broadcast together, in the order they were submitted.
+ *
+ * <p>Serializing and publishing each group (including the {@code pg_notify} round trip and the feed
+ * lookups of the broadcast bus) runs on a pool of publisher threads, so a slow publish never holds
+ * up collection. Each topic always goes to the same publisher thread, which keeps its events in
+ * order; when that thread's queue is full the collector waits, and the submit queue absorbs the
+ * backlog.
+ *
+ * <p>When the queue is full the event is dropped and counted in {@code
+ * websocket.broadcast.rejected}; the queue size is published as {@code
+ * websocket.broadcast.queue.size}.
+ *
+ * @since 0.9.5
+ */
+@Slf4j
+@Component
+public class BroadcastDispatcher {
+
+    private final WebSocketEventService webSocketEventService;
+    private final WebSocketBroadcastProperties properties;
+    private final BlockingQueue<Broadcastable> queue;
+    private final Counter rejected;
+    private final List<ExecutorService> publishers;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public BroadcastDispatcher(
+            WebSocketEventService webSocketEventService,
+            WebSocketBroadcastProperties properties,
+            MeterRegistry meterRegistry) {
+        this.webSocketEventService = webSocketEventService;
+        this.properties = properties;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.rejected =
+                Counter.builder("websocket.broadcast.rejected")
+                        .description("Events dropped because the broadcast queue was full")
+                        .register(meterRegistry);
+        Gauge.builder("websocket.broadcast.queue.size", queue, BlockingQueue::size)
+                .description("Events waiting to be broadcast")
+                .register(meterRegistry);
+        this.publishers = new ArrayList<>(properties.getPublisherThreads());
+        for (int i = 0; i < properties.getPublisherThreads(); i++) {
+            publishers.add(newPublisher(i, properties.getPublisherQueueCapacity()));
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        worker = Thread.ofVirtual().name("ws-broadcast-dispatcher").start(this::run);
+    }
+
+    /** Stops the dispatcher after broadcasting the events already queued. */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+            worker.join(properties.getBatchWindow().toMillis() + 1000);
+        }
+        for (ExecutorService publisher : publishers) {
+            publisher.shutdown();
+        }
+        for (ExecutorService publisher : publishers) {
+            publisher.awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Hands an event to the dispatcher without blocking.
+     *
+     * @param event the event to broadcast
+     * @return {@code false} if the queue was full and the event was dropped
+     */
+    public boolean submit(Broadcastable event) {
+        if (queue.offer(event)) {
+            return true;
+        }
+        rejected.increment();
+        log.warn(
+                "Broadcast queue full, dropping {} event for topic {}",
+                event.getEventType(),
+                event.getTopic());
+        return false;
+    }
+
+    private void run() {
+        List<Broadcastable> batch = new ArrayList<>();
+        while (running) {
+            try {
+                collect(batch);
+            } catch (InterruptedException e) {
+                // Shutting down; broadcast what was collected and whatever is still queued
+            }
+            flush(batch);
+        }
+        queue.drainTo(batch);
+        flush(batch);
+    }
+
+    /**
+     * Waits for the first event, then collects more until the window closes or the batch is full.
+     */
+    private void collect(List<Broadcastable> batch) throws InterruptedException {
+        batch.add(queue.take());
+        long deadline = System.nanoTime() + properties.getBatchWindow().toNanos();
+        int maxBatchSize = properties.getMaxBatchSize();
+        while (batch.size() < maxBatchSize) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                break;
+            }
+            Broadcastable next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void flush(List<Broadcastable> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        Map<String, List<Broadcastable>> byTopic = new LinkedHashMap<>();
+        for (Broadcastable event : batch) {
+            byTopic.computeIfAbsent(event.getTopic(), k -> new ArrayList<>()).add(event);
+        }
+        batch.clear();
+        byTopic.forEach(
+                (topic, events) -> {
+                    try {
+                        publisherFor(topic).execute(() -> broadcast(topic, events));
+                    } catch (RejectedExecutionException e) {
+                        log.warn(
+                                "Broadcast publisher stopped, dropping {} events for {}",
+                                events.size(),
+                                topic);
+                    }
+                });
+    }
+
+    private void broadcast(String topic, List<Broadcastable> events) {
+        try {
+            webSocketEventService.broadcast(topic, events);
+        } catch (RuntimeException e) {
+            log.error("Error broadcasting {} events to {}", events.size(), topic, e);
+        }
+    }
+
+    private ExecutorService publisherFor(String topic) {
+        return publishers.get(Math.floorMod(topic.hashCode(), publishers.size()));
+    }
+
+    /**
+     * Creates a single-thread publisher with a bounded queue. When the queue is full the caller
+     * waits for room rather than running the task itself, which could overtake queued groups of
+     * the same topic.
+     */
+    private static ExecutorService newPublisher(int index, int queueCapacity) {
+        return new ThreadPoolExecutor(
+                1,
+                1,
+                0,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofVirtual().name("ws-broadcast-publisher-" + index).factory(),
+                (task, executor) -> {
+                    if (executor.isShutdown()) {
+                        throw new RejectedExecutionException("Broadcast publisher stopped");
+                    }
+                    try {
+                        executor.getQueue().put(task);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new RejectedExecutionException(e);
+                    }
+                });
+    }
+}
@@ -15,23 +15,25 @@ import org.springframework.transaction.event.TransactionalEventListener;
  * implements {@link Broadcastable} will automatically be broadcast to the appropriate topic.
  *
  * <p>The listener runs after transaction commit to ensure that only successfully persisted events
- * are broadcast to subscribers.
+ * are broadcast to subscribers. It only hands the event to the {@link BroadcastDispatcher}, so the
+ * committing thread never waits for serialization or fan-out.
  */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class BroadcastableEventListener {
 
-    private final WebSocketEventService webSocketEventService;
+    private final BroadcastDispatcher broadcastDispatcher;
 
     /**
-     * Broadcasts any event that implements {@link Broadcastable} after the transaction commits.
+     * Queues any event that implements {@link Broadcastable} for broadcast after the transaction
+     * commits.
      *
      * @param event the broadcastable event to send via WebSocket
      */
     @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
     public void onBroadcastableEvent(Broadcastable event) {
-        log.debug("Broadcasting {} event to topic {}", event.getEventType(), event.getTopic());
-        webSocketEventService.broadcast(event);
+        log.debug("Queueing {} event for topic {}", event.getEventType(), event.getTopic());
+        broadcastDispatcher.submit(event);
     }
 }
@@ -0,0 +1,71 @@
+package com.tomassirio.wanderer.command.websocket;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Locale;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+
+/**
+ * Wire encoding of the events sent to a subscription, chosen by the client when it subscribes.
+ *
+ * <p>Events are always serialized to JSON first; the binary encodings are produced by streaming the
+ * JSON tokens into a CBOR or Smile generator, without rebuilding the event objects. Binary
+ * encodings are sent as binary frames with the same structure as the JSON events.
+ *
+ * @since 0.9.5
+ */
+public enum FrameEncoding {
+    JSON(null),
+    CBOR(new CBORFactory()),
+    SMILE(new SmileFactory());
+
+    private final JsonFactory binaryFactory;
+
+    FrameEncoding(JsonFactory binaryFactory) {
+        this.binaryFactory = binaryFactory;
+    }
+
+    /**
+     * Resolves the encoding requested by a client; {@code null} means JSON.
+     *
+     * @param name the encoding name, case-insensitive
+     * @return the encoding
+     * @throws IllegalArgumentException if the name is not a known encoding
+     */
+    public static FrameEncoding of(String name) {
+        return name == null ? JSON : valueOf(name.toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * Encodes a JSON frame in this encoding.
+     *
+     * @param jsonFrame the frame holding the JSON event
+     * @return {@code jsonFrame} itself for JSON, otherwise a binary frame
+     * @throws IOException if the frame is not valid JSON
+     */
+    public WebSocketMessage<?> encode(TextMessage jsonFrame) throws IOException {
+        if (binaryFactory == null) {
+            return jsonFrame;
+        }
+        byte[] json = jsonFrame.asBytes();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length);
+        try (JsonParser parser = JsonFactoryHolder.JSON.createParser(json);
+                JsonGenerator generator = binaryFactory.createGenerator(out)) {
+            parser.nextToken();
+            generator.copyCurrentStructure(parser);
+        }
+        return new BinaryMessage(out.toByteArray());
+    }
+
+    /** Keeps the shared JSON factory out of the enum constants' initialization order. */
+    private static final class JsonFactoryHolder {
+        static final JsonFactory JSON = new JsonFactory();
+    }
+}
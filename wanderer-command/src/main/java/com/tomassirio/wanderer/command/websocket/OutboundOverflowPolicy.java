@@ -0,0 +1,21 @@
+package com.tomassirio.wanderer.command.websocket;
+
+/**
+ * What a session's outbound queue does when a frame arrives while it is full.
+ *
+ * @since 0.9.5
+ */
+public enum OutboundOverflowPolicy {
+
+    /** Discard the oldest queued frame to make room for the new one. */
+    DROP_OLDEST,
+
+    /**
+     * Replace a queued frame of the same event type and topic with the new one, which supersedes
+     * it; if there is none, discard the oldest queued frame.
+     */
+    COALESCE,
+
+    /** Close the session: a client this far behind is better off reconnecting and resyncing. */
+    DISCONNECT
+}
@@ -0,0 +1,85 @@
+package com.tomassirio.wanderer.command.websocket;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.websocket.server.ServerEndpointConfig;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.springframework.web.socket.server.standard.StandardWebSocketUpgradeStrategy;
+
+/**
+ * Upgrade strategy that controls the permessage-deflate extension (RFC 7692).
+ *
+ * <p>The servlet container negotiates permessage-deflate itself whenever a client offers it, and
+ * then compresses every frame sent on the connection. When compression is disabled, the offer is
+ * hidden from the container so the connection stays uncompressed.
+ *
+ * @since 0.9.5
+ */
+public class PerMessageDeflateUpgradeStrategy extends StandardWebSocketUpgradeStrategy {
+
+    static final String EXTENSIONS_HEADER = "Sec-WebSocket-Extensions";
+    static final String PERMESSAGE_DEFLATE = "permessage-deflate";
+
+    private final boolean enabled;
+
+    public PerMessageDeflateUpgradeStrategy(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    protected void upgradeHttpToWebSocket(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            ServerEndpointConfig endpointConfig,
+            Map<String, String> pathParams)
+            throws Exception {
+        super.upgradeHttpToWebSocket(
+                enabled ? request : withoutPerMessageDeflate(request),
+                response,
+                endpointConfig,
+                pathParams);
+    }
+
+    /** Wraps a handshake request so that it no longer offers permessage-deflate. */
+    static HttpServletRequest withoutPerMessageDeflate(HttpServletRequest request) {
+        return new HttpServletRequestWrapper(request) {
+            @Override
+            public String getHeader(String name) {
+                String value = super.getHeader(name);
+                if (value == null || !EXTENSIONS_HEADER.equalsIgnoreCase(name)) {
+                    return value;
+                }
+                String filtered = stripPerMessageDeflate(value);
+                return filtered.isEmpty() ? null : filtered;
+            }
+
+            @Override
+            public Enumeration<String> getHeaders(String name) {
+                Enumeration<String> values = super.getHeaders(name);
+                if (!EXTENSIONS_HEADER.equalsIgnoreCase(name)) {
+                    return values;
+                }
+                return Collections.enumeration(
+                        Collections.list(values).stream()
+                                .map(PerMessageDeflateUpgradeStrategy::stripPerMessageDeflate)
+                                .filter(value -> !value.isEmpty())
+                                .toList());
+            }
+        };
+    }
+
+    private static String stripPerMessageDeflate(String header) {
+        return Arrays.stream(header.split(","))
+                .map(String::trim)
+                .filter(
+                        extension ->
+                                !extension.toLowerCase(Locale.ROOT).startsWith(PERMESSAGE_DEFLATE))
+                .collect(Collectors.joining(", "));
+    }
+}
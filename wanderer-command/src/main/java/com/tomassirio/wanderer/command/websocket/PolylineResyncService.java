@@ -0,0 +1,50 @@
+package com.tomassirio.wanderer.command.websocket;
+
+import com.tomassirio.wanderer.command.event.PolylineUpdatedEvent;
+import com.tomassirio.wanderer.command.repository.TripRepository;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.socket.WebSocketSession;
+
+/**
+ * Sends the full polyline of a trip to one session that missed an appended suffix.
+ *
+ * <p>Polyline updates are broadcast as suffixes tagged with a version. A client that sees a gap in
+ * the versions asks for a resync and receives the current polyline and version, after which it can
+ * apply suffixes again.
+ *
+ * @since 0.9.5
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PolylineResyncService {
+
+    private final TripRepository tripRepository;
+    private final WebSocketEventService webSocketEventService;
+
+    /**
+     * Sends the current polyline of a trip to a session.
+     *
+     * @param session the session that asked for the resync
+     * @param tripId the trip whose polyline to send
+     */
+    @Transactional(readOnly = true)
+    public void resync(WebSocketSession session, UUID tripId) {
+        tripRepository
+                .findById(tripId)
+                .ifPresentOrElse(
+                        trip ->
+                                webSocketEventService.sendTo(
+                                        session,
+                                        PolylineUpdatedEvent.builder()
+                                                .tripId(tripId)
+                                                .encodedPolyline(trip.getEncodedPolyline())
+                                                .version(trip.getPolylineVersion())
+                                                .build()),
+                        () -> log.warn("Resync requested for unknown trip {}", tripId));
+    }
+}
@@ -0,0 +1,165 @@
+package com.tomassirio.wanderer.command.websocket;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Objects;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+/**
+ * Bounded outbound queue of one WebSocket session, drained by a virtual thread.
+ *
+ * <p>Like Spring's {@code ConcurrentWebSocketSessionDecorator}, it guarantees that only one thread
+ * sends on the session at a time and protects broadcasters from slow clients: {@link #offer} never
+ * blocks on the network. Unlike the decorator, the caller never ends up doing the sending; a
+ * virtual thread is started whenever frames are queued and none is draining.
+ *
+ * <p>A session whose current send has been blocked for longer than the send time limit is reported
+ * as {@link Offer#DISCONNECT}, whatever the overflow policy.
+ *
+ * @since 0.9.5
+ */
+@Slf4j
+class SessionSendQueue {
+
+    /** Outcome of {@link #offer}. */
+    enum Offer {
+        /** The frame was queued. */
+        QUEUED,
+        /** The queue was full; the oldest frame was dropped. */
+        DROPPED_OLDEST,
+        /** The queue was full; a superseded frame with the same key was replaced. */
+        COALESCED,
+        /** The session must be closed; the queue is now closed and empty. */
+        DISCONNECT,
+        /** The queue was already closed; the frame was discarded. */
+        CLOSED
+    }
+
+    private record Entry(WebSocketMessage<?> frame, String key) {}
+
+    @Getter private final WebSocketSession session;
+    private final int capacity;
+    private final OutboundOverflowPolicy overflowPolicy;
+    private final long sendTimeLimitNanos;
+    private final ArrayDeque<Entry> queue = new ArrayDeque<>();
+
+    private boolean draining;
+    private boolean closed;
+    private volatile long sendStartedNanos;
+
+    SessionSendQueue(
+            WebSocketSession session,
+            int capacity,
+            OutboundOverflowPolicy overflowPolicy,
+            Duration sendTimeLimit) {
+        this.session = session;
+        this.capacity = capacity;
+        this.overflowPolicy = overflowPolicy;
+        this.sendTimeLimitNanos = sendTimeLimit.toNanos();
+    }
+
+    /**
+     * Queues a frame for sending without blocking.
+     *
+     * @param frame the frame to send
+     * @param key identifies frames that supersede each other under {@link
+     *     OutboundOverflowPolicy#COALESCE} (may be {@code null})
+     * @return what happened to the frame
+     */
+    Offer offer(WebSocketMessage<?> frame, String key) {
+        Offer result = Offer.QUEUED;
+        synchronized (this) {
+            if (closed) {
+                return Offer.CLOSED;
+            }
+            if (isSendStuck()) {
+                close();
+                return Offer.DISCONNECT;
+            }
+            if (queue.size() >= capacity) {
+                result = makeRoom(key);
+                if (result == Offer.DISCONNECT) {
+                    return result;
+                }
+            }
+            queue.addLast(new Entry(frame, key));
+            if (draining) {
+                return result;
+            }
+            draining = true;
+        }
+        Thread.ofVirtual().name("ws-send-" + session.getId()).start(this::drain);
+        return result;
+    }
+
+    /** Frames currently waiting to be sent. */
+    synchronized int depth() {
+        return queue.size();
+    }
+
+    /** Stops accepting frames and discards the queued ones. */
+    synchronized void close() {
+        closed = true;
+        queue.clear();
+    }
+
+    private Offer makeRoom(String key) {
+        switch (overflowPolicy) {
+            case DISCONNECT -> {
+                close();
+                return Offer.DISCONNECT;
+            }
+            case COALESCE -> {
+                if (key != null) {
+                    Iterator<Entry> queued = queue.iterator();
+                    while (queued.hasNext()) {
+                        if (Objects.equals(queued.next().key(), key)) {
+                            queued.remove();
+                            return Offer.COALESCED;
+                        }
+                    }
+                }
+                queue.pollFirst();
+                return Offer.DROPPED_OLDEST;
+            }
+            default -> {
+                queue.pollFirst();
+                return Offer.DROPPED_OLDEST;
+            }
+        }
+    }
+
+    private boolean isSendStuck() {
+        long started = sendStartedNanos;
+        return started != 0 && System.nanoTime() - started > sendTimeLimitNanos;
+    }
+
+    private void drain() {
+        while (true) {
+            Entry next;
+            synchronized (this) {
+                next = queue.pollFirst();
+                if (next == null) {
+                    draining = false;
+                    return;
+                }
+            }
+            sendStartedNanos = System.nanoTime();
+            try {
+                if (session.isOpen()) {
+                    session.sendMessage(next.frame());
+                }
+            } catch (IOException | RuntimeException e) {
+                log.warn(
+                        "Error sending message to session {}: {}", session.getId(), e.getMessage());
+            } finally {
+                sendStartedNanos = 0;
+            }
+        }
+    }
+}
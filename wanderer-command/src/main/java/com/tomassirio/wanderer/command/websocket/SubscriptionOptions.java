@@ -0,0 +1,18 @@
+package com.tomassirio.wanderer.command.websocket;
+
+/**
+ * What a session asked for when it subscribed to a topic.
+ *
+ * @param encoding the wire encoding of the frames sent for the topic
+ * @param polylineDeltas whether appended polyline points arrive as a suffix to apply to the
+ *     previous version, rather than as the full polyline
+ * @param batches whether several events of the topic may arrive together in one {@link
+ *     WebSocketEventType#BATCH} frame, rather than one frame per event
+ * @since 0.9.5
+ */
+public record SubscriptionOptions(FrameEncoding encoding, boolean polylineDeltas, boolean batches) {
+
+    /** JSON frames, full polylines and one frame per event, for clients that ask for nothing. */
+    public static final SubscriptionOptions DEFAULT =
+            new SubscriptionOptions(FrameEncoding.JSON, false, false);
+}
@@ -1,9 +1,13 @@
 package com.tomassirio.wanderer.command.websocket;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tomassirio.wanderer.command.config.properties.WebSocketSubscriptionProperties;
+import com.tomassirio.wanderer.command.websocket.feed.TripFeedIndex;
 import com.tomassirio.wanderer.commons.security.JwtUtils;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
@@ -12,7 +16,9 @@ import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.PongMessage;
 import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketExtension;
 import org.springframework.web.socket.WebSocketSession;
 import org.springframework.web.socket.handler.TextWebSocketHandler;
 
@@ -24,6 +30,10 @@ public class WebSocketConnectionHandler extends TextWebSocketHandler {
     private final JwtUtils jwtUtils;
     private final ObjectMapper objectMapper;
     private final WebSocketSessionManager sessionManager;
+    private final PolylineResyncService polylineResyncService;
+    private final TripFeedIndex tripFeedIndex;
+    private final WebSocketHeartbeat heartbeat;
+    private final WebSocketSubscriptionProperties subscriptionProperties;
 
     @Override
     public void afterConnectionEstablished(WebSocketSession session) {
@@ -34,11 +44,13 @@ public class WebSocketConnectionHandler extends TextWebSocketHandler {
 
             // Register the session
             sessionManager.registerSession(session, userId);
+            heartbeat.register(session);
 
             log.info(
-                    "WebSocket connection established: sessionId={}, userId={}",
+                    "WebSocket connection established: sessionId={}, userId={}, extensions={}",
                     session.getId(),
-                    userId);
+                    userId,
+                    session.getExtensions().stream().map(WebSocketExtension::getName).toList());
         } catch (ResponseStatusException e) {
             log.warn("WebSocket authentication failed: {}", e.getReason());
             try {
@@ -58,6 +70,7 @@ public class WebSocketConnectionHandler extends TextWebSocketHandler {
 
     @Override
     protected void handleTextMessage(WebSocketSession session, TextMessage message) {
+        heartbeat.touch(session);
         try {
             String payload = message.getPayload();
             log.debug(
@@ -68,9 +81,12 @@ public class WebSocketConnectionHandler extends TextWebSocketHandler {
             WebSocketMessage wsMessage = objectMapper.readValue(payload, WebSocketMessage.class);
 
             switch (wsMessage.getType()) {
-                case "SUBSCRIBE" -> handleSubscribe(session, wsMessage.getDestination());
-                case "UNSUBSCRIBE" -> handleUnsubscribe(session, wsMessage.getDestination());
+                case "SUBSCRIBE" ->
+                        handleSubscribe(session, destinationsOf(session, wsMessage), wsMessage);
+                case "UNSUBSCRIBE" ->
+                        handleUnsubscribe(session, destinationsOf(session, wsMessage));
                 case "PING" -> handlePing(session);
+                case "RESYNC" -> handleResync(session, wsMessage.getDestination());
                 default ->
                         log.warn(
                                 "Unknown WebSocket message type: {} from session {}",
@@ -82,8 +98,14 @@ public class WebSocketConnectionHandler extends TextWebSocketHandler {
         }
     }
 
+    @Override
+    protected void handlePongMessage(WebSocketSession session, PongMessage message) {
+        heartbeat.touch(session);
+    }
+
     @Override
     public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        heartbeat.unregister(session);
         sessionManager.unregisterSession(session);
         log.info("WebSocket connection closed: sessionId={}, status={}", session.getId(), status);
     }
@@ -95,6 +117,7 @@ public class WebSocketConnectionHandler extends TextWebSocketHandler {
         } else {
             log.error("WebSocket transport error: sessionId={}", session.getId(), exception);
         }
+        heartbeat.unregister(session);
         sessionManager.unregisterSession(session);
     }
 
@@ -119,16 +142,7 @@ public class WebSocketConnectionHandler extends TextWebSocketHandler {
 
     private UUID validateToken(String token) {
         try {
-            Map<String, Object> payload = jwtUtils.parsePayload(token);
-            Object sub = payload.get("sub");
-            if (sub == null) {
-                sub = payload.get("userId");
-                if (sub == null) sub = payload.get("user_id");
-            }
-            if (sub == null) {
-                throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Token missing subject");
-            }
-            return UUID.fromString(sub.toString());
+            return jwtUtils.getUserId(token);
         } catch (ResponseStatusException e) {
             throw e;
         } catch (Exception e) {
@@ -147,35 +161,108 @@ public class WebSocketConnectionHandler extends TextWebSocketHandler {
         return params;
     }
 
-    private void handleSubscribe(WebSocketSession session, String destination) {
-        if (destination == null || !destination.startsWith("/topic/trips/")) {
+    /**
+     * Collects the destinations of a SUBSCRIBE or UNSUBSCRIBE, or none if the message carries more
+     * than the configured maximum.
+     */
+    private List<String> destinationsOf(WebSocketSession session, WebSocketMessage message) {
+        List<String> destinations = new ArrayList<>();
+        if (message.getDestination() != null) {
+            destinations.add(message.getDestination());
+        }
+        if (message.getDestinations() != null) {
+            destinations.addAll(message.getDestinations());
+        }
+        if (destinations.size() > subscriptionProperties.getMaxDestinationsPerMessage()) {
             log.warn(
-                    "Invalid subscription destination: {} from session {}",
-                    destination,
+                    "Rejected {} destinations in one message from session {}",
+                    destinations.size(),
                     session.getId());
+            return List.of();
+        }
+        return destinations;
+    }
+
+    private void handleSubscribe(
+            WebSocketSession session, List<String> destinations, WebSocketMessage wsMessage) {
+        FrameEncoding frameEncoding;
+        try {
+            frameEncoding = FrameEncoding.of(wsMessage.getEncoding());
+        } catch (IllegalArgumentException e) {
+            log.warn(
+                    "Unknown encoding: {} from session {}",
+                    wsMessage.getEncoding(),
+                    session.getId());
+            return;
+        }
+        SubscriptionOptions options =
+                new SubscriptionOptions(
+                        frameEncoding,
+                        Boolean.TRUE.equals(wsMessage.getPolylineDeltas()),
+                        Boolean.TRUE.equals(wsMessage.getBatches()));
+
+        for (String destination : destinations) {
+            String topic = resolveTopic(session, destination);
+            if (topic == null) {
+                log.warn(
+                        "Invalid subscription destination: {} from session {}",
+                        destination,
+                        session.getId());
+                continue;
+            }
+
+            sessionManager.subscribe(session, topic, options);
+            if (WebSocketEventType.FOLLOWING_FEED_TOPIC.equals(destination)) {
+                tripFeedIndex.activate(sessionManager.getUserId(session));
+            }
+            log.info("Session {} subscribed to {} ({})", session.getId(), topic, options);
+        }
+    }
+
+    private void handleUnsubscribe(WebSocketSession session, List<String> destinations) {
+        if (destinations.isEmpty()) {
+            log.warn("No unsubscribe destination from session {}", session.getId());
             return;
         }
 
-        sessionManager.subscribe(session, destination);
-        log.info("Session {} subscribed to {}", session.getId(), destination);
+        for (String destination : destinations) {
+            String topic = resolveTopic(session, destination);
+            sessionManager.unsubscribe(session, topic != null ? topic : destination);
+            log.info("Session {} unsubscribed from {}", session.getId(), destination);
+        }
     }
 
-    private void handleUnsubscribe(WebSocketSession session, String destination) {
-        if (destination == null) {
-            log.warn("Null unsubscribe destination from session {}", session.getId());
+    /**
+     * Maps a client destination to the topic it is delivered on: trip topics and the promoted feed
+     * as they are, the following feed to the subscriber's own feed topic. Returns null for anything
+     * else.
+     */
+    private String resolveTopic(WebSocketSession session, String destination) {
+        if (WebSocketEventType.tripIdOf(destination) != null
+                || WebSocketEventType.PROMOTED_FEED_TOPIC.equals(destination)) {
+            return destination;
+        }
+        if (WebSocketEventType.FOLLOWING_FEED_TOPIC.equals(destination)) {
+            UUID userId = sessionManager.getUserId(session);
+            return userId != null ? WebSocketEventType.followingFeedTopic(userId) : null;
+        }
+        return null;
+    }
+
+    private void handleResync(WebSocketSession session, String destination) {
+        UUID tripId = WebSocketEventType.tripIdOf(destination);
+        if (tripId == null || !sessionManager.isSubscribed(session, destination)) {
+            log.warn(
+                    "Invalid resync destination: {} from session {}", destination, session.getId());
             return;
         }
 
-        sessionManager.unsubscribe(session, destination);
-        log.info("Session {} unsubscribed from {}", session.getId(), destination);
+        polylineResyncService.resync(session, tripId);
+        log.debug("Session {} resynced polyline of trip {}", session.getId(), tripId);
     }
 
     private void handlePing(WebSocketSession session) {
-        try {
-            session.sendMessage(new TextMessage("PONG"));
-            log.debug("Sent PONG to session {}", session.getId());
-        } catch (IOException e) {
-            log.error("Error sending PONG to session {}", session.getId(), e);
-        }
+        sessionManager.send(session, new TextMessage("PONG"));
+        log.debug("Queued PONG for session {}", session.getId());
     }
 }
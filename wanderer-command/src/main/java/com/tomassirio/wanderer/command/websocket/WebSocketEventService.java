@@ -3,21 +3,32 @@ package com.tomassirio.wanderer.command.websocket;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.tomassirio.wanderer.command.event.Broadcastable;
+import com.tomassirio.wanderer.command.websocket.bus.BroadcastBus;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.web.socket.WebSocketSession;
 
 /**
  * Service for broadcasting WebSocket events to subscribers.
  *
  * <p>This service provides a simple interface for broadcasting events that implement {@link
  * Broadcastable}. The event itself knows its topic, event type, and payload.
+ *
+ * <p>Each event is serialized straight to UTF-8 once, and the resulting frame is shared by every
+ * subscriber of the topic on every node through the {@link BroadcastBus}. Events for the same topic
+ * can be sent together as one {@link WebSocketEventType#BATCH} frame to the subscriptions that
+ * opted into batches, and one by one to the others. Events with a {@linkplain
+ * Broadcastable#toDeltaWebSocketPayload() delta payload} are published twice, once for the
+ * subscriptions that opted into polyline deltas and once for everyone else.
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class WebSocketEventService {
 
+    private final BroadcastBus broadcastBus;
     private final WebSocketSessionManager sessionManager;
     private final ObjectMapper objectMapper;
 
@@ -27,21 +38,105 @@ public class WebSocketEventService {
      * @param event the event to broadcast (must implement {@link Broadcastable})
      */
     public void broadcast(Broadcastable event) {
-        String topic = event.getTopic();
-        WebSocketEvent wsEvent =
-                WebSocketEvent.create(
-                        event.getEventType(), event.getTargetId(), event.toWebSocketPayload());
+        broadcast(event.getTopic(), List.of(event));
+    }
 
+    /**
+     * Broadcasts events for the same topic.
+     *
+     * <p>A single event is sent as is. Several events are wrapped in a {@link
+     * WebSocketEventType#BATCH} event whose payload is the list of events, in order, for the
+     * subscriptions that opted into batches; every other subscription receives them as separate
+     * frames, in the same order.
+     *
+     * <p>If any event has a delta payload, subscriptions that opted into polyline deltas get a
+     * frame built from the delta payloads and every other subscription one built from the full
+     * payloads.
+     *
+     * @param topic the topic every event belongs to
+     * @param events the events to broadcast, oldest first
+     */
+    public void broadcast(String topic, List<? extends Broadcastable> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        if (events.size() == 1) {
+            publishVariants(topic, events, Audience.ALL);
+            return;
+        }
+        publishVariants(topic, events, Audience.ALL.withBatches(true));
+        Audience singleFrames = Audience.ALL.withBatches(false);
+        for (Broadcastable event : events) {
+            publishVariants(topic, List.of(event), singleFrames);
+        }
+    }
+
+    /**
+     * Sends an event to a single session only, for replies such as a polyline resync.
+     *
+     * @param session the session to send to
+     * @param event the event to send
+     */
+    public void sendTo(WebSocketSession session, Broadcastable event) {
         try {
-            String message = objectMapper.writeValueAsString(wsEvent);
-            sessionManager.broadcast(topic, message);
-            log.info(
-                    "Broadcast {} event to {} ({} subscribers)",
-                    event.getEventType(),
-                    topic,
-                    sessionManager.getSubscribersCount(topic));
+            byte[] payload = objectMapper.writeValueAsBytes(toWebSocketEvent(event));
+            sessionManager.send(session, event.getTopic(), WebSocketSessionManager.frame(payload));
         } catch (JsonProcessingException e) {
             log.error("Error serializing WebSocket event: {}", event.getEventType(), e);
         }
     }
+
+    /** Publishes the events to {@code audience}, split by polyline delta opt-in when it matters. */
+    private void publishVariants(
+            String topic, List<? extends Broadcastable> events, Audience audience) {
+        boolean hasDeltas = events.stream().anyMatch(e -> e.toDeltaWebSocketPayload() != null);
+        if (!hasDeltas) {
+            publish(topic, events, false, audience);
+            return;
+        }
+        publish(topic, events, false, Audience.FULL_POLYLINES.withBatches(audience.batches()));
+        publish(topic, events, true, Audience.POLYLINE_DELTAS.withBatches(audience.batches()));
+    }
+
+    private void publish(
+            String topic,
+            List<? extends Broadcastable> events,
+            boolean polylineDeltas,
+            Audience audience) {
+        Broadcastable first = events.getFirst();
+        WebSocketEvent wsEvent;
+        String coalesceKey;
+        if (events.size() == 1) {
+            wsEvent = toWebSocketEvent(first, polylineDeltas);
+            coalesceKey = first.getEventType() + '|' + topic;
+        } else {
+            wsEvent =
+                    WebSocketEvent.create(
+                            WebSocketEventType.BATCH,
+                            first.getTargetId(),
+                            events.stream().map(e -> toWebSocketEvent(e, polylineDeltas)).toList());
+            // A batch mixes event types, so it never supersedes another frame
+            coalesceKey = null;
+        }
+
+        try {
+            byte[] payload = objectMapper.writeValueAsBytes(wsEvent);
+            broadcastBus.publish(topic, payload, coalesceKey, audience);
+            log.info("Broadcast {} event to {}", wsEvent.getType(), topic);
+        } catch (JsonProcessingException e) {
+            log.error("Error serializing WebSocket event: {}", wsEvent.getType(), e);
+        }
+    }
+
+    private WebSocketEvent toWebSocketEvent(Broadcastable event) {
+        return toWebSocketEvent(event, false);
+    }
+
+    private WebSocketEvent toWebSocketEvent(Broadcastable event, boolean polylineDeltas) {
+        Object delta = polylineDeltas ? event.toDeltaWebSocketPayload() : null;
+        return WebSocketEvent.create(
+                event.getEventType(),
+                event.getTargetId(),
+                delta != null ? delta : event.toWebSocketPayload());
+    }
 }
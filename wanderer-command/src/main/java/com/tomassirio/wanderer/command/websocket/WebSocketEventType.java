@@ -53,11 +53,24 @@ public final class WebSocketEventType {
     // Achievement events
     public static final String ACHIEVEMENT_UNLOCKED = "ACHIEVEMENT_UNLOCKED";
 
+    // Several events for the same topic sent as one frame; the payload is the list of events
+    public static final String BATCH = "BATCH";
+
     // ==================== TOPIC PATTERNS ====================
 
     private static final String TOPIC_TRIPS_PREFIX = "/topic/trips/";
     private static final String TOPIC_USERS_PREFIX = "/topic/users/";
 
+    /** Feed of every event on currently promoted public trips. */
+    public static final String PROMOTED_FEED_TOPIC = "/topic/feeds/promoted";
+
+    /**
+     * Feed of every event on the public trips of the users the subscriber follows. Clients
+     * subscribe to this destination; the server routes it through the per-user topic returned by
+     * {@link #followingFeedTopic(UUID)}.
+     */
+    public static final String FOLLOWING_FEED_TOPIC = "/topic/feeds/following";
+
     /**
      * Returns the WebSocket topic for trip-related events.
      *
@@ -77,4 +90,31 @@ public final class WebSocketEventType {
     public static String userTopic(UUID userId) {
         return TOPIC_USERS_PREFIX + userId;
     }
+
+    /**
+     * Returns the internal topic carrying a user's following feed.
+     *
+     * @param userId the ID of the subscribing user
+     * @return the topic string (e.g., "/topic/feeds/following/{userId}")
+     */
+    public static String followingFeedTopic(UUID userId) {
+        return FOLLOWING_FEED_TOPIC + "/" + userId;
+    }
+
+    /**
+     * Extracts the trip ID from a trip topic.
+     *
+     * @param topic the topic string
+     * @return the trip ID, or {@code null} if {@code topic} is not a trip topic
+     */
+    public static UUID tripIdOf(String topic) {
+        if (topic == null || !topic.startsWith(TOPIC_TRIPS_PREFIX)) {
+            return null;
+        }
+        try {
+            return UUID.fromString(topic.substring(TOPIC_TRIPS_PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
 }
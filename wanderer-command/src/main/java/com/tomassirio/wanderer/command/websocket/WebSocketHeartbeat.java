@@ -0,0 +1,184 @@
+package com.tomassirio.wanderer.command.websocket;
+
+import com.tomassirio.wanderer.command.config.properties.WebSocketHeartbeatProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.PingMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+/**
+ * Server-driven liveness check of WebSocket sessions.
+ *
+ * <p>Sessions are spread over the slots of a timer wheel that turns once per ping interval, one
+ * slot per tick, so each tick only visits its share of the sessions instead of all of them at once.
+ * On its visit a session that has sent nothing for the ping interval is queued a protocol-level
+ * ping, which clients answer with a pong without any application code; one that has sent nothing,
+ * pongs included, for the idle timeout is closed. This also catches half-open connections that no
+ * broadcast would ever write to.
+ *
+ * <p>Sessions closed elsewhere are dropped from the wheel on their next visit. Publishes {@code
+ * websocket.heartbeat.sessions} and {@code websocket.heartbeat.evicted}.
+ *
+ * @since 0.9.5
+ */
+@Slf4j
+@Component
+public class WebSocketHeartbeat {
+
+    private static final class Tracked {
+        private final WebSocketSession session;
+        private volatile long lastSeenMillis;
+
+        private Tracked(WebSocketSession session, long lastSeenMillis) {
+            this.session = session;
+            this.lastSeenMillis = lastSeenMillis;
+        }
+    }
+
+    private final WebSocketSessionManager sessionManager;
+    private final WebSocketHeartbeatProperties properties;
+    private final Clock clock;
+    private final Counter evicted;
+
+    // sessionId -> last inbound traffic
+    private final Map<String, Tracked> tracked = new ConcurrentHashMap<>();
+
+    // slot -> sessionIds visited when the wheel reaches it
+    private final List<Set<String>> wheel;
+    private volatile int cursor;
+
+    private ScheduledExecutorService timer;
+
+    @Autowired
+    public WebSocketHeartbeat(
+            WebSocketSessionManager sessionManager,
+            WebSocketHeartbeatProperties properties,
+            MeterRegistry meterRegistry) {
+        this(sessionManager, properties, meterRegistry, Clock.systemUTC());
+    }
+
+    WebSocketHeartbeat(
+            WebSocketSessionManager sessionManager,
+            WebSocketHeartbeatProperties properties,
+            MeterRegistry meterRegistry,
+            Clock clock) {
+        this.sessionManager = sessionManager;
+        this.properties = properties;
+        this.clock = clock;
+        long slots =
+                Math.max(
+                        1,
+                        properties.getPingInterval().toMillis() / properties.getTick().toMillis());
+        this.wheel = new ArrayList<>((int) slots);
+        for (int i = 0; i < slots; i++) {
+            wheel.add(ConcurrentHashMap.newKeySet());
+        }
+        this.evicted =
+                Counter.builder("websocket.heartbeat.evicted")
+                        .description("Sessions closed for sending nothing within the idle timeout")
+                        .register(meterRegistry);
+        Gauge.builder("websocket.heartbeat.sessions", tracked, Map::size)
+                .description("Sessions watched by the heartbeat")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        if (!properties.isEnabled()) {
+            log.info("WebSocket heartbeat disabled");
+            return;
+        }
+        timer =
+                Executors.newSingleThreadScheduledExecutor(
+                        Thread.ofVirtual().name("ws-heartbeat").factory());
+        long tick = properties.getTick().toMillis();
+        timer.scheduleAtFixedRate(this::tick, tick, tick, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (timer != null) {
+            timer.shutdownNow();
+        }
+    }
+
+    /**
+     * Starts watching a session. It is first visited one full turn of the wheel from now.
+     *
+     * @param session the newly registered session
+     */
+    public void register(WebSocketSession session) {
+        tracked.put(session.getId(), new Tracked(session, clock.millis()));
+        int slot = Math.floorMod(cursor - 1, wheel.size());
+        wheel.get(slot).add(session.getId());
+    }
+
+    /**
+     * Records inbound traffic from a session: any message, including pongs.
+     *
+     * @param session the session that sent something
+     */
+    public void touch(WebSocketSession session) {
+        Tracked entry = tracked.get(session.getId());
+        if (entry != null) {
+            entry.lastSeenMillis = clock.millis();
+        }
+    }
+
+    public void unregister(WebSocketSession session) {
+        tracked.remove(session.getId());
+    }
+
+    public int getTrackedCount() {
+        return tracked.size();
+    }
+
+    public long getEvictedCount() {
+        return (long) evicted.count();
+    }
+
+    /** Visits the sessions in the current slot and advances the wheel. */
+    void tick() {
+        try {
+            Set<String> slot = wheel.get(cursor);
+            cursor = (cursor + 1) % wheel.size();
+            long now = clock.millis();
+            for (String sessionId : slot) {
+                Tracked entry = tracked.get(sessionId);
+                if (entry == null || !sessionManager.isRegistered(entry.session)) {
+                    slot.remove(sessionId);
+                    tracked.remove(sessionId);
+                    continue;
+                }
+                long idle = now - entry.lastSeenMillis;
+                if (idle >= properties.getIdleTimeout().toMillis()) {
+                    slot.remove(sessionId);
+                    tracked.remove(sessionId);
+                    evicted.increment();
+                    log.info("Closing session {} after {} ms without traffic", sessionId, idle);
+                    sessionManager.close(entry.session, CloseStatus.SESSION_NOT_RELIABLE);
+                } else if (idle >= properties.getPingInterval().toMillis()) {
+                    sessionManager.send(entry.session, new PingMessage());
+                }
+            }
+        } catch (Exception e) {
+            log.error("Error running the WebSocket heartbeat", e);
+        }
+    }
+}
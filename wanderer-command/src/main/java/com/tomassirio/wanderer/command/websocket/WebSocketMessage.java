@@ -1,6 +1,7 @@
 package com.tomassirio.wanderer.command.websocket;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.List;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -14,4 +15,18 @@ import lombok.NoArgsConstructor;
 public class WebSocketMessage {
     private String type;
     private String destination;
+
+    /**
+     * Several destinations handled by one SUBSCRIBE or UNSUBSCRIBE, besides {@code destination}.
+     */
+    private List<String> destinations;
+
+    /** Frame encoding requested by SUBSCRIBE: json (default), cbor or smile. */
+    private String encoding;
+
+    /** Whether SUBSCRIBE asks for appended polyline points as suffixes (default false). */
+    private Boolean polylineDeltas;
+
+    /** Whether SUBSCRIBE accepts several events in one BATCH frame (default false). */
+    private Boolean batches;
 }
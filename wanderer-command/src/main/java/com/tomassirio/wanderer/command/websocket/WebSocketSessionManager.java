@@ -1,64 +1,299 @@
 package com.tomassirio.wanderer.command.websocket;
 
+import com.tomassirio.wanderer.command.config.properties.WebSocketOutboundProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.io.IOException;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArraySet;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
 import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
 import org.springframework.web.socket.WebSocketSession;
 
+/**
+ * Tracks WebSocket sessions and their topic subscriptions, and fans frames out to subscribers.
+ *
+ * <p>Every session sends through its own bounded {@link SessionSendQueue}, drained by a virtual
+ * thread, so broadcasting never blocks on the network and one slow client cannot delay the others.
+ * When a queue is full the configured {@link OutboundOverflowPolicy} applies; sessions stuck in a
+ * single send for longer than the send time limit are closed.
+ *
+ * <p>Subscriptions are indexed both by topic and by session, so unregistering a session only
+ * touches the topics it subscribed to, and topics are dropped once their last subscriber leaves.
+ * Each subscription keeps the {@link SubscriptionOptions} it was made with; a frame published for
+ * an {@link Audience} only reaches the subscriptions that audience includes.
+ *
+ * <p>Publishes {@code websocket.outbound.queue.depth} (total and max), {@code
+ * websocket.outbound.dropped} (tagged by reason) and {@code websocket.outbound.disconnects}.
+ */
 @Slf4j
 @Component
 public class WebSocketSessionManager {
 
-    // sessionId -> WebSocketSession
-    private final Map<String, WebSocketSession> sessions = new ConcurrentHashMap<>();
+    private final WebSocketOutboundProperties outboundProperties;
+
+    // sessionId -> outbound queue wrapping the WebSocketSession
+    private final Map<String, SessionSendQueue> sessions = new ConcurrentHashMap<>();
 
     // sessionId -> userId
     private final Map<String, UUID> sessionUsers = new ConcurrentHashMap<>();
 
-    // topic -> set of sessionIds
-    private final Map<String, Set<String>> topicSubscriptions = new ConcurrentHashMap<>();
+    // topic -> (sessionId -> options); a topic is removed once its last subscriber leaves
+    private final Map<String, Map<String, SubscriptionOptions>> topicSubscriptions =
+            new ConcurrentHashMap<>();
+
+    // sessionId -> set of topics, so a disconnect only touches the session's own topics
+    private final Map<String, Set<String>> sessionTopics = new ConcurrentHashMap<>();
+
+    private final Counter droppedOldest;
+    private final Counter coalesced;
+    private final Counter disconnects;
+
+    public WebSocketSessionManager(
+            WebSocketOutboundProperties outboundProperties, MeterRegistry meterRegistry) {
+        this.outboundProperties = outboundProperties;
+        this.droppedOldest =
+                Counter.builder("websocket.outbound.dropped")
+                        .description("Frames discarded because a session queue was full")
+                        .tag("reason", "drop_oldest")
+                        .register(meterRegistry);
+        this.coalesced =
+                Counter.builder("websocket.outbound.dropped")
+                        .description("Frames discarded because a session queue was full")
+                        .tag("reason", "coalesced")
+                        .register(meterRegistry);
+        this.disconnects =
+                Counter.builder("websocket.outbound.disconnects")
+                        .description("Sessions closed for being too slow to keep up")
+                        .register(meterRegistry);
+        Gauge.builder("websocket.outbound.queue.depth", this, WebSocketSessionManager::totalDepth)
+                .description("Frames waiting to be sent, across all sessions")
+                .register(meterRegistry);
+        Gauge.builder("websocket.outbound.queue.depth.max", this, WebSocketSessionManager::maxDepth)
+                .description("Frames waiting to be sent on the most backed-up session")
+                .register(meterRegistry);
+        Gauge.builder("websocket.sessions.active", sessions, Map::size)
+                .description("Open WebSocket sessions")
+                .register(meterRegistry);
+    }
 
     public void registerSession(WebSocketSession session, UUID userId) {
-        sessions.put(session.getId(), session);
+        sessions.put(
+                session.getId(),
+                new SessionSendQueue(
+                        session,
+                        outboundProperties.getQueueCapacity(),
+                        outboundProperties.getOverflowPolicy(),
+                        outboundProperties.getSendTimeLimit()));
         sessionUsers.put(session.getId(), userId);
+        sessionTopics.put(session.getId(), ConcurrentHashMap.newKeySet());
         log.info("Registered session: {} for user: {}", session.getId(), userId);
     }
 
     public void unregisterSession(WebSocketSession session) {
         String sessionId = session.getId();
 
-        // Remove from all topic subscriptions
-        topicSubscriptions.values().forEach(subscribers -> subscribers.remove(sessionId));
+        // Remove from the topics this session subscribed to
+        Set<String> topics = sessionTopics.remove(sessionId);
+        if (topics != null) {
+            topics.forEach(topic -> removeSubscriber(topic, sessionId));
+        }
 
-        sessions.remove(sessionId);
+        SessionSendQueue queue = sessions.remove(sessionId);
+        if (queue != null) {
+            queue.close();
+        }
         sessionUsers.remove(sessionId);
 
         log.info("Unregistered session: {}", sessionId);
     }
 
     public void subscribe(WebSocketSession session, String topic) {
+        subscribe(session, topic, SubscriptionOptions.DEFAULT);
+    }
+
+    /**
+     * Subscribes a session to a topic with the given options. Subscribing again to the same topic
+     * replaces them.
+     *
+     * @param session the subscribing session
+     * @param topic the topic to subscribe to
+     * @param options the encoding and opt-in behaviours for this topic
+     */
+    public void subscribe(WebSocketSession session, String topic, SubscriptionOptions options) {
         String sessionId = session.getId();
-        topicSubscriptions.computeIfAbsent(topic, k -> new CopyOnWriteArraySet<>()).add(sessionId);
-        log.debug("Session {} subscribed to topic {}", sessionId, topic);
+        topicSubscriptions.compute(
+                topic,
+                (k, subscribers) -> {
+                    Map<String, SubscriptionOptions> map =
+                            subscribers != null ? subscribers : new ConcurrentHashMap<>();
+                    map.put(sessionId, options);
+                    return map;
+                });
+        sessionTopics.computeIfAbsent(sessionId, k -> ConcurrentHashMap.newKeySet()).add(topic);
+        log.debug("Session {} subscribed to topic {} ({})", sessionId, topic, options);
     }
 
     public void unsubscribe(WebSocketSession session, String topic) {
         String sessionId = session.getId();
-        Set<String> subscribers = topicSubscriptions.get(topic);
-        if (subscribers != null) {
-            subscribers.remove(sessionId);
-            log.debug("Session {} unsubscribed from topic {}", sessionId, topic);
+        Set<String> topics = sessionTopics.get(sessionId);
+        if (topics != null) {
+            topics.remove(topic);
+        }
+        removeSubscriber(topic, sessionId);
+        log.debug("Session {} unsubscribed from topic {}", sessionId, topic);
+    }
+
+    /**
+     * Queues one frame for every open session subscribed to {@code topic}, without coalescing.
+     *
+     * @param topic the topic to broadcast to
+     * @param frame the shared, pre-encoded frame
+     * @see #broadcast(String, TextMessage, String, Audience)
+     */
+    public void broadcast(String topic, TextMessage frame) {
+        broadcast(topic, frame, null, Audience.ALL);
+    }
+
+    /**
+     * Queues one frame for every open session subscribed to {@code topic} in {@code audience}.
+     *
+     * <p>The same {@link TextMessage} instance is handed to every JSON subscriber. Build it from
+     * the UTF-8 bytes (see {@link #frame(byte[])}) so that its encoded form is computed once per
+     * broadcast rather than once per subscriber. Subscribers that chose a binary {@link
+     * FrameEncoding} share one binary frame per encoding, produced on first use.
+     *
+     * @param topic the topic to broadcast to
+     * @param frame the shared, pre-encoded frame
+     * @param coalesceKey identifies frames that supersede each other when a session queue is full
+     *     under {@link OutboundOverflowPolicy#COALESCE} (may be {@code null})
+     * @param audience the subscriptions the frame is meant for
+     */
+    public void broadcast(
+            String topic, TextMessage frame, String coalesceKey, Audience audience) {
+        deliver(topic, frame, coalesceKey, audience, newEncodedFrames(frame), null);
+    }
+
+    /**
+     * Queues one frame for every open session subscribed to any of {@code topics}. A session
+     * subscribed to several of them is judged by the subscription to the first of them, and
+     * receives the frame at most once, in that subscription's encoding.
+     *
+     * @param topics the topics to broadcast to, in order of precedence
+     * @param frame the shared, pre-encoded frame
+     * @param coalesceKey see {@link #broadcast(String, TextMessage, String, Audience)}
+     * @param audience the subscriptions the frame is meant for
+     */
+    public void broadcast(
+            List<String> topics, TextMessage frame, String coalesceKey, Audience audience) {
+        if (topics.size() == 1) {
+            broadcast(topics.get(0), frame, coalesceKey, audience);
+            return;
+        }
+        Map<FrameEncoding, WebSocketMessage<?>> encoded = newEncodedFrames(frame);
+        Set<String> delivered = new HashSet<>();
+        for (String topic : topics) {
+            deliver(topic, frame, coalesceKey, audience, encoded, delivered);
         }
     }
 
-    public void broadcast(String topic, String message) {
-        Set<String> subscribers = topicSubscriptions.get(topic);
+    /**
+     * Queues a frame for a single session, behind any frames already waiting for it. Direct replies
+     * must go through here too, since a session may only be written by one thread at a time.
+     *
+     * @param session the target session
+     * @param frame the frame to send
+     */
+    public void send(WebSocketSession session, WebSocketMessage<?> frame) {
+        SessionSendQueue queue = sessions.get(session.getId());
+        if (queue == null) {
+            log.debug("Dropping frame for unregistered session {}", session.getId());
+            return;
+        }
+        enqueue(queue, frame, null);
+    }
+
+    /**
+     * Queues a JSON frame for a single session in the encoding the session chose for {@code topic},
+     * or as JSON if it is not subscribed to it.
+     *
+     * @param session the target session
+     * @param topic the topic the frame belongs to
+     * @param frame the JSON frame
+     */
+    public void send(WebSocketSession session, String topic, TextMessage frame) {
+        Map<String, SubscriptionOptions> subscribers = topicSubscriptions.get(topic);
+        FrameEncoding encoding =
+                subscribers != null
+                        ? subscribers
+                                .getOrDefault(session.getId(), SubscriptionOptions.DEFAULT)
+                                .encoding()
+                        : FrameEncoding.JSON;
+        try {
+            send(session, encoding.encode(frame));
+        } catch (IOException e) {
+            log.error("Error encoding frame as {}", encoding, e);
+        }
+    }
+
+    /**
+     * Wraps an already UTF-8 encoded payload in a text frame that keeps both its bytes and its
+     * string form, so neither is recomputed when the frame is sent to many sessions.
+     *
+     * @param utf8Payload the encoded payload
+     * @return a frame sharing {@code utf8Payload}
+     */
+    public static TextMessage frame(byte[] utf8Payload) {
+        return new TextMessage(utf8Payload);
+    }
+
+    public UUID getUserId(WebSocketSession session) {
+        return sessionUsers.get(session.getId());
+    }
+
+    public boolean isRegistered(WebSocketSession session) {
+        return sessions.containsKey(session.getId());
+    }
+
+    public int getActiveSessionsCount() {
+        return sessions.size();
+    }
+
+    public int getSubscribersCount(String topic) {
+        Map<String, SubscriptionOptions> subscribers = topicSubscriptions.get(topic);
+        return subscribers != null ? subscribers.size() : 0;
+    }
+
+    public boolean isSubscribed(WebSocketSession session, String topic) {
+        Set<String> topics = sessionTopics.get(session.getId());
+        return topics != null && topics.contains(topic);
+    }
+
+    public int getTopicsCount() {
+        return topicSubscriptions.size();
+    }
+
+    /**
+     * Queues the frame for the subscribers of one topic in {@code audience}, skipping sessions
+     * already in {@code delivered} when it is not null.
+     */
+    private void deliver(
+            String topic,
+            TextMessage frame,
+            String coalesceKey,
+            Audience audience,
+            Map<FrameEncoding, WebSocketMessage<?>> encoded,
+            Set<String> delivered) {
+        Map<String, SubscriptionOptions> subscribers = topicSubscriptions.get(topic);
         if (subscribers == null || subscribers.isEmpty()) {
             log.debug("No subscribers for topic: {}", topic);
             return;
@@ -66,32 +301,118 @@ public class WebSocketSessionManager {
 
         log.debug("Broadcasting to {} subscribers on topic: {}", subscribers.size(), topic);
 
-        for (String sessionId : subscribers) {
-            WebSocketSession session = sessions.get(sessionId);
-            if (session != null && session.isOpen()) {
-                try {
-                    session.sendMessage(new TextMessage(message));
-                    log.debug("Sent message to session: {}", sessionId);
-                } catch (IOException e) {
-                    log.error("Error sending message to session: {}", sessionId, e);
+        for (Map.Entry<String, SubscriptionOptions> subscriber : subscribers.entrySet()) {
+            String sessionId = subscriber.getKey();
+            if (delivered != null && !delivered.add(sessionId)) {
+                continue;
+            }
+            SubscriptionOptions options = subscriber.getValue();
+            SessionSendQueue queue = sessions.get(sessionId);
+            if (queue != null && queue.getSession().isOpen()) {
+                if (!audience.includes(options)) {
+                    continue;
+                }
+                WebSocketMessage<?> message = encode(encoded, options.encoding(), frame);
+                if (message != null) {
+                    enqueue(queue, message, coalesceKey);
                 }
             } else {
                 log.warn("Session {} is not open, removing from subscriptions", sessionId);
-                subscribers.remove(sessionId);
+                Set<String> topics = sessionTopics.get(sessionId);
+                if (topics != null) {
+                    topics.remove(topic);
+                }
+                removeSubscriber(topic, sessionId);
             }
         }
     }
 
-    public UUID getUserId(WebSocketSession session) {
-        return sessionUsers.get(session.getId());
+    private static Map<FrameEncoding, WebSocketMessage<?>> newEncodedFrames(TextMessage frame) {
+        Map<FrameEncoding, WebSocketMessage<?>> encoded = new EnumMap<>(FrameEncoding.class);
+        encoded.put(FrameEncoding.JSON, frame);
+        return encoded;
     }
 
-    public int getActiveSessionsCount() {
-        return sessions.size();
+    /**
+     * Removes a subscriber from a topic, dropping the topic in the same atomic step once it has no
+     * subscribers left, so a concurrent {@link #subscribe} can never add to a discarded set.
+     */
+    private void removeSubscriber(String topic, String sessionId) {
+        topicSubscriptions.computeIfPresent(
+                topic,
+                (k, subscribers) -> {
+                    subscribers.remove(sessionId);
+                    return subscribers.isEmpty() ? null : subscribers;
+                });
     }
 
-    public int getSubscribersCount(String topic) {
-        Set<String> subscribers = topicSubscriptions.get(topic);
-        return subscribers != null ? subscribers.size() : 0;
+    /** Returns the frame in the given encoding, encoding it on first use; null if that fails. */
+    private WebSocketMessage<?> encode(
+            Map<FrameEncoding, WebSocketMessage<?>> encoded,
+            FrameEncoding encoding,
+            TextMessage frame) {
+        WebSocketMessage<?> message = encoded.get(encoding);
+        if (message == null && !encoded.containsKey(encoding)) {
+            try {
+                message = encoding.encode(frame);
+            } catch (IOException e) {
+                log.error("Error encoding frame as {}", encoding, e);
+            }
+            encoded.put(encoding, message);
+        }
+        return message;
+    }
+
+    private void enqueue(SessionSendQueue queue, WebSocketMessage<?> frame, String coalesceKey) {
+        switch (queue.offer(frame, coalesceKey)) {
+            case DROPPED_OLDEST -> droppedOldest.increment();
+            case COALESCED -> coalesced.increment();
+            case DISCONNECT -> disconnect(queue.getSession());
+            default -> {}
+        }
+    }
+
+    /** Closes a session that cannot keep up. */
+    private void disconnect(WebSocketSession session) {
+        disconnects.increment();
+        log.warn("Session {} is too slow to keep up, disconnecting", session.getId());
+        close(session, CloseStatus.SESSION_NOT_RELIABLE);
+    }
+
+    /**
+     * Unregisters a session and closes it; the close itself runs off the caller's thread, since it
+     * may block on a dead connection.
+     *
+     * @param session the session to close
+     * @param status the close status sent to the client
+     */
+    public void close(WebSocketSession session, CloseStatus status) {
+        unregisterSession(session);
+        Thread.ofVirtual()
+                .name("ws-close-" + session.getId())
+                .start(
+                        () -> {
+                            try {
+                                session.close(status);
+                            } catch (IOException e) {
+                                log.debug("Error closing session {}", session.getId(), e);
+                            }
+                        });
+    }
+
+    private double totalDepth() {
+        long total = 0;
+        for (SessionSendQueue queue : sessions.values()) {
+            total += queue.depth();
+        }
+        return total;
+    }
+
+    private double maxDepth() {
+        int max = 0;
+        for (SessionSendQueue queue : sessions.values()) {
+            max = Math.max(max, queue.depth());
+        }
+        return max;
     }
 }
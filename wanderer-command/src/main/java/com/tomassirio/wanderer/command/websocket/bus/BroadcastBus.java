@@ -0,0 +1,26 @@
+package com.tomassirio.wanderer.command.websocket.bus;
+
+import com.tomassirio.wanderer.command.websocket.Audience;
+
+/**
+ * Carries encoded WebSocket frames to the subscribers of a topic on every node running
+ * wanderer-command.
+ *
+ * <p>Each event is serialized once by the node that committed it and published here; every node,
+ * including the publishing one, delivers the frame to its own local subscribers only.
+ *
+ * @since 0.9.5
+ */
+public interface BroadcastBus {
+
+    /**
+     * Publishes a frame to the subscribers of a topic on all nodes.
+     *
+     * @param topic the topic to broadcast to
+     * @param payload the UTF-8 encoded frame
+     * @param coalesceKey identifies frames that supersede each other in a full session queue (may
+     *     be {@code null})
+     * @param audience the subscriptions the frame is meant for
+     */
+    void publish(String topic, byte[] payload, String coalesceKey, Audience audience);
+}
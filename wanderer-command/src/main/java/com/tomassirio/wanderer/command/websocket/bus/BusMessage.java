@@ -0,0 +1,58 @@
+package com.tomassirio.wanderer.command.websocket.bus;
+
+import com.tomassirio.wanderer.command.websocket.Audience;
+
+/**
+ * A frame relayed between nodes, in the text form carried by a PostgreSQL notification.
+ *
+ * <p>The encoded form is newline separated: origin node, topic, coalesce key (empty when absent),
+ * audience and the JSON frame. Topics, keys and audiences never contain newlines, and the JSON
+ * written by Jackson escapes them, so the payload is always the remainder after the fourth newline.
+ *
+ * @param origin id of the node that published the frame
+ * @param topic the topic to broadcast to
+ * @param coalesceKey the coalesce key, or {@code null}
+ * @param audience the subscriptions the frame is meant for
+ * @param payload the JSON frame
+ * @since 0.9.5
+ */
+record BusMessage(
+        String origin, String topic, String coalesceKey, Audience audience, String payload) {
+
+    private static final char SEPARATOR = '\n';
+
+    String encode() {
+        return origin
+                + SEPARATOR
+                + topic
+                + SEPARATOR
+                + (coalesceKey != null ? coalesceKey : "")
+                + SEPARATOR
+                + audience.encode()
+                + SEPARATOR
+                + payload;
+    }
+
+    static BusMessage decode(String encoded) {
+        int first = encoded.indexOf(SEPARATOR);
+        int second = encoded.indexOf(SEPARATOR, first + 1);
+        int third = encoded.indexOf(SEPARATOR, second + 1);
+        int fourth = encoded.indexOf(SEPARATOR, third + 1);
+        if (first < 0 || second < 0 || third < 0 || fourth < 0) {
+            throw new IllegalArgumentException("Malformed broadcast bus message");
+        }
+        String coalesceKey = encoded.substring(second + 1, third);
+        return new BusMessage(
+                encoded.substring(0, first),
+                encoded.substring(first + 1, second),
+                coalesceKey.isEmpty() ? null : coalesceKey,
+                Audience.decode(encoded.substring(third + 1, fourth)),
+                encoded.substring(fourth + 1));
+    }
+
+    /** Returns the origin of an encoded message without decoding the rest. */
+    static String originOf(String encoded) {
+        int first = encoded.indexOf(SEPARATOR);
+        return first < 0 ? encoded : encoded.substring(0, first);
+    }
+}
@@ -0,0 +1,48 @@
+package com.tomassirio.wanderer.command.websocket.bus;
+
+import com.tomassirio.wanderer.command.websocket.Audience;
+import com.tomassirio.wanderer.command.websocket.WebSocketSessionManager;
+import com.tomassirio.wanderer.command.websocket.feed.TripFeedIndex;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Delivers a frame from the {@link BroadcastBus} to the sessions connected to this node: the
+ * subscribers of its topic and of every feed topic the {@link TripFeedIndex} routes it to, each
+ * session receiving it once.
+ *
+ * @since 0.9.5
+ */
+@Component
+@RequiredArgsConstructor
+public class LocalBroadcaster {
+
+    private final WebSocketSessionManager sessionManager;
+    private final TripFeedIndex tripFeedIndex;
+
+    /**
+     * Queues the frame for local subscribers.
+     *
+     * @param topic the topic the frame was published on
+     * @param payload the UTF-8 encoded JSON frame
+     * @param coalesceKey see {@link BroadcastBus#publish(String, byte[], String, Audience)}
+     * @param audience the subscriptions the frame is meant for
+     */
+    public void deliver(String topic, byte[] payload, String coalesceKey, Audience audience) {
+        List<String> feeds = tripFeedIndex.feedTopicsFor(topic);
+        if (feeds.isEmpty()) {
+            if (sessionManager.getSubscribersCount(topic) > 0) {
+                sessionManager.broadcast(
+                        topic, WebSocketSessionManager.frame(payload), coalesceKey, audience);
+            }
+            return;
+        }
+        List<String> topics = new ArrayList<>(feeds.size() + 1);
+        topics.add(topic);
+        topics.addAll(feeds);
+        sessionManager.broadcast(
+                topics, WebSocketSessionManager.frame(payload), coalesceKey, audience);
+    }
+}
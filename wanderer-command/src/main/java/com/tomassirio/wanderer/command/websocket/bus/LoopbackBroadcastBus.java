@@ -0,0 +1,30 @@
+package com.tomassirio.wanderer.command.websocket.bus;
+
+import com.tomassirio.wanderer.command.websocket.Audience;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-process {@link BroadcastBus} that delivers straight to the sessions connected to this node.
+ * This is the default, suitable for a single node and for tests. It is active when
+ * app.websocket.bus.type is local or not set.
+ *
+ * @since 0.9.5
+ */
+@Component
+@ConditionalOnProperty(
+        prefix = "app.websocket.bus",
+        name = "type",
+        havingValue = "local",
+        matchIfMissing = true)
+@RequiredArgsConstructor
+public class LoopbackBroadcastBus implements BroadcastBus {
+
+    private final LocalBroadcaster localBroadcaster;
+
+    @Override
+    public void publish(String topic, byte[] payload, String coalesceKey, Audience audience) {
+        localBroadcaster.deliver(topic, payload, coalesceKey, audience);
+    }
+}
@@ -0,0 +1,176 @@
+package com.tomassirio.wanderer.command.websocket.bus;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.tomassirio.wanderer.command.config.properties.WebSocketBusProperties;
+import com.tomassirio.wanderer.command.websocket.Audience;
+import com.tomassirio.wanderer.commons.notification.PostgresNotificationListener;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@link BroadcastBus} that relays frames between nodes through PostgreSQL LISTEN/NOTIFY, so
+ * scaling wanderer-command out needs no infrastructure beyond the database it already uses. It is
+ * active when app.websocket.bus.type is postgres.
+ *
+ * <p>A published frame is delivered to local subscribers right away and sent to the other nodes
+ * with {@code pg_notify}. Each node listens through a {@link PostgresNotificationListener} and
+ * ignores its own notifications. Notification payloads are limited to 8000 bytes, so larger
+ * messages are written to {@code websocket_broadcasts} and only their id is notified. Expired rows
+ * are pruned at most once per retention period, by whichever oversize publish finds the period
+ * elapsed.
+ *
+ * <p>Delivery is best effort, like the WebSocket itself: notifications sent while a listener is
+ * reconnecting are lost for that node's clients.
+ *
+ * @since 0.9.5
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.websocket.bus", name = "type", havingValue = "postgres")
+public class PostgresBroadcastBus implements BroadcastBus {
+
+    /** Largest notification payload PostgreSQL accepts, less some headroom. */
+    static final int MAX_NOTIFY_BYTES = 7900;
+
+    private static final char OVERSIZE_MARKER = '@';
+
+    private final LocalBroadcaster localBroadcaster;
+    private final JdbcTemplate jdbcTemplate;
+    private final WebSocketBusProperties properties;
+    private final PostgresNotificationListener listener;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final AtomicLong nextPruneMillis = new AtomicLong();
+
+    public PostgresBroadcastBus(
+            LocalBroadcaster localBroadcaster,
+            JdbcTemplate jdbcTemplate,
+            DataSource dataSource,
+            WebSocketBusProperties properties) {
+        this.localBroadcaster = localBroadcaster;
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        this.listener =
+                new PostgresNotificationListener(
+                        "ws-bus-listener",
+                        properties.getChannel(),
+                        dataSource,
+                        properties.getPollTimeout(),
+                        properties.getReconnectDelay(),
+                        this::receive);
+    }
+
+    @PostConstruct
+    public void start() {
+        listener.start();
+        log.info("PostgreSQL broadcast bus started on channel {} as node {}", channel(), nodeId);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        listener.stop();
+    }
+
+    @Override
+    public void publish(String topic, byte[] payload, String coalesceKey, Audience audience) {
+        localBroadcaster.deliver(topic, payload, coalesceKey, audience);
+
+        String message =
+                new BusMessage(nodeId, topic, coalesceKey, audience, new String(payload, UTF_8))
+                        .encode();
+        try {
+            if (message.getBytes(UTF_8).length <= MAX_NOTIFY_BYTES) {
+                notify(message);
+            } else {
+                notify(nodeId + '\n' + OVERSIZE_MARKER + storeOversize(message));
+            }
+        } catch (DataAccessException e) {
+            log.error("Error relaying broadcast for topic {} to other nodes", topic, e);
+        }
+    }
+
+    /**
+     * Handles one notification received on the channel.
+     *
+     * @param notification the notification payload
+     */
+    void receive(String notification) {
+        if (nodeId.equals(BusMessage.originOf(notification))) {
+            return;
+        }
+        String message = notification;
+        int body = notification.indexOf('\n') + 1;
+        if (body > 0
+                && body < notification.length()
+                && notification.charAt(body) == OVERSIZE_MARKER) {
+            UUID id = UUID.fromString(notification.substring(body + 1));
+            List<String> stored =
+                    jdbcTemplate.queryForList(
+                            "SELECT message FROM websocket_broadcasts WHERE id = ?",
+                            String.class,
+                            id);
+            if (stored.isEmpty()) {
+                log.warn("Broadcast {} expired before it could be read", id);
+                return;
+            }
+            message = stored.getFirst();
+        }
+        BusMessage decoded = BusMessage.decode(message);
+        localBroadcaster.deliver(
+                decoded.topic(),
+                decoded.payload().getBytes(UTF_8),
+                decoded.coalesceKey(),
+                decoded.audience());
+    }
+
+    String getNodeId() {
+        return nodeId;
+    }
+
+    private void notify(String message) {
+        jdbcTemplate.query(
+                "SELECT pg_notify(?, ?)", (RowCallbackHandler) rs -> {}, channel(), message);
+    }
+
+    private UUID storeOversize(String message) {
+        UUID id = UUID.randomUUID();
+        Instant now = Instant.now();
+        pruneIfDue(now);
+        jdbcTemplate.update(
+                "INSERT INTO websocket_broadcasts (id, message, created_at) VALUES (?, ?, ?)",
+                id,
+                message,
+                Timestamp.from(now));
+        return id;
+    }
+
+    /** Deletes expired oversize messages, unless this node already did so this retention period. */
+    private void pruneIfDue(Instant now) {
+        long due = nextPruneMillis.get();
+        Duration retention = properties.getOversizeRetention();
+        if (now.toEpochMilli() < due
+                || !nextPruneMillis.compareAndSet(due, now.plus(retention).toEpochMilli())) {
+            return;
+        }
+        jdbcTemplate.update(
+                "DELETE FROM websocket_broadcasts WHERE created_at < ?",
+                Timestamp.from(now.minus(retention)));
+    }
+
+    private String channel() {
+        return properties.getChannel();
+    }
+}
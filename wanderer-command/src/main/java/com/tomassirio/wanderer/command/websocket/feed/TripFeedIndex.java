@@ -0,0 +1,323 @@
+package com.tomassirio.wanderer.command.websocket.feed;
+
+import com.tomassirio.wanderer.command.config.properties.WebSocketSubscriptionProperties;
+import com.tomassirio.wanderer.command.event.TripCreatedEvent;
+import com.tomassirio.wanderer.command.event.TripPromotedEvent;
+import com.tomassirio.wanderer.command.event.TripUnpromotedEvent;
+import com.tomassirio.wanderer.command.event.TripVisibilityChangedEvent;
+import com.tomassirio.wanderer.command.event.UserFollowedEvent;
+import com.tomassirio.wanderer.command.event.UserUnfollowedEvent;
+import com.tomassirio.wanderer.command.repository.PromotedTripRepository;
+import com.tomassirio.wanderer.command.repository.TripRepository;
+import com.tomassirio.wanderer.command.repository.TripRepository.TripAudience;
+import com.tomassirio.wanderer.command.repository.UserFollowRepository;
+import com.tomassirio.wanderer.command.websocket.WebSocketEventType;
+import com.tomassirio.wanderer.command.websocket.WebSocketSessionManager;
+import com.tomassirio.wanderer.commons.cache.BoundedCache;
+import com.tomassirio.wanderer.commons.domain.TripVisibility;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Resolves which feed topics a trip event belongs to, so feed subscribers receive it without the
+ * server walking every session.
+ *
+ * <p>Two feeds exist: {@link WebSocketEventType#PROMOTED_FEED_TOPIC}, shared by everyone, and the
+ * per-user following feed ({@link WebSocketEventType#followingFeedTopic(UUID)}). Only events of
+ * public trips are routed to feeds. The index keeps:
+ *
+ * <ul>
+ *   <li>the set of promoted trip IDs;
+ *   <li>for each user with a live following feed, the users they follow, and the reverse map from a
+ *       followed user to those feed subscribers, so routing a trip event costs one lookup by the
+ *       trip owner;
+ *   <li>a bounded cache of trip owner and visibility, which also remembers trips that were not
+ *       found so events for them do not query the database each time.
+ * </ul>
+ *
+ * <p>Promotion and follow events raised on this node update the index as soon as they commit.
+ * Changes made through other nodes are picked up by a periodic refresh and by the trip cache TTL.
+ * Users whose following feed has no subscribers left are dropped lazily.
+ *
+ * <p>Follow lists and promoted trips are read from the database without holding the index's lock,
+ * so follow and promotion events never wait on those reads. A follow list is only applied if no
+ * follow or unfollow committed while it was read, and a refresh keeps the promotion state of trips
+ * promoted or unpromoted while it was reading.
+ *
+ * @since 0.9.5
+ */
+@Slf4j
+@Component
+public class TripFeedIndex {
+
+    /** How often a follow list is read before it is applied even though follows kept changing. */
+    private static final int MAX_FOLLOW_LIST_READS = 3;
+
+    private final WebSocketSessionManager sessionManager;
+    private final TripRepository tripRepository;
+    private final PromotedTripRepository promotedTripRepository;
+    private final UserFollowRepository userFollowRepository;
+    private final WebSocketSubscriptionProperties properties;
+    private final BoundedCache<UUID, Optional<TripAudience>> audienceCache;
+
+    private final Set<UUID> promotedTripIds = ConcurrentHashMap.newKeySet();
+
+    // trips promoted or unpromoted on this node since the current refresh started reading
+    private final Set<UUID> promotionChanges = ConcurrentHashMap.newKeySet();
+
+    // bumped by every follow and unfollow, guarded by the index's lock
+    private long followChanges;
+
+    // feed subscriber -> users they follow
+    private final Map<UUID, Set<UUID>> followeesByFollower = new ConcurrentHashMap<>();
+
+    // followed user -> feed subscribers following them
+    private final Map<UUID, Set<UUID>> followersByFollowee = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService refresher;
+
+    public TripFeedIndex(
+            WebSocketSessionManager sessionManager,
+            TripRepository tripRepository,
+            PromotedTripRepository promotedTripRepository,
+            UserFollowRepository userFollowRepository,
+            WebSocketSubscriptionProperties properties) {
+        this.sessionManager = sessionManager;
+        this.tripRepository = tripRepository;
+        this.promotedTripRepository = promotedTripRepository;
+        this.userFollowRepository = userFollowRepository;
+        this.properties = properties;
+        this.audienceCache =
+                new BoundedCache<>(properties.getTripCacheSize(), properties.getTripCacheTtl());
+    }
+
+    @PostConstruct
+    void start() {
+        refresher =
+                Executors.newSingleThreadScheduledExecutor(
+                        Thread.ofVirtual().name("ws-feed-refresh").factory());
+        long interval = properties.getFeedRefreshInterval().toMillis();
+        refresher.scheduleWithFixedDelay(this::refresh, 0, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (refresher != null) {
+            refresher.shutdownNow();
+        }
+    }
+
+    /**
+     * Returns the feed topics an event published on {@code topic} must also reach. Only trip topics
+     * of public trips are routed to feeds.
+     *
+     * @param topic the topic the event was published on
+     * @return the feed topics with subscribers, possibly empty
+     */
+    public List<String> feedTopicsFor(String topic) {
+        boolean promotedFeedWatched =
+                sessionManager.getSubscribersCount(WebSocketEventType.PROMOTED_FEED_TOPIC) > 0;
+        if (!promotedFeedWatched && followeesByFollower.isEmpty()) {
+            return List.of();
+        }
+        UUID tripId = WebSocketEventType.tripIdOf(topic);
+        if (tripId == null) {
+            return List.of();
+        }
+        TripAudience audience = audienceOf(tripId).orElse(null);
+        if (audience == null || audience.getVisibility() != TripVisibility.PUBLIC) {
+            return List.of();
+        }
+
+        List<String> feeds = new ArrayList<>();
+        if (promotedFeedWatched && promotedTripIds.contains(tripId)) {
+            feeds.add(WebSocketEventType.PROMOTED_FEED_TOPIC);
+        }
+        Set<UUID> followers = followersByFollowee.get(audience.getUserId());
+        if (followers != null) {
+            for (UUID follower : followers) {
+                String feed = WebSocketEventType.followingFeedTopic(follower);
+                if (sessionManager.getSubscribersCount(feed) > 0) {
+                    feeds.add(feed);
+                } else {
+                    deactivate(follower);
+                }
+            }
+        }
+        return feeds;
+    }
+
+    /**
+     * Starts routing the trips of the users {@code userId} follows to their following feed. Called
+     * when a session subscribes to it; loading the follow list again is harmless. The list is read
+     * without the index's lock and read again if a follow or unfollow committed meanwhile, so it
+     * does not overwrite that change.
+     *
+     * @param userId the feed subscriber
+     */
+    public void activate(UUID userId) {
+        for (int read = 1; ; read++) {
+            long stamp = followChangeStamp();
+            Set<UUID> followees =
+                    new HashSet<>(userFollowRepository.findFollowedIdsByFollowerId(userId));
+            synchronized (this) {
+                if (followChanges == stamp || read == MAX_FOLLOW_LIST_READS) {
+                    // After the last read, the next refresh catches up on what it missed
+                    replaceFollowees(userId, followees);
+                    log.debug(
+                            "Following feed of user {} covers {} users", userId, followees.size());
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Stops routing trips to {@code userId}'s following feed.
+     *
+     * @param userId the feed subscriber
+     */
+    public synchronized void deactivate(UUID userId) {
+        Set<UUID> followees = followeesByFollower.remove(userId);
+        if (followees != null) {
+            followees.forEach(followee -> unlink(userId, followee));
+            log.debug("Following feed of user {} deactivated", userId);
+        }
+    }
+
+    public boolean isActive(UUID userId) {
+        return followeesByFollower.containsKey(userId);
+    }
+
+    /**
+     * Reloads the promoted trips and the follow lists of feed subscribers, and drops users whose
+     * following feed has no subscribers left.
+     */
+    void refresh() {
+        try {
+            refreshPromotedTrips();
+
+            for (UUID follower : List.copyOf(followeesByFollower.keySet())) {
+                if (sessionManager.getSubscribersCount(
+                                WebSocketEventType.followingFeedTopic(follower))
+                        > 0) {
+                    activate(follower);
+                } else {
+                    deactivate(follower);
+                }
+            }
+        } catch (Exception e) {
+            log.error("Error refreshing the trip feed index", e);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTripPromoted(TripPromotedEvent event) {
+        // Recorded first, so a refresh that reads it is no longer applied to the trip
+        promotionChanges.add(event.getTripId());
+        promotedTripIds.add(event.getTripId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTripUnpromoted(TripUnpromotedEvent event) {
+        promotionChanges.add(event.getTripId());
+        promotedTripIds.remove(event.getTripId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public synchronized void onUserFollowed(UserFollowedEvent event) {
+        followChanges++;
+        Set<UUID> followees = followeesByFollower.get(event.getFollowerId());
+        if (followees != null && followees.add(event.getFollowedId())) {
+            link(event.getFollowerId(), event.getFollowedId());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public synchronized void onUserUnfollowed(UserUnfollowedEvent event) {
+        followChanges++;
+        Set<UUID> followees = followeesByFollower.get(event.getFollowerId());
+        if (followees != null && followees.remove(event.getFollowedId())) {
+            unlink(event.getFollowerId(), event.getFollowedId());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTripVisibilityChanged(TripVisibilityChangedEvent event) {
+        audienceCache.invalidate(event.getTripId());
+    }
+
+    /** Drops a "not found" entry cached for the trip's id before it was committed. */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTripCreated(TripCreatedEvent event) {
+        audienceCache.invalidate(event.getTripId());
+    }
+
+    private Optional<TripAudience> audienceOf(UUID tripId) {
+        Optional<TripAudience> audience = audienceCache.get(tripId);
+        if (audience == null) {
+            long stamp = audienceCache.invalidationStamp();
+            audience = tripRepository.findAudienceById(tripId);
+            audienceCache.putIfNotInvalidatedSince(tripId, audience, stamp);
+        }
+        return audience;
+    }
+
+    /**
+     * Merges the promoted trips read from the database into the live set. Trips promoted or
+     * unpromoted on this node while they were read keep the state their event left.
+     */
+    private void refreshPromotedTrips() {
+        promotionChanges.clear();
+        Set<UUID> loaded = new HashSet<>(promotedTripRepository.findAllTripIds());
+        loaded.stream().filter(id -> !promotionChanges.contains(id)).forEach(promotedTripIds::add);
+        promotedTripIds.removeIf(id -> !loaded.contains(id) && !promotionChanges.contains(id));
+    }
+
+    private synchronized long followChangeStamp() {
+        return followChanges;
+    }
+
+    private void replaceFollowees(UUID follower, Set<UUID> followees) {
+        Set<UUID> previous = followeesByFollower.get(follower);
+        if (previous != null) {
+            previous.stream()
+                    .filter(followee -> !followees.contains(followee))
+                    .forEach(followee -> unlink(follower, followee));
+        }
+        Set<UUID> current = ConcurrentHashMap.newKeySet();
+        current.addAll(followees);
+        followeesByFollower.put(follower, current);
+        current.forEach(followee -> link(follower, followee));
+    }
+
+    private void link(UUID follower, UUID followee) {
+        followersByFollowee
+                .computeIfAbsent(followee, k -> ConcurrentHashMap.newKeySet())
+                .add(follower);
+    }
+
+    private void unlink(UUID follower, UUID followee) {
+        followersByFollowee.computeIfPresent(
+                followee,
+                (k, followers) -> {
+                    followers.remove(follower);
+                    return followers.isEmpty() ? null : followers;
+                });
+    }
+}
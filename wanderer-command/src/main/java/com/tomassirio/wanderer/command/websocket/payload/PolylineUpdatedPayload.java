@@ -7,6 +7,16 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+/**
+ * WebSocket payload for {@code POLYLINE_UPDATED}.
+ *
+ * <p>Carries the full {@code encodedPolyline} and its {@code version}. Subscriptions made with
+ * {@code "polylineDeltas": true} instead receive, when points were only appended, the {@code
+ * encodedSuffix} to concatenate to the polyline of {@code version - 1}. A client holding version
+ * {@code v} applies a suffix of version {@code v + 1}, ignores versions up to {@code v}, and on any
+ * other version sends {@code {"type":"RESYNC","destination":"/topic/trips/{tripId}"}} to receive
+ * the full polyline. A full polyline always replaces the local one.
+ */
 @Data
 @Builder
 @NoArgsConstructor
@@ -15,4 +25,6 @@ import lombok.NoArgsConstructor;
 public class PolylineUpdatedPayload {
     private UUID tripId;
     private String encodedPolyline;
+    private String encodedSuffix;
+    private Long version;
 }
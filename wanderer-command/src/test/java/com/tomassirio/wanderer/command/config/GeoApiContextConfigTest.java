@@ -1,11 +1,14 @@
 package com.tomassirio.wanderer.command.config;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
 
 import com.google.maps.GeoApiContext;
+import com.tomassirio.wanderer.command.config.properties.DirectionsProperties;
 import com.tomassirio.wanderer.command.config.properties.GoogleMapsProperties;
 import com.tomassirio.wanderer.command.service.DistanceCalculationStrategy;
 import com.tomassirio.wanderer.command.service.RouteService;
+import com.tomassirio.wanderer.command.service.helper.RouteSegmentCache;
 import com.tomassirio.wanderer.command.service.impl.strategy.GoogleDirectionsRouteStrategy;
 import com.tomassirio.wanderer.command.service.impl.strategy.GoogleMapsDistanceStrategy;
 import com.tomassirio.wanderer.command.service.impl.strategy.HaversineDistanceStrategy;
@@ -117,7 +120,9 @@ class GeoApiContextConfigTest {
         GeoApiContext context = config.geoApiContext(properties);
 
         // When
-        RouteService route = config.routeService(context);
+        RouteService route =
+                config.routeService(
+                        context, mock(RouteSegmentCache.class), new DirectionsProperties());
 
         // Then
         assertThat(route).isInstanceOf(GoogleDirectionsRouteStrategy.class);
@@ -129,7 +134,9 @@ class GeoApiContextConfigTest {
     @Test
     void routeService_whenGeoApiContextIsNull_shouldReturnStraightLineStrategy() {
         // When
-        RouteService route = config.routeService(null);
+        RouteService route =
+                config.routeService(
+                        null, mock(RouteSegmentCache.class), new DirectionsProperties());
 
         // Then
         assertThat(route).isInstanceOf(StraightLineRouteStrategy.class);
@@ -6,6 +6,7 @@ import static org.mockito.Mockito.when;
 
 import com.tomassirio.wanderer.command.event.TripCreatedEvent;
 import com.tomassirio.wanderer.command.repository.TripRepository;
+import com.tomassirio.wanderer.command.service.helper.ReadModelChangeNotifier;
 import com.tomassirio.wanderer.command.service.helper.TripEmbeddedObjectsInitializer;
 import com.tomassirio.wanderer.commons.domain.GeoLocation;
 import com.tomassirio.wanderer.commons.domain.Trip;
@@ -29,6 +30,7 @@ class TripCreatedEventHandlerTest {
 
     @Mock private TripEmbeddedObjectsInitializer embeddedObjectsInitializer;
     @Mock private TripRepository tripRepository;
+    @Mock private ReadModelChangeNotifier readModelChangeNotifier;
 
     @InjectMocks private TripCreatedEventHandler handler;
 
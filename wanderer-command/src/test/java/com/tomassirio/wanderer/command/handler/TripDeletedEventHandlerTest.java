@@ -4,6 +4,8 @@ import static org.mockito.Mockito.verify;
 
 import com.tomassirio.wanderer.command.event.TripDeletedEvent;
 import com.tomassirio.wanderer.command.repository.TripRepository;
+import com.tomassirio.wanderer.command.service.helper.ReadModelChangeNotifier;
+import com.tomassirio.wanderer.commons.notification.ReadModelChange;
 import java.util.UUID;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -16,6 +18,8 @@ class TripDeletedEventHandlerTest {
 
     @Mock private TripRepository tripRepository;
 
+    @Mock private ReadModelChangeNotifier readModelChangeNotifier;
+
     @InjectMocks private TripDeletedEventHandler handler;
 
     @Test
@@ -30,5 +34,6 @@ class TripDeletedEventHandlerTest {
 
         // Then
         verify(tripRepository).deleteById(tripId);
+        verify(readModelChangeNotifier).notify(ReadModelChange.trip(tripId));
     }
 }
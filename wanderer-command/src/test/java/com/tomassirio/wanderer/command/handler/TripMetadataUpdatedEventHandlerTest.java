@@ -7,6 +7,7 @@ import static org.mockito.Mockito.when;
 
 import com.tomassirio.wanderer.command.event.TripMetadataUpdatedEvent;
 import com.tomassirio.wanderer.command.repository.TripRepository;
+import com.tomassirio.wanderer.command.service.helper.ReadModelChangeNotifier;
 import com.tomassirio.wanderer.command.service.helper.TripEmbeddedObjectsInitializer;
 import com.tomassirio.wanderer.commons.domain.Trip;
 import com.tomassirio.wanderer.commons.domain.TripSettings;
@@ -25,6 +26,7 @@ class TripMetadataUpdatedEventHandlerTest {
 
     @Mock private TripRepository tripRepository;
     @Mock private TripEmbeddedObjectsInitializer embeddedObjectsInitializer;
+    @Mock private ReadModelChangeNotifier readModelChangeNotifier;
 
     @InjectMocks private TripMetadataUpdatedEventHandler handler;
 
@@ -9,6 +9,7 @@ import static org.mockito.Mockito.when;
 import com.tomassirio.wanderer.command.event.TripStatusChangedEvent;
 import com.tomassirio.wanderer.command.repository.ActiveTripRepository;
 import com.tomassirio.wanderer.command.repository.TripRepository;
+import com.tomassirio.wanderer.command.service.helper.ReadModelChangeNotifier;
 import com.tomassirio.wanderer.command.service.helper.TripEmbeddedObjectsInitializer;
 import com.tomassirio.wanderer.command.service.helper.TripStatusTransitionHandler;
 import com.tomassirio.wanderer.commons.domain.ActiveTrip;
@@ -16,6 +17,7 @@ import com.tomassirio.wanderer.commons.domain.Trip;
 import com.tomassirio.wanderer.commons.domain.TripSettings;
 import com.tomassirio.wanderer.commons.domain.TripStatus;
 import com.tomassirio.wanderer.commons.domain.TripVisibility;
+import com.tomassirio.wanderer.commons.notification.ReadModelChange;
 import java.util.Optional;
 import java.util.UUID;
 import org.junit.jupiter.api.Test;
@@ -35,6 +37,8 @@ class TripStatusChangedEventHandlerTest {
 
     @Mock private TripStatusTransitionHandler statusTransitionHandler;
 
+    @Mock private ReadModelChangeNotifier readModelChangeNotifier;
+
     @InjectMocks private TripStatusChangedEventHandler handler;
 
     @Test
@@ -69,6 +73,7 @@ class TripStatusChangedEventHandlerTest {
         verify(statusTransitionHandler)
                 .handleStatusTransition(trip, TripStatus.CREATED, TripStatus.IN_PROGRESS);
         verify(activeTripRepository).save(any(ActiveTrip.class));
+        verify(readModelChangeNotifier).notify(ReadModelChange.trip(tripId));
 
         // Entity is managed, no need to verify save
         assertThat(trip.getTripSettings().getTripStatus()).isEqualTo(TripStatus.IN_PROGRESS);
@@ -1,6 +1,7 @@
 package com.tomassirio.wanderer.command.handler;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -8,8 +9,11 @@ import com.tomassirio.wanderer.command.event.TripUpdatedEvent;
 import com.tomassirio.wanderer.command.repository.TripRepository;
 import com.tomassirio.wanderer.command.repository.TripUpdateRepository;
 import com.tomassirio.wanderer.command.service.AchievementService;
+import com.tomassirio.wanderer.command.service.AchievementService.TripAchievementContext;
+import com.tomassirio.wanderer.command.service.helper.TripAchievementMetricsAggregator;
 import com.tomassirio.wanderer.commons.domain.GeoLocation;
 import com.tomassirio.wanderer.commons.domain.Trip;
+import com.tomassirio.wanderer.commons.domain.TripAchievementMetrics;
 import com.tomassirio.wanderer.commons.domain.TripUpdate;
 import com.tomassirio.wanderer.commons.domain.UpdateType;
 import com.tomassirio.wanderer.commons.domain.WeatherCondition;
@@ -29,6 +33,8 @@ class TripUpdatedEventHandlerTest {
 
     @Mock private TripUpdateRepository tripUpdateRepository;
 
+    @Mock private TripAchievementMetricsAggregator achievementMetricsAggregator;
+
     @Mock private AchievementService achievementCalculationService;
 
     @InjectMocks private TripUpdatedEventHandler handler;
@@ -38,8 +44,12 @@ class TripUpdatedEventHandlerTest {
         // Given
         UUID tripId = UUID.randomUUID();
         UUID tripUpdateId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
         GeoLocation location = GeoLocation.builder().lat(42.8805).lon(-8.5457).build();
         Instant timestamp = Instant.now();
+        Instant startTimestamp = timestamp.minusSeconds(86400);
+        TripAchievementMetrics metrics =
+                TripAchievementMetrics.builder().tripId(tripId).updateCount(1).build();
 
         Trip trip = Trip.builder().id(tripId).name("Camino").build();
 
@@ -47,6 +57,8 @@ class TripUpdatedEventHandlerTest {
                 TripUpdatedEvent.builder()
                         .tripUpdateId(tripUpdateId)
                         .tripId(tripId)
+                        .userId(userId)
+                        .tripStartTimestamp(startTimestamp)
                         .location(location)
                         .batteryLevel(85)
                         .message("Arrived at Santiago!")
@@ -58,6 +70,8 @@ class TripUpdatedEventHandlerTest {
                         .build();
 
         when(tripRepository.getReferenceById(tripId)).thenReturn(trip);
+        when(achievementMetricsAggregator.recordUpdate(tripId, location, timestamp))
+                .thenReturn(metrics);
 
         // When
         handler.handle(event);
@@ -78,8 +92,11 @@ class TripUpdatedEventHandlerTest {
         assertThat(saved.getWeatherCondition()).isEqualTo(WeatherCondition.PARTLY_CLOUDY);
         assertThat(saved.getTimestamp()).isEqualTo(timestamp);
 
-        // Verify achievement calculation was triggered
-        verify(achievementCalculationService).checkAndUnlockAchievements(tripId);
+        // Verify metrics were updated and achievement calculation was triggered
+        verify(achievementMetricsAggregator).recordUpdate(tripId, location, timestamp);
+        verify(achievementCalculationService)
+                .checkAndUnlockAchievements(
+                        new TripAchievementContext(tripId, userId, startTimestamp, null, metrics));
     }
 
     @Test
@@ -116,7 +133,7 @@ class TripUpdatedEventHandlerTest {
         assertThat(saved.getCity()).isNull();
         assertThat(saved.getCountry()).isNull();
 
-        verify(achievementCalculationService).checkAndUnlockAchievements(tripId);
+        verify(achievementCalculationService).checkAndUnlockAchievements(any());
     }
 
     @Test
@@ -152,7 +169,7 @@ class TripUpdatedEventHandlerTest {
         TripUpdate saved = captor.getValue();
         assertThat(saved.getUpdateType()).isEqualTo(UpdateType.DAY_START);
 
-        verify(achievementCalculationService).checkAndUnlockAchievements(tripId);
+        verify(achievementCalculationService).checkAndUnlockAchievements(any());
     }
 
     @Test
@@ -188,7 +205,7 @@ class TripUpdatedEventHandlerTest {
         TripUpdate saved = captor.getValue();
         assertThat(saved.getUpdateType()).isEqualTo(UpdateType.DAY_END);
 
-        verify(achievementCalculationService).checkAndUnlockAchievements(tripId);
+        verify(achievementCalculationService).checkAndUnlockAchievements(any());
     }
 
     @Test
@@ -224,7 +241,7 @@ class TripUpdatedEventHandlerTest {
         TripUpdate saved = captor.getValue();
         assertThat(saved.getUpdateType()).isEqualTo(UpdateType.TRIP_STARTED);
 
-        verify(achievementCalculationService).checkAndUnlockAchievements(tripId);
+        verify(achievementCalculationService).checkAndUnlockAchievements(any());
     }
 
     @Test
@@ -260,6 +277,6 @@ class TripUpdatedEventHandlerTest {
         TripUpdate saved = captor.getValue();
         assertThat(saved.getUpdateType()).isEqualTo(UpdateType.TRIP_ENDED);
 
-        verify(achievementCalculationService).checkAndUnlockAchievements(tripId);
+        verify(achievementCalculationService).checkAndUnlockAchievements(any());
     }
 }
@@ -7,11 +7,13 @@ import static org.mockito.Mockito.when;
 
 import com.tomassirio.wanderer.command.event.TripVisibilityChangedEvent;
 import com.tomassirio.wanderer.command.repository.TripRepository;
+import com.tomassirio.wanderer.command.service.helper.ReadModelChangeNotifier;
 import com.tomassirio.wanderer.command.service.helper.TripEmbeddedObjectsInitializer;
 import com.tomassirio.wanderer.commons.domain.Trip;
 import com.tomassirio.wanderer.commons.domain.TripSettings;
 import com.tomassirio.wanderer.commons.domain.TripStatus;
 import com.tomassirio.wanderer.commons.domain.TripVisibility;
+import com.tomassirio.wanderer.commons.notification.ReadModelChange;
 import java.util.Optional;
 import java.util.UUID;
 import org.junit.jupiter.api.Test;
@@ -25,6 +27,7 @@ class TripVisibilityChangedEventHandlerTest {
 
     @Mock private TripRepository tripRepository;
     @Mock private TripEmbeddedObjectsInitializer embeddedObjectsInitializer;
+    @Mock private ReadModelChangeNotifier readModelChangeNotifier;
 
     @InjectMocks private TripVisibilityChangedEventHandler handler;
 
@@ -53,6 +56,7 @@ class TripVisibilityChangedEventHandlerTest {
 
         // Then
         verify(embeddedObjectsInitializer).ensureTripSettings(trip, TripVisibility.PRIVATE);
+        verify(readModelChangeNotifier).notify(ReadModelChange.trip(tripId));
 
         // Entity is managed, no need to verify save
         assertThat(trip.getTripSettings().getVisibility()).isEqualTo(TripVisibility.PRIVATE);
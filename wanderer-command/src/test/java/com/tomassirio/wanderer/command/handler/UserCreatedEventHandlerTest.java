@@ -5,7 +5,9 @@ import static org.mockito.Mockito.verify;
 
 import com.tomassirio.wanderer.command.event.UserCreatedEvent;
 import com.tomassirio.wanderer.command.repository.UserRepository;
+import com.tomassirio.wanderer.command.service.helper.ReadModelChangeNotifier;
 import com.tomassirio.wanderer.commons.domain.User;
+import com.tomassirio.wanderer.commons.notification.ReadModelChange;
 import java.util.UUID;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -18,6 +20,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 class UserCreatedEventHandlerTest {
 
     @Mock private UserRepository userRepository;
+    @Mock private ReadModelChangeNotifier readModelChangeNotifier;
 
     @InjectMocks private UserCreatedEventHandler handler;
 
@@ -38,4 +41,16 @@ class UserCreatedEventHandlerTest {
         assertThat(saved.getId()).isEqualTo(userId);
         assertThat(saved.getUsername()).isEqualTo(username);
     }
+
+    @Test
+    void handle_shouldNotifyReadModelChange() {
+        UUID userId = UUID.randomUUID();
+
+        UserCreatedEvent event =
+                UserCreatedEvent.builder().userId(userId).username("johndoe").build();
+
+        handler.handle(event);
+
+        verify(readModelChangeNotifier).notify(ReadModelChange.user(userId));
+    }
 }
@@ -13,7 +13,9 @@ import com.tomassirio.wanderer.command.repository.TripRepository;
 import com.tomassirio.wanderer.command.repository.UserAchievementRepository;
 import com.tomassirio.wanderer.command.repository.UserFollowRepository;
 import com.tomassirio.wanderer.command.repository.UserRepository;
+import com.tomassirio.wanderer.command.service.helper.ReadModelChangeNotifier;
 import com.tomassirio.wanderer.commons.domain.Trip;
+import com.tomassirio.wanderer.commons.notification.ReadModelChange;
 import java.util.List;
 import java.util.UUID;
 import org.junit.jupiter.api.Test;
@@ -34,6 +36,7 @@ class UserDeletedEventHandlerTest {
     @Mock private UserAchievementRepository userAchievementRepository;
     @Mock private ActiveTripRepository activeTripRepository;
     @Mock private PromotedTripRepository promotedTripRepository;
+    @Mock private ReadModelChangeNotifier readModelChangeNotifier;
 
     @InjectMocks private UserDeletedEventHandler handler;
 
@@ -66,6 +69,7 @@ class UserDeletedEventHandlerTest {
         verify(tripRepository).deleteAll(userTrips);
         verify(tripPlanRepository).deleteByUserId(userId);
         verify(userRepository).deleteById(userId);
+        verify(readModelChangeNotifier).notify(ReadModelChange.user(userId));
     }
 
     @Test
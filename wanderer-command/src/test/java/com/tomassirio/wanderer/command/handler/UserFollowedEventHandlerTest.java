@@ -6,7 +6,9 @@ import static org.mockito.Mockito.verify;
 import com.tomassirio.wanderer.command.event.UserFollowedEvent;
 import com.tomassirio.wanderer.command.repository.UserFollowRepository;
 import com.tomassirio.wanderer.command.service.AchievementService;
+import com.tomassirio.wanderer.command.service.helper.ReadModelChangeNotifier;
 import com.tomassirio.wanderer.commons.domain.UserFollow;
+import com.tomassirio.wanderer.commons.notification.ReadModelChange;
 import java.time.Instant;
 import java.util.UUID;
 import org.junit.jupiter.api.Test;
@@ -23,6 +25,8 @@ class UserFollowedEventHandlerTest {
 
     @Mock private AchievementService achievementCalculationService;
 
+    @Mock private ReadModelChangeNotifier readModelChangeNotifier;
+
     @InjectMocks private UserFollowedEventHandler handler;
 
     @Test
@@ -56,5 +60,6 @@ class UserFollowedEventHandlerTest {
 
         // Verify achievement calculation was triggered
         verify(achievementCalculationService).checkAndUnlockSocialAchievements(followedId);
+        verify(readModelChangeNotifier).notify(ReadModelChange.follow(followerId));
     }
 }
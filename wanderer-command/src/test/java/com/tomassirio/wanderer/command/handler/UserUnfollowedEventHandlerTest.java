@@ -5,7 +5,9 @@ import static org.mockito.Mockito.when;
 
 import com.tomassirio.wanderer.command.event.UserUnfollowedEvent;
 import com.tomassirio.wanderer.command.repository.UserFollowRepository;
+import com.tomassirio.wanderer.command.service.helper.ReadModelChangeNotifier;
 import com.tomassirio.wanderer.commons.domain.UserFollow;
+import com.tomassirio.wanderer.commons.notification.ReadModelChange;
 import java.util.Optional;
 import java.util.UUID;
 import org.junit.jupiter.api.Test;
@@ -19,6 +21,8 @@ class UserUnfollowedEventHandlerTest {
 
     @Mock private UserFollowRepository userFollowRepository;
 
+    @Mock private ReadModelChangeNotifier readModelChangeNotifier;
+
     @InjectMocks private UserUnfollowedEventHandler handler;
 
     @Test
@@ -44,5 +48,6 @@ class UserUnfollowedEventHandlerTest {
 
         // Then
         verify(userFollowRepository).delete(userFollow);
+        verify(readModelChangeNotifier).notify(ReadModelChange.follow(followerId));
     }
 }
@@ -0,0 +1,123 @@
+package com.tomassirio.wanderer.command.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.tomassirio.wanderer.command.utils.TestEntityFactory;
+import com.tomassirio.wanderer.commons.BaseIntegrationTest;
+import com.tomassirio.wanderer.commons.config.DatabaseConfig;
+import com.tomassirio.wanderer.commons.domain.Trip;
+import com.tomassirio.wanderer.commons.domain.TripStatus;
+import java.time.Instant;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Runs the polyline writes against PostgreSQL, where they race with the other trip writers. Each
+ * test commits its own transactions, so the schema is generated from the entities and the trip is
+ * removed afterwards.
+ */
+@DataJpaTest(
+        properties = {
+            "spring.jpa.hibernate.ddl-auto=create-drop",
+            "spring.liquibase.enabled=false"
+        })
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(DatabaseConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TripRepositoryTest extends BaseIntegrationTest {
+
+    private static final String POLYLINE = "_p~iF~ps|U";
+    private static final String APPENDED_POLYLINE = "_p~iF~ps|U_ulLnnqC";
+
+    @Autowired private TripRepository tripRepository;
+
+    @Autowired private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+
+    @BeforeEach
+    void setUp() {
+        tripRepository.deleteAll();
+        transaction = new TransactionTemplate(transactionManager);
+    }
+
+    @Test
+    void updatePolylineIfVersion_whenVersionMatches_shouldWritePolylineAndBumpVersion() {
+        // Given
+        Trip trip = tripRepository.save(tripWithPolyline());
+
+        // When
+        int updated = updatePolyline(trip.getId(), 0L, APPENDED_POLYLINE);
+
+        // Then
+        Trip stored = tripRepository.findById(trip.getId()).orElseThrow();
+        assertThat(updated).isEqualTo(1);
+        assertThat(stored.getEncodedPolyline()).isEqualTo(APPENDED_POLYLINE);
+        assertThat(stored.getPolylineVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    void updatePolylineIfVersion_whenVersionMovedOn_shouldNotWrite() {
+        // Given
+        Trip trip = tripRepository.save(tripWithPolyline());
+        updatePolyline(trip.getId(), 0L, APPENDED_POLYLINE);
+
+        // When — a second writer computed its polyline from version 0 as well
+        int updated = updatePolyline(trip.getId(), 0L, POLYLINE);
+
+        // Then
+        Trip stored = tripRepository.findById(trip.getId()).orElseThrow();
+        assertThat(updated).isZero();
+        assertThat(stored.getEncodedPolyline()).isEqualTo(APPENDED_POLYLINE);
+        assertThat(stored.getPolylineVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    void statusChange_whenPolylineAppendedMeanwhile_shouldKeepAppendedPolyline() {
+        // Given
+        Trip trip = tripRepository.save(tripWithPolyline());
+        TransactionTemplate appendTransaction = new TransactionTemplate(transactionManager);
+        appendTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        // When — a status change loads the trip, a polyline append commits, then the status
+        // change flushes
+        transaction.executeWithoutResult(
+                status -> {
+                    Trip loaded = tripRepository.findById(trip.getId()).orElseThrow();
+                    loaded.getTripSettings().setTripStatus(TripStatus.IN_PROGRESS);
+                    appendTransaction.executeWithoutResult(
+                            appendStatus ->
+                                    tripRepository.updatePolylineIfVersion(
+                                            trip.getId(), 0L, APPENDED_POLYLINE, Instant.now()));
+                });
+
+        // Then
+        Trip stored = tripRepository.findById(trip.getId()).orElseThrow();
+        assertThat(stored.getTripSettings().getTripStatus()).isEqualTo(TripStatus.IN_PROGRESS);
+        assertThat(stored.getEncodedPolyline()).isEqualTo(APPENDED_POLYLINE);
+        assertThat(stored.getPolylineVersion()).isEqualTo(1L);
+    }
+
+    private int updatePolyline(UUID tripId, long expectedVersion, String encodedPolyline) {
+        return transaction.execute(
+                status ->
+                        tripRepository.updatePolylineIfVersion(
+                                tripId, expectedVersion, encodedPolyline, Instant.now()));
+    }
+
+    private static Trip tripWithPolyline() {
+        Trip trip = TestEntityFactory.createTrip(UUID.randomUUID());
+        trip.setEncodedPolyline(POLYLINE);
+        return trip;
+    }
+}
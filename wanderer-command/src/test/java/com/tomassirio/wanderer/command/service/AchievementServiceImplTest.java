@@ -1,5 +1,6 @@
 package com.tomassirio.wanderer.command.service;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -8,16 +9,16 @@ import static org.mockito.Mockito.when;
 
 import com.tomassirio.wanderer.command.event.AchievementUnlockedEvent;
 import com.tomassirio.wanderer.command.repository.AchievementRepository;
-import com.tomassirio.wanderer.command.repository.TripRepository;
 import com.tomassirio.wanderer.command.repository.UserAchievementRepository;
+import com.tomassirio.wanderer.command.service.AchievementService.TripAchievementContext;
 import com.tomassirio.wanderer.command.service.impl.AchievementServiceImpl;
 import com.tomassirio.wanderer.command.service.impl.checker.SocialAchievementChecker;
 import com.tomassirio.wanderer.command.service.impl.checker.TripAchievementChecker;
 import com.tomassirio.wanderer.commons.domain.Achievement;
 import com.tomassirio.wanderer.commons.domain.AchievementType;
-import com.tomassirio.wanderer.commons.domain.Trip;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -29,8 +30,6 @@ import org.springframework.context.ApplicationEventPublisher;
 @ExtendWith(MockitoExtension.class)
 class AchievementServiceImplTest {
 
-    @Mock private TripRepository tripRepository;
-
     @Mock private UserAchievementRepository userAchievementRepository;
 
     @Mock private AchievementRepository achievementRepository;
@@ -43,10 +42,13 @@ class AchievementServiceImplTest {
 
     private AchievementServiceImpl service;
 
+    private static TripAchievementContext context(UUID tripId, UUID userId) {
+        return new TripAchievementContext(tripId, userId, null, null, null);
+    }
+
     private void initService() {
         service =
                 new AchievementServiceImpl(
-                        tripRepository,
                         userAchievementRepository,
                         achievementRepository,
                         eventPublisher,
@@ -60,27 +62,25 @@ class AchievementServiceImplTest {
         initService();
         UUID tripId = UUID.randomUUID();
         UUID userId = UUID.randomUUID();
-        Trip trip = Trip.builder().id(tripId).userId(userId).name("Camino").build();
+        TripAchievementContext context = context(tripId, userId);
 
-        when(tripRepository.findById(tripId)).thenReturn(Optional.of(trip));
         when(tripChecker.getApplicableTypes()).thenReturn(List.of(AchievementType.UPDATES_10));
-        when(tripChecker.computeMetric(trip)).thenReturn(15.0);
-        when(userAchievementRepository.existsByUserIdAndAchievementTypeAndOptionalTripId(
-                        userId, AchievementType.UPDATES_10, tripId))
-                .thenReturn(false);
+        when(tripChecker.computeMetric(context)).thenReturn(15.0);
+        when(userAchievementRepository.findUnlockedTypesByUserIdAndOptionalTripId(userId, tripId))
+                .thenReturn(Set.of());
 
         Achievement achievement = buildAchievement(AchievementType.UPDATES_10, "Getting Started");
         when(achievementRepository.findByTypeAndEnabledTrue(AchievementType.UPDATES_10))
                 .thenReturn(Optional.of(achievement));
 
         // When
-        service.checkAndUnlockAchievements(tripId);
+        service.checkAndUnlockAchievements(context);
 
         // Then
         ArgumentCaptor<AchievementUnlockedEvent> captor =
                 ArgumentCaptor.forClass(AchievementUnlockedEvent.class);
         verify(eventPublisher, times(1)).publishEvent(captor.capture());
-        verify(tripChecker).computeMetric(trip);
+        verify(tripChecker).computeMetric(context);
     }
 
     @Test
@@ -89,17 +89,15 @@ class AchievementServiceImplTest {
         initService();
         UUID tripId = UUID.randomUUID();
         UUID userId = UUID.randomUUID();
-        Trip trip = Trip.builder().id(tripId).userId(userId).name("Camino").build();
+        TripAchievementContext context = context(tripId, userId);
 
-        when(tripRepository.findById(tripId)).thenReturn(Optional.of(trip));
         when(tripChecker.getApplicableTypes()).thenReturn(List.of(AchievementType.UPDATES_10));
-        when(tripChecker.computeMetric(trip)).thenReturn(15.0);
-        when(userAchievementRepository.existsByUserIdAndAchievementTypeAndOptionalTripId(
-                        userId, AchievementType.UPDATES_10, tripId))
-                .thenReturn(true);
+        when(tripChecker.computeMetric(context)).thenReturn(15.0);
+        when(userAchievementRepository.findUnlockedTypesByUserIdAndOptionalTripId(userId, tripId))
+                .thenReturn(Set.of(AchievementType.UPDATES_10));
 
         // When
-        service.checkAndUnlockAchievements(tripId);
+        service.checkAndUnlockAchievements(context);
 
         // Then
         verify(eventPublisher, never()).publishEvent(any(AchievementUnlockedEvent.class));
@@ -111,14 +109,13 @@ class AchievementServiceImplTest {
         initService();
         UUID tripId = UUID.randomUUID();
         UUID userId = UUID.randomUUID();
-        Trip trip = Trip.builder().id(tripId).userId(userId).name("Camino").build();
+        TripAchievementContext context = context(tripId, userId);
 
-        when(tripRepository.findById(tripId)).thenReturn(Optional.of(trip));
         when(tripChecker.getApplicableTypes()).thenReturn(List.of(AchievementType.UPDATES_10));
-        when(tripChecker.computeMetric(trip)).thenReturn(5.0);
+        when(tripChecker.computeMetric(context)).thenReturn(5.0);
 
         // When
-        service.checkAndUnlockAchievements(tripId);
+        service.checkAndUnlockAchievements(context);
 
         // Then
         verify(eventPublisher, never()).publishEvent(any(AchievementUnlockedEvent.class));
@@ -135,14 +132,13 @@ class AchievementServiceImplTest {
                     }
 
                     @Override
-                    public double computeMetric(Trip trip) {
+                    public double computeMetric(TripAchievementContext context) {
                         return 150.0;
                     }
                 };
 
         service =
                 new AchievementServiceImpl(
-                        tripRepository,
                         userAchievementRepository,
                         achievementRepository,
                         eventPublisher,
@@ -151,21 +147,19 @@ class AchievementServiceImplTest {
 
         UUID tripId = UUID.randomUUID();
         UUID userId = UUID.randomUUID();
-        Trip trip = Trip.builder().id(tripId).userId(userId).name("Camino").build();
+        TripAchievementContext context = context(tripId, userId);
 
-        when(tripRepository.findById(tripId)).thenReturn(Optional.of(trip));
         when(tripChecker.getApplicableTypes()).thenReturn(List.of(AchievementType.UPDATES_10));
-        when(tripChecker.computeMetric(trip)).thenReturn(15.0);
-        when(userAchievementRepository.existsByUserIdAndAchievementTypeAndOptionalTripId(
-                        any(), any(), any()))
-                .thenReturn(false);
+        when(tripChecker.computeMetric(context)).thenReturn(15.0);
+        when(userAchievementRepository.findUnlockedTypesByUserIdAndOptionalTripId(any(), any()))
+                .thenReturn(Set.of());
 
         Achievement achievement = buildAchievement(AchievementType.UPDATES_10, "Test");
         when(achievementRepository.findByTypeAndEnabledTrue(any()))
                 .thenReturn(Optional.of(achievement));
 
         // When
-        service.checkAndUnlockAchievements(tripId);
+        service.checkAndUnlockAchievements(context);
 
         // Then — both checkers evaluated, both produced unlockable achievements
         verify(eventPublisher, times(2)).publishEvent(any(AchievementUnlockedEvent.class));
@@ -179,9 +173,8 @@ class AchievementServiceImplTest {
 
         when(socialChecker.getApplicableTypes()).thenReturn(List.of(AchievementType.FOLLOWERS_10));
         when(socialChecker.computeMetric(userId)).thenReturn(12.0);
-        when(userAchievementRepository.existsByUserIdAndAchievementTypeAndOptionalTripId(
-                        userId, AchievementType.FOLLOWERS_10, null))
-                .thenReturn(false);
+        when(userAchievementRepository.findUnlockedTypesByUserIdAndOptionalTripId(userId, null))
+                .thenReturn(Set.of());
 
         Achievement achievement = buildAchievement(AchievementType.FOLLOWERS_10, "Popular Walker");
         when(achievementRepository.findByTypeAndEnabledTrue(AchievementType.FOLLOWERS_10))
@@ -203,9 +196,8 @@ class AchievementServiceImplTest {
 
         when(socialChecker.getApplicableTypes()).thenReturn(List.of(AchievementType.FOLLOWERS_10));
         when(socialChecker.computeMetric(userId)).thenReturn(12.0);
-        when(userAchievementRepository.existsByUserIdAndAchievementTypeAndOptionalTripId(
-                        userId, AchievementType.FOLLOWERS_10, null))
-                .thenReturn(true);
+        when(userAchievementRepository.findUnlockedTypesByUserIdAndOptionalTripId(userId, null))
+                .thenReturn(Set.of(AchievementType.FOLLOWERS_10));
 
         // When
         service.checkAndUnlockSocialAchievements(userId);
@@ -220,14 +212,12 @@ class AchievementServiceImplTest {
         initService();
         UUID tripId = UUID.randomUUID();
         UUID userId = UUID.randomUUID();
-        Trip trip = Trip.builder().id(tripId).userId(userId).name("Camino").build();
+        TripAchievementContext context = context(tripId, userId);
 
-        when(tripRepository.findById(tripId)).thenReturn(Optional.of(trip));
         when(tripChecker.getApplicableTypes()).thenReturn(List.of(AchievementType.UPDATES_10));
-        when(tripChecker.computeMetric(trip)).thenReturn(15.0);
-        when(userAchievementRepository.existsByUserIdAndAchievementTypeAndOptionalTripId(
-                        userId, AchievementType.UPDATES_10, tripId))
-                .thenReturn(false);
+        when(tripChecker.computeMetric(context)).thenReturn(15.0);
+        when(userAchievementRepository.findUnlockedTypesByUserIdAndOptionalTripId(userId, tripId))
+                .thenReturn(Set.of());
         when(achievementRepository.findByTypeAndEnabledTrue(AchievementType.UPDATES_10))
                 .thenReturn(Optional.empty());
 
@@ -236,7 +226,7 @@ class AchievementServiceImplTest {
         when(achievementRepository.save(any(Achievement.class))).thenReturn(savedAchievement);
 
         // When
-        service.checkAndUnlockAchievements(tripId);
+        service.checkAndUnlockAchievements(context);
 
         // Then — achievement was created via repository
         verify(achievementRepository).save(any(Achievement.class));
@@ -253,4 +243,83 @@ class AchievementServiceImplTest {
                 .enabled(true)
                 .build();
     }
+
+    @Test
+    void checkAndUnlockAchievements_whenNoThresholdMet_shouldNotQueryUnlockedAchievements() {
+        // Given
+        initService();
+        UUID tripId = UUID.randomUUID();
+        TripAchievementContext context = context(tripId, UUID.randomUUID());
+
+        when(tripChecker.getApplicableTypes()).thenReturn(List.of(AchievementType.UPDATES_10));
+        when(tripChecker.computeMetric(context)).thenReturn(3.0);
+
+        // When
+        service.checkAndUnlockAchievements(context);
+
+        // Then
+        verify(userAchievementRepository, never())
+                .findUnlockedTypesByUserIdAndOptionalTripId(any(), any());
+    }
+
+    @Test
+    void checkAndUnlockAchievements_whenSeveralTiersMet_shouldQueryUnlockedOnceAndUnlockNewOnly() {
+        // Given
+        initService();
+        UUID tripId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+        TripAchievementContext context = context(tripId, userId);
+
+        when(tripChecker.getApplicableTypes())
+                .thenReturn(
+                        List.of(
+                                AchievementType.UPDATES_10,
+                                AchievementType.UPDATES_50,
+                                AchievementType.UPDATES_100));
+        when(tripChecker.computeMetric(context)).thenReturn(120.0);
+        when(userAchievementRepository.findUnlockedTypesByUserIdAndOptionalTripId(userId, tripId))
+                .thenReturn(Set.of(AchievementType.UPDATES_10, AchievementType.UPDATES_50));
+        when(achievementRepository.findByTypeAndEnabledTrue(AchievementType.UPDATES_100))
+                .thenReturn(
+                        Optional.of(
+                                buildAchievement(AchievementType.UPDATES_100, "Century Poster")));
+
+        // When
+        service.checkAndUnlockAchievements(context);
+
+        // Then
+        ArgumentCaptor<AchievementUnlockedEvent> captor =
+                ArgumentCaptor.forClass(AchievementUnlockedEvent.class);
+        verify(eventPublisher, times(1)).publishEvent(captor.capture());
+        assertThat(captor.getValue().getAchievementType()).isEqualTo(AchievementType.UPDATES_100);
+        verify(userAchievementRepository, times(1))
+                .findUnlockedTypesByUserIdAndOptionalTripId(userId, tripId);
+    }
+
+    @Test
+    void checkAndUnlockAchievements_shouldCacheAchievementLookupsByType() {
+        // Given
+        initService();
+        UUID userId = UUID.randomUUID();
+        TripAchievementContext first = context(UUID.randomUUID(), userId);
+        TripAchievementContext second = context(UUID.randomUUID(), userId);
+
+        when(tripChecker.getApplicableTypes()).thenReturn(List.of(AchievementType.UPDATES_10));
+        when(tripChecker.computeMetric(any())).thenReturn(15.0);
+        when(userAchievementRepository.findUnlockedTypesByUserIdAndOptionalTripId(any(), any()))
+                .thenReturn(Set.of());
+        when(achievementRepository.findByTypeAndEnabledTrue(AchievementType.UPDATES_10))
+                .thenReturn(
+                        Optional.of(
+                                buildAchievement(AchievementType.UPDATES_10, "Getting Started")));
+
+        // When
+        service.checkAndUnlockAchievements(first);
+        service.checkAndUnlockAchievements(second);
+
+        // Then
+        verify(eventPublisher, times(2)).publishEvent(any(AchievementUnlockedEvent.class));
+        verify(achievementRepository, times(1))
+                .findByTypeAndEnabledTrue(AchievementType.UPDATES_10);
+    }
 }
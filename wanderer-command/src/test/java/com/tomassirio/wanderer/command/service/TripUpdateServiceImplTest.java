@@ -3,9 +3,11 @@ package com.tomassirio.wanderer.command.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.tomassirio.wanderer.command.config.properties.TripUpdateEnrichmentProperties;
 import com.tomassirio.wanderer.command.controller.request.TripUpdateCreationRequest;
 import com.tomassirio.wanderer.command.event.TripUpdatedEvent;
 import com.tomassirio.wanderer.command.repository.TripRepository;
@@ -13,17 +15,28 @@ import com.tomassirio.wanderer.command.service.impl.TripUpdateServiceImpl;
 import com.tomassirio.wanderer.command.service.validator.OwnershipValidator;
 import com.tomassirio.wanderer.commons.domain.GeoLocation;
 import com.tomassirio.wanderer.commons.domain.Trip;
+import com.tomassirio.wanderer.commons.domain.TripDetails;
 import com.tomassirio.wanderer.commons.domain.UpdateType;
 import com.tomassirio.wanderer.commons.domain.WeatherCondition;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @ExtendWith(MockitoExtension.class)
 class TripUpdateServiceImplTest {
@@ -38,7 +51,34 @@ class TripUpdateServiceImplTest {
 
     @Mock private WeatherService weatherService;
 
-    @InjectMocks private TripUpdateServiceImpl tripUpdateService;
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private TripUpdateEnrichmentProperties enrichmentProperties;
+
+    private ExecutorService enrichmentExecutor;
+
+    private TripUpdateServiceImpl tripUpdateService;
+
+    @BeforeEach
+    void setUp() {
+        enrichmentProperties = new TripUpdateEnrichmentProperties();
+        enrichmentExecutor = Executors.newVirtualThreadPerTaskExecutor();
+        tripUpdateService =
+                new TripUpdateServiceImpl(
+                        tripRepository,
+                        ownershipValidator,
+                        eventPublisher,
+                        geocodingService,
+                        weatherService,
+                        enrichmentProperties,
+                        enrichmentExecutor,
+                        new TransactionTemplate(transactionManager));
+    }
+
+    @AfterEach
+    void tearDown() {
+        enrichmentExecutor.shutdownNow();
+    }
 
     @Test
     void createTripUpdate_whenGeocodingSucceeds_shouldIncludeCityCountryInEvent() {
@@ -73,6 +113,38 @@ class TripUpdateServiceImplTest {
         assertThat(event.getMessage()).isEqualTo("Paris!");
     }
 
+    @Test
+    void createTripUpdate_shouldSnapshotTripOwnerAndLifecycleInEvent() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        UUID tripId = UUID.randomUUID();
+        Instant startTimestamp = Instant.parse("2026-05-01T08:00:00Z");
+        GeoLocation location = GeoLocation.builder().lat(42.8805).lon(-8.5457).build();
+        TripUpdateCreationRequest request = new TripUpdateCreationRequest(location, 85, null, null);
+
+        Trip trip =
+                Trip.builder()
+                        .id(tripId)
+                        .userId(userId)
+                        .name("Camino")
+                        .tripDetails(TripDetails.builder().startTimestamp(startTimestamp).build())
+                        .build();
+        when(tripRepository.findById(tripId)).thenReturn(Optional.of(trip));
+        doNothing().when(ownershipValidator).validateOwnership(any(), any(), any(), any(), any());
+
+        // When
+        tripUpdateService.createTripUpdate(userId, tripId, request);
+
+        // Then — achievement checks read these instead of loading the trip again
+        ArgumentCaptor<TripUpdatedEvent> captor = ArgumentCaptor.forClass(TripUpdatedEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+
+        TripUpdatedEvent event = captor.getValue();
+        assertThat(event.getUserId()).isEqualTo(userId);
+        assertThat(event.getTripStartTimestamp()).isEqualTo(startTimestamp);
+        assertThat(event.getTripEndTimestamp()).isNull();
+    }
+
     @Test
     void createTripUpdate_whenGeocodingReturnsNull_shouldPublishEventWithNullCityCountry() {
         // Given
@@ -305,4 +377,149 @@ class TripUpdateServiceImplTest {
         TripUpdatedEvent event = captor.getValue();
         assertThat(event.getUpdateType()).isNull();
     }
+
+    @Test
+    void createTripUpdate_shouldRunGeocodingAndWeatherConcurrently() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        UUID tripId = UUID.randomUUID();
+        GeoLocation location = GeoLocation.builder().lat(42.8805).lon(-8.5457).build();
+        TripUpdateCreationRequest request =
+                new TripUpdateCreationRequest(location, 90, "Santiago!", null);
+
+        Trip trip = Trip.builder().id(tripId).userId(userId).name("Camino").build();
+        when(tripRepository.findById(tripId)).thenReturn(Optional.of(trip));
+        doNothing().when(ownershipValidator).validateOwnership(any(), any(), any(), any(), any());
+
+        // Each lookup only returns once the other one has started
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        when(geocodingService.reverseGeocode(location))
+                .thenAnswer(
+                        invocation -> {
+                            bothStarted.countDown();
+                            bothStarted.await(1, TimeUnit.SECONDS);
+                            return new GeocodingService.GeocodingResult(
+                                    "Santiago de Compostela", "Spain");
+                        });
+        when(weatherService.lookupCurrentWeather(location))
+                .thenAnswer(
+                        invocation -> {
+                            bothStarted.countDown();
+                            bothStarted.await(1, TimeUnit.SECONDS);
+                            return new WeatherService.WeatherResult(
+                                    18.5, WeatherCondition.PARTLY_CLOUDY);
+                        });
+
+        // When
+        tripUpdateService.createTripUpdate(userId, tripId, request);
+
+        // Then
+        assertThat(bothStarted.getCount()).isZero();
+
+        ArgumentCaptor<TripUpdatedEvent> captor = ArgumentCaptor.forClass(TripUpdatedEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+
+        TripUpdatedEvent event = captor.getValue();
+        assertThat(event.getCity()).isEqualTo("Santiago de Compostela");
+        assertThat(event.getTemperatureCelsius()).isEqualTo(18.5);
+    }
+
+    @Test
+    void createTripUpdate_whenGeocodingMissesDeadline_shouldPublishEventWithoutCityCountry() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        UUID tripId = UUID.randomUUID();
+        GeoLocation location = GeoLocation.builder().lat(42.8805).lon(-8.5457).build();
+        TripUpdateCreationRequest request =
+                new TripUpdateCreationRequest(location, 90, "Slow network", null);
+
+        enrichmentProperties.setGeocodingTimeout(Duration.ofMillis(50));
+
+        Trip trip = Trip.builder().id(tripId).userId(userId).name("Camino").build();
+        when(tripRepository.findById(tripId)).thenReturn(Optional.of(trip));
+        doNothing().when(ownershipValidator).validateOwnership(any(), any(), any(), any(), any());
+        when(geocodingService.reverseGeocode(location))
+                .thenAnswer(
+                        invocation -> {
+                            Thread.sleep(5_000);
+                            return new GeocodingService.GeocodingResult("Too", "Late");
+                        });
+        when(weatherService.lookupCurrentWeather(location))
+                .thenReturn(new WeatherService.WeatherResult(12.0, WeatherCondition.RAIN));
+
+        // When
+        long start = System.nanoTime();
+        UUID result = tripUpdateService.createTripUpdate(userId, tripId, request);
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Then
+        assertThat(result).isNotNull();
+        assertThat(elapsedMillis).isLessThan(2_000);
+
+        ArgumentCaptor<TripUpdatedEvent> captor = ArgumentCaptor.forClass(TripUpdatedEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+
+        TripUpdatedEvent event = captor.getValue();
+        assertThat(event.getCity()).isNull();
+        assertThat(event.getCountry()).isNull();
+        assertThat(event.getTemperatureCelsius()).isEqualTo(12.0);
+        assertThat(event.getWeatherCondition()).isEqualTo(WeatherCondition.RAIN);
+    }
+
+    @Test
+    void createTripUpdate_whenWeatherThrows_shouldPublishEventWithoutWeather() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        UUID tripId = UUID.randomUUID();
+        GeoLocation location = GeoLocation.builder().lat(48.8566).lon(2.3522).build();
+        TripUpdateCreationRequest request =
+                new TripUpdateCreationRequest(location, 75, "Paris", null);
+
+        Trip trip = Trip.builder().id(tripId).userId(userId).name("Euro Trip").build();
+        when(tripRepository.findById(tripId)).thenReturn(Optional.of(trip));
+        doNothing().when(ownershipValidator).validateOwnership(any(), any(), any(), any(), any());
+        when(geocodingService.reverseGeocode(location))
+                .thenReturn(new GeocodingService.GeocodingResult("Paris", "France"));
+        when(weatherService.lookupCurrentWeather(location))
+                .thenThrow(new IllegalStateException("boom"));
+
+        // When
+        tripUpdateService.createTripUpdate(userId, tripId, request);
+
+        // Then
+        ArgumentCaptor<TripUpdatedEvent> captor = ArgumentCaptor.forClass(TripUpdatedEvent.class);
+        verify(eventPublisher).publishEvent(captor.capture());
+
+        TripUpdatedEvent event = captor.getValue();
+        assertThat(event.getCity()).isEqualTo("Paris");
+        assertThat(event.getTemperatureCelsius()).isNull();
+        assertThat(event.getWeatherCondition()).isNull();
+    }
+
+    @Test
+    void createTripUpdate_shouldFinishLookupsBeforeOpeningTransaction() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        UUID tripId = UUID.randomUUID();
+        GeoLocation location = GeoLocation.builder().lat(48.8566).lon(2.3522).build();
+        TripUpdateCreationRequest request =
+                new TripUpdateCreationRequest(location, 75, "Paris", null);
+
+        Trip trip = Trip.builder().id(tripId).userId(userId).name("Euro Trip").build();
+        when(tripRepository.findById(tripId)).thenReturn(Optional.of(trip));
+        doNothing().when(ownershipValidator).validateOwnership(any(), any(), any(), any(), any());
+        when(geocodingService.reverseGeocode(location))
+                .thenReturn(new GeocodingService.GeocodingResult("Paris", "France"));
+        when(weatherService.lookupCurrentWeather(location)).thenReturn(null);
+
+        // When
+        tripUpdateService.createTripUpdate(userId, tripId, request);
+
+        // Then
+        InOrder inOrder = inOrder(geocodingService, transactionManager, eventPublisher);
+        inOrder.verify(geocodingService).reverseGeocode(location);
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(eventPublisher).publishEvent(any(TripUpdatedEvent.class));
+        inOrder.verify(transactionManager).commit(any());
+    }
 }
@@ -0,0 +1,107 @@
+package com.tomassirio.wanderer.command.service.helper;
+
+import com.google.maps.model.EncodedPolyline;
+import com.google.maps.model.LatLng;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * JMH benchmark comparing {@link PolylineCodec} with the Google Maps {@link EncodedPolyline} codec
+ * it replaced, on polylines of 1k to 500k points.
+ *
+ * <p>Run with (after {@code mvn install -pl commons -am -DskipTests}):
+ *
+ * <pre>{@code
+ * mvn -pl wanderer-command test-compile exec:exec -Dexec.classpathScope=test \
+ *     -Dexec.executable=java \
+ *     -Dexec.args="-cp %classpath org.openjdk.jmh.Main PolylineCodecBenchmark -prof gc"
+ * }</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PolylineCodecBenchmark {
+
+    @Param({"1000", "10000", "100000", "500000"})
+    private int points;
+
+    private List<LatLng> latLngs;
+    private double[] coordinates;
+    private String encoded;
+    private PolylineBuffer buffer;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        latLngs = new ArrayList<>(points);
+        coordinates = new double[points * 2];
+        double lat = 42.88;
+        double lng = -8.54;
+        for (int i = 0; i < points; i++) {
+            lat += (random.nextDouble() - 0.5) * 0.001;
+            lng += (random.nextDouble() - 0.5) * 0.001;
+            latLngs.add(new LatLng(lat, lng));
+            coordinates[i * 2] = lat;
+            coordinates[i * 2 + 1] = lng;
+        }
+        encoded = new EncodedPolyline(latLngs).getEncodedPath();
+        buffer = new PolylineBuffer(points);
+    }
+
+    @Benchmark
+    public String encodeGoogle() {
+        return new EncodedPolyline(latLngs).getEncodedPath();
+    }
+
+    @Benchmark
+    public String encodeNativeList() {
+        return PolylineCodec.encode(latLngs);
+    }
+
+    @Benchmark
+    public String encodeNativePrimitive() {
+        return PolylineCodec.encode(coordinates, points);
+    }
+
+    @Benchmark
+    public List<LatLng> decodeGoogle() {
+        return new EncodedPolyline(encoded).decodePath();
+    }
+
+    @Benchmark
+    public List<LatLng> decodeNativeList() {
+        return PolylineCodec.decode(encoded);
+    }
+
+    @Benchmark
+    public PolylineBuffer decodeNativeIntoBuffer() {
+        return PolylineCodec.decode(encoded, buffer);
+    }
+
+    @Benchmark
+    public int decodeNativeStreaming(Blackhole blackhole) {
+        return PolylineCodec.decode(
+                encoded,
+                (lat, lng) -> {
+                    blackhole.consume(lat);
+                    blackhole.consume(lng);
+                });
+    }
+}
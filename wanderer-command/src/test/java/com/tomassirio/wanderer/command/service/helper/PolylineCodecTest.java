@@ -2,8 +2,11 @@ package com.tomassirio.wanderer.command.service.helper;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import com.google.maps.model.EncodedPolyline;
 import com.google.maps.model.LatLng;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 import org.assertj.core.data.Offset;
 import org.junit.jupiter.api.Test;
 
@@ -94,4 +97,151 @@ class PolylineCodecTest {
         assertThat(decoded.getFirst().lat).isCloseTo(42.8805, Offset.offset(1e-5));
         assertThat(decoded.getFirst().lng).isCloseTo(-8.5457, Offset.offset(1e-5));
     }
+
+    @Test
+    void append_shouldMatchEncodingAllPointsAtOnce() {
+        // Given
+        List<LatLng> existing =
+                List.of(new LatLng(42.88052, -8.54569), new LatLng(42.87512, -8.52311));
+        List<LatLng> appended =
+                List.of(new LatLng(42.86990, -8.49901), new LatLng(-33.86882, 151.20929));
+        String encodedExisting = PolylineCodec.encode(existing);
+
+        // When
+        String result = PolylineCodec.append(encodedExisting, appended);
+
+        // Then
+        List<LatLng> all = new ArrayList<>(existing);
+        all.addAll(appended);
+        assertThat(result).isEqualTo(PolylineCodec.encode(all));
+    }
+
+    @Test
+    void append_whenExistingIsNull_shouldEncodePoints() {
+        // Given
+        List<LatLng> points = List.of(new LatLng(42.0, -8.0), new LatLng(43.0, -8.5));
+
+        // When & Then
+        assertThat(PolylineCodec.append(null, points)).isEqualTo(PolylineCodec.encode(points));
+    }
+
+    @Test
+    void append_whenNoPoints_shouldReturnExistingUnchanged() {
+        // Given
+        String existing = PolylineCodec.encode(List.of(new LatLng(42.0, -8.0)));
+
+        // When & Then
+        assertThat(PolylineCodec.append(existing, List.of())).isEqualTo(existing);
+    }
+
+    @Test
+    void lastPointE5_shouldReturnAbsoluteCoordinatesOfLastPoint() {
+        // Given
+        String encoded =
+                PolylineCodec.encode(
+                        List.of(
+                                new LatLng(38.5, -120.2),
+                                new LatLng(40.7, -120.95),
+                                new LatLng(43.252, -126.453)));
+
+        // When
+        long[] last = PolylineCodec.lastPointE5(encoded);
+
+        // Then
+        assertThat(last).containsExactly(4325200L, -12645300L);
+    }
+
+    @Test
+    void encode_shouldMatchGoogleEncodedPolyline() {
+        // Given
+        List<LatLng> points = randomWalk(2_000, 7L);
+
+        // When
+        String result = PolylineCodec.encode(points);
+
+        // Then
+        assertThat(result).isEqualTo(new EncodedPolyline(points).getEncodedPath());
+    }
+
+    @Test
+    void decode_shouldMatchGoogleEncodedPolyline() {
+        // Given
+        String encoded = new EncodedPolyline(randomWalk(2_000, 11L)).getEncodedPath();
+        List<LatLng> expected = new EncodedPolyline(encoded).decodePath();
+
+        // When
+        List<LatLng> result = PolylineCodec.decode(encoded);
+
+        // Then
+        assertThat(result).hasSameSizeAs(expected);
+        for (int i = 0; i < expected.size(); i++) {
+            assertThat(result.get(i).lat).isCloseTo(expected.get(i).lat, Offset.offset(1e-9));
+            assertThat(result.get(i).lng).isCloseTo(expected.get(i).lng, Offset.offset(1e-9));
+        }
+    }
+
+    @Test
+    void decode_intoBuffer_shouldReplaceContentsAndRoundTrip() {
+        // Given
+        List<LatLng> points = randomWalk(500, 3L);
+        String encoded = PolylineCodec.encode(points);
+        PolylineBuffer buffer = new PolylineBuffer(4);
+        buffer.add(1.0, 2.0);
+
+        // When
+        PolylineCodec.decode(encoded, buffer);
+
+        // Then
+        assertThat(buffer.size()).isEqualTo(points.size());
+        assertThat(buffer.lat(0)).isCloseTo(points.get(0).lat, Offset.offset(1e-5));
+        assertThat(buffer.lng(499)).isCloseTo(points.get(499).lng, Offset.offset(1e-5));
+        assertThat(PolylineCodec.encodeBuffer(buffer)).isEqualTo(encoded);
+    }
+
+    @Test
+    void decode_withConsumer_shouldStreamEveryPointInOrder() {
+        // Given
+        String encoded =
+                PolylineCodec.encode(
+                        List.of(
+                                new LatLng(38.5, -120.2),
+                                new LatLng(40.7, -120.95),
+                                new LatLng(43.252, -126.453)));
+        List<double[]> received = new ArrayList<>();
+
+        // When
+        int count =
+                PolylineCodec.decode(encoded, (lat, lng) -> received.add(new double[] {lat, lng}));
+
+        // Then
+        assertThat(count).isEqualTo(3);
+        assertThat(received.get(0)).containsExactly(38.5, -120.2);
+        assertThat(received.get(1)).containsExactly(40.7, -120.95);
+        assertThat(received.get(2)).containsExactly(43.252, -126.453);
+    }
+
+    @Test
+    void encode_fromPrimitiveArray_shouldMatchListEncoding() {
+        // Given
+        double[] coordinates = {38.5, -120.2, 40.7, -120.95, 43.252, -126.453};
+
+        // When
+        String result = PolylineCodec.encode(coordinates, 3);
+
+        // Then
+        assertThat(result).isEqualTo("_p~iF~ps|U_ulLnnqC_mqNvxq`@");
+    }
+
+    private static List<LatLng> randomWalk(int size, long seed) {
+        Random random = new Random(seed);
+        List<LatLng> points = new ArrayList<>(size);
+        double lat = 42.88;
+        double lng = -8.54;
+        for (int i = 0; i < size; i++) {
+            lat += (random.nextDouble() - 0.5) * 0.01;
+            lng += (random.nextDouble() - 0.5) * 0.01;
+            points.add(new LatLng(lat, lng));
+        }
+        return points;
+    }
 }
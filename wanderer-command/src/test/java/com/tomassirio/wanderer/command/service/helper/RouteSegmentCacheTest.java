@@ -0,0 +1,234 @@
+package com.tomassirio.wanderer.command.service.helper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.google.maps.model.LatLng;
+import com.google.maps.model.TravelMode;
+import com.tomassirio.wanderer.command.config.properties.RouteCacheProperties;
+import com.tomassirio.wanderer.command.repository.RouteSegmentRepository;
+import com.tomassirio.wanderer.commons.domain.GeoLocation;
+import com.tomassirio.wanderer.commons.domain.RouteSegment;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class RouteSegmentCacheTest {
+
+    private static final GeoLocation ORIGIN =
+            GeoLocation.builder().lat(42.88052).lon(-8.54569).build();
+    private static final GeoLocation DESTINATION =
+            GeoLocation.builder().lat(42.87000).lon(-8.53000).build();
+    private static final List<LatLng> POINTS =
+            List.of(
+                    new LatLng(42.88052, -8.54569),
+                    new LatLng(42.87500, -8.54000),
+                    new LatLng(42.87000, -8.53000));
+
+    @Mock private RouteSegmentRepository routeSegmentRepository;
+
+    private RouteCacheProperties properties;
+
+    private RouteSegmentCache cache;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RouteCacheProperties();
+        cache = new RouteSegmentCache(routeSegmentRepository, properties);
+    }
+
+    @Test
+    void find_whenStoredInMemory_shouldNotQueryDatabase() {
+        // Given
+        cache.store(ORIGIN, DESTINATION, TravelMode.WALKING, POINTS);
+
+        // When
+        Optional<List<LatLng>> result = cache.find(ORIGIN, DESTINATION, TravelMode.WALKING);
+
+        // Then
+        assertThat(result).isPresent();
+        assertThat(result.get()).hasSize(3);
+        assertThat(result.get().get(1).lat).isEqualTo(42.875);
+        verify(routeSegmentRepository, never()).findById(anyString());
+    }
+
+    @Test
+    void find_whenEndpointsRoundToSameCells_shouldHit() {
+        // Given — both endpoints moved by ~2 m
+        cache.store(ORIGIN, DESTINATION, TravelMode.WALKING, POINTS);
+        GeoLocation nearOrigin = GeoLocation.builder().lat(42.88050).lon(-8.54571).build();
+        GeoLocation nearDestination = GeoLocation.builder().lat(42.86998).lon(-8.52998).build();
+
+        // When
+        Optional<List<LatLng>> result = cache.find(nearOrigin, nearDestination, TravelMode.WALKING);
+
+        // Then
+        assertThat(result).isPresent();
+    }
+
+    @Test
+    void find_whenOnlyInDatabase_shouldLoadAndPromoteToMemory() {
+        // Given
+        String key =
+                RouteSegmentKey.of(
+                                ORIGIN,
+                                DESTINATION,
+                                TravelMode.WALKING,
+                                properties.getCellSizeMetres())
+                        .id();
+        RouteSegment segment =
+                RouteSegment.builder()
+                        .segmentKey(key)
+                        .encodedPolyline(PolylineCodec.encode(POINTS))
+                        .pointCount(POINTS.size())
+                        .createdAt(Instant.now())
+                        .build();
+        when(routeSegmentRepository.findById(key)).thenReturn(Optional.of(segment));
+
+        // When
+        Optional<List<LatLng>> first = cache.find(ORIGIN, DESTINATION, TravelMode.WALKING);
+        Optional<List<LatLng>> second = cache.find(ORIGIN, DESTINATION, TravelMode.WALKING);
+
+        // Then
+        assertThat(first).isPresent();
+        assertThat(second).isPresent();
+        verify(routeSegmentRepository).findById(key);
+        assertThat(cache.getMemoryCache().hitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void find_whenMissingEverywhere_shouldReturnEmpty() {
+        // Given
+        when(routeSegmentRepository.findById(anyString())).thenReturn(Optional.empty());
+
+        // When
+        Optional<List<LatLng>> result = cache.find(ORIGIN, DESTINATION, TravelMode.WALKING);
+
+        // Then
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    void find_whenReversedDirection_shouldMiss() {
+        // Given
+        cache.store(ORIGIN, DESTINATION, TravelMode.WALKING, POINTS);
+        when(routeSegmentRepository.findById(anyString())).thenReturn(Optional.empty());
+
+        // When
+        Optional<List<LatLng>> result = cache.find(DESTINATION, ORIGIN, TravelMode.WALKING);
+
+        // Then
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    void store_shouldInsertEncodedSegmentIfAbsent() {
+        // When
+        cache.store(ORIGIN, DESTINATION, TravelMode.WALKING, POINTS);
+
+        // Then
+        verify(routeSegmentRepository)
+                .insertIfAbsent(
+                        eq(
+                                RouteSegmentKey.of(
+                                                ORIGIN,
+                                                DESTINATION,
+                                                TravelMode.WALKING,
+                                                properties.getCellSizeMetres())
+                                        .id()),
+                        eq(PolylineCodec.encode(POINTS)),
+                        eq(3),
+                        any(Instant.class));
+    }
+
+    @Test
+    void store_whenNoPoints_shouldDoNothing() {
+        // When
+        cache.store(ORIGIN, DESTINATION, TravelMode.WALKING, List.of());
+
+        // Then
+        verifyNoInteractions(routeSegmentRepository);
+        assertThat(cache.getMemoryCache().size()).isZero();
+    }
+
+    @Test
+    void findAndStore_whenDisabled_shouldBypassBothTiers() {
+        // Given
+        properties.setEnabled(false);
+        cache = new RouteSegmentCache(routeSegmentRepository, properties);
+
+        // When
+        cache.store(ORIGIN, DESTINATION, TravelMode.WALKING, POINTS);
+        Optional<List<LatLng>> result = cache.find(ORIGIN, DESTINATION, TravelMode.WALKING);
+
+        // Then
+        assertThat(result).isEmpty();
+        verify(routeSegmentRepository, never())
+                .insertIfAbsent(anyString(), anyString(), anyInt(), any());
+        verifyNoInteractions(routeSegmentRepository);
+    }
+
+    @Test
+    void find_whenLocationHasNoCoordinates_shouldReturnEmpty() {
+        // Given
+        GeoLocation unknown = GeoLocation.builder().build();
+
+        // When
+        Optional<List<LatLng>> result = cache.find(unknown, DESTINATION, TravelMode.WALKING);
+
+        // Then
+        assertThat(result).isEmpty();
+        verifyNoInteractions(routeSegmentRepository);
+    }
+
+    @Test
+    void findAll_shouldServeMemoryHitsAndLoadTheRestInOneQuery() {
+        // Given — first segment in memory, second in the table, third nowhere
+        GeoLocation third = GeoLocation.builder().lat(42.86000).lon(-8.52000).build();
+        GeoLocation fourth = GeoLocation.builder().lat(42.85000).lon(-8.51000).build();
+        cache.store(ORIGIN, DESTINATION, TravelMode.WALKING, POINTS);
+        String secondKey =
+                RouteSegmentKey.of(
+                                DESTINATION,
+                                third,
+                                TravelMode.WALKING,
+                                properties.getCellSizeMetres())
+                        .id();
+        List<LatLng> secondPoints =
+                List.of(new LatLng(42.87000, -8.53000), new LatLng(42.86000, -8.52000));
+        when(routeSegmentRepository.findAllById(any()))
+                .thenReturn(
+                        List.of(
+                                RouteSegment.builder()
+                                        .segmentKey(secondKey)
+                                        .encodedPolyline(PolylineCodec.encode(secondPoints))
+                                        .pointCount(2)
+                                        .createdAt(Instant.now())
+                                        .build()));
+
+        // When
+        List<String> result =
+                cache.findAll(List.of(ORIGIN, DESTINATION, third, fourth), TravelMode.WALKING);
+
+        // Then — segments come back encoded, as stored
+        assertThat(result).hasSize(3);
+        assertThat(result.get(0)).isEqualTo(PolylineCodec.encode(POINTS));
+        assertThat(result.get(1)).isEqualTo(PolylineCodec.encode(secondPoints));
+        assertThat(result.get(2)).isNull();
+        verify(routeSegmentRepository).findAllById(any());
+        assertThat(cache.getMemoryCache().size()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,63 @@
+package com.tomassirio.wanderer.command.service.helper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    void reserve_whenTokensAvailable_shouldNotWait() {
+        // Given
+        TokenBucket bucket = new TokenBucket(10, 3, now::get);
+
+        // When & Then — the full burst is served immediately
+        assertThat(bucket.reserve()).isZero();
+        assertThat(bucket.reserve()).isZero();
+        assertThat(bucket.reserve()).isZero();
+    }
+
+    @Test
+    void reserve_whenBucketEmpty_shouldQueueCallersAtTheConfiguredRate() {
+        // Given
+        TokenBucket bucket = new TokenBucket(10, 1, now::get);
+        bucket.reserve();
+
+        // When
+        long second = bucket.reserve();
+        long third = bucket.reserve();
+
+        // Then — 100 ms apart at 10 requests per second
+        assertThat(second).isEqualTo(SECOND / 10);
+        assertThat(third).isEqualTo(2 * SECOND / 10);
+    }
+
+    @Test
+    void reserve_afterIdlePeriod_shouldRefillUpToBurstOnly() {
+        // Given
+        TokenBucket bucket = new TokenBucket(10, 2, now::get);
+        bucket.reserve();
+        bucket.reserve();
+
+        // When — an idle minute refills far more than the burst
+        now.addAndGet(60 * SECOND);
+
+        // Then
+        assertThat(bucket.reserve()).isZero();
+        assertThat(bucket.reserve()).isZero();
+        assertThat(bucket.reserve()).isEqualTo(SECOND / 10);
+    }
+
+    @Test
+    void constructor_whenRateNotPositive_shouldThrow() {
+        assertThatThrownBy(() -> new TokenBucket(0, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
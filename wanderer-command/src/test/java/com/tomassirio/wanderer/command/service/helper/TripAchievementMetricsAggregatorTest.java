@@ -0,0 +1,219 @@
+package com.tomassirio.wanderer.command.service.helper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.google.maps.model.LatLng;
+import com.tomassirio.wanderer.command.repository.TripAchievementMetricsRepository;
+import com.tomassirio.wanderer.command.repository.TripUpdateRepository;
+import com.tomassirio.wanderer.command.service.DistanceCalculationStrategy;
+import com.tomassirio.wanderer.commons.domain.GeoLocation;
+import com.tomassirio.wanderer.commons.domain.TripAchievementMetrics;
+import com.tomassirio.wanderer.commons.domain.TripUpdate;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class TripAchievementMetricsAggregatorTest {
+
+    private static final UUID TRIP_ID = UUID.randomUUID();
+    private static final Instant T0 = Instant.parse("2026-05-01T08:00:00Z");
+
+    @Mock private TripAchievementMetricsRepository metricsRepository;
+
+    @Mock private TripUpdateRepository tripUpdateRepository;
+
+    @Mock private DistanceCalculationStrategy distanceCalculationStrategy;
+
+    @InjectMocks private TripAchievementMetricsAggregator aggregator;
+
+    @BeforeEach
+    void setUp() {
+        when(metricsRepository.save(any(TripAchievementMetrics.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    private static GeoLocation location(double lat, double lon) {
+        return GeoLocation.builder().lat(lat).lon(lon).build();
+    }
+
+    private static TripAchievementMetrics existing(long count, double distanceKm) {
+        return TripAchievementMetrics.builder()
+                .tripId(TRIP_ID)
+                .updateCount(count)
+                .distanceKm(distanceKm)
+                .lastLat(42.0)
+                .lastLon(-8.0)
+                .lastUpdateTimestamp(T0)
+                .build();
+    }
+
+    @Test
+    void recordUpdate_whenLocated_shouldAddOneHopAndCount() {
+        // Given
+        when(metricsRepository.findByIdForUpdate(TRIP_ID))
+                .thenReturn(Optional.of(existing(41, 120.0)));
+        when(distanceCalculationStrategy.calculatePathDistance(
+                        List.of(new LatLng(42.0, -8.0), new LatLng(42.1, -8.0))))
+                .thenReturn(11.1);
+
+        // When
+        TripAchievementMetrics result =
+                aggregator.recordUpdate(TRIP_ID, location(42.1, -8.0), T0.plusSeconds(3600));
+
+        // Then
+        assertThat(result.getUpdateCount()).isEqualTo(42);
+        assertThat(result.getDistanceKm()).isEqualTo(131.1);
+        assertThat(result.getLastLat()).isEqualTo(42.1);
+        assertThat(result.getLastUpdateTimestamp()).isEqualTo(T0.plusSeconds(3600));
+        verifyNoInteractions(tripUpdateRepository);
+    }
+
+    @Test
+    void recordUpdate_whenNotLocated_shouldOnlyCount() {
+        // Given
+        when(metricsRepository.findByIdForUpdate(TRIP_ID))
+                .thenReturn(Optional.of(existing(9, 50.0)));
+
+        // When
+        TripAchievementMetrics result = aggregator.recordUpdate(TRIP_ID, null, T0.plusSeconds(60));
+
+        // Then
+        assertThat(result.getUpdateCount()).isEqualTo(10);
+        assertThat(result.getDistanceKm()).isEqualTo(50.0);
+        assertThat(result.getLastLat()).isEqualTo(42.0);
+        verifyNoInteractions(distanceCalculationStrategy);
+    }
+
+    @Test
+    void recordUpdate_whenFirstLocatedPoint_shouldNotAddDistance() {
+        // Given
+        TripAchievementMetrics metrics =
+                TripAchievementMetrics.builder()
+                        .tripId(TRIP_ID)
+                        .updateCount(1)
+                        .lastUpdateTimestamp(T0)
+                        .build();
+        when(metricsRepository.findByIdForUpdate(TRIP_ID)).thenReturn(Optional.of(metrics));
+
+        // When
+        TripAchievementMetrics result =
+                aggregator.recordUpdate(TRIP_ID, location(42.0, -8.0), T0.plusSeconds(60));
+
+        // Then
+        assertThat(result.getUpdateCount()).isEqualTo(2);
+        assertThat(result.getDistanceKm()).isZero();
+        assertThat(result.getLastLon()).isEqualTo(-8.0);
+        verifyNoInteractions(distanceCalculationStrategy);
+    }
+
+    @Test
+    void recordUpdate_whenNoAggregateYet_shouldInsertLockAndRebuildFromHistory() {
+        // Given — the row is missing on the first read and present once inserted
+        when(metricsRepository.findByIdForUpdate(TRIP_ID))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(TripAchievementMetrics.builder().tripId(TRIP_ID).build()));
+        when(tripUpdateRepository.findByTripIdOrderByTimestampAsc(TRIP_ID))
+                .thenReturn(
+                        List.of(
+                                TripUpdate.builder()
+                                        .location(location(42.0, -8.0))
+                                        .timestamp(T0)
+                                        .build(),
+                                TripUpdate.builder().timestamp(T0.plusSeconds(60)).build(),
+                                TripUpdate.builder()
+                                        .location(location(42.1, -8.0))
+                                        .timestamp(T0.plusSeconds(120))
+                                        .build()));
+        when(distanceCalculationStrategy.calculatePathDistance(anyList())).thenReturn(11.1);
+
+        // When
+        TripAchievementMetrics result =
+                aggregator.recordUpdate(TRIP_ID, location(42.1, -8.0), T0.plusSeconds(120));
+
+        // Then
+        assertThat(result.getTripId()).isEqualTo(TRIP_ID);
+        assertThat(result.getUpdateCount()).isEqualTo(3);
+        assertThat(result.getDistanceKm()).isEqualTo(11.1);
+        assertThat(result.getLastLat()).isEqualTo(42.1);
+        assertThat(result.getLastUpdateTimestamp()).isEqualTo(T0.plusSeconds(120));
+        InOrder inOrder = inOrder(metricsRepository);
+        inOrder.verify(metricsRepository).findByIdForUpdate(TRIP_ID);
+        inOrder.verify(metricsRepository).insertIfAbsent(TRIP_ID);
+        inOrder.verify(metricsRepository).findByIdForUpdate(TRIP_ID);
+        inOrder.verify(metricsRepository).save(result);
+    }
+
+    @Test
+    void recordUpdate_whenAnotherUpdateInsertedTheRowFirst_shouldNotFail() {
+        // Given — a concurrent first update won the insert and already counted its own update
+        when(metricsRepository.findByIdForUpdate(TRIP_ID))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(existing(1, 0.0)));
+        when(metricsRepository.insertIfAbsent(TRIP_ID)).thenReturn(0);
+        when(tripUpdateRepository.findByTripIdOrderByTimestampAsc(TRIP_ID))
+                .thenReturn(
+                        List.of(
+                                TripUpdate.builder()
+                                        .location(location(42.0, -8.0))
+                                        .timestamp(T0)
+                                        .build(),
+                                TripUpdate.builder()
+                                        .location(location(42.1, -8.0))
+                                        .timestamp(T0.plusSeconds(60))
+                                        .build()));
+        when(distanceCalculationStrategy.calculatePathDistance(anyList())).thenReturn(11.1);
+
+        // When
+        TripAchievementMetrics result =
+                aggregator.recordUpdate(TRIP_ID, location(42.1, -8.0), T0.plusSeconds(60));
+
+        // Then — both updates are counted once
+        assertThat(result.getUpdateCount()).isEqualTo(2);
+        assertThat(result.getDistanceKm()).isEqualTo(11.1);
+    }
+
+    @Test
+    void recordUpdate_whenOlderThanLatestUpdate_shouldRebuildFromHistory() {
+        // Given
+        when(metricsRepository.findByIdForUpdate(TRIP_ID))
+                .thenReturn(Optional.of(existing(1, 0.0)));
+        when(tripUpdateRepository.findByTripIdOrderByTimestampAsc(TRIP_ID))
+                .thenReturn(
+                        List.of(
+                                TripUpdate.builder()
+                                        .location(location(41.9, -8.0))
+                                        .timestamp(T0.minusSeconds(60))
+                                        .build(),
+                                TripUpdate.builder()
+                                        .location(location(42.0, -8.0))
+                                        .timestamp(T0)
+                                        .build()));
+        when(distanceCalculationStrategy.calculatePathDistance(anyList())).thenReturn(11.1);
+
+        // When
+        TripAchievementMetrics result =
+                aggregator.recordUpdate(TRIP_ID, location(41.9, -8.0), T0.minusSeconds(60));
+
+        // Then — last point stays the newest one, not the late arrival
+        assertThat(result.getUpdateCount()).isEqualTo(2);
+        assertThat(result.getLastLat()).isEqualTo(42.0);
+        assertThat(result.getLastUpdateTimestamp()).isEqualTo(T0);
+        verify(metricsRepository, never()).findById(any());
+    }
+}
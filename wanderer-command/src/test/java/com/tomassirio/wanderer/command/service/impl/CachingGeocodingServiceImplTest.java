@@ -0,0 +1,104 @@
+package com.tomassirio.wanderer.command.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.tomassirio.wanderer.command.service.GeocodingService;
+import com.tomassirio.wanderer.command.service.helper.GeoCell;
+import com.tomassirio.wanderer.commons.cache.BoundedCache;
+import com.tomassirio.wanderer.commons.domain.GeoLocation;
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class CachingGeocodingServiceImplTest {
+
+    @Mock private GeocodingService delegate;
+
+    private BoundedCache<GeoCell, GeocodingService.GeocodingResult> cache;
+
+    private CachingGeocodingServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        cache = new BoundedCache<>(100, Duration.ofHours(1));
+        service = new CachingGeocodingServiceImpl(delegate, 500, cache);
+    }
+
+    @Test
+    void reverseGeocode_whenSameCell_shouldCallDelegateOnce() {
+        // Given — two points ~50 m apart on the Camino
+        GeoLocation first = GeoLocation.builder().lat(42.88052).lon(-8.54569).build();
+        GeoLocation second = GeoLocation.builder().lat(42.88071).lon(-8.54610).build();
+        GeocodingService.GeocodingResult santiago =
+                new GeocodingService.GeocodingResult("Santiago de Compostela", "Spain");
+        when(delegate.reverseGeocode(first)).thenReturn(santiago);
+
+        // When
+        GeocodingService.GeocodingResult firstResult = service.reverseGeocode(first);
+        GeocodingService.GeocodingResult secondResult = service.reverseGeocode(second);
+
+        // Then
+        assertThat(firstResult).isEqualTo(santiago);
+        assertThat(secondResult).isEqualTo(santiago);
+        verify(delegate, times(1)).reverseGeocode(any());
+        assertThat(cache.hitCount()).isEqualTo(1);
+        assertThat(cache.missCount()).isEqualTo(1);
+    }
+
+    @Test
+    void reverseGeocode_whenDifferentCells_shouldCallDelegateForEach() {
+        // Given
+        GeoLocation paris = GeoLocation.builder().lat(48.8566).lon(2.3522).build();
+        GeoLocation lyon = GeoLocation.builder().lat(45.7640).lon(4.8357).build();
+        when(delegate.reverseGeocode(paris))
+                .thenReturn(new GeocodingService.GeocodingResult("Paris", "France"));
+        when(delegate.reverseGeocode(lyon))
+                .thenReturn(new GeocodingService.GeocodingResult("Lyon", "France"));
+
+        // When
+        GeocodingService.GeocodingResult parisResult = service.reverseGeocode(paris);
+        GeocodingService.GeocodingResult lyonResult = service.reverseGeocode(lyon);
+
+        // Then
+        assertThat(parisResult.city()).isEqualTo("Paris");
+        assertThat(lyonResult.city()).isEqualTo("Lyon");
+        verify(delegate, times(2)).reverseGeocode(any());
+    }
+
+    @Test
+    void reverseGeocode_whenDelegateReturnsNull_shouldNotCacheAndRetry() {
+        // Given
+        GeoLocation location = GeoLocation.builder().lat(0.0).lon(0.0).build();
+        when(delegate.reverseGeocode(location)).thenReturn(null);
+
+        // When
+        service.reverseGeocode(location);
+        service.reverseGeocode(location);
+
+        // Then
+        verify(delegate, times(2)).reverseGeocode(location);
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void reverseGeocode_whenLocationHasNoCoordinates_shouldDelegateWithoutCaching() {
+        // Given
+        GeoLocation location = GeoLocation.builder().lat(null).lon(2.3522).build();
+
+        // When
+        GeocodingService.GeocodingResult result = service.reverseGeocode(location);
+
+        // Then
+        assertThat(result).isNull();
+        verify(delegate).reverseGeocode(location);
+        assertThat(cache.missCount()).isZero();
+    }
+}
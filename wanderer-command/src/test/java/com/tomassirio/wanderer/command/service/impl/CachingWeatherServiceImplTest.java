@@ -0,0 +1,209 @@
+package com.tomassirio.wanderer.command.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.tomassirio.wanderer.command.service.WeatherService;
+import com.tomassirio.wanderer.commons.cache.BoundedCache;
+import com.tomassirio.wanderer.commons.domain.GeoLocation;
+import com.tomassirio.wanderer.commons.domain.WeatherCondition;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class CachingWeatherServiceImplTest {
+
+    private static final Duration TTL = Duration.ofMinutes(15);
+    private static final Duration JOIN_TIMEOUT = Duration.ofMillis(200);
+    private static final Instant NOW = Instant.parse("2026-05-01T10:02:00Z");
+
+    @Mock private WeatherService delegate;
+
+    private final GeoLocation location = GeoLocation.builder().lat(42.8805).lon(-8.5457).build();
+    private final WeatherService.WeatherResult sunny =
+            new WeatherService.WeatherResult(21.0, WeatherCondition.CLEAR);
+
+    private CachingWeatherServiceImpl serviceAt(Instant instant) {
+        return serviceAt(instant, newCache());
+    }
+
+    private CachingWeatherServiceImpl serviceAt(
+            Instant instant,
+            BoundedCache<CachingWeatherServiceImpl.Key, WeatherService.WeatherResult> cache) {
+        return new CachingWeatherServiceImpl(
+                delegate, 3_000, TTL, JOIN_TIMEOUT, cache, Clock.fixed(instant, ZoneOffset.UTC));
+    }
+
+    private BoundedCache<CachingWeatherServiceImpl.Key, WeatherService.WeatherResult> newCache() {
+        return new BoundedCache<>(100, TTL, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    void lookupCurrentWeather_whenSameCellAndBucket_shouldCallDelegateOnce() {
+        // Given
+        CachingWeatherServiceImpl service = serviceAt(NOW);
+        GeoLocation nearby = GeoLocation.builder().lat(42.8812).lon(-8.5440).build();
+        when(delegate.lookupCurrentWeather(location)).thenReturn(sunny);
+
+        // When
+        WeatherService.WeatherResult first = service.lookupCurrentWeather(location);
+        WeatherService.WeatherResult second = service.lookupCurrentWeather(nearby);
+
+        // Then
+        assertThat(first).isEqualTo(sunny);
+        assertThat(second).isEqualTo(sunny);
+        verify(delegate, times(1)).lookupCurrentWeather(any());
+    }
+
+    @Test
+    void lookupCurrentWeather_whenNextBucket_shouldCallDelegateAgain() {
+        // Given
+        BoundedCache<CachingWeatherServiceImpl.Key, WeatherService.WeatherResult> cache =
+                newCache();
+        when(delegate.lookupCurrentWeather(location)).thenReturn(sunny);
+
+        // When — 10:02 and 10:16 fall in different 15-minute buckets
+        serviceAt(NOW, cache).lookupCurrentWeather(location);
+        serviceAt(NOW.plus(Duration.ofMinutes(14)), cache).lookupCurrentWeather(location);
+
+        // Then
+        verify(delegate, times(2)).lookupCurrentWeather(location);
+    }
+
+    @Test
+    void lookupCurrentWeather_whenDelegateReturnsNull_shouldNotCache() {
+        // Given
+        CachingWeatherServiceImpl service = serviceAt(NOW);
+        when(delegate.lookupCurrentWeather(location)).thenReturn(null);
+
+        // When
+        service.lookupCurrentWeather(location);
+        service.lookupCurrentWeather(location);
+
+        // Then
+        verify(delegate, times(2)).lookupCurrentWeather(location);
+    }
+
+    @Test
+    void lookupCurrentWeather_whenConcurrentForSameKey_shouldCoalesceIntoOneUpstreamCall()
+            throws Exception {
+        // Given
+        CachingWeatherServiceImpl service = serviceAt(NOW);
+        CountDownLatch upstreamStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.lookupCurrentWeather(any()))
+                .thenAnswer(
+                        invocation -> {
+                            upstreamStarted.countDown();
+                            release.await(5, TimeUnit.SECONDS);
+                            return sunny;
+                        });
+
+        // When
+        List<Future<WeatherService.WeatherResult>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            // The first caller owns the in-flight lookup; every later caller either joins it or,
+            // once it completes, finds its result in the cache
+            results.add(executor.submit(() -> service.lookupCurrentWeather(location)));
+            assertThat(upstreamStarted.await(5, TimeUnit.SECONDS)).isTrue();
+            for (int i = 0; i < 19; i++) {
+                results.add(executor.submit(() -> service.lookupCurrentWeather(location)));
+            }
+            release.countDown();
+        }
+
+        // Then
+        for (Future<WeatherService.WeatherResult> result : results) {
+            assertThat(result.get()).isEqualTo(sunny);
+        }
+        verify(delegate, times(1)).lookupCurrentWeather(any());
+    }
+
+    @Test
+    void lookupCurrentWeather_whenLeaderFailsWithError_shouldReleaseWaitersWithNull()
+            throws Exception {
+        // Given
+        CachingWeatherServiceImpl service = serviceAt(NOW);
+        CountDownLatch upstreamStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.lookupCurrentWeather(any()))
+                .thenAnswer(
+                        invocation -> {
+                            upstreamStarted.countDown();
+                            release.await(5, TimeUnit.SECONDS);
+                            throw new StackOverflowError();
+                        });
+
+        // When
+        Future<WeatherService.WeatherResult> leader;
+        AtomicReference<WeatherService.WeatherResult> waited =
+                new AtomicReference<>(new WeatherService.WeatherResult(null, null));
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            leader = executor.submit(() -> service.lookupCurrentWeather(location));
+            assertThat(upstreamStarted.await(5, TimeUnit.SECONDS)).isTrue();
+            Thread waiter =
+                    Thread.ofPlatform()
+                            .start(() -> waited.set(service.lookupCurrentWeather(location)));
+            // Release the leader only once the waiter is parked on the shared lookup
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (waiter.getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+            waiter.join(5_000);
+        }
+
+        // Then
+        assertThatThrownBy(leader::get).hasCauseInstanceOf(StackOverflowError.class);
+        assertThat(waited.get()).isNull();
+        verify(delegate, times(1)).lookupCurrentWeather(any());
+    }
+
+    @Test
+    void lookupCurrentWeather_whenLeaderHangs_shouldGiveUpAfterJoinTimeout() throws Exception {
+        // Given
+        CachingWeatherServiceImpl service = serviceAt(NOW);
+        CountDownLatch upstreamStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.lookupCurrentWeather(any()))
+                .thenAnswer(
+                        invocation -> {
+                            upstreamStarted.countDown();
+                            release.await(5, TimeUnit.SECONDS);
+                            return sunny;
+                        });
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<WeatherService.WeatherResult> leader =
+                    executor.submit(() -> service.lookupCurrentWeather(location));
+            assertThat(upstreamStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+            // When
+            WeatherService.WeatherResult waited = service.lookupCurrentWeather(location);
+
+            // Then — the waiter gave up while the shared lookup carries on for the leader
+            assertThat(waited).isNull();
+            release.countDown();
+            assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo(sunny);
+        }
+        verify(delegate, times(1)).lookupCurrentWeather(any());
+    }
+}
@@ -2,6 +2,12 @@ package com.tomassirio.wanderer.command.service.impl;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -24,9 +30,13 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @ExtendWith(MockitoExtension.class)
 class PolylineServiceImplTest {
@@ -39,6 +49,8 @@ class PolylineServiceImplTest {
 
     @Mock private ApplicationEventPublisher eventPublisher;
 
+    @Mock private PlatformTransactionManager transactionManager;
+
     private PolylineServiceImpl polylineService;
 
     @BeforeEach
@@ -50,7 +62,11 @@ class PolylineServiceImplTest {
                         tripUpdateRepository,
                         routeService,
                         polylineComputer,
-                        eventPublisher);
+                        eventPublisher,
+                        new TransactionTemplate(transactionManager));
+        lenient()
+                .when(tripRepository.updatePolylineIfVersion(any(), anyLong(), any(), any()))
+                .thenReturn(1);
     }
 
     @Test
@@ -78,16 +94,13 @@ class PolylineServiceImplTest {
                         .build();
 
         when(tripRepository.findById(tripId)).thenReturn(Optional.of(trip));
-        when(tripUpdateRepository.findByTripIdOrderByTimestampAsc(tripId)).thenReturn(List.of());
+        when(tripUpdateRepository.findLastTwoLocatedByTripId(tripId)).thenReturn(List.of());
 
         // When
         polylineService.appendSegment(tripId);
 
         // Then
-        ArgumentCaptor<Trip> captor = ArgumentCaptor.forClass(Trip.class);
-        verify(tripRepository).save(captor.capture());
-
-        Trip saved = captor.getValue();
+        Trip saved = savedTrip(tripId);
         assertThat(saved.getEncodedPolyline()).isNull();
         assertThat(saved.getPolylineUpdatedAt()).isNull();
 
@@ -117,9 +130,7 @@ class PolylineServiceImplTest {
         polylineService.appendSegment(tripId);
 
         // Then
-        ArgumentCaptor<Trip> captor = ArgumentCaptor.forClass(Trip.class);
-        verify(tripRepository).save(captor.capture());
-        assertThat(captor.getValue().getEncodedPolyline()).isNull();
+        assertThat(savedTrip(tripId).getEncodedPolyline()).isNull();
     }
 
     @Test
@@ -139,17 +150,15 @@ class PolylineServiceImplTest {
                         .polylineUpdatedAt(Instant.now().minusSeconds(3600))
                         .build();
 
-        GeoLocation loc1 = GeoLocation.builder().lat(42.0).lon(-8.0).build();
         GeoLocation loc2 = GeoLocation.builder().lat(42.5).lon(-8.2).build();
         GeoLocation loc3 = GeoLocation.builder().lat(43.0).lon(-8.5).build();
 
-        TripUpdate update1 = createTripUpdate(trip, loc1, Instant.now().minusSeconds(7200));
         TripUpdate update2 = createTripUpdate(trip, loc2, Instant.now().minusSeconds(3600));
         TripUpdate update3 = createTripUpdate(trip, loc3, Instant.now());
 
         when(tripRepository.findById(tripId)).thenReturn(Optional.of(trip));
-        when(tripUpdateRepository.findByTripIdOrderByTimestampAsc(tripId))
-                .thenReturn(List.of(update1, update2, update3));
+        when(tripUpdateRepository.findLastTwoLocatedByTripId(tripId))
+                .thenReturn(List.of(update3, update2));
 
         // New segment from loc2 -> loc3 returns 3 points (first is duplicate)
         List<LatLng> newSegmentPoints =
@@ -160,10 +169,7 @@ class PolylineServiceImplTest {
         polylineService.appendSegment(tripId);
 
         // Then
-        ArgumentCaptor<Trip> captor = ArgumentCaptor.forClass(Trip.class);
-        verify(tripRepository).save(captor.capture());
-
-        Trip saved = captor.getValue();
+        Trip saved = savedTrip(tripId);
         assertThat(saved.getEncodedPolyline()).isNotNull();
         assertThat(saved.getPolylineUpdatedAt()).isNotNull();
 
@@ -171,6 +177,11 @@ class PolylineServiceImplTest {
         // (2 existing + 2 new, duplicate skipped)
         List<LatLng> decodedResult = PolylineCodec.decode(saved.getEncodedPolyline());
         assertThat(decodedResult).hasSize(4);
+        assertThat(decodedResult.get(3).lat).isEqualTo(43.0);
+        assertThat(decodedResult.get(3).lng).isEqualTo(-8.5);
+
+        // Only the last two located updates are read, never the whole trip history
+        verify(tripUpdateRepository, never()).findByTripIdOrderByTimestampAsc(tripId);
 
         // Verify polyline updated event was published with encoded polyline
         ArgumentCaptor<PolylineUpdatedEvent> eventCaptor =
@@ -178,6 +189,14 @@ class PolylineServiceImplTest {
         verify(eventPublisher).publishEvent(eventCaptor.capture());
         assertThat(eventCaptor.getValue().getTripId()).isEqualTo(tripId);
         assertThat(eventCaptor.getValue().getEncodedPolyline()).isNotNull();
+
+        // Only the appended characters are broadcast, tagged with the new version
+        assertThat(eventCaptor.getValue().getEncodedSuffix())
+                .isEqualTo(saved.getEncodedPolyline().substring(existingEncoded.length()));
+        assertThat(existingEncoded + eventCaptor.getValue().getEncodedSuffix())
+                .isEqualTo(saved.getEncodedPolyline());
+        assertThat(eventCaptor.getValue().getVersion()).isEqualTo(1L);
+        assertThat(saved.getPolylineVersion()).isEqualTo(1L);
     }
 
     @Test
@@ -197,16 +216,14 @@ class PolylineServiceImplTest {
                 .thenReturn(List.of(update1, update2));
 
         List<LatLng> fullRoute = List.of(new LatLng(42.0, -8.0), new LatLng(42.5, -8.2));
-        when(routeService.getFullRoutePoints(List.of(loc1, loc2))).thenReturn(fullRoute);
+        when(routeService.getFullRouteEncoded(List.of(loc1, loc2)))
+                .thenReturn(PolylineCodec.encode(fullRoute));
 
         // When
         polylineService.appendSegment(tripId);
 
         // Then
-        ArgumentCaptor<Trip> captor = ArgumentCaptor.forClass(Trip.class);
-        verify(tripRepository).save(captor.capture());
-
-        Trip saved = captor.getValue();
+        Trip saved = savedTrip(tripId);
         assertThat(saved.getEncodedPolyline()).isNotNull();
         assertThat(saved.getPolylineUpdatedAt()).isNotNull();
 
@@ -240,10 +257,7 @@ class PolylineServiceImplTest {
         polylineService.recomputePolyline(tripId);
 
         // Then
-        ArgumentCaptor<Trip> captor = ArgumentCaptor.forClass(Trip.class);
-        verify(tripRepository).save(captor.capture());
-
-        Trip saved = captor.getValue();
+        Trip saved = savedTrip(tripId);
         assertThat(saved.getEncodedPolyline()).isNull();
         assertThat(saved.getPolylineUpdatedAt()).isNull();
     }
@@ -268,17 +282,14 @@ class PolylineServiceImplTest {
 
         List<LatLng> fullRoutePoints =
                 List.of(new LatLng(42.0, -8.0), new LatLng(42.5, -8.2), new LatLng(43.0, -8.5));
-        when(routeService.getFullRoutePoints(List.of(loc1, loc2, loc3)))
-                .thenReturn(fullRoutePoints);
+        when(routeService.getFullRouteEncoded(List.of(loc1, loc2, loc3)))
+                .thenReturn(PolylineCodec.encode(fullRoutePoints));
 
         // When
         polylineService.recomputePolyline(tripId);
 
         // Then
-        ArgumentCaptor<Trip> captor = ArgumentCaptor.forClass(Trip.class);
-        verify(tripRepository).save(captor.capture());
-
-        Trip saved = captor.getValue();
+        Trip saved = savedTrip(tripId);
         assertThat(saved.getEncodedPolyline()).isNotNull();
         assertThat(saved.getPolylineUpdatedAt()).isNotNull();
 
@@ -291,6 +302,10 @@ class PolylineServiceImplTest {
         verify(eventPublisher).publishEvent(eventCaptor.capture());
         assertThat(eventCaptor.getValue().getTripId()).isEqualTo(tripId);
         assertThat(eventCaptor.getValue().getEncodedPolyline()).isNotNull();
+
+        // A recompute replaces the polyline, so the whole string is broadcast
+        assertThat(eventCaptor.getValue().getEncodedSuffix()).isNull();
+        assertThat(eventCaptor.getValue().getVersion()).isEqualTo(1L);
     }
 
     @Test
@@ -310,24 +325,139 @@ class PolylineServiceImplTest {
                 .thenReturn(List.of(update1, update2));
 
         List<LatLng> fullRoute = List.of(new LatLng(42.0, -8.0), new LatLng(42.5, -8.2));
-        when(routeService.getFullRoutePoints(List.of(loc1, loc2))).thenReturn(fullRoute);
+        when(routeService.getFullRouteEncoded(List.of(loc1, loc2)))
+                .thenReturn(PolylineCodec.encode(fullRoute));
 
         // When
         polylineService.appendSegment(tripId);
 
         // Then — goes through full recompute path (not incremental)
-        verify(routeService).getFullRoutePoints(List.of(loc1, loc2));
+        verify(routeService).getFullRouteEncoded(List.of(loc1, loc2));
 
-        ArgumentCaptor<Trip> captor = ArgumentCaptor.forClass(Trip.class);
-        verify(tripRepository).save(captor.capture());
-
-        Trip saved = captor.getValue();
+        Trip saved = savedTrip(tripId);
         assertThat(saved.getEncodedPolyline()).isNotNull();
 
         List<LatLng> decodedResult = PolylineCodec.decode(saved.getEncodedPolyline());
         assertThat(decodedResult).hasSize(2);
     }
 
+    @Test
+    void appendSegment_shouldFetchRouteBeforeLockingTheTrip() {
+        // Given
+        UUID tripId = UUID.randomUUID();
+        String existingEncoded = PolylineCodec.encode(List.of(new LatLng(42.0, -8.0)));
+        Trip trip =
+                Trip.builder()
+                        .id(tripId)
+                        .name("Test Trip")
+                        .encodedPolyline(existingEncoded)
+                        .build();
+
+        GeoLocation loc1 = GeoLocation.builder().lat(42.0).lon(-8.0).build();
+        GeoLocation loc2 = GeoLocation.builder().lat(42.5).lon(-8.2).build();
+
+        when(tripRepository.findById(tripId)).thenReturn(Optional.of(trip));
+        when(tripUpdateRepository.findLastTwoLocatedByTripId(tripId))
+                .thenReturn(
+                        List.of(
+                                createTripUpdate(trip, loc2, Instant.now()),
+                                createTripUpdate(trip, loc1, Instant.now().minusSeconds(60))));
+        when(routeService.getRoutePoints(loc1, loc2))
+                .thenReturn(List.of(new LatLng(42.0, -8.0), new LatLng(42.5, -8.2)));
+
+        // When
+        polylineService.appendSegment(tripId);
+
+        // Then — the Directions request is over before the write transaction starts
+        InOrder inOrder = inOrder(routeService, transactionManager, tripRepository);
+        inOrder.verify(routeService).getRoutePoints(loc1, loc2);
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(tripRepository).updatePolylineIfVersion(eq(tripId), eq(0L), any(), any());
+        inOrder.verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void appendSegment_whenPolylineChangedMeanwhile_shouldAppendOntoTheNewPolyline() {
+        // Given — another writer bumps the polyline to version 1 while the segment is routed
+        UUID tripId = UUID.randomUUID();
+        String staleEncoded = PolylineCodec.encode(List.of(new LatLng(42.0, -8.0)));
+        String freshEncoded =
+                PolylineCodec.encode(List.of(new LatLng(42.0, -8.0), new LatLng(42.2, -8.1)));
+        Trip stale =
+                Trip.builder().id(tripId).name("Test Trip").encodedPolyline(staleEncoded).build();
+        Trip fresh =
+                Trip.builder()
+                        .id(tripId)
+                        .name("Test Trip")
+                        .encodedPolyline(freshEncoded)
+                        .polylineVersion(1L)
+                        .build();
+
+        GeoLocation loc1 = GeoLocation.builder().lat(42.2).lon(-8.1).build();
+        GeoLocation loc2 = GeoLocation.builder().lat(42.5).lon(-8.2).build();
+
+        when(tripRepository.findById(tripId))
+                .thenReturn(Optional.of(stale))
+                .thenReturn(Optional.of(fresh));
+        when(tripUpdateRepository.findLastTwoLocatedByTripId(tripId))
+                .thenReturn(
+                        List.of(
+                                createTripUpdate(fresh, loc2, Instant.now()),
+                                createTripUpdate(fresh, loc1, Instant.now().minusSeconds(60))));
+        when(routeService.getRoutePoints(loc1, loc2))
+                .thenReturn(List.of(new LatLng(42.2, -8.1), new LatLng(42.5, -8.2)));
+        when(tripRepository.updatePolylineIfVersion(eq(tripId), eq(0L), any(), any()))
+                .thenReturn(0);
+
+        // When
+        polylineService.appendSegment(tripId);
+
+        // Then — only the write based on version 1 is published, extending the fresh polyline
+        ArgumentCaptor<PolylineUpdatedEvent> eventCaptor =
+                ArgumentCaptor.forClass(PolylineUpdatedEvent.class);
+        verify(eventPublisher).publishEvent(eventCaptor.capture());
+        PolylineUpdatedEvent event = eventCaptor.getValue();
+        assertThat(event.getVersion()).isEqualTo(2L);
+        assertThat(event.getEncodedPolyline()).isEqualTo(freshEncoded + event.getEncodedSuffix());
+        assertThat(PolylineCodec.decode(event.getEncodedPolyline())).hasSize(3);
+    }
+
+    @Test
+    void recomputePolyline_whenPolylineKeepsChanging_shouldThrowConcurrencyFailure() {
+        // Given
+        UUID tripId = UUID.randomUUID();
+        Trip trip = Trip.builder().id(tripId).name("Test Trip").build();
+
+        when(tripRepository.findById(tripId)).thenReturn(Optional.of(trip));
+        when(tripUpdateRepository.findByTripIdOrderByTimestampAsc(tripId)).thenReturn(List.of());
+        when(tripRepository.updatePolylineIfVersion(eq(tripId), eq(0L), any(), any()))
+                .thenReturn(0);
+
+        // When & Then
+        assertThatThrownBy(() -> polylineService.recomputePolyline(tripId))
+                .isInstanceOf(ConcurrencyFailureException.class);
+        verify(eventPublisher, never()).publishEvent(any(PolylineUpdatedEvent.class));
+    }
+
+    /** The trip as the version-checked update left it. */
+    private Trip savedTrip(UUID tripId) {
+        ArgumentCaptor<Long> expectedVersion = ArgumentCaptor.forClass(Long.class);
+        ArgumentCaptor<String> encodedPolyline = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Instant> polylineUpdatedAt = ArgumentCaptor.forClass(Instant.class);
+        verify(tripRepository)
+                .updatePolylineIfVersion(
+                        eq(tripId),
+                        expectedVersion.capture(),
+                        encodedPolyline.capture(),
+                        polylineUpdatedAt.capture());
+        return Trip.builder()
+                .id(tripId)
+                .encodedPolyline(encodedPolyline.getValue())
+                .polylineUpdatedAt(polylineUpdatedAt.getValue())
+                .polylineVersion(expectedVersion.getValue() + 1)
+                .build();
+    }
+
     private TripUpdate createTripUpdate(Trip trip, GeoLocation location, Instant timestamp) {
         return TripUpdate.builder()
                 .id(UUID.randomUUID())
@@ -368,10 +498,7 @@ class PolylineServiceImplTest {
         polylineService.recomputePolyline(tripId);
 
         // Then — polyline cleared, no route service call
-        ArgumentCaptor<Trip> captor = ArgumentCaptor.forClass(Trip.class);
-        verify(tripRepository).save(captor.capture());
-
-        Trip saved = captor.getValue();
+        Trip saved = savedTrip(tripId);
         assertThat(saved.getEncodedPolyline()).isNull();
         assertThat(saved.getPolylineUpdatedAt()).isNull();
     }
@@ -400,17 +527,14 @@ class PolylineServiceImplTest {
                 .thenReturn(List.of(validUpdate1, nullUpdate, nullLatUpdate, validUpdate2));
 
         List<LatLng> routePoints = List.of(new LatLng(42.0, -8.0), new LatLng(43.0, -8.5));
-        when(routeService.getFullRoutePoints(List.of(validLoc1, validLoc2)))
-                .thenReturn(routePoints);
+        when(routeService.getFullRouteEncoded(List.of(validLoc1, validLoc2)))
+                .thenReturn(PolylineCodec.encode(routePoints));
 
         // When
         polylineService.recomputePolyline(tripId);
 
         // Then — only 2 valid locations used, polyline computed
-        ArgumentCaptor<Trip> captor = ArgumentCaptor.forClass(Trip.class);
-        verify(tripRepository).save(captor.capture());
-
-        Trip saved = captor.getValue();
+        Trip saved = savedTrip(tripId);
         assertThat(saved.getEncodedPolyline()).isNotNull();
         assertThat(saved.getPolylineUpdatedAt()).isNotNull();
 
@@ -420,7 +544,7 @@ class PolylineServiceImplTest {
 
     @Test
     void appendSegment_whenUpdatesHaveNullLocations_shouldFilterAndClearPolyline() {
-        // Given — 3 updates but all have null/incomplete locations
+        // Given — updates exist but none has a complete location, so the query finds none
         UUID tripId = UUID.randomUUID();
         Trip trip =
                 Trip.builder()
@@ -429,30 +553,14 @@ class PolylineServiceImplTest {
                         .encodedPolyline("existingPolyline")
                         .build();
 
-        TripUpdate nullUpdate = createTripUpdate(trip, null, Instant.now());
-        TripUpdate nullLatUpdate =
-                createTripUpdate(
-                        trip,
-                        GeoLocation.builder().lat(null).lon(-8.0).build(),
-                        Instant.now().plusSeconds(1));
-        TripUpdate nullLonUpdate =
-                createTripUpdate(
-                        trip,
-                        GeoLocation.builder().lat(42.0).lon(null).build(),
-                        Instant.now().plusSeconds(2));
-
         when(tripRepository.findById(tripId)).thenReturn(Optional.of(trip));
-        when(tripUpdateRepository.findByTripIdOrderByTimestampAsc(tripId))
-                .thenReturn(List.of(nullUpdate, nullLatUpdate, nullLonUpdate));
+        when(tripUpdateRepository.findLastTwoLocatedByTripId(tripId)).thenReturn(List.of());
 
         // When
         polylineService.appendSegment(tripId);
 
         // Then — polyline cleared
-        ArgumentCaptor<Trip> captor = ArgumentCaptor.forClass(Trip.class);
-        verify(tripRepository).save(captor.capture());
-
-        Trip saved = captor.getValue();
+        Trip saved = savedTrip(tripId);
         assertThat(saved.getEncodedPolyline()).isNull();
         assertThat(saved.getPolylineUpdatedAt()).isNull();
     }
@@ -478,12 +586,12 @@ class PolylineServiceImplTest {
 
         TripUpdate validUpdate1 =
                 createTripUpdate(trip, validLoc1, Instant.now().minusSeconds(7200));
-        TripUpdate nullUpdate = createTripUpdate(trip, null, Instant.now().minusSeconds(3600));
         TripUpdate validUpdate2 = createTripUpdate(trip, validLoc2, Instant.now());
 
+        // The query skips the update with a null location in between
         when(tripRepository.findById(tripId)).thenReturn(Optional.of(trip));
-        when(tripUpdateRepository.findByTripIdOrderByTimestampAsc(tripId))
-                .thenReturn(List.of(validUpdate1, nullUpdate, validUpdate2));
+        when(tripUpdateRepository.findLastTwoLocatedByTripId(tripId))
+                .thenReturn(List.of(validUpdate2, validUpdate1));
 
         // The two valid locations → incremental append from validLoc1 → validLoc2
         List<LatLng> newSegmentPoints =
@@ -494,10 +602,7 @@ class PolylineServiceImplTest {
         polylineService.appendSegment(tripId);
 
         // Then — incremental append succeeded despite null update in the middle
-        ArgumentCaptor<Trip> captor = ArgumentCaptor.forClass(Trip.class);
-        verify(tripRepository).save(captor.capture());
-
-        Trip saved = captor.getValue();
+        Trip saved = savedTrip(tripId);
         assertThat(saved.getEncodedPolyline()).isNotNull();
         assertThat(saved.getPolylineUpdatedAt()).isNotNull();
     }
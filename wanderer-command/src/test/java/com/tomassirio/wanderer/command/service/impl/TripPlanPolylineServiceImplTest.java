@@ -11,6 +11,7 @@ import static org.mockito.Mockito.when;
 import com.google.maps.model.LatLng;
 import com.tomassirio.wanderer.command.repository.TripPlanRepository;
 import com.tomassirio.wanderer.command.service.RouteService;
+import com.tomassirio.wanderer.command.service.helper.PolylineCodec;
 import com.tomassirio.wanderer.command.service.helper.PolylineComputer;
 import com.tomassirio.wanderer.commons.domain.GeoLocation;
 import com.tomassirio.wanderer.commons.domain.TripPlan;
@@ -59,7 +60,8 @@ class TripPlanPolylineServiceImplTest {
                         new LatLng(42.88, -8.54),
                         new LatLng(42.50, -8.10),
                         new LatLng(42.10, -7.70));
-        when(routeService.getFullRoutePoints(anyList())).thenReturn(routePoints);
+        when(routeService.getFullRouteEncoded(anyList()))
+                .thenReturn(PolylineCodec.encode(routePoints));
 
         // When
         service.computePolyline(planId);
@@ -84,7 +86,8 @@ class TripPlanPolylineServiceImplTest {
         when(tripPlanRepository.findById(planId)).thenReturn(Optional.of(tripPlan));
 
         List<LatLng> routePoints = List.of(new LatLng(42.88, -8.54), new LatLng(42.10, -7.70));
-        when(routeService.getFullRoutePoints(anyList())).thenReturn(routePoints);
+        when(routeService.getFullRouteEncoded(anyList()))
+                .thenReturn(PolylineCodec.encode(routePoints));
 
         // When
         service.computePolyline(planId);
@@ -130,7 +133,7 @@ class TripPlanPolylineServiceImplTest {
         TripPlan saved = captor.getValue();
         assertThat(saved.getEncodedPolyline()).isNull();
         assertThat(saved.getPolylineUpdatedAt()).isNull();
-        verify(routeService, never()).getFullRoutePoints(any());
+        verify(routeService, never()).getFullRouteEncoded(any());
     }
 
     @Test
@@ -0,0 +1,334 @@
+package com.tomassirio.wanderer.command.service.impl.strategy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.google.maps.GeoApiContext;
+import com.google.maps.model.LatLng;
+import com.google.maps.model.TravelMode;
+import com.tomassirio.wanderer.command.config.properties.DirectionsProperties;
+import com.tomassirio.wanderer.command.service.helper.PolylineCodec;
+import com.tomassirio.wanderer.command.service.helper.RouteSegmentCache;
+import com.tomassirio.wanderer.commons.domain.GeoLocation;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class GoogleDirectionsRouteStrategyTest {
+
+    private static final GeoLocation A = GeoLocation.builder().lat(42.0).lon(-8.0).build();
+    private static final GeoLocation B = GeoLocation.builder().lat(42.1).lon(-8.1).build();
+    private static final GeoLocation C = GeoLocation.builder().lat(42.2).lon(-8.2).build();
+
+    @Mock private GeoApiContext geoApiContext;
+    @Mock private RouteSegmentCache segmentCache;
+
+    private DirectionsProperties properties;
+
+    /** Stop lists of every Directions request the strategy made. */
+    private final List<List<GeoLocation>> requests = new CopyOnWriteArrayList<>();
+
+    /** When set, requests containing this stop fail. */
+    private GeoLocation failingStop;
+
+    private GoogleDirectionsRouteStrategy strategy;
+
+    @BeforeEach
+    void setUp() {
+        properties = new DirectionsProperties();
+        strategy = newStrategy();
+    }
+
+    /**
+     * Builds a strategy whose Directions calls are answered locally: every leg is the straight line
+     * through its midpoint, so routed legs have three points.
+     */
+    private GoogleDirectionsRouteStrategy newStrategy() {
+        return new GoogleDirectionsRouteStrategy(
+                geoApiContext, new StraightLineRouteStrategy(), segmentCache, properties) {
+            @Override
+            List<List<LatLng>> requestLegs(List<GeoLocation> stops) throws Exception {
+                requests.add(List.copyOf(stops));
+                if (failingStop != null && stops.contains(failingStop)) {
+                    throw new IllegalStateException("OVER_QUERY_LIMIT");
+                }
+                // Earlier batches answer later, so completion order differs from route order
+                Thread.sleep((long) Math.max(0, (41.0 - stops.getFirst().getLat()) * 10));
+                List<List<LatLng>> legs = new ArrayList<>();
+                for (int i = 0; i < stops.size() - 1; i++) {
+                    legs.add(routedLeg(stops.get(i), stops.get(i + 1)));
+                }
+                return legs;
+            }
+        };
+    }
+
+    private static List<LatLng> routedLeg(GeoLocation from, GeoLocation to) {
+        return List.of(
+                new LatLng(from.getLat(), from.getLon()),
+                new LatLng((from.getLat() + to.getLat()) / 2, (from.getLon() + to.getLon()) / 2),
+                new LatLng(to.getLat(), to.getLon()));
+    }
+
+    private static List<GeoLocation> path(int size) {
+        List<GeoLocation> locations = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            locations.add(GeoLocation.builder().lat(40.0 + i * 0.01).lon(-3.0).build());
+        }
+        return locations;
+    }
+
+    private void cacheSegments(List<GeoLocation> locations, int... indexes) {
+        List<String> cached = new ArrayList<>(Collections.nCopies(locations.size() - 1, null));
+        for (int i : indexes) {
+            cached.set(i, PolylineCodec.encode(routedLeg(locations.get(i), locations.get(i + 1))));
+        }
+        when(segmentCache.findAll(locations, TravelMode.WALKING)).thenReturn(cached);
+    }
+
+    private void noneCached() {
+        when(segmentCache.findAll(anyList(), any()))
+                .thenAnswer(
+                        invocation -> {
+                            List<GeoLocation> locations = invocation.getArgument(0);
+                            return new ArrayList<>(Collections.nCopies(locations.size() - 1, null));
+                        });
+    }
+
+    @Test
+    void getRoutePoints_whenSegmentCached_shouldNotCallApi() {
+        // Given
+        List<LatLng> cached =
+                List.of(new LatLng(42.0, -8.0), new LatLng(42.05, -8.02), new LatLng(42.1, -8.1));
+        when(segmentCache.find(A, B, TravelMode.WALKING)).thenReturn(Optional.of(cached));
+
+        // When
+        List<LatLng> result = strategy.getRoutePoints(A, B);
+
+        // Then
+        assertThat(result).isEqualTo(cached);
+        assertThat(requests).isEmpty();
+        verify(segmentCache, never()).store(any(), any(), any(), any());
+    }
+
+    @Test
+    void getRoutePoints_whenNotCached_shouldRequestAndStoreSegment() {
+        // Given
+        when(segmentCache.find(A, B, TravelMode.WALKING)).thenReturn(Optional.empty());
+
+        // When
+        List<LatLng> result = strategy.getRoutePoints(A, B);
+
+        // Then
+        assertThat(result).isEqualTo(routedLeg(A, B));
+        assertThat(requests).containsExactly(List.of(A, B));
+        verify(segmentCache).store(A, B, TravelMode.WALKING, result);
+    }
+
+    @Test
+    void getFullRoutePoints_whenAllSegmentsCached_shouldStitchWithoutDuplicates() {
+        // Given
+        when(segmentCache.findAll(List.of(A, B, C), TravelMode.WALKING))
+                .thenReturn(
+                        Arrays.asList(
+                                PolylineCodec.encode(
+                                        List.of(
+                                                new LatLng(42.0, -8.0),
+                                                new LatLng(42.05, -8.05),
+                                                new LatLng(42.1, -8.1))),
+                                PolylineCodec.encode(
+                                        List.of(new LatLng(42.1, -8.1), new LatLng(42.2, -8.2)))));
+
+        // When
+        List<LatLng> result = strategy.getFullRoutePoints(List.of(A, B, C));
+
+        // Then
+        assertThat(result).hasSize(4);
+        assertThat(result.get(3).lat).isEqualTo(42.2);
+        assertThat(requests).isEmpty();
+        verifyNoInteractions(geoApiContext);
+    }
+
+    @Test
+    void getFullRoutePoints_shouldPackUpTo10WaypointsPerRequest() {
+        // Given — 30 locations, 29 segments, nothing cached
+        List<GeoLocation> locations = path(30);
+        noneCached();
+
+        // When
+        List<LatLng> result = strategy.getFullRoutePoints(locations);
+
+        // Then — 11 segments in each of the first two requests, the remaining 7 in the third
+        assertThat(requests).hasSize(3);
+        assertThat(requests)
+                .containsExactlyInAnyOrder(
+                        locations.subList(0, 12),
+                        locations.subList(11, 23),
+                        locations.subList(22, 30));
+        assertThat(result).hasSize(29 * 2 + 1);
+        for (int i = 0; i < 30; i++) {
+            assertThat(result.get(i * 2).lat).isCloseTo(locations.get(i).getLat(), within(1e-5));
+        }
+        verify(segmentCache, times(29)).store(any(), any(), any(), any());
+    }
+
+    @Test
+    void getFullRoutePoints_whenSomeSegmentsCached_shouldOnlyRequestUncachedRuns() {
+        // Given — segments 0, 1 and 5 cached; 2..4 are not
+        List<GeoLocation> locations = path(7);
+        cacheSegments(locations, 0, 1, 5);
+
+        // When
+        List<LatLng> result = strategy.getFullRoutePoints(locations);
+
+        // Then
+        assertThat(requests).containsExactly(locations.subList(2, 6));
+        assertThat(result).hasSize(6 * 2 + 1);
+        verify(segmentCache, times(3)).store(any(), any(), any(), any());
+    }
+
+    @Test
+    void getFullRouteEncoded_shouldMatchEncodedFullRoutePoints() {
+        // Given — segments 0, 1 and 5 cached; 2..4 are not
+        List<GeoLocation> locations = path(7);
+        cacheSegments(locations, 0, 1, 5);
+
+        // When
+        String encoded = strategy.getFullRouteEncoded(locations);
+
+        // Then
+        assertThat(encoded).isEqualTo(PolylineCodec.encode(strategy.getFullRoutePoints(locations)));
+        assertThat(PolylineCodec.decode(encoded)).hasSize(6 * 2 + 1);
+    }
+
+    @Test
+    void getFullRouteEncoded_whenFewerThanTwoLocations_shouldReturnNull() {
+        // When / Then
+        assertThat(strategy.getFullRouteEncoded(List.of(A))).isNull();
+        verifyNoInteractions(segmentCache);
+    }
+
+    @Test
+    void getFullRoutePoints_whenBatchingDisabled_shouldRequestEachSegmentAndKeepOrder() {
+        // Given
+        properties.setMaxWaypointsPerRequest(0);
+        strategy = newStrategy();
+        List<GeoLocation> locations = path(10);
+        noneCached();
+
+        // When
+        List<LatLng> result = strategy.getFullRoutePoints(locations);
+
+        // Then
+        assertThat(requests).hasSize(9).allSatisfy(stops -> assertThat(stops).hasSize(2));
+        assertThat(result).hasSize(9 * 2 + 1);
+        for (int i = 0; i < 10; i++) {
+            assertThat(result.get(i * 2).lat).isCloseTo(locations.get(i).getLat(), within(1e-5));
+        }
+    }
+
+    @Test
+    void getFullRoutePoints_whenOneBatchFails_shouldFallBackForThatBatchOnly() {
+        // Given — two batches of three segments; the second one fails
+        properties.setMaxWaypointsPerRequest(2);
+        strategy = newStrategy();
+        List<GeoLocation> locations = path(7);
+        failingStop = locations.get(5);
+        noneCached();
+
+        // When
+        List<LatLng> result = strategy.getFullRoutePoints(locations);
+
+        // Then — routed legs (3 points) first, straight lines (2 points) after
+        assertThat(requests).hasSize(2);
+        assertThat(result).hasSize(3 * 2 + 3 + 1);
+        assertThat(result.getLast().lat).isCloseTo(locations.getLast().getLat(), within(1e-5));
+        verify(segmentCache, times(3)).store(any(), any(), any(), any());
+    }
+
+    @Test
+    void getFullRoutePoints_shouldStoreSegmentsOnCallingThread() {
+        // Given — three batches of two segments, fetched concurrently
+        properties.setMaxWaypointsPerRequest(1);
+        strategy = newStrategy();
+        List<GeoLocation> locations = path(7);
+        noneCached();
+        Thread caller = Thread.currentThread();
+        List<Thread> storingThreads = new CopyOnWriteArrayList<>();
+        doAnswer(
+                        invocation -> {
+                            storingThreads.add(Thread.currentThread());
+                            return null;
+                        })
+                .when(segmentCache)
+                .store(any(), any(), any(), any());
+
+        // When
+        strategy.getFullRoutePoints(locations);
+
+        // Then
+        assertThat(requests).hasSize(3);
+        assertThat(storingThreads).hasSize(6).containsOnly(caller);
+    }
+
+    @Test
+    void splitAtLegEnds_shouldCutOverviewAtPointsClosestToLegEnds() {
+        // Given — an overview that passes near, but not exactly through, the waypoint
+        List<LatLng> overview =
+                List.of(
+                        new LatLng(42.0, -8.0),
+                        new LatLng(42.05, -8.05),
+                        new LatLng(42.10001, -8.10001),
+                        new LatLng(42.15, -8.15),
+                        new LatLng(42.2, -8.2));
+        List<LatLng> legEnds = List.of(new LatLng(42.1, -8.1), new LatLng(42.2, -8.2));
+
+        // When
+        List<List<LatLng>> legs = GoogleDirectionsRouteStrategy.splitAtLegEnds(overview, legEnds);
+
+        // Then
+        assertThat(legs).hasSize(2);
+        assertThat(legs.get(0)).containsExactlyElementsOf(overview.subList(0, 3));
+        assertThat(legs.get(1)).containsExactlyElementsOf(overview.subList(2, 5));
+    }
+
+    @Test
+    void splitAtLegEnds_whenRouteRevisitsLegEnd_shouldSearchFromPreviousCut() {
+        // Given — an out-and-back route whose second leg ends where it started
+        List<LatLng> overview =
+                List.of(
+                        new LatLng(42.0, -8.0),
+                        new LatLng(42.1, -8.1),
+                        new LatLng(42.2, -8.2),
+                        new LatLng(42.1, -8.1),
+                        new LatLng(42.0, -8.0));
+        List<LatLng> legEnds =
+                List.of(new LatLng(42.2, -8.2), new LatLng(42.1, -8.1), new LatLng(42.0, -8.0));
+
+        // When
+        List<List<LatLng>> legs = GoogleDirectionsRouteStrategy.splitAtLegEnds(overview, legEnds);
+
+        // Then
+        assertThat(legs).hasSize(3);
+        assertThat(legs.get(0)).containsExactlyElementsOf(overview.subList(0, 3));
+        assertThat(legs.get(1)).containsExactlyElementsOf(overview.subList(2, 4));
+        assertThat(legs.get(2)).containsExactlyElementsOf(overview.subList(3, 5));
+    }
+}
@@ -0,0 +1,145 @@
+package com.tomassirio.wanderer.command.websocket;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.tomassirio.wanderer.command.config.properties.WebSocketBroadcastProperties;
+import com.tomassirio.wanderer.command.event.Broadcastable;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BroadcastDispatcherTest {
+
+    private WebSocketEventService webSocketEventService;
+    private WebSocketBroadcastProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private BroadcastDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        webSocketEventService = mock(WebSocketEventService.class);
+        properties = new WebSocketBroadcastProperties();
+        properties.setBatchWindow(Duration.ofMillis(200));
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (dispatcher != null) {
+            dispatcher.stop();
+        }
+    }
+
+    @Test
+    void submit_shouldBatchEventsPerTopicWithinWindow() {
+        // Given
+        dispatcher = new BroadcastDispatcher(webSocketEventService, properties, meterRegistry);
+        dispatcher.start();
+        Broadcastable tripUpdated = event("/topic/trips/1");
+        Broadcastable commentAdded = event("/topic/trips/2");
+        Broadcastable polylineUpdated = event("/topic/trips/1");
+
+        // When
+        dispatcher.submit(tripUpdated);
+        dispatcher.submit(commentAdded);
+        dispatcher.submit(polylineUpdated);
+
+        // Then
+        verify(webSocketEventService, timeout(2000))
+                .broadcast("/topic/trips/1", List.of(tripUpdated, polylineUpdated));
+        verify(webSocketEventService, timeout(2000))
+                .broadcast("/topic/trips/2", List.of(commentAdded));
+    }
+
+    @Test
+    void submit_shouldNotBroadcastOnCallingThread() {
+        // Given
+        dispatcher = new BroadcastDispatcher(webSocketEventService, properties, meterRegistry);
+        dispatcher.start();
+
+        // When
+        boolean accepted = dispatcher.submit(event("/topic/trips/1"));
+
+        // Then
+        assertThat(accepted).isTrue();
+        verify(webSocketEventService, never()).broadcast(anyString(), anyList());
+    }
+
+    @Test
+    void submit_whenOneTopicPublishesSlowly_shouldStillBroadcastOtherTopics() throws Exception {
+        // Given
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(
+                        invocation -> {
+                            release.await();
+                            return null;
+                        })
+                .when(webSocketEventService)
+                .broadcast(eq("/topic/trips/1"), anyList());
+        dispatcher = new BroadcastDispatcher(webSocketEventService, properties, meterRegistry);
+        dispatcher.start();
+        Broadcastable slow = event("/topic/trips/1");
+        Broadcastable fast = event("/topic/trips/2");
+
+        // When
+        dispatcher.submit(slow);
+        verify(webSocketEventService, timeout(2000)).broadcast("/topic/trips/1", List.of(slow));
+        dispatcher.submit(fast);
+
+        // Then
+        verify(webSocketEventService, timeout(2000)).broadcast("/topic/trips/2", List.of(fast));
+        release.countDown();
+    }
+
+    @Test
+    void submit_whenQueueFull_shouldDropEventAndCountIt() {
+        // Given
+        properties.setQueueCapacity(1);
+        dispatcher = new BroadcastDispatcher(webSocketEventService, properties, meterRegistry);
+
+        // When
+        boolean first = dispatcher.submit(event("/topic/trips/1"));
+        boolean second = dispatcher.submit(event("/topic/trips/1"));
+
+        // Then
+        assertThat(first).isTrue();
+        assertThat(second).isFalse();
+        assertThat(meterRegistry.get("websocket.broadcast.rejected").counter().count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void stop_shouldBroadcastEventsStillQueued() throws InterruptedException {
+        // Given
+        properties.setBatchWindow(Duration.ofSeconds(30));
+        dispatcher = new BroadcastDispatcher(webSocketEventService, properties, meterRegistry);
+        dispatcher.start();
+        Broadcastable event = event("/topic/trips/1");
+        dispatcher.submit(event);
+
+        // When
+        dispatcher.stop();
+
+        // Then
+        verify(webSocketEventService).broadcast("/topic/trips/1", List.of(event));
+    }
+
+    private static Broadcastable event(String topic) {
+        Broadcastable event = mock(Broadcastable.class);
+        when(event.getTopic()).thenReturn(topic);
+        return event;
+    }
+}
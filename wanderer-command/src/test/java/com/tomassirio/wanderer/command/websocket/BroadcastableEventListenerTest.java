@@ -14,7 +14,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 @ExtendWith(MockitoExtension.class)
 class BroadcastableEventListenerTest {
 
-    @Mock private WebSocketEventService webSocketEventService;
+    @Mock private BroadcastDispatcher broadcastDispatcher;
 
     @Mock private Broadcastable broadcastableEvent;
 
@@ -22,11 +22,11 @@ class BroadcastableEventListenerTest {
 
     @BeforeEach
     void setUp() {
-        listener = new BroadcastableEventListener(webSocketEventService);
+        listener = new BroadcastableEventListener(broadcastDispatcher);
     }
 
     @Test
-    void onBroadcastableEvent_shouldBroadcastEvent() {
+    void onBroadcastableEvent_shouldHandEventToDispatcher() {
         // Given
         UUID targetId = UUID.randomUUID();
         String eventType = "TEST_EVENT";
@@ -39,6 +39,6 @@ class BroadcastableEventListenerTest {
         listener.onBroadcastableEvent(broadcastableEvent);
 
         // Then
-        verify(webSocketEventService).broadcast(broadcastableEvent);
+        verify(broadcastDispatcher).submit(broadcastableEvent);
     }
 }
@@ -0,0 +1,65 @@
+package com.tomassirio.wanderer.command.websocket;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+
+class FrameEncodingTest {
+
+    private static final String JSON =
+            "{\"type\":\"TRIP_UPDATED\",\"tripId\":\"7b5c1c1e-5e0b-4e0c-9f2a-0d1c2b3a4f5e\","
+                    + "\"payload\":{\"lat\":42.88052,\"lon\":-8.54569,\"battery\":64,"
+                    + "\"message\":\"Buen Camino!\",\"tags\":[\"a\",\"b\"]}}";
+
+    private final TextMessage jsonFrame = WebSocketSessionManager.frame(JSON.getBytes(UTF_8));
+
+    @Test
+    void encode_asJson_shouldReturnSameFrame() throws Exception {
+        assertThat(FrameEncoding.JSON.encode(jsonFrame)).isSameAs(jsonFrame);
+    }
+
+    @Test
+    void encode_asCbor_shouldProduceEquivalentBinaryFrame() throws Exception {
+        // When
+        WebSocketMessage<?> encoded = FrameEncoding.CBOR.encode(jsonFrame);
+
+        // Then
+        assertThat(encoded).isInstanceOf(BinaryMessage.class);
+        JsonNode decoded =
+                new ObjectMapper(new CBORFactory())
+                        .readTree(((BinaryMessage) encoded).getPayload().array());
+        assertThat(decoded).isEqualTo(new ObjectMapper().readTree(JSON));
+        assertThat(encoded.getPayloadLength()).isLessThan(jsonFrame.getPayloadLength());
+    }
+
+    @Test
+    void encode_asSmile_shouldProduceEquivalentBinaryFrame() throws Exception {
+        // When
+        WebSocketMessage<?> encoded = FrameEncoding.SMILE.encode(jsonFrame);
+
+        // Then
+        assertThat(encoded).isInstanceOf(BinaryMessage.class);
+        JsonNode decoded =
+                new ObjectMapper(new SmileFactory())
+                        .readTree(((BinaryMessage) encoded).getPayload().array());
+        assertThat(decoded).isEqualTo(new ObjectMapper().readTree(JSON));
+    }
+
+    @Test
+    void of_shouldResolveNamesCaseInsensitivelyAndDefaultToJson() {
+        assertThat(FrameEncoding.of(null)).isEqualTo(FrameEncoding.JSON);
+        assertThat(FrameEncoding.of("cbor")).isEqualTo(FrameEncoding.CBOR);
+        assertThat(FrameEncoding.of("Smile")).isEqualTo(FrameEncoding.SMILE);
+        assertThatThrownBy(() -> FrameEncoding.of("msgpack"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
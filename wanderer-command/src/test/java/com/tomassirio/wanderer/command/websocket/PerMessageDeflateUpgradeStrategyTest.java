@@ -0,0 +1,46 @@
+package com.tomassirio.wanderer.command.websocket;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.Collections;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+class PerMessageDeflateUpgradeStrategyTest {
+
+    @Test
+    void withoutPerMessageDeflate_shouldHideOnlyTheDeflateOffer() {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(
+                "Sec-WebSocket-Extensions",
+                "permessage-deflate; client_max_window_bits, x-custom-extension");
+        request.addHeader("Sec-WebSocket-Key", "dGhlIHNhbXBsZSBub25jZQ==");
+
+        // When
+        HttpServletRequest wrapped =
+                PerMessageDeflateUpgradeStrategy.withoutPerMessageDeflate(request);
+
+        // Then
+        assertThat(wrapped.getHeader("sec-websocket-extensions")).isEqualTo("x-custom-extension");
+        assertThat(Collections.list(wrapped.getHeaders("Sec-WebSocket-Extensions")))
+                .containsExactly("x-custom-extension");
+        assertThat(wrapped.getHeader("Sec-WebSocket-Key")).isEqualTo("dGhlIHNhbXBsZSBub25jZQ==");
+    }
+
+    @Test
+    void withoutPerMessageDeflate_whenOnlyDeflateOffered_shouldDropHeader() {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Sec-WebSocket-Extensions", "permessage-deflate");
+
+        // When
+        HttpServletRequest wrapped =
+                PerMessageDeflateUpgradeStrategy.withoutPerMessageDeflate(request);
+
+        // Then
+        assertThat(wrapped.getHeader("Sec-WebSocket-Extensions")).isNull();
+        assertThat(Collections.list(wrapped.getHeaders("Sec-WebSocket-Extensions"))).isEmpty();
+    }
+}
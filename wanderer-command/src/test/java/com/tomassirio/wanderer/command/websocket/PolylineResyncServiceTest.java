@@ -0,0 +1,72 @@
+package com.tomassirio.wanderer.command.websocket;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.tomassirio.wanderer.command.event.Broadcastable;
+import com.tomassirio.wanderer.command.event.PolylineUpdatedEvent;
+import com.tomassirio.wanderer.command.repository.TripRepository;
+import com.tomassirio.wanderer.command.websocket.payload.PolylineUpdatedPayload;
+import com.tomassirio.wanderer.commons.domain.Trip;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.socket.WebSocketSession;
+
+@ExtendWith(MockitoExtension.class)
+class PolylineResyncServiceTest {
+
+    @Mock private TripRepository tripRepository;
+    @Mock private WebSocketEventService webSocketEventService;
+    @Mock private WebSocketSession session;
+
+    @InjectMocks private PolylineResyncService polylineResyncService;
+
+    @Test
+    void resync_shouldSendFullPolylineAndVersionToSession() {
+        // Given
+        UUID tripId = UUID.randomUUID();
+        Trip trip =
+                Trip.builder()
+                        .id(tripId)
+                        .encodedPolyline("_p~iF~ps|U_ulLnnqC")
+                        .polylineVersion(7L)
+                        .build();
+        when(tripRepository.findById(tripId)).thenReturn(Optional.of(trip));
+        ArgumentCaptor<PolylineUpdatedEvent> event =
+                ArgumentCaptor.forClass(PolylineUpdatedEvent.class);
+
+        // When
+        polylineResyncService.resync(session, tripId);
+
+        // Then
+        verify(webSocketEventService).sendTo(eq(session), event.capture());
+        PolylineUpdatedPayload payload =
+                (PolylineUpdatedPayload) event.getValue().toWebSocketPayload();
+        assertThat(payload.getEncodedPolyline()).isEqualTo("_p~iF~ps|U_ulLnnqC");
+        assertThat(payload.getEncodedSuffix()).isNull();
+        assertThat(payload.getVersion()).isEqualTo(7L);
+    }
+
+    @Test
+    void resync_whenTripNotFound_shouldSendNothing() {
+        // Given
+        UUID tripId = UUID.randomUUID();
+        when(tripRepository.findById(tripId)).thenReturn(Optional.empty());
+
+        // When
+        polylineResyncService.resync(session, tripId);
+
+        // Then
+        verify(webSocketEventService, never()).sendTo(any(), any(Broadcastable.class));
+    }
+}
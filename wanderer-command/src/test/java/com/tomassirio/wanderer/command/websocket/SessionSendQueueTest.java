@@ -0,0 +1,172 @@
+package com.tomassirio.wanderer.command.websocket;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+class SessionSendQueueTest {
+
+    private WebSocketSession session;
+    private CountDownLatch firstSendStarted;
+    private CountDownLatch release;
+    private List<String> sent;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        session = mock(WebSocketSession.class);
+        firstSendStarted = new CountDownLatch(1);
+        release = new CountDownLatch(1);
+        sent = new CopyOnWriteArrayList<>();
+        when(session.getId()).thenReturn("session-1");
+        when(session.isOpen()).thenReturn(true);
+        doAnswer(
+                        invocation -> {
+                            firstSendStarted.countDown();
+                            release.await();
+                            sent.add(
+                                    ((WebSocketMessage<?>) invocation.getArgument(0))
+                                            .getPayload()
+                                            .toString());
+                            return null;
+                        })
+                .when(session)
+                .sendMessage(any());
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+    }
+
+    @Test
+    void offer_shouldSendFramesInOrderFromASingleThread() throws Exception {
+        // Given
+        SessionSendQueue queue = queue(10, OutboundOverflowPolicy.DROP_OLDEST);
+        release.countDown();
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            assertThat(queue.offer(frame("m" + i), null)).isEqualTo(SessionSendQueue.Offer.QUEUED);
+        }
+
+        // Then
+        verify(session, timeout(1000).times(5)).sendMessage(any());
+        assertThat(sent).containsExactly("m0", "m1", "m2", "m3", "m4");
+    }
+
+    @Test
+    void offer_whenFullUnderDropOldest_shouldDiscardOldestQueuedFrame() throws Exception {
+        // Given
+        SessionSendQueue queue = queue(2, OutboundOverflowPolicy.DROP_OLDEST);
+        queue.offer(frame("in-flight"), null);
+        awaitFirstSend();
+        queue.offer(frame("a"), null);
+        queue.offer(frame("b"), null);
+
+        // When
+        SessionSendQueue.Offer result = queue.offer(frame("c"), null);
+        release.countDown();
+
+        // Then
+        assertThat(result).isEqualTo(SessionSendQueue.Offer.DROPPED_OLDEST);
+        verify(session, timeout(1000).times(3)).sendMessage(any());
+        assertThat(sent).containsExactly("in-flight", "b", "c");
+    }
+
+    @Test
+    void offer_whenFullUnderCoalesce_shouldReplaceFrameWithSameKey() throws Exception {
+        // Given
+        SessionSendQueue queue = queue(2, OutboundOverflowPolicy.COALESCE);
+        queue.offer(frame("in-flight"), "TRIP_UPDATED|trip-1");
+        awaitFirstSend();
+        queue.offer(frame("comment"), "COMMENT_ADDED|trip-1");
+        queue.offer(frame("update-1"), "TRIP_UPDATED|trip-1");
+
+        // When
+        SessionSendQueue.Offer result = queue.offer(frame("update-2"), "TRIP_UPDATED|trip-1");
+        release.countDown();
+
+        // Then
+        assertThat(result).isEqualTo(SessionSendQueue.Offer.COALESCED);
+        verify(session, timeout(1000).times(3)).sendMessage(any());
+        assertThat(sent).containsExactly("in-flight", "comment", "update-2");
+    }
+
+    @Test
+    void offer_whenFullUnderCoalesceWithoutMatchingKey_shouldDropOldest() throws Exception {
+        // Given
+        SessionSendQueue queue = queue(1, OutboundOverflowPolicy.COALESCE);
+        queue.offer(frame("in-flight"), null);
+        awaitFirstSend();
+        queue.offer(frame("a"), "A");
+
+        // When
+        SessionSendQueue.Offer result = queue.offer(frame("b"), "B");
+
+        // Then
+        assertThat(result).isEqualTo(SessionSendQueue.Offer.DROPPED_OLDEST);
+        assertThat(queue.depth()).isEqualTo(1);
+    }
+
+    @Test
+    void offer_whenFullUnderDisconnect_shouldCloseQueue() throws Exception {
+        // Given
+        SessionSendQueue queue = queue(1, OutboundOverflowPolicy.DISCONNECT);
+        queue.offer(frame("in-flight"), null);
+        awaitFirstSend();
+        queue.offer(frame("a"), null);
+
+        // When
+        SessionSendQueue.Offer result = queue.offer(frame("b"), null);
+
+        // Then
+        assertThat(result).isEqualTo(SessionSendQueue.Offer.DISCONNECT);
+        assertThat(queue.depth()).isZero();
+        assertThat(queue.offer(frame("c"), null)).isEqualTo(SessionSendQueue.Offer.CLOSED);
+    }
+
+    @Test
+    void offer_whenSendExceedsTimeLimit_shouldDisconnectEvenWithRoomLeft() throws Exception {
+        // Given
+        SessionSendQueue queue =
+                new SessionSendQueue(
+                        session, 10, OutboundOverflowPolicy.DROP_OLDEST, Duration.ofMillis(20));
+        queue.offer(frame("in-flight"), null);
+        awaitFirstSend();
+        Thread.sleep(50);
+
+        // When
+        SessionSendQueue.Offer result = queue.offer(frame("a"), null);
+
+        // Then
+        assertThat(result).isEqualTo(SessionSendQueue.Offer.DISCONNECT);
+    }
+
+    private SessionSendQueue queue(int capacity, OutboundOverflowPolicy policy) {
+        return new SessionSendQueue(session, capacity, policy, Duration.ofSeconds(10));
+    }
+
+    private void awaitFirstSend() throws InterruptedException {
+        assertThat(firstSendStarted.await(1, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private static TextMessage frame(String payload) {
+        return new TextMessage(payload);
+    }
+}
@@ -0,0 +1,220 @@
+package com.tomassirio.wanderer.command.websocket;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tomassirio.wanderer.command.event.TripUpdatedEvent;
+import com.tomassirio.wanderer.commons.domain.GeoLocation;
+import com.tomassirio.wanderer.commons.domain.WeatherCondition;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketExtension;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+/**
+ * JMH benchmark of one {@link TripUpdatedEvent} broadcast to 10k subscribers,
+ * comparing a new {@link TextMessage} per subscriber (the previous behaviour) with a single shared
+ * pre-encoded frame.
+ *
+ * <p>Both variants hand the frame to every session synchronously, the way a session's send queue
+ * drains it, so each invocation ends once every subscriber has been sent the frame. The session
+ * queues are left out: their drainers would keep running after an invocation returns. Subscribers
+ * are in-memory sessions that read the frame as the {@link Transport} would.
+ *
+ * <p>Run with (after {@code mvn install -pl commons -am -DskipTests}):
+ *
+ * <pre>{@code
+ * mvn -pl wanderer-command test-compile exec:exec -Dexec.classpathScope=test \
+ *     -Dexec.executable=java \
+ *     -Dexec.args="-cp %classpath org.openjdk.jmh.Main WebSocketBroadcastBenchmark -prof gc"
+ * }</pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WebSocketBroadcastBenchmark {
+
+    /** How the transport reads a text frame it is asked to send. */
+    public enum Transport {
+        /** Takes the String payload and encodes it on the socket, as Tomcat's sendText does. */
+        STRING,
+        /** Takes the encoded bytes, as the binary frame encodings do. */
+        BYTES
+    }
+
+    @Param({"10000"})
+    private int subscribers;
+
+    @Param({"STRING", "BYTES"})
+    private Transport transport;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private List<CountingSession> sessions;
+    private WebSocketEvent event;
+
+    @Setup
+    public void setUp() {
+        sessions =
+                IntStream.range(0, subscribers)
+                        .mapToObj(i -> new CountingSession("session-" + i, transport))
+                        .toList();
+
+        TripUpdatedEvent tripUpdated =
+                TripUpdatedEvent.builder()
+                        .tripId(UUID.randomUUID())
+                        .location(GeoLocation.builder().lat(42.88052).lon(-8.54569).build())
+                        .batteryLevel(64)
+                        .message("Made it to the cathedral — Buen Camino!")
+                        .city("Santiago de Compostela")
+                        .country("Spain")
+                        .temperatureCelsius(17.5)
+                        .weatherCondition(WeatherCondition.PARTLY_CLOUDY)
+                        .timestamp(Instant.now())
+                        .build();
+        event =
+                WebSocketEvent.create(
+                        tripUpdated.getEventType(),
+                        tripUpdated.getTargetId(),
+                        tripUpdated.toWebSocketPayload());
+    }
+
+    @Benchmark
+    public long perSubscriberMessage() throws Exception {
+        String message = objectMapper.writeValueAsString(event);
+        for (CountingSession session : sessions) {
+            session.sendMessage(new TextMessage(message));
+        }
+        return sessions.getFirst().bytesSent.get();
+    }
+
+    @Benchmark
+    public long sharedFrame() throws Exception {
+        TextMessage frame = WebSocketSessionManager.frame(objectMapper.writeValueAsBytes(event));
+        for (CountingSession session : sessions) {
+            session.sendMessage(frame);
+        }
+        return sessions.getFirst().bytesSent.get();
+    }
+
+    /** Open session that only counts the encoded bytes of the frames it is asked to send. */
+    static final class CountingSession implements WebSocketSession {
+
+        private final String id;
+        private final Transport transport;
+        final AtomicLong bytesSent = new AtomicLong();
+
+        CountingSession(String id, Transport transport) {
+            this.id = id;
+            this.transport = transport;
+        }
+
+        @Override
+        public void sendMessage(WebSocketMessage<?> message) {
+            TextMessage text = (TextMessage) message;
+            int length =
+                    switch (transport) {
+                        case STRING -> text.getPayload().getBytes(StandardCharsets.UTF_8).length;
+                        case BYTES -> text.asBytes().length;
+                    };
+            bytesSent.addAndGet(length);
+        }
+
+        @Override
+        public String getId() {
+            return id;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public URI getUri() {
+            return null;
+        }
+
+        @Override
+        public HttpHeaders getHandshakeHeaders() {
+            return HttpHeaders.EMPTY;
+        }
+
+        @Override
+        public Map<String, Object> getAttributes() {
+            return Map.of();
+        }
+
+        @Override
+        public Principal getPrincipal() {
+            return null;
+        }
+
+        @Override
+        public InetSocketAddress getLocalAddress() {
+            return null;
+        }
+
+        @Override
+        public InetSocketAddress getRemoteAddress() {
+            return null;
+        }
+
+        @Override
+        public String getAcceptedProtocol() {
+            return null;
+        }
+
+        @Override
+        public void setTextMessageSizeLimit(int messageSizeLimit) {}
+
+        @Override
+        public int getTextMessageSizeLimit() {
+            return Integer.MAX_VALUE;
+        }
+
+        @Override
+        public void setBinaryMessageSizeLimit(int messageSizeLimit) {}
+
+        @Override
+        public int getBinaryMessageSizeLimit() {
+            return Integer.MAX_VALUE;
+        }
+
+        @Override
+        public List<WebSocketExtension> getExtensions() {
+            return List.of();
+        }
+
+        @Override
+        public void close() {}
+
+        @Override
+        public void close(CloseStatus status) {}
+    }
+}
@@ -0,0 +1,178 @@
+package com.tomassirio.wanderer.command.websocket;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tomassirio.wanderer.command.config.properties.WebSocketSubscriptionProperties;
+import com.tomassirio.wanderer.command.websocket.feed.TripFeedIndex;
+import com.tomassirio.wanderer.commons.security.JwtUtils;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.socket.PongMessage;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+@ExtendWith(MockitoExtension.class)
+class WebSocketConnectionHandlerTest {
+
+    private static final UUID USER_ID = UUID.randomUUID();
+
+    @Mock private JwtUtils jwtUtils;
+    @Mock private WebSocketSessionManager sessionManager;
+    @Mock private PolylineResyncService polylineResyncService;
+    @Mock private TripFeedIndex tripFeedIndex;
+    @Mock private WebSocketHeartbeat heartbeat;
+    @Mock private WebSocketSession session;
+
+    private WebSocketSubscriptionProperties subscriptionProperties;
+    private WebSocketConnectionHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        subscriptionProperties = new WebSocketSubscriptionProperties();
+        handler =
+                new WebSocketConnectionHandler(
+                        jwtUtils,
+                        new ObjectMapper(),
+                        sessionManager,
+                        polylineResyncService,
+                        tripFeedIndex,
+                        heartbeat,
+                        subscriptionProperties);
+    }
+
+    @Test
+    void subscribe_withSeveralDestinations_shouldSubscribeToEach() throws Exception {
+        // Given
+        String trip1 = WebSocketEventType.tripTopic(UUID.randomUUID());
+        String trip2 = WebSocketEventType.tripTopic(UUID.randomUUID());
+
+        // When
+        handler.handleMessage(
+                session,
+                new TextMessage(
+                        "{\"type\":\"SUBSCRIBE\",\"destinations\":[\""
+                                + trip1
+                                + "\",\""
+                                + trip2
+                                + "\",\"/topic/anything\"],\"encoding\":\"cbor\"}"));
+
+        // Then
+        SubscriptionOptions cbor = new SubscriptionOptions(FrameEncoding.CBOR, false, false);
+        verify(sessionManager).subscribe(session, trip1, cbor);
+        verify(sessionManager).subscribe(session, trip2, cbor);
+        verify(sessionManager, never()).subscribe(session, "/topic/anything", cbor);
+    }
+
+    @Test
+    void subscribe_withTooManyDestinations_shouldBeRejected() throws Exception {
+        // Given
+        subscriptionProperties.setMaxDestinationsPerMessage(1);
+        String trip1 = WebSocketEventType.tripTopic(UUID.randomUUID());
+        String trip2 = WebSocketEventType.tripTopic(UUID.randomUUID());
+
+        // When
+        handler.handleMessage(
+                session,
+                new TextMessage(
+                        "{\"type\":\"SUBSCRIBE\",\"destination\":\""
+                                + trip1
+                                + "\",\"destinations\":[\""
+                                + trip2
+                                + "\"]}"));
+
+        // Then
+        verify(sessionManager, never()).subscribe(any(), anyString(), any());
+    }
+
+    @Test
+    void subscribe_toFollowingFeed_shouldUseUserFeedTopicAndActivateIndex() throws Exception {
+        // Given
+        when(sessionManager.getUserId(session)).thenReturn(USER_ID);
+
+        // When
+        handler.handleMessage(
+                session,
+                new TextMessage(
+                        "{\"type\":\"SUBSCRIBE\",\"destination\":\"/topic/feeds/following\"}"));
+
+        // Then
+        verify(sessionManager)
+                .subscribe(
+                        session,
+                        WebSocketEventType.followingFeedTopic(USER_ID),
+                        SubscriptionOptions.DEFAULT);
+        verify(tripFeedIndex).activate(USER_ID);
+    }
+
+    @Test
+    void subscribe_toPromotedFeed_shouldSubscribeToSharedTopic() throws Exception {
+        // When
+        handler.handleMessage(
+                session,
+                new TextMessage(
+                        "{\"type\":\"SUBSCRIBE\",\"destination\":\"/topic/feeds/promoted\"}"));
+
+        // Then
+        verify(sessionManager)
+                .subscribe(
+                        session,
+                        WebSocketEventType.PROMOTED_FEED_TOPIC,
+                        SubscriptionOptions.DEFAULT);
+        verify(tripFeedIndex, never()).activate(any());
+    }
+
+    @Test
+    void subscribe_withPolylineDeltasAndBatches_shouldOptIntoBoth() throws Exception {
+        // Given
+        String trip = WebSocketEventType.tripTopic(UUID.randomUUID());
+
+        // When
+        handler.handleMessage(
+                session,
+                new TextMessage(
+                        "{\"type\":\"SUBSCRIBE\",\"destination\":\""
+                                + trip
+                                + "\",\"polylineDeltas\":true,\"batches\":true}"));
+
+        // Then
+        verify(sessionManager)
+                .subscribe(session, trip, new SubscriptionOptions(FrameEncoding.JSON, true, true));
+    }
+
+    @Test
+    void unsubscribe_fromFollowingFeed_shouldUseUserFeedTopic() throws Exception {
+        // Given
+        when(sessionManager.getUserId(session)).thenReturn(USER_ID);
+
+        // When
+        handler.handleMessage(
+                session,
+                new TextMessage(
+                        "{\"type\":\"UNSUBSCRIBE\",\"destinations\":[\"/topic/feeds/following\"]}"));
+
+        // Then
+        verify(sessionManager).unsubscribe(session, WebSocketEventType.followingFeedTopic(USER_ID));
+    }
+
+    @Test
+    void handleMessage_shouldRecordSessionActivity() throws Exception {
+        // When
+        handler.handleMessage(session, new TextMessage("{\"type\":\"PING\"}"));
+        handler.handleMessage(session, new PongMessage());
+
+        // Then
+        verify(heartbeat, times(2)).touch(session);
+        verify(sessionManager).send(eq(session), any(TextMessage.class));
+    }
+}
@@ -0,0 +1,173 @@
+package com.tomassirio.wanderer.command.websocket;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.maps.model.LatLng;
+import com.tomassirio.wanderer.command.event.Broadcastable;
+import com.tomassirio.wanderer.command.event.PolylineUpdatedEvent;
+import com.tomassirio.wanderer.command.event.TripUpdatedEvent;
+import com.tomassirio.wanderer.command.service.helper.PolylineCodec;
+import com.tomassirio.wanderer.commons.domain.GeoLocation;
+import com.tomassirio.wanderer.commons.domain.WeatherCondition;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+
+/**
+ * JMH benchmark of the cost of turning an event into the bytes written on the wire, for each {@link
+ * FrameEncoding} with and without permessage-deflate.
+ *
+ * <p>Each invocation serializes the event to JSON, encodes it for the subscription and, when {@code
+ * deflate} is set, compresses it the way permessage-deflate does (raw deflate, sync flush, context
+ * takeover). The size of one frame on the wire for every combination is printed at the start of
+ * each trial.
+ *
+ * <p>Run with (after {@code mvn install -pl commons -am -DskipTests}):
+ *
+ * <pre>{@code
+ * mvn -pl wanderer-command test-compile exec:exec -Dexec.classpathScope=test \
+ *     -Dexec.executable=java \
+ *     -Dexec.args="-cp %classpath org.openjdk.jmh.Main WebSocketEncodingBenchmark -prof gc"
+ * }</pre>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WebSocketEncodingBenchmark {
+
+    @Param({"TRIP_UPDATED", "BATCH", "POLYLINE"})
+    private String event;
+
+    @Param({"JSON", "CBOR", "SMILE"})
+    private FrameEncoding encoding;
+
+    @Param({"false", "true"})
+    private boolean deflate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final byte[] deflateBuffer = new byte[1 << 20];
+
+    private WebSocketEvent webSocketEvent;
+    private Deflater deflater;
+
+    @Setup
+    public void setUp() throws Exception {
+        webSocketEvent = createEvent(event);
+        deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        System.out.printf(
+                "%n%s as %s: %d bytes, %d bytes deflated%n",
+                event, encoding, payload(encode()).length, deflateLength(payload(encode())));
+    }
+
+    @TearDown
+    public void tearDown() {
+        deflater.end();
+    }
+
+    @Benchmark
+    public int toWire() throws Exception {
+        byte[] payload = payload(encode());
+        return deflate ? deflateLength(payload) : payload.length;
+    }
+
+    private WebSocketMessage<?> encode() throws Exception {
+        TextMessage json =
+                WebSocketSessionManager.frame(objectMapper.writeValueAsBytes(webSocketEvent));
+        return encoding.encode(json);
+    }
+
+    private int deflateLength(byte[] payload) {
+        deflater.setInput(payload);
+        int length = 0;
+        int written;
+        do {
+            written = deflater.deflate(deflateBuffer, 0, deflateBuffer.length, Deflater.SYNC_FLUSH);
+            length += written;
+        } while (written == deflateBuffer.length);
+        return length;
+    }
+
+    private static byte[] payload(WebSocketMessage<?> message) {
+        return message instanceof BinaryMessage binary
+                ? binary.getPayload().array()
+                : ((TextMessage) message).asBytes();
+    }
+
+    private static WebSocketEvent createEvent(String kind) {
+        UUID tripId = UUID.randomUUID();
+        return switch (kind) {
+            case "TRIP_UPDATED" -> toWebSocketEvent(tripUpdated(tripId, 0));
+            case "BATCH" -> {
+                List<WebSocketEvent> events = new ArrayList<>();
+                for (int i = 0; i < 20; i++) {
+                    events.add(toWebSocketEvent(tripUpdated(tripId, i)));
+                }
+                yield WebSocketEvent.create(WebSocketEventType.BATCH, tripId, events);
+            }
+            case "POLYLINE" -> toWebSocketEvent(fullPolyline(tripId, 2000));
+            default -> throw new IllegalArgumentException(kind);
+        };
+    }
+
+    private static TripUpdatedEvent tripUpdated(UUID tripId, int step) {
+        return TripUpdatedEvent.builder()
+                .tripId(tripId)
+                .tripUpdateId(UUID.randomUUID())
+                .location(
+                        GeoLocation.builder()
+                                .lat(42.88052 + step * 0.0013)
+                                .lon(-8.54569 + step * 0.0021)
+                                .build())
+                .batteryLevel(64 - step)
+                .message("Made it to the cathedral — Buen Camino!")
+                .city("Santiago de Compostela")
+                .country("Spain")
+                .temperatureCelsius(17.5)
+                .weatherCondition(WeatherCondition.PARTLY_CLOUDY)
+                .timestamp(Instant.now())
+                .build();
+    }
+
+    private static PolylineUpdatedEvent fullPolyline(UUID tripId, int points) {
+        Random random = new Random(42);
+        List<LatLng> route = new ArrayList<>(points);
+        double lat = 42.0;
+        double lng = -8.0;
+        for (int i = 0; i < points; i++) {
+            lat += (random.nextDouble() - 0.3) * 0.001;
+            lng += (random.nextDouble() - 0.3) * 0.001;
+            route.add(new LatLng(lat, lng));
+        }
+        return PolylineUpdatedEvent.builder()
+                .tripId(tripId)
+                .encodedPolyline(PolylineCodec.encode(route))
+                .version(1L)
+                .build();
+    }
+
+    private static WebSocketEvent toWebSocketEvent(Broadcastable event) {
+        return WebSocketEvent.create(
+                event.getEventType(), event.getTargetId(), event.toWebSocketPayload());
+    }
+}
@@ -1,9 +1,14 @@
 package com.tomassirio.wanderer.command.websocket;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.tomassirio.wanderer.command.event.CommentAddedEvent;
 import com.tomassirio.wanderer.command.event.CommentReactionEvent;
@@ -11,18 +16,25 @@ import com.tomassirio.wanderer.command.event.FriendRequestSentEvent;
 import com.tomassirio.wanderer.command.event.PolylineUpdatedEvent;
 import com.tomassirio.wanderer.command.event.TripUpdatedEvent;
 import com.tomassirio.wanderer.command.event.UserFollowedEvent;
+import com.tomassirio.wanderer.command.websocket.bus.BroadcastBus;
 import com.tomassirio.wanderer.commons.domain.GeoLocation;
 import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
 
 @ExtendWith(MockitoExtension.class)
 class WebSocketEventServiceTest {
 
+    @Mock private BroadcastBus broadcastBus;
+
     @Mock private WebSocketSessionManager sessionManager;
 
     private WebSocketEventService service;
@@ -30,7 +42,7 @@ class WebSocketEventServiceTest {
     @BeforeEach
     void setUp() {
         ObjectMapper objectMapper = new ObjectMapper();
-        service = new WebSocketEventService(sessionManager, objectMapper);
+        service = new WebSocketEventService(broadcastBus, sessionManager, objectMapper);
     }
 
     @Test
@@ -54,7 +66,12 @@ class WebSocketEventServiceTest {
         service.broadcast(event);
 
         // Then
-        verify(sessionManager).broadcast(eq("/topic/trips/" + tripId), anyString());
+        verify(broadcastBus)
+                .publish(
+                        eq("/topic/trips/" + tripId),
+                        any(byte[].class),
+                        anyString(),
+                        eq(Audience.ALL));
     }
 
     @Test
@@ -78,7 +95,12 @@ class WebSocketEventServiceTest {
         service.broadcast(event);
 
         // Then
-        verify(sessionManager).broadcast(eq("/topic/trips/" + tripId), anyString());
+        verify(broadcastBus)
+                .publish(
+                        eq("/topic/trips/" + tripId),
+                        any(byte[].class),
+                        anyString(),
+                        eq(Audience.ALL));
     }
 
     @Test
@@ -101,7 +123,12 @@ class WebSocketEventServiceTest {
         service.broadcast(event);
 
         // Then
-        verify(sessionManager).broadcast(eq("/topic/trips/" + tripId), anyString());
+        verify(broadcastBus)
+                .publish(
+                        eq("/topic/trips/" + tripId),
+                        any(byte[].class),
+                        anyString(),
+                        eq(Audience.ALL));
     }
 
     @Test
@@ -124,7 +151,12 @@ class WebSocketEventServiceTest {
         service.broadcast(event);
 
         // Then
-        verify(sessionManager).broadcast(eq("/topic/trips/" + tripId), anyString());
+        verify(broadcastBus)
+                .publish(
+                        eq("/topic/trips/" + tripId),
+                        any(byte[].class),
+                        anyString(),
+                        eq(Audience.ALL));
     }
 
     @Test
@@ -147,7 +179,12 @@ class WebSocketEventServiceTest {
         service.broadcast(event);
 
         // Then
-        verify(sessionManager).broadcast(eq("/topic/users/" + receiverId), anyString());
+        verify(broadcastBus)
+                .publish(
+                        eq("/topic/users/" + receiverId),
+                        any(byte[].class),
+                        anyString(),
+                        eq(Audience.ALL));
     }
 
     @Test
@@ -169,7 +206,12 @@ class WebSocketEventServiceTest {
         service.broadcast(event);
 
         // Then
-        verify(sessionManager).broadcast(eq("/topic/users/" + followedId), anyString());
+        verify(broadcastBus)
+                .publish(
+                        eq("/topic/users/" + followedId),
+                        any(byte[].class),
+                        anyString(),
+                        eq(Audience.ALL));
     }
 
     @Test
@@ -187,6 +229,143 @@ class WebSocketEventServiceTest {
         service.broadcast(event);
 
         // Then
-        verify(sessionManager).broadcast(eq("/topic/trips/" + tripId), anyString());
+        verify(broadcastBus)
+                .publish(
+                        eq("/topic/trips/" + tripId),
+                        any(byte[].class),
+                        anyString(),
+                        eq(Audience.ALL));
+    }
+
+    @Test
+    void broadcast_withSeveralEventsForTopic_shouldSendBatchFrameOnlyToBatchSubscribers()
+            throws Exception {
+        // Given
+        UUID tripId = UUID.randomUUID();
+        String topic = "/topic/trips/" + tripId;
+        TripUpdatedEvent tripUpdated =
+                TripUpdatedEvent.builder()
+                        .tripUpdateId(UUID.randomUUID())
+                        .tripId(tripId)
+                        .location(GeoLocation.builder().lat(42.88052).lon(-8.54569).build())
+                        .timestamp(Instant.now())
+                        .build();
+        PolylineUpdatedEvent polylineUpdated =
+                PolylineUpdatedEvent.builder().tripId(tripId).encodedPolyline("_p~iF~ps|U").build();
+        ArgumentCaptor<byte[]> batchFrame = ArgumentCaptor.forClass(byte[].class);
+        ArgumentCaptor<byte[]> singleFrames = ArgumentCaptor.forClass(byte[].class);
+
+        // When
+        service.broadcast(topic, List.of(tripUpdated, polylineUpdated));
+
+        // Then
+        verify(broadcastBus)
+                .publish(
+                        eq(topic),
+                        batchFrame.capture(),
+                        isNull(),
+                        eq(Audience.ALL.withBatches(true)));
+        JsonNode sent = new ObjectMapper().readTree(batchFrame.getValue());
+        assertThat(sent.get("type").asText()).isEqualTo(WebSocketEventType.BATCH);
+        assertThat(sent.get("tripId").asText()).isEqualTo(tripId.toString());
+        assertThat(sent.get("payload")).hasSize(2);
+        assertThat(sent.get("payload").get(0).get("type").asText())
+                .isEqualTo(WebSocketEventType.TRIP_UPDATED);
+        assertThat(sent.get("payload").get(1).get("type").asText())
+                .isEqualTo(WebSocketEventType.POLYLINE_UPDATED);
+
+        verify(broadcastBus, times(2))
+                .publish(
+                        eq(topic),
+                        singleFrames.capture(),
+                        anyString(),
+                        eq(Audience.ALL.withBatches(false)));
+        ObjectMapper mapper = new ObjectMapper();
+        assertThat(singleFrames.getAllValues())
+                .extracting(frame -> mapper.readTree(frame).get("type").asText())
+                .containsExactly(
+                        WebSocketEventType.TRIP_UPDATED, WebSocketEventType.POLYLINE_UPDATED);
+    }
+
+    @Test
+    void broadcast_withAppendedPolyline_shouldSendSuffixOnlyToDeltaSubscribers() throws Exception {
+        // Given
+        UUID tripId = UUID.randomUUID();
+        String topic = "/topic/trips/" + tripId;
+        PolylineUpdatedEvent event =
+                PolylineUpdatedEvent.builder()
+                        .tripId(tripId)
+                        .encodedPolyline("_p~iF~ps|U_ulLnnqC")
+                        .encodedSuffix("_ulLnnqC")
+                        .version(4L)
+                        .build();
+        ArgumentCaptor<byte[]> fullFrame = ArgumentCaptor.forClass(byte[].class);
+        ArgumentCaptor<byte[]> deltaFrame = ArgumentCaptor.forClass(byte[].class);
+
+        // When
+        service.broadcast(event);
+
+        // Then
+        verify(broadcastBus)
+                .publish(eq(topic), fullFrame.capture(), anyString(), eq(Audience.FULL_POLYLINES));
+        verify(broadcastBus)
+                .publish(
+                        eq(topic), deltaFrame.capture(), anyString(), eq(Audience.POLYLINE_DELTAS));
+        JsonNode full = new ObjectMapper().readTree(fullFrame.getValue()).get("payload");
+        assertThat(full.get("encodedPolyline").asText()).isEqualTo("_p~iF~ps|U_ulLnnqC");
+        assertThat(full.get("version").asLong()).isEqualTo(4L);
+        assertThat(full.has("encodedSuffix")).isFalse();
+        JsonNode delta = new ObjectMapper().readTree(deltaFrame.getValue()).get("payload");
+        assertThat(delta.get("encodedSuffix").asText()).isEqualTo("_ulLnnqC");
+        assertThat(delta.get("version").asLong()).isEqualTo(4L);
+        assertThat(delta.has("encodedPolyline")).isFalse();
+    }
+
+    @Test
+    void broadcast_withRecomputedPolyline_shouldSendFullPolylineToEveryone() throws Exception {
+        // Given
+        UUID tripId = UUID.randomUUID();
+        PolylineUpdatedEvent event =
+                PolylineUpdatedEvent.builder()
+                        .tripId(tripId)
+                        .encodedPolyline("_p~iF~ps|U")
+                        .version(5L)
+                        .build();
+        ArgumentCaptor<byte[]> frame = ArgumentCaptor.forClass(byte[].class);
+
+        // When
+        service.broadcast(event);
+
+        // Then
+        verify(broadcastBus)
+                .publish(
+                        eq("/topic/trips/" + tripId),
+                        frame.capture(),
+                        anyString(),
+                        eq(Audience.ALL));
+        JsonNode payload = new ObjectMapper().readTree(frame.getValue()).get("payload");
+        assertThat(payload.get("encodedPolyline").asText()).isEqualTo("_p~iF~ps|U");
+        assertThat(payload.get("version").asLong()).isEqualTo(5L);
+    }
+
+    @Test
+    void sendTo_shouldQueueFrameForSingleSession() {
+        // Given
+        WebSocketSession session = org.mockito.Mockito.mock(WebSocketSession.class);
+        PolylineUpdatedEvent event =
+                PolylineUpdatedEvent.builder()
+                        .tripId(UUID.randomUUID())
+                        .encodedPolyline("_p~iF~ps|U")
+                        .version(2L)
+                        .build();
+
+        // When
+        service.sendTo(session, event);
+
+        // Then
+        verify(sessionManager)
+                .send(eq(session), eq("/topic/trips/" + event.getTripId()), any(TextMessage.class));
+        verify(broadcastBus, org.mockito.Mockito.never())
+                .publish(anyString(), any(byte[].class), any(), any());
     }
 }
@@ -0,0 +1,165 @@
+package com.tomassirio.wanderer.command.websocket;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.tomassirio.wanderer.command.config.properties.WebSocketHeartbeatProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.PingMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+@ExtendWith(MockitoExtension.class)
+class WebSocketHeartbeatTest {
+
+    private static final int SLOTS = 5;
+
+    @Mock private WebSocketSessionManager sessionManager;
+    @Mock private WebSocketSession session;
+
+    private MutableClock clock;
+    private SimpleMeterRegistry meterRegistry;
+    private WebSocketHeartbeat heartbeat;
+
+    @BeforeEach
+    void setUp() {
+        WebSocketHeartbeatProperties properties = new WebSocketHeartbeatProperties();
+        properties.setPingInterval(Duration.ofSeconds(SLOTS));
+        properties.setIdleTimeout(Duration.ofSeconds(3L * SLOTS));
+        properties.setTick(Duration.ofSeconds(1));
+        clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+        meterRegistry = new SimpleMeterRegistry();
+        heartbeat = new WebSocketHeartbeat(sessionManager, properties, meterRegistry, clock);
+        when(session.getId()).thenReturn("session-1");
+    }
+
+    @Test
+    void tick_quietSession_shouldBePingedOncePerTurn() {
+        // Given
+        when(sessionManager.isRegistered(session)).thenReturn(true);
+        heartbeat.register(session);
+
+        // When
+        turn();
+
+        // Then
+        verify(sessionManager).send(eq(session), any(PingMessage.class));
+        verify(sessionManager, never()).close(any(), any());
+    }
+
+    @Test
+    void tick_activeSession_shouldNotBePinged() {
+        // Given
+        when(sessionManager.isRegistered(session)).thenReturn(true);
+        heartbeat.register(session);
+
+        // When
+        for (int i = 0; i < SLOTS; i++) {
+            clock.advance(Duration.ofSeconds(1));
+            heartbeat.touch(session);
+            heartbeat.tick();
+        }
+
+        // Then
+        verify(sessionManager, never()).send(any(), any(PingMessage.class));
+    }
+
+    @Test
+    void tick_sessionIdleBeyondTimeout_shouldBeClosedAndCounted() {
+        // Given
+        when(sessionManager.isRegistered(session)).thenReturn(true);
+        heartbeat.register(session);
+
+        // When
+        turn();
+        turn();
+        turn();
+
+        // Then
+        verify(sessionManager).close(session, CloseStatus.SESSION_NOT_RELIABLE);
+        assertThat(heartbeat.getTrackedCount()).isZero();
+        assertThat(heartbeat.getEvictedCount()).isEqualTo(1);
+        assertThat(meterRegistry.get("websocket.heartbeat.evicted").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void tick_sessionAnsweringPings_shouldStayOpen() {
+        // Given
+        when(sessionManager.isRegistered(session)).thenReturn(true);
+        heartbeat.register(session);
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            turn();
+            heartbeat.touch(session);
+        }
+
+        // Then
+        verify(sessionManager, never()).close(any(), any());
+        assertThat(heartbeat.getTrackedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void tick_sessionUnregisteredElsewhere_shouldBeDropped() {
+        // Given
+        when(sessionManager.isRegistered(session)).thenReturn(false);
+        heartbeat.register(session);
+
+        // When
+        turn();
+
+        // Then
+        assertThat(heartbeat.getTrackedCount()).isZero();
+        verify(sessionManager, never()).send(any(), any(PingMessage.class));
+    }
+
+    /** Advances the clock and the wheel by one full ping interval. */
+    private void turn() {
+        for (int i = 0; i < SLOTS; i++) {
+            clock.advance(Duration.ofSeconds(1));
+            heartbeat.tick();
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -1,24 +1,31 @@
 package com.tomassirio.wanderer.command.websocket;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.junit.jupiter.api.Assertions.*;
 
+import com.tomassirio.wanderer.command.config.properties.WebSocketOutboundProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.web.socket.TextMessage;
 import org.springframework.web.socket.WebSocketSession;
 
 class WebSocketSessionManagerTest {
 
     private WebSocketSessionManager sessionManager;
+    private SimpleMeterRegistry meterRegistry;
 
     @Mock private WebSocketSession session;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
-        sessionManager = new WebSocketSessionManager();
+        meterRegistry = new SimpleMeterRegistry();
+        sessionManager =
+                new WebSocketSessionManager(new WebSocketOutboundProperties(), meterRegistry);
     }
 
     @Test
@@ -85,4 +92,295 @@ class WebSocketSessionManagerTest {
         assertEquals(2, sessionManager.getSubscribersCount(topic));
         assertEquals(2, sessionManager.getActiveSessionsCount());
     }
+
+    @Test
+    void broadcast_shouldSendTheSameFrameToEveryOpenSubscriber() throws Exception {
+        // Given
+        WebSocketSession session1 = org.mockito.Mockito.mock(WebSocketSession.class);
+        WebSocketSession session2 = org.mockito.Mockito.mock(WebSocketSession.class);
+        String topic = "/topic/trips/" + UUID.randomUUID();
+        org.mockito.Mockito.when(session1.getId()).thenReturn("session-1");
+        org.mockito.Mockito.when(session2.getId()).thenReturn("session-2");
+        org.mockito.Mockito.when(session1.isOpen()).thenReturn(true);
+        org.mockito.Mockito.when(session2.isOpen()).thenReturn(true);
+        sessionManager.registerSession(session1, UUID.randomUUID());
+        sessionManager.registerSession(session2, UUID.randomUUID());
+        sessionManager.subscribe(session1, topic);
+        sessionManager.subscribe(session2, topic);
+        TextMessage frame =
+                WebSocketSessionManager.frame("{\"type\":\"TRIP_UPDATED\"}".getBytes(UTF_8));
+
+        // When
+        sessionManager.broadcast(topic, frame);
+
+        // Then
+        org.mockito.Mockito.verify(session1, org.mockito.Mockito.timeout(1000))
+                .sendMessage(org.mockito.Mockito.same(frame));
+        org.mockito.Mockito.verify(session2, org.mockito.Mockito.timeout(1000))
+                .sendMessage(org.mockito.Mockito.same(frame));
+    }
+
+    @Test
+    void send_shouldDeliverDirectReplyThroughSessionQueue() throws Exception {
+        // Given
+        org.mockito.Mockito.when(session.getId()).thenReturn("test-session");
+        org.mockito.Mockito.when(session.isOpen()).thenReturn(true);
+        sessionManager.registerSession(session, UUID.randomUUID());
+        TextMessage pong = new TextMessage("PONG");
+
+        // When
+        sessionManager.send(session, pong);
+
+        // Then
+        org.mockito.Mockito.verify(session, org.mockito.Mockito.timeout(1000))
+                .sendMessage(org.mockito.Mockito.same(pong));
+    }
+
+    @Test
+    void broadcast_whenQueueFullUnderDisconnectPolicy_shouldCloseAndUnregisterSession()
+            throws Exception {
+        // Given
+        WebSocketOutboundProperties properties = new WebSocketOutboundProperties();
+        properties.setQueueCapacity(1);
+        properties.setOverflowPolicy(OutboundOverflowPolicy.DISCONNECT);
+        sessionManager = new WebSocketSessionManager(properties, meterRegistry);
+        java.util.concurrent.CountDownLatch release = new java.util.concurrent.CountDownLatch(1);
+        String topic = "/topic/trips/" + UUID.randomUUID();
+        org.mockito.Mockito.when(session.getId()).thenReturn("slow-session");
+        org.mockito.Mockito.when(session.isOpen()).thenReturn(true);
+        org.mockito.Mockito.doAnswer(
+                        invocation -> {
+                            release.await();
+                            return null;
+                        })
+                .when(session)
+                .sendMessage(org.mockito.ArgumentMatchers.any());
+        sessionManager.registerSession(session, UUID.randomUUID());
+        sessionManager.subscribe(session, topic);
+
+        // When
+        try {
+            sessionManager.broadcast(topic, WebSocketSessionManager.frame("1".getBytes(UTF_8)));
+            org.mockito.Mockito.verify(session, org.mockito.Mockito.timeout(1000))
+                    .sendMessage(org.mockito.ArgumentMatchers.any());
+            sessionManager.broadcast(topic, WebSocketSessionManager.frame("2".getBytes(UTF_8)));
+            sessionManager.broadcast(topic, WebSocketSessionManager.frame("3".getBytes(UTF_8)));
+        } finally {
+            release.countDown();
+        }
+
+        // Then
+        org.mockito.Mockito.verify(session, org.mockito.Mockito.timeout(1000))
+                .close(org.springframework.web.socket.CloseStatus.SESSION_NOT_RELIABLE);
+        assertEquals(0, sessionManager.getActiveSessionsCount());
+        assertEquals(0, sessionManager.getSubscribersCount(topic));
+        assertEquals(1.0, meterRegistry.get("websocket.outbound.disconnects").counter().count());
+    }
+
+    @Test
+    void broadcast_whenSessionClosed_shouldRemoveItFromTopic() throws Exception {
+        // Given
+        String topic = "/topic/trips/" + UUID.randomUUID();
+        org.mockito.Mockito.when(session.getId()).thenReturn("closed-session");
+        org.mockito.Mockito.when(session.isOpen()).thenReturn(false);
+        sessionManager.registerSession(session, UUID.randomUUID());
+        sessionManager.subscribe(session, topic);
+
+        // When
+        sessionManager.broadcast(topic, WebSocketSessionManager.frame("{}".getBytes(UTF_8)));
+
+        // Then
+        org.mockito.Mockito.verify(session, org.mockito.Mockito.never())
+                .sendMessage(org.mockito.ArgumentMatchers.any());
+        assertEquals(0, sessionManager.getSubscribersCount(topic));
+    }
+
+    @Test
+    void frame_shouldKeepEncodedBytesAndPayload() {
+        // Given
+        byte[] utf8 = "{\"city\":\"Logroño\"}".getBytes(UTF_8);
+
+        // When
+        TextMessage frame = WebSocketSessionManager.frame(utf8);
+
+        // Then
+        assertEquals("{\"city\":\"Logroño\"}", frame.getPayload());
+        assertEquals(utf8.length, frame.getPayloadLength());
+        assertSame(utf8, frame.asBytes());
+    }
+
+    @Test
+    void unsubscribe_whenLastSubscriberLeaves_shouldRemoveTopic() {
+        // Given
+        String topic = "/topic/trips/" + UUID.randomUUID();
+        org.mockito.Mockito.when(session.getId()).thenReturn("test-session");
+        sessionManager.registerSession(session, UUID.randomUUID());
+        sessionManager.subscribe(session, topic);
+
+        // When
+        sessionManager.unsubscribe(session, topic);
+
+        // Then
+        assertEquals(0, sessionManager.getTopicsCount());
+    }
+
+    @Test
+    void unregisterSession_shouldOnlyLeaveTopicsWithRemainingSubscribers() {
+        // Given
+        WebSocketSession other = org.mockito.Mockito.mock(WebSocketSession.class);
+        String sharedTopic = "/topic/trips/" + UUID.randomUUID();
+        String ownTopic = "/topic/users/" + UUID.randomUUID();
+        org.mockito.Mockito.when(session.getId()).thenReturn("session-1");
+        org.mockito.Mockito.when(other.getId()).thenReturn("session-2");
+        sessionManager.registerSession(session, UUID.randomUUID());
+        sessionManager.registerSession(other, UUID.randomUUID());
+        sessionManager.subscribe(session, sharedTopic);
+        sessionManager.subscribe(session, ownTopic);
+        sessionManager.subscribe(other, sharedTopic);
+
+        // When
+        sessionManager.unregisterSession(session);
+
+        // Then
+        assertEquals(1, sessionManager.getTopicsCount());
+        assertEquals(1, sessionManager.getSubscribersCount(sharedTopic));
+        assertEquals(0, sessionManager.getSubscribersCount(ownTopic));
+    }
+
+    @Test
+    void subscribeAndUnsubscribe_underConcurrentChurn_shouldNotLoseSubscriptions()
+            throws Exception {
+        // Given
+        String topic = "/topic/trips/" + UUID.randomUUID();
+        WebSocketSession stable = org.mockito.Mockito.mock(WebSocketSession.class);
+        org.mockito.Mockito.when(stable.getId()).thenReturn("stable");
+        sessionManager.registerSession(stable, UUID.randomUUID());
+        java.util.List<WebSocketSession> churning =
+                java.util.stream.IntStream.range(0, 8)
+                        .mapToObj(
+                                i -> {
+                                    WebSocketSession s =
+                                            org.mockito.Mockito.mock(WebSocketSession.class);
+                                    org.mockito.Mockito.when(s.getId()).thenReturn("churn-" + i);
+                                    sessionManager.registerSession(s, UUID.randomUUID());
+                                    return s;
+                                })
+                        .toList();
+
+        // When
+        try (var executor = java.util.concurrent.Executors.newFixedThreadPool(8)) {
+            for (WebSocketSession s : churning) {
+                executor.submit(
+                        () -> {
+                            for (int i = 0; i < 2000; i++) {
+                                sessionManager.subscribe(s, topic);
+                                sessionManager.unsubscribe(s, topic);
+                            }
+                        });
+            }
+            executor.submit(() -> sessionManager.subscribe(stable, topic));
+        }
+
+        // Then
+        assertEquals(1, sessionManager.getSubscribersCount(topic));
+        assertEquals(1, sessionManager.getTopicsCount());
+    }
+
+    @Test
+    void broadcast_withBinarySubscribers_shouldEncodeOncePerEncoding() throws Exception {
+        // Given
+        String topic = "/topic/trips/" + UUID.randomUUID();
+        WebSocketSession jsonSession = org.mockito.Mockito.mock(WebSocketSession.class);
+        WebSocketSession cborSession1 = org.mockito.Mockito.mock(WebSocketSession.class);
+        WebSocketSession cborSession2 = org.mockito.Mockito.mock(WebSocketSession.class);
+        int i = 0;
+        for (WebSocketSession s : java.util.List.of(jsonSession, cborSession1, cborSession2)) {
+            org.mockito.Mockito.when(s.getId()).thenReturn("session-" + i++);
+            org.mockito.Mockito.when(s.isOpen()).thenReturn(true);
+            sessionManager.registerSession(s, UUID.randomUUID());
+        }
+        sessionManager.subscribe(jsonSession, topic);
+        SubscriptionOptions cbor = new SubscriptionOptions(FrameEncoding.CBOR, false, false);
+        sessionManager.subscribe(cborSession1, topic, cbor);
+        sessionManager.subscribe(cborSession2, topic, cbor);
+        TextMessage frame =
+                WebSocketSessionManager.frame("{\"type\":\"TRIP_UPDATED\"}".getBytes(UTF_8));
+        org.mockito.ArgumentCaptor<org.springframework.web.socket.WebSocketMessage<?>> sent1 =
+                org.mockito.ArgumentCaptor.forClass(
+                        org.springframework.web.socket.WebSocketMessage.class);
+        org.mockito.ArgumentCaptor<org.springframework.web.socket.WebSocketMessage<?>> sent2 =
+                org.mockito.ArgumentCaptor.forClass(
+                        org.springframework.web.socket.WebSocketMessage.class);
+
+        // When
+        sessionManager.broadcast(topic, frame);
+
+        // Then
+        org.mockito.Mockito.verify(jsonSession, org.mockito.Mockito.timeout(1000))
+                .sendMessage(org.mockito.Mockito.same(frame));
+        org.mockito.Mockito.verify(cborSession1, org.mockito.Mockito.timeout(1000))
+                .sendMessage(sent1.capture());
+        org.mockito.Mockito.verify(cborSession2, org.mockito.Mockito.timeout(1000))
+                .sendMessage(sent2.capture());
+        assertInstanceOf(org.springframework.web.socket.BinaryMessage.class, sent1.getValue());
+        assertSame(sent1.getValue(), sent2.getValue());
+    }
+
+    @Test
+    void broadcast_toSeveralTopics_shouldSendOncePerSession() throws Exception {
+        // Given
+        String tripTopic = "/topic/trips/" + UUID.randomUUID();
+        String feedTopic = WebSocketEventType.PROMOTED_FEED_TOPIC;
+        WebSocketSession feedOnly = org.mockito.Mockito.mock(WebSocketSession.class);
+        org.mockito.Mockito.when(session.getId()).thenReturn("session-1");
+        org.mockito.Mockito.when(session.isOpen()).thenReturn(true);
+        org.mockito.Mockito.when(feedOnly.getId()).thenReturn("session-2");
+        org.mockito.Mockito.when(feedOnly.isOpen()).thenReturn(true);
+        sessionManager.registerSession(session, UUID.randomUUID());
+        sessionManager.registerSession(feedOnly, UUID.randomUUID());
+        sessionManager.subscribe(session, tripTopic);
+        sessionManager.subscribe(session, feedTopic);
+        sessionManager.subscribe(feedOnly, feedTopic);
+        TextMessage frame = WebSocketSessionManager.frame("{}".getBytes(UTF_8));
+
+        // When
+        sessionManager.broadcast(
+                java.util.List.of(tripTopic, feedTopic), frame, null, Audience.ALL);
+
+        // Then
+        org.mockito.Mockito.verify(feedOnly, org.mockito.Mockito.timeout(1000)).sendMessage(frame);
+        org.mockito.Mockito.verify(session, org.mockito.Mockito.timeout(1000)).sendMessage(frame);
+        Thread.sleep(100);
+        org.mockito.Mockito.verify(session, org.mockito.Mockito.times(1)).sendMessage(frame);
+    }
+
+    @Test
+    void broadcast_forAudience_shouldOnlyReachMatchingSubscriptions() throws Exception {
+        // Given
+        String topic = "/topic/trips/" + UUID.randomUUID();
+        WebSocketSession deltaSession = org.mockito.Mockito.mock(WebSocketSession.class);
+        org.mockito.Mockito.when(session.getId()).thenReturn("session-1");
+        org.mockito.Mockito.when(session.isOpen()).thenReturn(true);
+        org.mockito.Mockito.when(deltaSession.getId()).thenReturn("session-2");
+        org.mockito.Mockito.when(deltaSession.isOpen()).thenReturn(true);
+        sessionManager.registerSession(session, UUID.randomUUID());
+        sessionManager.registerSession(deltaSession, UUID.randomUUID());
+        sessionManager.subscribe(session, topic);
+        sessionManager.subscribe(
+                deltaSession, topic, new SubscriptionOptions(FrameEncoding.JSON, true, false));
+        TextMessage full = WebSocketSessionManager.frame("{\"full\":true}".getBytes(UTF_8));
+        TextMessage delta = WebSocketSessionManager.frame("{\"full\":false}".getBytes(UTF_8));
+
+        // When
+        sessionManager.broadcast(topic, full, null, Audience.FULL_POLYLINES);
+        sessionManager.broadcast(topic, delta, null, Audience.POLYLINE_DELTAS);
+
+        // Then
+        org.mockito.Mockito.verify(session, org.mockito.Mockito.timeout(1000)).sendMessage(full);
+        org.mockito.Mockito.verify(deltaSession, org.mockito.Mockito.timeout(1000))
+                .sendMessage(delta);
+        Thread.sleep(100);
+        org.mockito.Mockito.verify(session, org.mockito.Mockito.never()).sendMessage(delta);
+        org.mockito.Mockito.verify(deltaSession, org.mockito.Mockito.never()).sendMessage(full);
+    }
 }
@@ -0,0 +1,62 @@
+package com.tomassirio.wanderer.command.websocket.bus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.tomassirio.wanderer.command.websocket.Audience;
+import org.junit.jupiter.api.Test;
+
+class BusMessageTest {
+
+    @Test
+    void encodeAndDecode_shouldRoundTrip() {
+        // Given
+        BusMessage message =
+                new BusMessage(
+                        "node-1",
+                        "/topic/trips/1",
+                        "TRIP_UPDATED|/topic/trips/1",
+                        Audience.POLYLINE_DELTAS,
+                        "{\"message\":\"line one\\nline two\"}");
+
+        // When
+        BusMessage decoded = BusMessage.decode(message.encode());
+
+        // Then
+        assertThat(decoded).isEqualTo(message);
+        assertThat(BusMessage.originOf(message.encode())).isEqualTo("node-1");
+    }
+
+    @Test
+    void decode_withoutCoalesceKey_shouldReturnNullKey() {
+        // Given
+        String encoded =
+                new BusMessage("node-1", "/topic/users/1", null, Audience.ALL, "{}").encode();
+
+        // When
+        BusMessage decoded = BusMessage.decode(encoded);
+
+        // Then
+        assertThat(decoded.coalesceKey()).isNull();
+        assertThat(decoded.payload()).isEqualTo("{}");
+    }
+
+    @Test
+    void decode_withUnknownAudienceOptions_shouldIgnoreThem() {
+        // Given
+        String encoded = "node-1\n/topic/trips/1\n\n0?1\n{}";
+
+        // When
+        BusMessage decoded = BusMessage.decode(encoded);
+
+        // Then
+        assertThat(decoded.audience()).isEqualTo(Audience.FULL_POLYLINES);
+        assertThat(decoded.payload()).isEqualTo("{}");
+    }
+
+    @Test
+    void decode_withMalformedMessage_shouldThrow() {
+        assertThatThrownBy(() -> BusMessage.decode("node-1\n/topic/trips/1"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
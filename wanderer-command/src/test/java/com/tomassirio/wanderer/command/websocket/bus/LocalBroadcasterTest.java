@@ -0,0 +1,83 @@
+package com.tomassirio.wanderer.command.websocket.bus;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.tomassirio.wanderer.command.websocket.Audience;
+import com.tomassirio.wanderer.command.websocket.WebSocketEventType;
+import com.tomassirio.wanderer.command.websocket.WebSocketSessionManager;
+import com.tomassirio.wanderer.command.websocket.feed.TripFeedIndex;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.socket.TextMessage;
+
+@ExtendWith(MockitoExtension.class)
+class LocalBroadcasterTest {
+
+    private static final String TOPIC = "/topic/trips/1";
+
+    @Mock private WebSocketSessionManager sessionManager;
+    @Mock private TripFeedIndex tripFeedIndex;
+
+    @InjectMocks private LocalBroadcaster localBroadcaster;
+
+    @Test
+    void deliver_withoutFeeds_shouldBroadcastToTopicSubscribers() {
+        // Given
+        byte[] payload = "{}".getBytes(UTF_8);
+        when(tripFeedIndex.feedTopicsFor(TOPIC)).thenReturn(List.of());
+        when(sessionManager.getSubscribersCount(TOPIC)).thenReturn(1);
+        ArgumentCaptor<TextMessage> frame = ArgumentCaptor.forClass(TextMessage.class);
+
+        // When
+        localBroadcaster.deliver(TOPIC, payload, "key", Audience.ALL);
+
+        // Then
+        verify(sessionManager).broadcast(eq(TOPIC), frame.capture(), eq("key"), eq(Audience.ALL));
+        assertThat(frame.getValue().asBytes()).isSameAs(payload);
+    }
+
+    @Test
+    void deliver_withoutAnySubscriber_shouldNotBroadcast() {
+        // Given
+        when(tripFeedIndex.feedTopicsFor(TOPIC)).thenReturn(List.of());
+
+        // When
+        localBroadcaster.deliver(TOPIC, "{}".getBytes(UTF_8), null, Audience.ALL);
+
+        // Then
+        verify(sessionManager, never())
+                .broadcast(anyString(), any(TextMessage.class), any(), any());
+        verify(sessionManager, never()).broadcast(anyList(), any(TextMessage.class), any(), any());
+    }
+
+    @Test
+    void deliver_withFeeds_shouldBroadcastToTopicAndFeedsTogether() {
+        // Given
+        when(tripFeedIndex.feedTopicsFor(TOPIC))
+                .thenReturn(List.of(WebSocketEventType.PROMOTED_FEED_TOPIC));
+
+        // When
+        localBroadcaster.deliver(TOPIC, "{}".getBytes(UTF_8), null, Audience.ALL);
+
+        // Then
+        verify(sessionManager)
+                .broadcast(
+                        eq(List.of(TOPIC, WebSocketEventType.PROMOTED_FEED_TOPIC)),
+                        any(TextMessage.class),
+                        eq(null),
+                        eq(Audience.ALL));
+    }
+}
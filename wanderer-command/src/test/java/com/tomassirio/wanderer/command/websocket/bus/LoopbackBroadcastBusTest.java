@@ -0,0 +1,32 @@
+package com.tomassirio.wanderer.command.websocket.bus;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.mockito.Mockito.verify;
+
+import com.tomassirio.wanderer.command.websocket.Audience;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class LoopbackBroadcastBusTest {
+
+    @Mock private LocalBroadcaster localBroadcaster;
+
+    @InjectMocks private LoopbackBroadcastBus bus;
+
+    @Test
+    void publish_shouldDeliverToLocalSessions() {
+        // Given
+        byte[] payload = "{\"type\":\"TRIP_UPDATED\"}".getBytes(UTF_8);
+
+        // When
+        bus.publish("/topic/trips/1", payload, "TRIP_UPDATED|/topic/trips/1", Audience.ALL);
+
+        // Then
+        verify(localBroadcaster)
+                .deliver("/topic/trips/1", payload, "TRIP_UPDATED|/topic/trips/1", Audience.ALL);
+    }
+}
@@ -0,0 +1,190 @@
+package com.tomassirio.wanderer.command.websocket.bus;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.tomassirio.wanderer.command.config.properties.WebSocketBusProperties;
+import com.tomassirio.wanderer.command.websocket.Audience;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+@ExtendWith(MockitoExtension.class)
+class PostgresBroadcastBusTest {
+
+    private static final String TOPIC = "/topic/trips/1";
+    private static final String CHANNEL = "wanderer_websocket_broadcast";
+
+    @Mock private LocalBroadcaster localBroadcaster;
+    @Mock private JdbcTemplate jdbcTemplate;
+    @Mock private DataSource dataSource;
+
+    private PostgresBroadcastBus bus;
+
+    @BeforeEach
+    void setUp() {
+        bus =
+                new PostgresBroadcastBus(
+                        localBroadcaster,
+                        jdbcTemplate,
+                        dataSource,
+                        new WebSocketBusProperties());
+    }
+
+    @Test
+    void constructor_whenChannelIsNotAnIdentifier_shouldThrow() {
+        // Given
+        WebSocketBusProperties properties = new WebSocketBusProperties();
+        properties.setChannel("broadcast; DROP TABLE trips");
+
+        // When / Then
+        assertThatThrownBy(
+                        () ->
+                                new PostgresBroadcastBus(
+                                        localBroadcaster, jdbcTemplate, dataSource, properties))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void publish_shouldDeliverLocallyAndNotifyOtherNodes() {
+        // Given
+        byte[] payload = "{\"type\":\"TRIP_UPDATED\"}".getBytes(UTF_8);
+
+        // When
+        bus.publish(TOPIC, payload, "TRIP_UPDATED|" + TOPIC, Audience.POLYLINE_DELTAS);
+
+        // Then
+        verify(localBroadcaster)
+                .deliver(TOPIC, payload, "TRIP_UPDATED|" + TOPIC, Audience.POLYLINE_DELTAS);
+        String expected =
+                new BusMessage(
+                                bus.getNodeId(),
+                                TOPIC,
+                                "TRIP_UPDATED|" + TOPIC,
+                                Audience.POLYLINE_DELTAS,
+                                "{\"type\":\"TRIP_UPDATED\"}")
+                        .encode();
+        verify(jdbcTemplate)
+                .query(
+                        eq("SELECT pg_notify(?, ?)"),
+                        any(RowCallbackHandler.class),
+                        eq(CHANNEL),
+                        eq(expected));
+    }
+
+    @Test
+    void publish_withOversizePayload_shouldStoreMessageAndNotifyItsId() {
+        // Given
+        byte[] payload =
+                ("{\"encodedPolyline\":\""
+                                + "a".repeat(PostgresBroadcastBus.MAX_NOTIFY_BYTES)
+                                + "\"}")
+                        .getBytes(UTF_8);
+        ArgumentCaptor<String> notification = ArgumentCaptor.forClass(String.class);
+
+        // When
+        bus.publish(TOPIC, payload, null, Audience.ALL);
+
+        // Then
+        verify(jdbcTemplate)
+                .update(
+                        eq(
+                                "INSERT INTO websocket_broadcasts (id, message, created_at) VALUES (?, ?, ?)"),
+                        any(UUID.class),
+                        anyString(),
+                        any());
+        verify(jdbcTemplate)
+                .query(
+                        eq("SELECT pg_notify(?, ?)"),
+                        any(RowCallbackHandler.class),
+                        eq(CHANNEL),
+                        notification.capture());
+        assertThat(notification.getValue()).startsWith(bus.getNodeId() + "\n@");
+    }
+
+    @Test
+    void publish_withSeveralOversizePayloads_shouldPruneOncePerRetentionPeriod() {
+        // Given
+        byte[] payload = "a".repeat(PostgresBroadcastBus.MAX_NOTIFY_BYTES + 1).getBytes(UTF_8);
+
+        // When
+        bus.publish(TOPIC, payload, null, Audience.ALL);
+        bus.publish(TOPIC, payload, null, Audience.ALL);
+
+        // Then
+        verify(jdbcTemplate, times(1))
+                .update(
+                        eq("DELETE FROM websocket_broadcasts WHERE created_at < ?"),
+                        any(Timestamp.class));
+        verify(jdbcTemplate, times(2))
+                .query(
+                        eq("SELECT pg_notify(?, ?)"),
+                        any(RowCallbackHandler.class),
+                        eq(CHANNEL),
+                        anyString());
+    }
+
+    @Test
+    void receive_fromAnotherNode_shouldDeliverToLocalSubscribers() {
+        // Given
+        String notification =
+                new BusMessage("other-node", TOPIC, null, Audience.FULL_POLYLINES, "{}").encode();
+        ArgumentCaptor<byte[]> payload = ArgumentCaptor.forClass(byte[].class);
+
+        // When
+        bus.receive(notification);
+
+        // Then
+        verify(localBroadcaster)
+                .deliver(eq(TOPIC), payload.capture(), eq(null), eq(Audience.FULL_POLYLINES));
+        assertThat(new String(payload.getValue(), UTF_8)).isEqualTo("{}");
+    }
+
+    @Test
+    void receive_fromThisNode_shouldBeIgnored() {
+        // Given
+        String notification =
+                new BusMessage(bus.getNodeId(), TOPIC, null, Audience.ALL, "{}").encode();
+
+        // When
+        bus.receive(notification);
+
+        // Then
+        verify(localBroadcaster, never()).deliver(anyString(), any(byte[].class), any(), any());
+    }
+
+    @Test
+    void receive_withOversizePointer_shouldReadStoredMessage() {
+        // Given
+        UUID id = UUID.randomUUID();
+        when(jdbcTemplate.queryForList(
+                        "SELECT message FROM websocket_broadcasts WHERE id = ?", String.class, id))
+                .thenReturn(
+                        List.of(
+                                new BusMessage("other-node", TOPIC, null, Audience.ALL, "{}")
+                                        .encode()));
+
+        // When
+        bus.receive("other-node\n@" + id);
+
+        // Then
+        verify(localBroadcaster).deliver(eq(TOPIC), any(byte[].class), eq(null), eq(Audience.ALL));
+    }
+}
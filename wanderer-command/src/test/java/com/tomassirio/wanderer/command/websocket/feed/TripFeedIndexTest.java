@@ -0,0 +1,375 @@
+package com.tomassirio.wanderer.command.websocket.feed;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.tomassirio.wanderer.command.config.properties.WebSocketSubscriptionProperties;
+import com.tomassirio.wanderer.command.event.TripCreatedEvent;
+import com.tomassirio.wanderer.command.event.TripPromotedEvent;
+import com.tomassirio.wanderer.command.event.TripUnpromotedEvent;
+import com.tomassirio.wanderer.command.event.TripVisibilityChangedEvent;
+import com.tomassirio.wanderer.command.event.UserFollowedEvent;
+import com.tomassirio.wanderer.command.event.UserUnfollowedEvent;
+import com.tomassirio.wanderer.command.repository.PromotedTripRepository;
+import com.tomassirio.wanderer.command.repository.TripRepository;
+import com.tomassirio.wanderer.command.repository.TripRepository.TripAudience;
+import com.tomassirio.wanderer.command.repository.UserFollowRepository;
+import com.tomassirio.wanderer.command.websocket.WebSocketEventType;
+import com.tomassirio.wanderer.command.websocket.WebSocketSessionManager;
+import com.tomassirio.wanderer.commons.domain.TripVisibility;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class TripFeedIndexTest {
+
+    private static final UUID TRIP_ID = UUID.randomUUID();
+    private static final UUID OWNER_ID = UUID.randomUUID();
+    private static final UUID FOLLOWER_ID = UUID.randomUUID();
+    private static final String TRIP_TOPIC = WebSocketEventType.tripTopic(TRIP_ID);
+    private static final String FOLLOWER_FEED = WebSocketEventType.followingFeedTopic(FOLLOWER_ID);
+
+    @Mock private WebSocketSessionManager sessionManager;
+    @Mock private TripRepository tripRepository;
+    @Mock private PromotedTripRepository promotedTripRepository;
+    @Mock private UserFollowRepository userFollowRepository;
+
+    private TripFeedIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index =
+                new TripFeedIndex(
+                        sessionManager,
+                        tripRepository,
+                        promotedTripRepository,
+                        userFollowRepository,
+                        new WebSocketSubscriptionProperties());
+    }
+
+    @Test
+    void feedTopicsFor_withoutFeedSubscribers_shouldNotLookUpTheTrip() {
+        // When
+        List<String> feeds = index.feedTopicsFor(TRIP_TOPIC);
+
+        // Then
+        assertThat(feeds).isEmpty();
+        verify(tripRepository, never()).findAudienceById(any());
+    }
+
+    @Test
+    void feedTopicsFor_promotedPublicTrip_shouldIncludePromotedFeed() {
+        // Given
+        watchPromotedFeed();
+        givenTrip(TripVisibility.PUBLIC);
+        index.onTripPromoted(TripPromotedEvent.builder().tripId(TRIP_ID).build());
+
+        // When
+        List<String> feeds = index.feedTopicsFor(TRIP_TOPIC);
+
+        // Then
+        assertThat(feeds).containsExactly(WebSocketEventType.PROMOTED_FEED_TOPIC);
+    }
+
+    @Test
+    void feedTopicsFor_unpromotedTrip_shouldNotIncludePromotedFeed() {
+        // Given
+        watchPromotedFeed();
+        givenTrip(TripVisibility.PUBLIC);
+        index.onTripPromoted(TripPromotedEvent.builder().tripId(TRIP_ID).build());
+        index.onTripUnpromoted(TripUnpromotedEvent.builder().tripId(TRIP_ID).build());
+
+        // When
+        List<String> feeds = index.feedTopicsFor(TRIP_TOPIC);
+
+        // Then
+        assertThat(feeds).isEmpty();
+    }
+
+    @Test
+    void feedTopicsFor_tripOfFollowedUser_shouldIncludeFollowerFeed() {
+        // Given
+        givenFollowerFeedWatched();
+        givenTrip(TripVisibility.PUBLIC);
+
+        // When
+        List<String> feeds = index.feedTopicsFor(TRIP_TOPIC);
+
+        // Then
+        assertThat(feeds).containsExactly(FOLLOWER_FEED);
+    }
+
+    @Test
+    void feedTopicsFor_privateTrip_shouldNotReachFeeds() {
+        // Given
+        givenFollowerFeedWatched();
+        givenTrip(TripVisibility.PRIVATE);
+
+        // When
+        List<String> feeds = index.feedTopicsFor(TRIP_TOPIC);
+
+        // Then
+        assertThat(feeds).isEmpty();
+    }
+
+    @Test
+    void feedTopicsFor_nonTripTopic_shouldReturnNoFeeds() {
+        // Given
+        watchPromotedFeed();
+
+        // When
+        List<String> feeds = index.feedTopicsFor(WebSocketEventType.userTopic(OWNER_ID));
+
+        // Then
+        assertThat(feeds).isEmpty();
+    }
+
+    @Test
+    void feedTopicsFor_shouldCacheTripAudience() {
+        // Given
+        givenFollowerFeedWatched();
+        givenTrip(TripVisibility.PUBLIC);
+
+        // When
+        index.feedTopicsFor(TRIP_TOPIC);
+        index.feedTopicsFor(TRIP_TOPIC);
+
+        // Then
+        verify(tripRepository, times(1)).findAudienceById(TRIP_ID);
+    }
+
+    @Test
+    void feedTopicsFor_unknownTrip_shouldCacheThatItWasNotFound() {
+        // Given
+        givenFollowerFeedWatched();
+        when(tripRepository.findAudienceById(TRIP_ID)).thenReturn(Optional.empty());
+
+        // When
+        List<String> first = index.feedTopicsFor(TRIP_TOPIC);
+        List<String> second = index.feedTopicsFor(TRIP_TOPIC);
+
+        // Then
+        assertThat(first).isEmpty();
+        assertThat(second).isEmpty();
+        verify(tripRepository, times(1)).findAudienceById(TRIP_ID);
+    }
+
+    @Test
+    void onTripCreated_shouldForgetThatTripWasNotFound() {
+        // Given
+        givenFollowerFeedWatched();
+        when(tripRepository.findAudienceById(TRIP_ID))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(audience(TripVisibility.PUBLIC)));
+        index.feedTopicsFor(TRIP_TOPIC);
+
+        // When
+        index.onTripCreated(TripCreatedEvent.builder().tripId(TRIP_ID).build());
+
+        // Then
+        assertThat(index.feedTopicsFor(TRIP_TOPIC)).containsExactly(FOLLOWER_FEED);
+    }
+
+    @Test
+    void onTripVisibilityChanged_shouldReloadTripAudience() {
+        // Given
+        givenFollowerFeedWatched();
+        givenTrip(TripVisibility.PUBLIC);
+        index.feedTopicsFor(TRIP_TOPIC);
+        givenTrip(TripVisibility.PRIVATE);
+
+        // When
+        index.onTripVisibilityChanged(
+                TripVisibilityChangedEvent.builder()
+                        .tripId(TRIP_ID)
+                        .newVisibility("PRIVATE")
+                        .build());
+
+        // Then
+        assertThat(index.feedTopicsFor(TRIP_TOPIC)).isEmpty();
+    }
+
+    @Test
+    void feedTopicsFor_followerWithoutSubscribers_shouldBeDeactivated() {
+        // Given
+        when(userFollowRepository.findFollowedIdsByFollowerId(FOLLOWER_ID))
+                .thenReturn(List.of(OWNER_ID));
+        index.activate(FOLLOWER_ID);
+        givenTrip(TripVisibility.PUBLIC);
+
+        // When
+        List<String> feeds = index.feedTopicsFor(TRIP_TOPIC);
+
+        // Then
+        assertThat(feeds).isEmpty();
+        assertThat(index.isActive(FOLLOWER_ID)).isFalse();
+    }
+
+    @Test
+    void onUserFollowed_forActiveFollower_shouldRouteNewFolloweeTrips() {
+        // Given
+        when(userFollowRepository.findFollowedIdsByFollowerId(FOLLOWER_ID)).thenReturn(List.of());
+        index.activate(FOLLOWER_ID);
+        lenient().when(sessionManager.getSubscribersCount(FOLLOWER_FEED)).thenReturn(1);
+        givenTrip(TripVisibility.PUBLIC);
+
+        // When
+        index.onUserFollowed(
+                UserFollowedEvent.builder().followerId(FOLLOWER_ID).followedId(OWNER_ID).build());
+
+        // Then
+        assertThat(index.feedTopicsFor(TRIP_TOPIC)).containsExactly(FOLLOWER_FEED);
+    }
+
+    @Test
+    void onUserFollowed_whileActivating_shouldNotWaitForTheFollowListRead() throws Exception {
+        // Given — the follow commits while activate reads the follow list
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(userFollowRepository.findFollowedIdsByFollowerId(FOLLOWER_ID))
+                .thenAnswer(
+                        invocation -> {
+                            reading.countDown();
+                            release.await(5, TimeUnit.SECONDS);
+                            return List.of();
+                        })
+                .thenReturn(List.of(OWNER_ID));
+        lenient().when(sessionManager.getSubscribersCount(FOLLOWER_FEED)).thenReturn(1);
+        givenTrip(TripVisibility.PUBLIC);
+        Thread activation = new Thread(() -> index.activate(FOLLOWER_ID));
+        activation.start();
+        assertThat(reading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When
+        index.onUserFollowed(
+                UserFollowedEvent.builder().followerId(FOLLOWER_ID).followedId(OWNER_ID).build());
+        boolean stillReading = activation.isAlive();
+        release.countDown();
+        activation.join(5000);
+
+        // Then — the list read before the follow is read again instead of applied
+        assertThat(stillReading).isTrue();
+        assertThat(index.feedTopicsFor(TRIP_TOPIC)).containsExactly(FOLLOWER_FEED);
+        verify(userFollowRepository, times(2)).findFollowedIdsByFollowerId(FOLLOWER_ID);
+    }
+
+    @Test
+    void onUserUnfollowed_forActiveFollower_shouldStopRoutingTrips() {
+        // Given
+        givenFollowerFeedWatched();
+
+        // When
+        index.onUserUnfollowed(
+                UserUnfollowedEvent.builder().followerId(FOLLOWER_ID).followedId(OWNER_ID).build());
+
+        // Then
+        assertThat(index.feedTopicsFor(TRIP_TOPIC)).isEmpty();
+    }
+
+    @Test
+    void refresh_shouldReloadPromotedTripsAndDropUnwatchedFeeds() {
+        // Given
+        when(userFollowRepository.findFollowedIdsByFollowerId(FOLLOWER_ID))
+                .thenReturn(List.of(OWNER_ID));
+        index.activate(FOLLOWER_ID);
+        when(promotedTripRepository.findAllTripIds()).thenReturn(List.of(TRIP_ID));
+        watchPromotedFeed();
+        givenTrip(TripVisibility.PUBLIC);
+
+        // When
+        index.refresh();
+
+        // Then
+        assertThat(index.isActive(FOLLOWER_ID)).isFalse();
+        assertThat(index.feedTopicsFor(TRIP_TOPIC))
+                .containsExactly(WebSocketEventType.PROMOTED_FEED_TOPIC);
+    }
+
+    @Test
+    void refresh_whenTripPromotedWhileReading_shouldKeepItPromoted() {
+        // Given
+        when(promotedTripRepository.findAllTripIds())
+                .thenAnswer(
+                        invocation -> {
+                            index.onTripPromoted(
+                                    TripPromotedEvent.builder().tripId(TRIP_ID).build());
+                            return List.of();
+                        });
+        watchPromotedFeed();
+        givenTrip(TripVisibility.PUBLIC);
+
+        // When
+        index.refresh();
+
+        // Then
+        assertThat(index.feedTopicsFor(TRIP_TOPIC))
+                .containsExactly(WebSocketEventType.PROMOTED_FEED_TOPIC);
+    }
+
+    @Test
+    void refresh_whenTripUnpromotedWhileReading_shouldKeepItUnpromoted() {
+        // Given
+        index.onTripPromoted(TripPromotedEvent.builder().tripId(TRIP_ID).build());
+        when(promotedTripRepository.findAllTripIds())
+                .thenAnswer(
+                        invocation -> {
+                            index.onTripUnpromoted(
+                                    TripUnpromotedEvent.builder().tripId(TRIP_ID).build());
+                            return List.of(TRIP_ID);
+                        });
+        watchPromotedFeed();
+        givenTrip(TripVisibility.PUBLIC);
+
+        // When
+        index.refresh();
+
+        // Then
+        assertThat(index.feedTopicsFor(TRIP_TOPIC)).isEmpty();
+    }
+
+    private void watchPromotedFeed() {
+        lenient()
+                .when(sessionManager.getSubscribersCount(WebSocketEventType.PROMOTED_FEED_TOPIC))
+                .thenReturn(1);
+    }
+
+    private void givenFollowerFeedWatched() {
+        when(userFollowRepository.findFollowedIdsByFollowerId(FOLLOWER_ID))
+                .thenReturn(List.of(OWNER_ID));
+        lenient().when(sessionManager.getSubscribersCount(FOLLOWER_FEED)).thenReturn(1);
+        index.activate(FOLLOWER_ID);
+    }
+
+    private void givenTrip(TripVisibility visibility) {
+        lenient()
+                .when(tripRepository.findAudienceById(TRIP_ID))
+                .thenReturn(Optional.of(audience(visibility)));
+    }
+
+    private static TripAudience audience(TripVisibility visibility) {
+        return new TripAudience() {
+            @Override
+            public UUID getUserId() {
+                return OWNER_ID;
+            }
+
+            @Override
+            public TripVisibility getVisibility() {
+                return visibility;
+            }
+        };
+    }
+}
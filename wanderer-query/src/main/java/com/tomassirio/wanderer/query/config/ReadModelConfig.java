@@ -0,0 +1,18 @@
+package com.tomassirio.wanderer.query.config;
+
+import com.tomassirio.wanderer.query.config.properties.FollowCacheProperties;
+import com.tomassirio.wanderer.query.config.properties.OngoingTripFeedProperties;
+import com.tomassirio.wanderer.query.config.properties.ReadModelListenerProperties;
+import com.tomassirio.wanderer.query.config.properties.UsernameCacheProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/** Enables the properties of the read-side caches and the listener that keeps them fresh. */
+@Configuration
+@EnableConfigurationProperties({
+    UsernameCacheProperties.class,
+    FollowCacheProperties.class,
+    OngoingTripFeedProperties.class,
+    ReadModelListenerProperties.class
+})
+public class ReadModelConfig {}
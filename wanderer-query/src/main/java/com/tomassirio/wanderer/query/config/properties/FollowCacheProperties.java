@@ -0,0 +1,30 @@
+package com.tomassirio.wanderer.query.config.properties;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration properties for the followed users cache.
+ *
+ * <p>Binds to properties with the prefix "app.follow.cache". The ids of the users each user
+ * follows are kept in memory and dropped when wanderer-command reports that user followed or
+ * unfollowed someone, so the ongoing trips feed does not reload them on every request.
+ */
+@ConfigurationProperties(prefix = "app.follow.cache")
+@Data
+@Validated
+public class FollowCacheProperties {
+
+    /** Whether followed user ids are cached. Defaults to true. */
+    private boolean enabled = true;
+
+    /** Maximum number of users whose follow sets are kept in memory. */
+    @Positive private int maxEntries = 20_000;
+
+    /** How long a follow set is kept. Defaults to 10 minutes. */
+    @NotNull private Duration ttl = Duration.ofMinutes(10);
+}
@@ -0,0 +1,27 @@
+package com.tomassirio.wanderer.query.config.properties;
+
+import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration properties for the ongoing public trips feed.
+ *
+ * <p>Binds to properties with the prefix "app.ongoing-feed". The feed is kept up to date from the
+ * trip change notifications of wanderer-command and rebuilt from the database once it is older
+ * than {@code maxAge}, which bounds how stale it can get should a notification be missed. When
+ * disabled, each page is read with keyset queries instead.
+ */
+@ConfigurationProperties(prefix = "app.ongoing-feed")
+@Data
+@Validated
+public class OngoingTripFeedProperties {
+
+    /** Whether ongoing public trips are served from the in-memory feed. Defaults to true. */
+    private boolean enabled = true;
+
+    /** How long the feed is served before it is rebuilt from the database. Defaults to 5 min. */
+    @NotNull private Duration maxAge = Duration.ofMinutes(5);
+}
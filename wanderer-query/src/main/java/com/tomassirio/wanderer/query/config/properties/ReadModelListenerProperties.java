@@ -0,0 +1,29 @@
+package com.tomassirio.wanderer.query.config.properties;
+
+import jakarta.validation.constraints.NotNull;
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration properties for the read model change listener.
+ *
+ * <p>Binds to properties with the prefix "app.read-model.listener". The listener receives the
+ * change notifications wanderer-command sends through PostgreSQL LISTEN/NOTIFY and uses them to
+ * evict stale entries from this node's caches.
+ */
+@ConfigurationProperties(prefix = "app.read-model.listener")
+@Data
+@Validated
+public class ReadModelListenerProperties {
+
+    /** Whether change notifications are listened to. Defaults to true. */
+    private boolean enabled = true;
+
+    /** How long the listener waits for notifications before checking whether it should stop. */
+    @NotNull private Duration pollTimeout = Duration.ofMillis(500);
+
+    /** Delay before reconnecting the listener after its connection was lost. */
+    @NotNull private Duration reconnectDelay = Duration.ofSeconds(5);
+}
@@ -0,0 +1,33 @@
+package com.tomassirio.wanderer.query.config.properties;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration properties for the username cache.
+ *
+ * <p>Binds to properties with the prefix "app.username.cache". Usernames resolved while enriching
+ * DTOs are kept in memory and dropped when wanderer-command reports the user changed, so repeated
+ * reads of the same users do not hit the database.
+ */
+@ConfigurationProperties(prefix = "app.username.cache")
+@Data
+@Validated
+public class UsernameCacheProperties {
+
+    /** Whether resolved usernames are cached. Defaults to true. */
+    private boolean enabled = true;
+
+    /** Maximum number of usernames kept in memory. */
+    @Positive private int maxEntries = 50_000;
+
+    /**
+     * How long a username is kept. Change notifications normally evict entries much sooner; this
+     * bounds staleness should one be missed. Defaults to 1 hour.
+     */
+    @NotNull private Duration ttl = Duration.ofHours(1);
+}
@@ -1,14 +1,21 @@
 package com.tomassirio.wanderer.query.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.tomassirio.wanderer.commons.constants.ApiConstants;
 import com.tomassirio.wanderer.commons.dto.TripDTO;
 import com.tomassirio.wanderer.commons.security.CurrentUserId;
+import com.tomassirio.wanderer.query.dto.CursorPage;
+import com.tomassirio.wanderer.query.dto.TripSummaryDTO;
 import com.tomassirio.wanderer.query.service.TripService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.MediaType;
@@ -17,11 +24,19 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
  * REST controller for trip query operations. Handles trip retrieval requests.
  *
+ * <p>The full trip listings accept an optional {@code cursor}/{@code limit} pair for keyset
+ * pagination, returning the next page's cursor in the {@value ApiConstants#NEXT_CURSOR_HEADER}
+ * header, and can be streamed in full as NDJSON by requesting {@code application/x-ndjson}. Without
+ * either, they keep returning the whole listing as one JSON array. Listings return trip summaries
+ * without comments and updates; only the single-trip endpoint includes them.
+ *
  * @since 0.1.8
  */
 @RestController
@@ -31,7 +46,16 @@ import org.springframework.web.bind.annotation.RestController;
 @Tag(name = "Trip Queries", description = "Endpoints for retrieving trip information")
 public class TripController {
 
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 200;
+
+    private static final String CURSOR_DESCRIPTION =
+            "Cursor from the previous page's " + ApiConstants.NEXT_CURSOR_HEADER + " header";
+    private static final String LIMIT_DESCRIPTION =
+            "Page size, between 1 and " + MAX_PAGE_SIZE + " (default " + DEFAULT_PAGE_SIZE + ")";
+
     private final TripService tripService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping(ApiConstants.TRIP_BY_ID_ENDPOINT)
     @Operation(summary = "Get trip by ID", description = "Retrieves a specific trip by its ID")
@@ -47,25 +71,45 @@ public class TripController {
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN')")
     @Operation(summary = "Get all trips", description = "Retrieves all trips (admin only)")
-    public ResponseEntity<List<TripDTO>> getAllTrips() {
+    public ResponseEntity<List<TripSummaryDTO>> getAllTrips(
+            @Parameter(description = CURSOR_DESCRIPTION)
+                    @RequestParam(value = ApiConstants.CURSOR_PARAM, required = false)
+                    String cursor,
+            @Parameter(description = LIMIT_DESCRIPTION)
+                    @RequestParam(value = ApiConstants.LIMIT_PARAM, required = false)
+                    Integer limit) {
+        if (cursor != null || limit != null) {
+            log.info("Received request to retrieve a page of all trips");
+            return pageResponse(tripService.getAllTrips(cursor, pageSize(limit)));
+        }
         log.info("Received request to retrieve all trips");
 
-        List<TripDTO> trips = tripService.getAllTrips();
+        List<TripSummaryDTO> trips = tripService.getAllTrips();
 
         log.info("Successfully retrieved {} trips", trips.size());
         return ResponseEntity.ok(trips);
     }
 
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN')")
+    @Operation(
+            summary = "Stream all trips",
+            description = "Streams all trips as newline-delimited JSON (admin only)")
+    public ResponseEntity<StreamingResponseBody> streamAllTrips() {
+        log.info("Received request to stream all trips");
+        return ndjsonResponse(tripService::streamAllTrips);
+    }
+
     @GetMapping(ApiConstants.ME_SUFFIX)
     @PreAuthorize("hasAnyRole('ADMIN','USER')")
     @Operation(
             summary = "Get trips for current authenticated user",
             description = "Retrieves all trips belonging to the authenticated user")
-    public ResponseEntity<List<TripDTO>> getMyTrips(
+    public ResponseEntity<List<TripSummaryDTO>> getMyTrips(
             @Parameter(hidden = true) @CurrentUserId UUID userId) {
         log.info("Received request to retrieve trips for current user: {}", userId);
 
-        List<TripDTO> trips = tripService.getTripsForUser(userId);
+        List<TripSummaryDTO> trips = tripService.getTripsForUser(userId);
 
         log.info("Successfully retrieved {} trips for user {}", trips.size(), userId);
         return ResponseEntity.ok(trips);
@@ -80,23 +124,49 @@ public class TripController {
                             + "all trips owned by the user (regardless of visibility), "
                             + "all public trips from other users, "
                             + "and all protected trips from friends")
-    public ResponseEntity<List<TripDTO>> getAllAvailableTrips(
-            @Parameter(hidden = true) @CurrentUserId UUID userId) {
+    public ResponseEntity<List<TripSummaryDTO>> getAllAvailableTrips(
+            @Parameter(hidden = true) @CurrentUserId UUID userId,
+            @Parameter(description = CURSOR_DESCRIPTION)
+                    @RequestParam(value = ApiConstants.CURSOR_PARAM, required = false)
+                    String cursor,
+            @Parameter(description = LIMIT_DESCRIPTION)
+                    @RequestParam(value = ApiConstants.LIMIT_PARAM, required = false)
+                    Integer limit) {
+        if (cursor != null || limit != null) {
+            log.info("Received request to retrieve a page of available trips for user: {}", userId);
+            return pageResponse(
+                    tripService.getAllAvailableTripsForUser(userId, cursor, pageSize(limit)));
+        }
         log.info("Received request to retrieve all available trips for user: {}", userId);
 
-        List<TripDTO> trips = tripService.getAllAvailableTripsForUser(userId);
+        List<TripSummaryDTO> trips = tripService.getAllAvailableTripsForUser(userId);
 
         log.info("Successfully retrieved {} available trips for user {}", trips.size(), userId);
         return ResponseEntity.ok(trips);
     }
 
+    @GetMapping(
+            value = ApiConstants.TRIPS_AVAILABLE_ENDPOINT,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN','USER')")
+    @Operation(
+            summary = "Stream all available trips for current user",
+            description =
+                    "Streams the trips available to the authenticated user as newline-delimited JSON")
+    public ResponseEntity<StreamingResponseBody> streamAllAvailableTrips(
+            @Parameter(hidden = true) @CurrentUserId UUID userId) {
+        log.info("Received request to stream all available trips for user: {}", userId);
+        return ndjsonResponse(
+                consumer -> tripService.streamAllAvailableTripsForUser(userId, consumer));
+    }
+
     @GetMapping(ApiConstants.TRIPS_BY_USER_ENDPOINT)
     @PreAuthorize("hasAnyRole('ADMIN','USER')")
     @Operation(
             summary = "Get trips by another user",
             description =
                     "Retrieves trips by another user, respecting visibility (PUBLIC and PROTECTED if friends)")
-    public ResponseEntity<List<TripDTO>> getTripsByUser(
+    public ResponseEntity<List<TripSummaryDTO>> getTripsByUser(
             @Parameter(hidden = true) @CurrentUserId UUID requestingUserId,
             @PathVariable UUID userId) {
         log.info(
@@ -104,7 +174,8 @@ public class TripController {
                 userId,
                 requestingUserId);
 
-        List<TripDTO> trips = tripService.getTripsForUserWithVisibility(userId, requestingUserId);
+        List<TripSummaryDTO> trips =
+                tripService.getTripsForUserWithVisibility(userId, requestingUserId);
 
         log.info("Successfully retrieved {} trips for user {}", trips.size(), userId);
         return ResponseEntity.ok(trips);
@@ -115,14 +186,78 @@ public class TripController {
             summary = "Get ongoing public trips",
             description =
                     "Retrieves all public trips that are currently in progress, prioritizing followed users if authenticated")
-    public ResponseEntity<List<TripDTO>> getOngoingPublicTrips(
-            @Parameter(hidden = true) @CurrentUserId(required = false) UUID requestingUserId) {
+    public ResponseEntity<List<TripSummaryDTO>> getOngoingPublicTrips(
+            @Parameter(hidden = true) @CurrentUserId(required = false) UUID requestingUserId,
+            @Parameter(description = CURSOR_DESCRIPTION)
+                    @RequestParam(value = ApiConstants.CURSOR_PARAM, required = false)
+                    String cursor,
+            @Parameter(description = LIMIT_DESCRIPTION)
+                    @RequestParam(value = ApiConstants.LIMIT_PARAM, required = false)
+                    Integer limit) {
+        if (cursor != null || limit != null) {
+            log.info(
+                    "Received request to retrieve a page of ongoing public trips from user {}",
+                    requestingUserId);
+            return pageResponse(
+                    tripService.getOngoingPublicTrips(requestingUserId, cursor, pageSize(limit)));
+        }
         log.info(
                 "Received request to retrieve ongoing public trips from user {}", requestingUserId);
 
-        List<TripDTO> trips = tripService.getOngoingPublicTrips(requestingUserId);
+        List<TripSummaryDTO> trips = tripService.getOngoingPublicTrips(requestingUserId);
 
         log.info("Successfully retrieved {} ongoing public trips", trips.size());
         return ResponseEntity.ok(trips);
     }
+
+    @GetMapping(
+            value = ApiConstants.TRIPS_PUBLIC_ENDPOINT,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(
+            summary = "Stream ongoing public trips",
+            description =
+                    "Streams all ongoing public trips as newline-delimited JSON, followed users first if authenticated")
+    public ResponseEntity<StreamingResponseBody> streamOngoingPublicTrips(
+            @Parameter(hidden = true) @CurrentUserId(required = false) UUID requestingUserId) {
+        log.info("Received request to stream ongoing public trips from user {}", requestingUserId);
+        return ndjsonResponse(
+                consumer -> tripService.streamOngoingPublicTrips(requestingUserId, consumer));
+    }
+
+    private static int pageSize(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException(
+                    "Limit must be between 1 and " + MAX_PAGE_SIZE + ", got " + limit);
+        }
+        return limit;
+    }
+
+    private static ResponseEntity<List<TripSummaryDTO>> pageResponse(
+            CursorPage<TripSummaryDTO> page) {
+        log.info("Successfully retrieved a page of {} trips", page.items().size());
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(ApiConstants.NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.items());
+    }
+
+    /** Streams the trips {@code producer} emits as one JSON document per line. */
+    private ResponseEntity<StreamingResponseBody> ndjsonResponse(
+            Consumer<Consumer<TripSummaryDTO>> producer) {
+        StreamingResponseBody body = out -> producer.accept(trip -> writeLine(out, trip));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    private void writeLine(OutputStream out, TripSummaryDTO trip) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(trip));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
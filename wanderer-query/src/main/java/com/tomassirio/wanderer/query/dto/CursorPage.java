@@ -0,0 +1,13 @@
+package com.tomassirio.wanderer.query.dto;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing.
+ *
+ * @param items the items of this page
+ * @param nextCursor the cursor of the next page, or {@code null} if this is the last one
+ * @param <T> item type
+ * @since 0.9.5
+ */
+public record CursorPage<T>(List<T> items, String nextCursor) {}
@@ -0,0 +1,64 @@
+package com.tomassirio.wanderer.query.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position in a trip listing ordered by creation time and then ID, newest first. The next page
+ * holds the trips strictly after this position, so pages stay stable while trips are added.
+ *
+ * <p>{@code followedSegment} marks a position within the trips of followed users, which the ongoing
+ * public trips listing returns before all others. Cursors travel to clients as opaque base64url
+ * strings.
+ *
+ * @param creationTimestamp creation time of the last trip returned
+ * @param id ID of the last trip returned
+ * @param followedSegment whether the position is within the followed users' trips
+ * @since 0.9.5
+ */
+public record TripCursor(Instant creationTimestamp, UUID id, boolean followedSegment) {
+
+    private static final Instant END_OF_TIME = Instant.parse("9999-12-31T23:59:59Z");
+    private static final UUID MAX_ID = new UUID(-1L, -1L);
+
+    /** Returns the position before the newest trip. */
+    public static TripCursor first(boolean followedSegment) {
+        return new TripCursor(END_OF_TIME, MAX_ID, followedSegment);
+    }
+
+    /** Returns the position right after {@code trip}. */
+    public static TripCursor after(TripSummaryDTO trip, boolean followedSegment) {
+        return new TripCursor(
+                trip.creationTimestamp(), UUID.fromString(trip.id()), followedSegment);
+    }
+
+    public String encode() {
+        String raw = (followedSegment ? "f" : "a") + "|" + creationTimestamp + "|" + id;
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Parses a cursor returned by a previous page.
+     *
+     * @param cursor the encoded cursor
+     * @return the decoded position
+     * @throws IllegalArgumentException if {@code cursor} was not produced by {@link #encode()}
+     */
+    public static TripCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 3 || !(parts[0].equals("f") || parts[0].equals("a"))) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new TripCursor(
+                    Instant.parse(parts[1]), UUID.fromString(parts[2]), parts[0].equals("f"));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
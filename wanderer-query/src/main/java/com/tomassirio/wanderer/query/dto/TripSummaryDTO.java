@@ -0,0 +1,75 @@
+package com.tomassirio.wanderer.query.dto;
+
+import com.tomassirio.wanderer.commons.domain.GeoLocation;
+import com.tomassirio.wanderer.commons.domain.TripModality;
+import com.tomassirio.wanderer.commons.domain.TripStatus;
+import com.tomassirio.wanderer.commons.domain.TripVisibility;
+import com.tomassirio.wanderer.commons.dto.TripDetailsDTO;
+import com.tomassirio.wanderer.commons.dto.TripSettingsDTO;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A trip as shown in listings: the trip's own columns plus its owner's username, without the
+ * comments and updates of {@link com.tomassirio.wanderer.commons.dto.TripDTO}. Serializes to the
+ * same JSON as {@code TripDTO} minus those two fields.
+ *
+ * @since 0.9.5
+ */
+@Schema(description = "Trip listing entry, without comments and updates")
+public record TripSummaryDTO(
+        String id,
+        String name,
+        String userId,
+        String username,
+        TripSettingsDTO tripSettings,
+        TripDetailsDTO tripDetails,
+        String tripPlanId,
+        String encodedPolyline,
+        Instant polylineUpdatedAt,
+        Instant creationTimestamp,
+        Boolean enabled) {
+
+    /**
+     * Flat constructor used by the JPQL constructor expressions in {@link
+     * com.tomassirio.wanderer.query.repository.TripRepository}, which cannot build the nested
+     * settings and details records themselves.
+     */
+    public TripSummaryDTO(
+            UUID id,
+            String name,
+            UUID userId,
+            String username,
+            TripStatus tripStatus,
+            TripVisibility visibility,
+            Integer updateRefresh,
+            Boolean automaticUpdates,
+            TripModality tripModality,
+            Instant startTimestamp,
+            Instant endTimestamp,
+            GeoLocation startLocation,
+            GeoLocation endLocation,
+            List<GeoLocation> waypoints,
+            UUID tripPlanId,
+            String encodedPolyline,
+            Instant polylineUpdatedAt,
+            Instant creationTimestamp,
+            Boolean enabled) {
+        this(
+                id.toString(),
+                name,
+                userId.toString(),
+                username,
+                new TripSettingsDTO(
+                        tripStatus, visibility, updateRefresh, automaticUpdates, tripModality),
+                new TripDetailsDTO(
+                        startTimestamp, endTimestamp, startLocation, endLocation, waypoints),
+                tripPlanId != null ? tripPlanId.toString() : null,
+                encodedPolyline,
+                polylineUpdatedAt,
+                creationTimestamp,
+                enabled);
+    }
+}
@@ -0,0 +1,76 @@
+package com.tomassirio.wanderer.query.notification;
+
+import com.tomassirio.wanderer.commons.notification.PostgresNotificationListener;
+import com.tomassirio.wanderer.commons.notification.ReadModelChange;
+import com.tomassirio.wanderer.query.config.properties.ReadModelListenerProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Listens for the {@link ReadModelChange} notifications wanderer-command sends and republishes
+ * them as application events, so read-side caches can evict what changed.
+ *
+ * <p>Notifications sent while the {@link PostgresNotificationListener} is disconnected are lost,
+ * so every time it (re)connects a {@link ReadModelListenerConnectedEvent} tells caches to drop
+ * everything they hold.
+ *
+ * @since 0.9.5
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(
+        prefix = "app.read-model.listener",
+        name = "enabled",
+        havingValue = "true",
+        matchIfMissing = true)
+public class ReadModelChangeListener implements PostgresNotificationListener.Handler {
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final PostgresNotificationListener listener;
+
+    public ReadModelChangeListener(
+            ApplicationEventPublisher eventPublisher,
+            DataSource dataSource,
+            ReadModelListenerProperties properties) {
+        this.eventPublisher = eventPublisher;
+        this.listener =
+                new PostgresNotificationListener(
+                        "read-model-listener",
+                        ReadModelChange.CHANNEL,
+                        dataSource,
+                        properties.getPollTimeout(),
+                        properties.getReconnectDelay(),
+                        this);
+    }
+
+    @PostConstruct
+    public void start() {
+        listener.start();
+        log.info("Read model change listener started on channel {}", ReadModelChange.CHANNEL);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        listener.stop();
+    }
+
+    @Override
+    public void connected() {
+        eventPublisher.publishEvent(new ReadModelListenerConnectedEvent());
+    }
+
+    /**
+     * Handles one notification received on the channel.
+     *
+     * @param notification the notification payload
+     */
+    @Override
+    public void receive(String notification) {
+        eventPublisher.publishEvent(ReadModelChange.decode(notification));
+    }
+}
@@ -0,0 +1,9 @@
+package com.tomassirio.wanderer.query.notification;
+
+/**
+ * Published each time the {@link ReadModelChangeListener} (re)connects. Changes made while it was
+ * disconnected were not delivered, so caches fed by it should be cleared.
+ *
+ * @since 0.9.5
+ */
+public record ReadModelListenerConnectedEvent() {}
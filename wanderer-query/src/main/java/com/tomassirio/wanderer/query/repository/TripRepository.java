@@ -3,8 +3,13 @@ package com.tomassirio.wanderer.query.repository;
 import com.tomassirio.wanderer.commons.domain.Trip;
 import com.tomassirio.wanderer.commons.domain.TripStatus;
 import com.tomassirio.wanderer.commons.domain.TripVisibility;
+import com.tomassirio.wanderer.query.dto.TripSummaryDTO;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -13,43 +18,205 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface TripRepository extends JpaRepository<Trip, UUID> {
 
-    List<Trip> findByTripSettingsVisibility(TripVisibility visibility);
+    // Trip listings select TripSummaryDTOs straight from the trip columns and the owner's
+    // username in a single query, so listing trips never touches their comments or updates.
 
-    List<Trip> findByUserId(UUID userId);
+    String SUMMARY_SELECT =
+            "SELECT new com.tomassirio.wanderer.query.dto.TripSummaryDTO("
+                    + "t.id, t.name, t.userId, u.username, "
+                    + "t.tripSettings.tripStatus, t.tripSettings.visibility, "
+                    + "t.tripSettings.updateRefresh, t.tripSettings.automaticUpdates, "
+                    + "t.tripSettings.tripModality, "
+                    + "t.tripDetails.startTimestamp, t.tripDetails.endTimestamp, "
+                    + "t.tripDetails.startLocation, t.tripDetails.endLocation, "
+                    + "t.tripDetails.waypoints, "
+                    + "t.tripPlanId, t.encodedPolyline, t.polylineUpdatedAt, "
+                    + "t.creationTimestamp, t.enabled) "
+                    + "FROM Trip t LEFT JOIN User u ON u.id = t.userId";
+
+    String AVAILABLE_FOR_USER =
+            " (t.userId = :userId OR "
+                    + "t.tripSettings.visibility = 'PUBLIC' OR "
+                    + "(t.tripSettings.visibility = 'PROTECTED' AND t.userId IN :friendIds))";
+
+    /** Summaries of all trips. */
+    @Query(SUMMARY_SELECT)
+    List<TripSummaryDTO> findAllSummaries();
+
+    /** Summaries of the trips with the given visibility. */
+    @Query(SUMMARY_SELECT + " WHERE t.tripSettings.visibility = :visibility")
+    List<TripSummaryDTO> findSummariesByVisibility(@Param("visibility") TripVisibility visibility);
+
+    /** Summaries of the trips owned by a user. */
+    @Query(SUMMARY_SELECT + " WHERE t.userId = :userId")
+    List<TripSummaryDTO> findSummariesByUserId(@Param("userId") UUID userId);
 
     /**
      * Find trips by user ID that are visible to the requester based on visibility rules. Returns
      * PUBLIC and PROTECTED trips for any requester.
      */
     @Query(
-            "SELECT t FROM Trip t WHERE t.userId = :userId AND t.tripSettings.visibility IN :visibilities")
-    List<Trip> findByUserIdAndVisibilityIn(
+            SUMMARY_SELECT
+                    + " WHERE t.userId = :userId AND t.tripSettings.visibility IN :visibilities")
+    List<TripSummaryDTO> findSummariesByUserIdAndVisibilityIn(
             @Param("userId") UUID userId, @Param("visibilities") List<TripVisibility> visibilities);
 
-    /** Find all public trips that are currently in progress. */
-    @Query(
-            "SELECT t FROM Trip t WHERE t.tripSettings.visibility = :visibility AND t.tripSettings.tripStatus = :status")
-    List<Trip> findByVisibilityAndStatus(
-            @Param("visibility") TripVisibility visibility, @Param("status") TripStatus status);
-
-    /** Find all public trips that are in any of the specified statuses. */
-    @Query(
-            "SELECT t FROM Trip t WHERE t.tripSettings.visibility = :visibility AND t.tripSettings.tripStatus IN :statuses")
-    List<Trip> findByVisibilityAndStatusIn(
-            @Param("visibility") TripVisibility visibility,
-            @Param("statuses") List<TripStatus> statuses);
+    /** Summaries of the given trips, in no particular order. */
+    @Query(SUMMARY_SELECT + " WHERE t.id IN :ids")
+    List<TripSummaryDTO> findSummariesByIdIn(@Param("ids") Collection<UUID> ids);
 
     /**
      * Find all trips available to a user. This includes: - All trips owned by the user - All PUBLIC
      * trips from other users - All PROTECTED trips from friends
      */
-    @Query(
-            "SELECT t FROM Trip t WHERE "
-                    + "t.userId = :userId OR "
-                    + "t.tripSettings.visibility = 'PUBLIC' OR "
-                    + "(t.tripSettings.visibility = 'PROTECTED' AND t.userId IN :friendIds)")
-    List<Trip> findAllAvailableTripsForUser(
+    @Query(SUMMARY_SELECT + " WHERE" + AVAILABLE_FOR_USER)
+    List<TripSummaryDTO> findAvailableSummariesForUser(
             @Param("userId") UUID userId, @Param("friendIds") List<UUID> friendIds);
 
     long countByUserId(UUID userId);
+
+    // Maintenance stats are aggregated in the database, so they cost a few scans rather than
+    // loading every trip with its updates. MISSING_POLYLINE treats a whitespace-only polyline as
+    // missing, like String.isBlank, and is the predicate of the partial index
+    // idx_trips_missing_polyline, so it must stay in sync with it. HAS_TWO_UPDATES looks for a
+    // trip's second update through idx_trip_updates_trip_id_timestamp, reading at most two rows
+    // per trip instead of grouping the whole trip_updates table.
+
+    String MISSING_POLYLINE = "(t.encoded_polyline IS NULL OR t.encoded_polyline !~ '\\S')";
+
+    String HAS_TWO_UPDATES =
+            "EXISTS (SELECT 1 FROM trip_updates tu WHERE tu.trip_id = t.id OFFSET 1)";
+
+    /** Counts of all trips, of those with a polyline and of those with two or more updates. */
+    @Query(
+            value =
+                    "SELECT COUNT(*) AS \"totalTrips\", "
+                            + "COUNT(*) FILTER (WHERE NOT "
+                            + MISSING_POLYLINE
+                            + ") AS \"tripsWithPolyline\", "
+                            + "COUNT(*) FILTER (WHERE "
+                            + HAS_TWO_UPDATES
+                            + ") AS \"tripsWithMultipleLocations\" "
+                            + "FROM trips t",
+            nativeQuery = true)
+    PolylineCoverage countPolylineCoverage();
+
+    /**
+     * Counts the trips with two or more updates but no polyline. Only the trips in {@code
+     * idx_trips_missing_polyline} are visited, each probing at most two of its updates.
+     */
+    @Query(
+            value =
+                    "SELECT COUNT(*) FROM trips t WHERE "
+                            + MISSING_POLYLINE
+                            + " AND "
+                            + HAS_TWO_UPDATES,
+            nativeQuery = true)
+    long countTripsMissingPolyline();
+
+    /** Counts returned by {@link #countPolylineCoverage()}. */
+    interface PolylineCoverage {
+
+        long getTotalTrips();
+
+        long getTripsWithPolyline();
+
+        long getTripsWithMultipleLocations();
+    }
+
+    // Keyset pages: the trips strictly after (:ts, :id) in (creationTimestamp DESC, id DESC)
+    // order, served by the matching (creation_timestamp, id) indexes. Unlike OFFSET paging, the
+    // cost of a page does not grow with its depth.
+
+    String KEYSET_AFTER =
+            " (t.creationTimestamp < :ts OR (t.creationTimestamp = :ts AND t.id < :id))";
+    String KEYSET_ORDER = " ORDER BY t.creationTimestamp DESC, t.id DESC";
+
+    /** Page of all trips. */
+    @Query(SUMMARY_SELECT + " WHERE" + KEYSET_AFTER + KEYSET_ORDER)
+    List<TripSummaryDTO> findPage(@Param("ts") Instant ts, @Param("id") UUID id, Limit limit);
+
+    /** Page of the trips available to a user, see {@link #findAvailableSummariesForUser}. */
+    @Query(SUMMARY_SELECT + " WHERE" + AVAILABLE_FOR_USER + " AND" + KEYSET_AFTER + KEYSET_ORDER)
+    List<TripSummaryDTO> findAvailablePageForUser(
+            @Param("userId") UUID userId,
+            @Param("friendIds") Collection<UUID> friendIds,
+            @Param("ts") Instant ts,
+            @Param("id") UUID id,
+            Limit limit);
+
+    /** Page of the trips with the given visibility in any of the given statuses. */
+    @Query(
+            SUMMARY_SELECT
+                    + " WHERE t.tripSettings.visibility = :visibility "
+                    + "AND t.tripSettings.tripStatus IN :statuses AND"
+                    + KEYSET_AFTER
+                    + KEYSET_ORDER)
+    List<TripSummaryDTO> findPageByVisibilityAndStatusIn(
+            @Param("visibility") TripVisibility visibility,
+            @Param("statuses") Collection<TripStatus> statuses,
+            @Param("ts") Instant ts,
+            @Param("id") UUID id,
+            Limit limit);
+
+    /** As {@link #findPageByVisibilityAndStatusIn}, restricted to trips owned by {@code owners}. */
+    @Query(
+            SUMMARY_SELECT
+                    + " WHERE t.tripSettings.visibility = :visibility "
+                    + "AND t.tripSettings.tripStatus IN :statuses AND t.userId IN :owners AND"
+                    + KEYSET_AFTER
+                    + KEYSET_ORDER)
+    List<TripSummaryDTO> findPageByVisibilityAndStatusInAndUserIdIn(
+            @Param("visibility") TripVisibility visibility,
+            @Param("statuses") Collection<TripStatus> statuses,
+            @Param("owners") Collection<UUID> owners,
+            @Param("ts") Instant ts,
+            @Param("id") UUID id,
+            Limit limit);
+
+    /** As {@link #findPageByVisibilityAndStatusIn}, excluding trips owned by {@code owners}. */
+    @Query(
+            SUMMARY_SELECT
+                    + " WHERE t.tripSettings.visibility = :visibility "
+                    + "AND t.tripSettings.tripStatus IN :statuses AND t.userId NOT IN :owners AND"
+                    + KEYSET_AFTER
+                    + KEYSET_ORDER)
+    List<TripSummaryDTO> findPageByVisibilityAndStatusInAndUserIdNotIn(
+            @Param("visibility") TripVisibility visibility,
+            @Param("statuses") Collection<TripStatus> statuses,
+            @Param("owners") Collection<UUID> owners,
+            @Param("ts") Instant ts,
+            @Param("id") UUID id,
+            Limit limit);
+
+    // The ongoing public trips feed keeps only the ordering key and owner of each trip in memory
+    // and loads the summaries of a page by id.
+
+    String FEED_ENTRY_SELECT =
+            "SELECT t.id AS id, t.userId AS userId, t.creationTimestamp AS creationTimestamp "
+                    + "FROM Trip t WHERE t.tripSettings.visibility = :visibility "
+                    + "AND t.tripSettings.tripStatus IN :statuses";
+
+    /** Feed entries of the trips with the given visibility in any of the given statuses. */
+    @Query(FEED_ENTRY_SELECT)
+    List<FeedEntry> findFeedEntriesByVisibilityAndStatusIn(
+            @Param("visibility") TripVisibility visibility,
+            @Param("statuses") Collection<TripStatus> statuses);
+
+    /** Feed entry of a trip, if it has the given visibility and any of the given statuses. */
+    @Query(FEED_ENTRY_SELECT + " AND t.id = :id")
+    Optional<FeedEntry> findFeedEntryByIdAndVisibilityAndStatusIn(
+            @Param("id") UUID id,
+            @Param("visibility") TripVisibility visibility,
+            @Param("statuses") Collection<TripStatus> statuses);
+
+    /** Ordering key and owner of a trip, as held by the ongoing public trips feed. */
+    interface FeedEntry {
+
+        UUID getId();
+
+        UUID getUserId();
+
+        Instant getCreationTimestamp();
+    }
 }
@@ -4,10 +4,25 @@ import com.tomassirio.wanderer.commons.domain.TripUpdate;
 import java.util.List;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface TripUpdateRepository extends JpaRepository<TripUpdate, UUID> {
 
     List<TripUpdate> findByTripIdOrderByTimestampDesc(UUID tripId);
+
+    /**
+     * Counts the updates without a city or country, treating whitespace-only values as missing
+     * like {@link String#isBlank()}. The predicate is that of the partial index {@code
+     * idx_trip_updates_missing_geocoding}, so only the updates still missing geocoding are
+     * visited.
+     */
+    @Query(
+            value =
+                    "SELECT COUNT(*) FROM trip_updates "
+                            + "WHERE city IS NULL OR city !~ '\\S' "
+                            + "OR country IS NULL OR country !~ '\\S'",
+            nativeQuery = true)
+    long countMissingGeocoding();
 }
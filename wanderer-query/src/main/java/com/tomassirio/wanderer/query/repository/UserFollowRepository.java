@@ -4,6 +4,8 @@ import com.tomassirio.wanderer.commons.domain.UserFollow;
 import java.util.List;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
@@ -13,4 +15,7 @@ public interface UserFollowRepository extends JpaRepository<UserFollow, UUID> {
     List<UserFollow> findByFollowedId(UUID followedId);
 
     long countByFollowedId(UUID followedId);
+
+    @Query("SELECT f.followedId FROM UserFollow f WHERE f.followerId = :followerId")
+    List<UUID> findFollowedIdsByFollowerId(@Param("followerId") UUID followerId);
 }
@@ -2,8 +2,11 @@ package com.tomassirio.wanderer.query.service;
 
 import com.tomassirio.wanderer.commons.dto.TripDTO;
 import com.tomassirio.wanderer.commons.dto.TripMaintenanceStatsDTO;
+import com.tomassirio.wanderer.query.dto.CursorPage;
+import com.tomassirio.wanderer.query.dto.TripSummaryDTO;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 /**
  * Service interface for querying trip data in the query side of the CQRS architecture.
@@ -28,13 +31,34 @@ public interface TripService {
     /**
      * Retrieves all trips in the system.
      *
-     * <p>This method returns all trips regardless of visibility or status. The results are mapped
-     * to DTOs for safe transmission to clients.
+     * <p>This method returns all trips regardless of visibility or status. Like every listing in
+     * this service, it returns {@link TripSummaryDTO}s, which leave out comments and updates; only
+     * {@link #getTrip(UUID)} loads those.
      *
-     * @return a list of {@link TripDTO} objects representing all trips, or an empty list if no
-     *     trips exist
+     * @return a list of {@link TripSummaryDTO} objects representing all trips, or an empty list if
+     *     no trips exist
      */
-    List<TripDTO> getAllTrips();
+    List<TripSummaryDTO> getAllTrips();
+
+    /**
+     * Retrieves one page of all trips, newest first.
+     *
+     * @param cursor the cursor returned with the previous page, or {@code null} for the first page
+     * @param limit the maximum number of trips in the page
+     * @return the page and the cursor of the next one
+     * @throws IllegalArgumentException if {@code cursor} is not a valid cursor
+     * @since 0.9.5
+     */
+    CursorPage<TripSummaryDTO> getAllTrips(String cursor, int limit);
+
+    /**
+     * Passes every trip, newest first, to {@code consumer}, loading them page by page so memory use
+     * does not depend on the number of trips.
+     *
+     * @param consumer receives each trip
+     * @since 0.9.5
+     */
+    void streamAllTrips(Consumer<TripSummaryDTO> consumer);
 
     /**
      * Retrieves all trips with PUBLIC visibility.
@@ -42,19 +66,19 @@ public interface TripService {
      * <p>This method is intended for unauthenticated users or public browsing. It returns only the
      * trips that are marked as PUBLIC, ensuring that sensitive or private trip data is not exposed.
      *
-     * @return a list of {@link TripDTO} objects representing all public trips, or an empty list if
-     *     no public trips exist
+     * @return a list of {@link TripSummaryDTO} objects representing all public trips, or an empty
+     *     list if no public trips exist
      */
-    List<TripDTO> getPublicTrips();
+    List<TripSummaryDTO> getPublicTrips();
 
     /**
      * Retrieves all trips that belong to the given user.
      *
      * @param userId the UUID of the owner/user
-     * @return a list of {@link TripDTO} objects representing trips owned by the user, or an empty
-     *     list if none exist
+     * @return a list of {@link TripSummaryDTO} objects representing trips owned by the user, or an
+     *     empty list if none exist
      */
-    List<TripDTO> getTripsForUser(UUID userId);
+    List<TripSummaryDTO> getTripsForUser(UUID userId);
 
     /**
      * Retrieves trips by another user, respecting visibility rules. Returns PUBLIC trips and
@@ -62,18 +86,44 @@ public interface TripService {
      *
      * @param userId the UUID of the user whose trips to retrieve
      * @param requestingUserId the UUID of the user making the request (optional)
-     * @return a list of {@link TripDTO} objects representing visible trips owned by the user
+     * @return a list of {@link TripSummaryDTO} objects representing visible trips owned by the user
+     */
+    List<TripSummaryDTO> getTripsForUserWithVisibility(UUID userId, UUID requestingUserId);
+
+    /**
+     * Retrieves all ongoing public trips (trips that are PUBLIC and CREATED or IN_PROGRESS). If a
+     * requesting user ID is provided, trips from followed users are prioritized. Unless the
+     * in-memory feed is disabled, the trips are taken from it, so the trips table is not scanned.
+     *
+     * @param requestingUserId the UUID of the user making the request (optional)
+     * @return a list of {@link TripSummaryDTO} objects representing ongoing public trips
+     */
+    List<TripSummaryDTO> getOngoingPublicTrips(UUID requestingUserId);
+
+    /**
+     * Retrieves one page of ongoing public trips. Trips from followed users come first, newest
+     * first, followed by all other trips, newest first. A page may hold fewer than {@code limit}
+     * trips when some stopped being ongoing or public moments before it was read.
+     *
+     * @param requestingUserId the UUID of the user making the request (optional)
+     * @param cursor the cursor returned with the previous page, or {@code null} for the first page
+     * @param limit the maximum number of trips in the page
+     * @return the page and the cursor of the next one
+     * @throws IllegalArgumentException if {@code cursor} is not a valid cursor
+     * @since 0.9.5
      */
-    List<TripDTO> getTripsForUserWithVisibility(UUID userId, UUID requestingUserId);
+    CursorPage<TripSummaryDTO> getOngoingPublicTrips(
+            UUID requestingUserId, String cursor, int limit);
 
     /**
-     * Retrieves all ongoing public trips (trips that are PUBLIC and IN_PROGRESS). If a requesting
-     * user ID is provided, trips from followed users are prioritized.
+     * Passes every ongoing public trip to {@code consumer}, in the order of {@link
+     * #getOngoingPublicTrips(UUID, String, int)}, loading them page by page.
      *
      * @param requestingUserId the UUID of the user making the request (optional)
-     * @return a list of {@link TripDTO} objects representing ongoing public trips
+     * @param consumer receives each trip
+     * @since 0.9.5
      */
-    List<TripDTO> getOngoingPublicTrips(UUID requestingUserId);
+    void streamOngoingPublicTrips(UUID requestingUserId, Consumer<TripSummaryDTO> consumer);
 
     /**
      * Retrieves all trips available to the current user. This includes: - All trips owned by the
@@ -81,13 +131,37 @@ public interface TripService {
      * from users who are friends with the requesting user
      *
      * @param userId the UUID of the user making the request
-     * @return a list of {@link TripDTO} objects representing all available trips for the user
+     * @return a list of {@link TripSummaryDTO} objects representing all available trips for the
+     *     user
+     */
+    List<TripSummaryDTO> getAllAvailableTripsForUser(UUID userId);
+
+    /**
+     * Retrieves one page of the trips available to the user, newest first.
+     *
+     * @param userId the UUID of the user making the request
+     * @param cursor the cursor returned with the previous page, or {@code null} for the first page
+     * @param limit the maximum number of trips in the page
+     * @return the page and the cursor of the next one
+     * @throws IllegalArgumentException if {@code cursor} is not a valid cursor
+     * @since 0.9.5
+     */
+    CursorPage<TripSummaryDTO> getAllAvailableTripsForUser(UUID userId, String cursor, int limit);
+
+    /**
+     * Passes every trip available to the user, newest first, to {@code consumer}, loading them page
+     * by page.
+     *
+     * @param userId the UUID of the user making the request
+     * @param consumer receives each trip
+     * @since 0.9.5
      */
-    List<TripDTO> getAllAvailableTripsForUser(UUID userId);
+    void streamAllAvailableTripsForUser(UUID userId, Consumer<TripSummaryDTO> consumer);
 
     /**
      * Returns maintenance statistics for all trips in the system, including polyline coverage and
-     * geocoding coverage metrics.
+     * geocoding coverage metrics. The counts are aggregated in the database, so no trips or updates
+     * are loaded.
      *
      * @return a {@link TripMaintenanceStatsDTO} containing the computed statistics
      */
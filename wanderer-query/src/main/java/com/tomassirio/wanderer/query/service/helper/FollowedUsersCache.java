@@ -0,0 +1,74 @@
+package com.tomassirio.wanderer.query.service.helper;
+
+import com.tomassirio.wanderer.commons.cache.BoundedCache;
+import com.tomassirio.wanderer.commons.notification.ReadModelChange;
+import com.tomassirio.wanderer.query.config.properties.FollowCacheProperties;
+import com.tomassirio.wanderer.query.notification.ReadModelListenerConnectedEvent;
+import com.tomassirio.wanderer.query.repository.UserFollowRepository;
+import java.util.Set;
+import java.util.UUID;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Resolves the ids of the users a user follows, keeping the answers in a bounded in-process cache.
+ *
+ * <p>A user's entry is evicted when wanderer-command reports they followed or unfollowed someone,
+ * or that the user was deleted, and the whole cache is cleared whenever the change listener
+ * reconnects. A list loaded while an eviction arrives is returned but not cached, so it cannot
+ * overwrite the eviction.
+ *
+ * @since 0.9.5
+ */
+@Component
+public class FollowedUsersCache {
+
+    private final UserFollowRepository userFollowRepository;
+    private final BoundedCache<UUID, Set<UUID>> cache;
+
+    public FollowedUsersCache(
+            UserFollowRepository userFollowRepository, FollowCacheProperties properties) {
+        this.userFollowRepository = userFollowRepository;
+        this.cache =
+                properties.isEnabled()
+                        ? new BoundedCache<>(properties.getMaxEntries(), properties.getTtl())
+                        : null;
+    }
+
+    /**
+     * Returns the ids of the users {@code followerId} follows, loading them on a cache miss.
+     *
+     * @param followerId the follower's id
+     * @return the followed users' ids, never {@code null}
+     */
+    public Set<UUID> getFollowedUserIds(UUID followerId) {
+        if (cache == null) {
+            return Set.copyOf(userFollowRepository.findFollowedIdsByFollowerId(followerId));
+        }
+        Set<UUID> cached = cache.get(followerId);
+        if (cached != null) {
+            return cached;
+        }
+        long stamp = cache.invalidationStamp();
+        Set<UUID> followed =
+                Set.copyOf(userFollowRepository.findFollowedIdsByFollowerId(followerId));
+        cache.putIfNotInvalidatedSince(followerId, followed, stamp);
+        return followed;
+    }
+
+    @EventListener
+    public void onReadModelChange(ReadModelChange change) {
+        if (cache != null
+                && (change.type() == ReadModelChange.Type.FOLLOW
+                        || change.type() == ReadModelChange.Type.USER)) {
+            cache.invalidate(change.id());
+        }
+    }
+
+    @EventListener
+    public void onListenerConnected(ReadModelListenerConnectedEvent event) {
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+}
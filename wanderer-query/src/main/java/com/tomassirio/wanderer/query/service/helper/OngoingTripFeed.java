@@ -0,0 +1,373 @@
+package com.tomassirio.wanderer.query.service.helper;
+
+import com.tomassirio.wanderer.commons.domain.TripStatus;
+import com.tomassirio.wanderer.commons.domain.TripVisibility;
+import com.tomassirio.wanderer.commons.notification.ReadModelChange;
+import com.tomassirio.wanderer.query.config.properties.OngoingTripFeedProperties;
+import com.tomassirio.wanderer.query.dto.CursorPage;
+import com.tomassirio.wanderer.query.dto.TripCursor;
+import com.tomassirio.wanderer.query.dto.TripSummaryDTO;
+import com.tomassirio.wanderer.query.notification.ReadModelListenerConnectedEvent;
+import com.tomassirio.wanderer.query.repository.TripRepository;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory index of the ongoing public trips, the home feed every visitor loads.
+ *
+ * <p>Only each trip's id, owner and creation time are held, in the (creationTimestamp DESC, id
+ * DESC) order of the other trip listings, plus an index of the trips by owner. A feed page is
+ * the followed users' trips, gathered from that index, followed by the remaining trips read off
+ * the sorted set; callers load the summaries of the returned ids.
+ *
+ * <p>The index is built from the database on first use and then kept up to date from the trip
+ * change notifications of wanderer-command: each one re-reads that single trip. It is rebuilt
+ * whenever the change listener reconnects and once it is older than the configured maximum age.
+ * Only the first load makes requests wait; later rebuilds run on a background thread while the
+ * previous index keeps serving, and the notifications received meanwhile are replayed onto the
+ * new index before it replaces the old one.
+ *
+ * @since 0.9.5
+ */
+@Slf4j
+@Component
+public class OngoingTripFeed {
+
+    /** Statuses of the trips in the feed. */
+    public static final List<TripStatus> ONGOING_STATUSES =
+            List.of(TripStatus.CREATED, TripStatus.IN_PROGRESS);
+
+    /** PostgreSQL's uuid ordering: unsigned, most significant bits first. */
+    private static final Comparator<UUID> UUID_ORDER =
+            Comparator.comparing(UUID::getMostSignificantBits, Long::compareUnsigned)
+                    .thenComparing(UUID::getLeastSignificantBits, Long::compareUnsigned);
+
+    private static final Comparator<Entry> NEWEST_FIRST =
+            Comparator.comparing(Entry::creationTimestamp)
+                    .thenComparing(Entry::tripId, UUID_ORDER)
+                    .reversed();
+
+    private final TripRepository tripRepository;
+    private final OngoingTripFeedProperties properties;
+
+    private volatile Index index;
+
+    private final Object firstLoadLock = new Object();
+    private final AtomicBoolean reloading = new AtomicBoolean();
+
+    // Changes received while a rebuild reads the database, replayed onto its result; guarded by
+    // this, and null when no rebuild is running
+    private List<ReadModelChange> missedChanges;
+    private boolean missedReconnect;
+
+    public OngoingTripFeed(TripRepository tripRepository, OngoingTripFeedProperties properties) {
+        this.tripRepository = tripRepository;
+        this.properties = properties;
+    }
+
+    /**
+     * Returns one page of the feed: trips of {@code followedUserIds} first, then all others, each
+     * newest first. When the followed users' trips run out mid-page, the page is topped up from
+     * the other trips.
+     *
+     * @param followedUserIds the users whose trips come first
+     * @param cursor the cursor returned with the previous page, or {@code null} for the first
+     * @param limit the page size
+     * @return the ids of the page's trips, in feed order, and the next page's cursor
+     * @throws IllegalArgumentException if {@code cursor} is invalid
+     */
+    public CursorPage<UUID> page(Set<UUID> followedUserIds, String cursor, int limit) {
+        Index current = current();
+        TripCursor after =
+                cursor == null
+                        ? TripCursor.first(!followedUserIds.isEmpty())
+                        : TripCursor.decode(cursor);
+
+        List<Entry> followed = List.of();
+        if (after.followedSegment() && !followedUserIds.isEmpty()) {
+            followed = current.ownedBy(followedUserIds, after, limit + 1);
+            if (followed.size() > limit) {
+                return toPage(followed, limit, followed.size());
+            }
+        }
+
+        // Past the followed segment, or the user unfollowed everyone since the previous page
+        TripCursor othersAfter = after.followedSegment() ? TripCursor.first(false) : after;
+        List<Entry> trips = new ArrayList<>(limit + 1);
+        trips.addAll(followed);
+        for (Entry entry : current.after(othersAfter)) {
+            if (trips.size() > limit) {
+                break;
+            }
+            if (!followedUserIds.contains(entry.userId())) {
+                trips.add(entry);
+            }
+        }
+        return toPage(trips, limit, followed.size());
+    }
+
+    /** Whether {@code trip} still belongs in the feed, to filter summaries loaded by id. */
+    public static boolean isOngoingPublic(TripSummaryDTO trip) {
+        return trip.tripSettings() != null
+                && trip.tripSettings().visibility() == TripVisibility.PUBLIC
+                && ONGOING_STATUSES.contains(trip.tripSettings().tripStatus());
+    }
+
+    @EventListener
+    public void onReadModelChange(ReadModelChange change) {
+        switch (change.type()) {
+            case TRIP, USER -> record(change);
+            default -> {}
+        }
+    }
+
+    /**
+     * Notifications may have been missed while the listener was down, so the index is rebuilt. A
+     * rebuild already running may have read the database before the gap closed, so its result is
+     * marked stale too.
+     */
+    @EventListener
+    public synchronized void onListenerConnected(ReadModelListenerConnectedEvent event) {
+        if (index != null) {
+            index.markStale();
+        }
+        if (missedChanges != null) {
+            missedReconnect = true;
+        }
+    }
+
+    private Index current() {
+        Index snapshot = index;
+        if (snapshot == null) {
+            synchronized (firstLoadLock) {
+                if (index == null) {
+                    rebuild();
+                }
+                return index;
+            }
+        }
+        if (snapshot.isExpired(properties.getMaxAge()) && reloading.compareAndSet(false, true)) {
+            Thread.ofVirtual().name("ongoing-trip-feed-rebuild").start(this::rebuildInBackground);
+        }
+        return snapshot;
+    }
+
+    private void rebuildInBackground() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            log.warn("Failed to rebuild the ongoing trip feed, serving the previous one", e);
+        } finally {
+            reloading.set(false);
+        }
+    }
+
+    /**
+     * Reads the feed from the database without holding the feed's lock, then replays the changes
+     * that arrived during the read and swaps the new index in.
+     */
+    private void rebuild() {
+        List<ReadModelChange> missed = new ArrayList<>();
+        synchronized (this) {
+            missedChanges = missed;
+            missedReconnect = false;
+        }
+        Index loaded;
+        try {
+            loaded = load();
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                missedChanges = null;
+            }
+            throw e;
+        }
+        synchronized (this) {
+            missed.forEach(change -> apply(loaded, change));
+            if (missedReconnect) {
+                loaded.markStale();
+            }
+            missedChanges = null;
+            index = loaded;
+        }
+    }
+
+    private Index load() {
+        Index loaded = new Index(Instant.now());
+        tripRepository
+                .findFeedEntriesByVisibilityAndStatusIn(TripVisibility.PUBLIC, ONGOING_STATUSES)
+                .forEach(loaded::add);
+        log.debug("Loaded {} ongoing public trips into the feed", loaded.byTrip.size());
+        return loaded;
+    }
+
+    /**
+     * Applies a change to the served index, if there is one yet, and records it for the rebuild
+     * reading the database, if one is running, as that rebuild may have read the trip already.
+     */
+    private synchronized void record(ReadModelChange change) {
+        if (index != null) {
+            apply(index, change);
+        }
+        if (missedChanges != null) {
+            missedChanges.add(change);
+        }
+    }
+
+    private void apply(Index target, ReadModelChange change) {
+        switch (change.type()) {
+            case TRIP -> refreshTrip(target, change.id());
+            case USER -> target.removeOwner(change.id());
+            default -> {}
+        }
+    }
+
+    /** Re-reads one trip and adds, moves or removes it. */
+    private void refreshTrip(Index target, UUID tripId) {
+        target.remove(tripId);
+        tripRepository
+                .findFeedEntryByIdAndVisibilityAndStatusIn(
+                        tripId, TripVisibility.PUBLIC, ONGOING_STATUSES)
+                .ifPresent(target::add);
+    }
+
+    private static CursorPage<UUID> toPage(List<Entry> trips, int limit, int followedCount) {
+        if (trips.size() <= limit) {
+            return new CursorPage<>(trips.stream().map(Entry::tripId).toList(), null);
+        }
+        Entry last = trips.get(limit - 1);
+        TripCursor next =
+                new TripCursor(last.creationTimestamp(), last.tripId(), limit <= followedCount);
+        return new CursorPage<>(
+                trips.subList(0, limit).stream().map(Entry::tripId).toList(), next.encode());
+    }
+
+    private record Entry(UUID tripId, UUID userId, Instant creationTimestamp) {
+
+        /** A probe positioned at {@code cursor}, for searching the sorted sets. */
+        static Entry at(TripCursor cursor) {
+            return new Entry(cursor.id(), null, cursor.creationTimestamp());
+        }
+    }
+
+    /**
+     * The feed's contents. Readers use it without locking; writers hold the feed's lock, except
+     * for the rebuild filling an index nobody reads yet, so a reader may see a change half applied
+     * but never a corrupted set.
+     */
+    private static final class Index {
+
+        private final Instant loadedAt;
+        private volatile boolean stale;
+        private final NavigableSet<Entry> all = new ConcurrentSkipListSet<>(NEWEST_FIRST);
+        private final Map<UUID, Entry> byTrip = new ConcurrentHashMap<>();
+        private final Map<UUID, NavigableSet<Entry>> byOwner = new ConcurrentHashMap<>();
+
+        Index(Instant loadedAt) {
+            this.loadedAt = loadedAt;
+        }
+
+        boolean isExpired(Duration maxAge) {
+            return stale || loadedAt.plus(maxAge).isBefore(Instant.now());
+        }
+
+        void markStale() {
+            stale = true;
+        }
+
+        /**
+         * Adds a trip. Trips without a creation time are left out, as the keyset listings cannot
+         * page past them either.
+         */
+        void add(TripRepository.FeedEntry row) {
+            if (row.getCreationTimestamp() == null) {
+                return;
+            }
+            Entry entry = new Entry(row.getId(), row.getUserId(), row.getCreationTimestamp());
+            all.add(entry);
+            byTrip.put(entry.tripId(), entry);
+            byOwner.computeIfAbsent(
+                            entry.userId(), owner -> new ConcurrentSkipListSet<>(NEWEST_FIRST))
+                    .add(entry);
+        }
+
+        void remove(UUID tripId) {
+            Entry entry = byTrip.remove(tripId);
+            if (entry == null) {
+                return;
+            }
+            all.remove(entry);
+            NavigableSet<Entry> owned = byOwner.get(entry.userId());
+            if (owned != null) {
+                owned.remove(entry);
+                if (owned.isEmpty()) {
+                    byOwner.remove(entry.userId());
+                }
+            }
+        }
+
+        void removeOwner(UUID userId) {
+            NavigableSet<Entry> owned = byOwner.remove(userId);
+            if (owned != null) {
+                owned.forEach(
+                        entry -> {
+                            all.remove(entry);
+                            byTrip.remove(entry.tripId());
+                        });
+            }
+        }
+
+        NavigableSet<Entry> after(TripCursor cursor) {
+            return all.tailSet(Entry.at(cursor), false);
+        }
+
+        /**
+         * Up to {@code max} trips of {@code owners} after {@code cursor}, newest first. The
+         * owners' sets are already sorted, so they are merged lazily and only the returned trips
+         * are read, plus one look-ahead per owner.
+         */
+        List<Entry> ownedBy(Set<UUID> owners, TripCursor cursor, int max) {
+            Entry from = Entry.at(cursor);
+            PriorityQueue<Head> heads =
+                    new PriorityQueue<>(
+                            Math.max(1, owners.size()),
+                            Comparator.comparing(Head::entry, NEWEST_FIRST));
+            for (UUID owner : owners) {
+                NavigableSet<Entry> owned = byOwner.get(owner);
+                if (owned != null) {
+                    push(owned.tailSet(from, false).iterator(), heads);
+                }
+            }
+            List<Entry> merged = new ArrayList<>(Math.min(max, byTrip.size()));
+            while (merged.size() < max && !heads.isEmpty()) {
+                Head head = heads.poll();
+                merged.add(head.entry());
+                push(head.rest(), heads);
+            }
+            return merged;
+        }
+
+        private static void push(Iterator<Entry> trips, PriorityQueue<Head> heads) {
+            if (trips.hasNext()) {
+                heads.add(new Head(trips.next(), trips));
+            }
+        }
+
+        /** The next trip of one owner in a merge, with the iterator over that owner's others. */
+        private record Head(Entry entry, Iterator<Entry> rest) {}
+    }
+}
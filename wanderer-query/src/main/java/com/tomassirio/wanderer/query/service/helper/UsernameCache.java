@@ -0,0 +1,74 @@
+package com.tomassirio.wanderer.query.service.helper;
+
+import com.tomassirio.wanderer.commons.cache.BoundedCache;
+import com.tomassirio.wanderer.commons.notification.ReadModelChange;
+import com.tomassirio.wanderer.query.config.properties.UsernameCacheProperties;
+import com.tomassirio.wanderer.query.notification.ReadModelListenerConnectedEvent;
+import com.tomassirio.wanderer.query.repository.UserRepository;
+import java.util.Optional;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Resolves user ids to usernames for DTO enrichment, keeping the answers in a bounded in-process
+ * cache.
+ *
+ * <p>Entries are evicted when wanderer-command reports the user was created or deleted, and the
+ * whole cache is cleared whenever the change listener reconnects, since changes may have been
+ * missed in between. A username loaded while its entry was evicted is returned but not cached.
+ * Unknown users are not cached, so a user created after a failed lookup is found on the next one.
+ *
+ * @since 0.9.5
+ */
+@Slf4j
+@Component
+public class UsernameCache {
+
+    private final UserRepository userRepository;
+    private final BoundedCache<UUID, String> cache;
+
+    public UsernameCache(UserRepository userRepository, UsernameCacheProperties properties) {
+        this.userRepository = userRepository;
+        this.cache =
+                properties.isEnabled()
+                        ? new BoundedCache<>(properties.getMaxEntries(), properties.getTtl())
+                        : null;
+    }
+
+    /**
+     * Returns the username of {@code userId}, loading it from the database on a cache miss.
+     *
+     * @param userId the user id
+     * @return the username, or empty if no such user exists
+     */
+    public Optional<String> getUsername(UUID userId) {
+        if (cache == null) {
+            return userRepository.findUsernameById(userId);
+        }
+        String cached = cache.get(userId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        long stamp = cache.invalidationStamp();
+        Optional<String> username = userRepository.findUsernameById(userId);
+        username.ifPresent(value -> cache.putIfNotInvalidatedSince(userId, value, stamp));
+        return username;
+    }
+
+    @EventListener
+    public void onReadModelChange(ReadModelChange change) {
+        if (cache != null && change.type() == ReadModelChange.Type.USER) {
+            cache.invalidate(change.id());
+        }
+    }
+
+    @EventListener
+    public void onListenerConnected(ReadModelListenerConnectedEvent event) {
+        if (cache != null) {
+            log.debug("Clearing {} cached usernames after listener (re)connected", cache.size());
+            cache.clear();
+        }
+    }
+}
@@ -2,12 +2,11 @@ package com.tomassirio.wanderer.query.service.impl;
 
 import com.tomassirio.wanderer.commons.domain.PromotedTrip;
 import com.tomassirio.wanderer.commons.domain.Trip;
-import com.tomassirio.wanderer.commons.domain.User;
 import com.tomassirio.wanderer.query.dto.PromotedTripResponse;
 import com.tomassirio.wanderer.query.repository.PromotedTripRepository;
 import com.tomassirio.wanderer.query.repository.TripRepository;
-import com.tomassirio.wanderer.query.repository.UserRepository;
 import com.tomassirio.wanderer.query.service.PromotedTripQueryService;
+import com.tomassirio.wanderer.query.service.helper.UsernameCache;
 import jakarta.persistence.EntityNotFoundException;
 import java.util.List;
 import java.util.UUID;
@@ -30,7 +29,7 @@ public class PromotedTripQueryServiceImpl implements PromotedTripQueryService {
 
     private final PromotedTripRepository promotedTripRepository;
     private final TripRepository tripRepository;
-    private final UserRepository userRepository;
+    private final UsernameCache usernameCache;
 
     @Override
     public List<PromotedTripResponse> getAllPromotedTrips() {
@@ -62,18 +61,18 @@ public class PromotedTripQueryServiceImpl implements PromotedTripQueryService {
                                         new EntityNotFoundException(
                                                 "Trip not found: " + promotedTrip.getTripId()));
 
-        User promoter =
-                userRepository
-                        .findById(promotedTrip.getPromotedBy())
+        String promoterUsername =
+                usernameCache
+                        .getUsername(promotedTrip.getPromotedBy())
                         .orElseThrow(
                                 () ->
                                         new EntityNotFoundException(
                                                 "Promoter not found: "
                                                         + promotedTrip.getPromotedBy()));
 
-        User tripOwner =
-                userRepository
-                        .findById(trip.getUserId())
+        String tripOwnerUsername =
+                usernameCache
+                        .getUsername(trip.getUserId())
                         .orElseThrow(
                                 () ->
                                         new EntityNotFoundException(
@@ -85,9 +84,9 @@ public class PromotedTripQueryServiceImpl implements PromotedTripQueryService {
                 trip.getName(),
                 promotedTrip.getDonationLink(),
                 promotedTrip.getPromotedBy().toString(),
-                promoter.getUsername(),
-                tripOwner.getId().toString(),
-                tripOwner.getUsername(),
+                promoterUsername,
+                trip.getUserId().toString(),
+                tripOwnerUsername,
                 promotedTrip.getPromotedAt(),
                 promotedTrip.isPreAnnounced(),
                 promotedTrip.getCountdownStartDate());
@@ -2,36 +2,49 @@ package com.tomassirio.wanderer.query.service.impl;
 
 import com.tomassirio.wanderer.commons.domain.Friendship;
 import com.tomassirio.wanderer.commons.domain.Trip;
-import com.tomassirio.wanderer.commons.domain.TripStatus;
 import com.tomassirio.wanderer.commons.domain.TripVisibility;
-import com.tomassirio.wanderer.commons.domain.User;
-import com.tomassirio.wanderer.commons.domain.UserFollow;
 import com.tomassirio.wanderer.commons.dto.TripDTO;
 import com.tomassirio.wanderer.commons.dto.TripMaintenanceStatsDTO;
 import com.tomassirio.wanderer.commons.mapper.TripMapper;
+import com.tomassirio.wanderer.query.config.properties.OngoingTripFeedProperties;
+import com.tomassirio.wanderer.query.dto.CursorPage;
+import com.tomassirio.wanderer.query.dto.TripCursor;
+import com.tomassirio.wanderer.query.dto.TripSummaryDTO;
 import com.tomassirio.wanderer.query.repository.FriendshipRepository;
 import com.tomassirio.wanderer.query.repository.TripRepository;
-import com.tomassirio.wanderer.query.repository.UserFollowRepository;
-import com.tomassirio.wanderer.query.repository.UserRepository;
+import com.tomassirio.wanderer.query.repository.TripUpdateRepository;
 import com.tomassirio.wanderer.query.service.TripService;
+import com.tomassirio.wanderer.query.service.helper.FollowedUsersCache;
+import com.tomassirio.wanderer.query.service.helper.OngoingTripFeed;
+import com.tomassirio.wanderer.query.service.helper.UsernameCache;
 import jakarta.persistence.EntityNotFoundException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 import lombok.AllArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 @Service
 @AllArgsConstructor
 public class TripServiceImpl implements TripService {
 
+    /** Number of trips loaded per query when streaming a whole listing. */
+    public static final int STREAM_PAGE_SIZE = 200;
+
     private final TripRepository tripRepository;
     private final FriendshipRepository friendshipRepository;
-    private final UserFollowRepository userFollowRepository;
-    private final UserRepository userRepository;
+    private final TripUpdateRepository tripUpdateRepository;
+    private final FollowedUsersCache followedUsersCache;
+    private final OngoingTripFeed ongoingTripFeed;
+    private final OngoingTripFeedProperties ongoingTripFeedProperties;
+    private final UsernameCache usernameCache;
 
     private final TripMapper tripMapper = TripMapper.INSTANCE;
 
@@ -45,27 +58,36 @@ public class TripServiceImpl implements TripService {
     }
 
     @Override
-    public List<TripDTO> getAllTrips() {
-        return enrichListWithUsernames(
-                tripRepository.findAll().stream().map(tripMapper::toDTO).toList());
+    public List<TripSummaryDTO> getAllTrips() {
+        return tripRepository.findAllSummaries();
+    }
+
+    @Override
+    public CursorPage<TripSummaryDTO> getAllTrips(String cursor, int limit) {
+        TripCursor after = cursor == null ? TripCursor.first(false) : TripCursor.decode(cursor);
+        return toPage(
+                tripRepository.findPage(after.creationTimestamp(), after.id(), Limit.of(limit + 1)),
+                limit,
+                0);
     }
 
     @Override
-    public List<TripDTO> getPublicTrips() {
-        return enrichListWithUsernames(
-                tripRepository.findByTripSettingsVisibility(TripVisibility.PUBLIC).stream()
-                        .map(tripMapper::toDTO)
-                        .toList());
+    public void streamAllTrips(Consumer<TripSummaryDTO> consumer) {
+        streamPages(cursor -> getAllTrips(cursor, STREAM_PAGE_SIZE), consumer);
     }
 
     @Override
-    public List<TripDTO> getTripsForUser(UUID userId) {
-        return enrichListWithUsernames(
-                tripRepository.findByUserId(userId).stream().map(tripMapper::toDTO).toList());
+    public List<TripSummaryDTO> getPublicTrips() {
+        return tripRepository.findSummariesByVisibility(TripVisibility.PUBLIC);
     }
 
     @Override
-    public List<TripDTO> getTripsForUserWithVisibility(UUID userId, UUID requestingUserId) {
+    public List<TripSummaryDTO> getTripsForUser(UUID userId) {
+        return tripRepository.findSummariesByUserId(userId);
+    }
+
+    @Override
+    public List<TripSummaryDTO> getTripsForUserWithVisibility(UUID userId, UUID requestingUserId) {
         // Check if users are friends
         boolean areFriends =
                 requestingUserId != null
@@ -77,102 +99,187 @@ public class TripServiceImpl implements TripService {
                         ? List.of(TripVisibility.PUBLIC, TripVisibility.PROTECTED)
                         : List.of(TripVisibility.PUBLIC);
 
-        return enrichListWithUsernames(
-                tripRepository.findByUserIdAndVisibilityIn(userId, allowedVisibilities).stream()
-                        .map(tripMapper::toDTO)
-                        .toList());
+        return tripRepository.findSummariesByUserIdAndVisibilityIn(userId, allowedVisibilities);
+    }
+
+    @Override
+    public List<TripSummaryDTO> getOngoingPublicTrips(UUID requestingUserId) {
+        List<TripSummaryDTO> trips = new ArrayList<>();
+        streamOngoingPublicTrips(requestingUserId, trips::add);
+        return trips;
+    }
+
+    @Override
+    public CursorPage<TripSummaryDTO> getOngoingPublicTrips(
+            UUID requestingUserId, String cursor, int limit) {
+        return ongoingPublicTripsPage(followedUserIds(requestingUserId), cursor, limit);
     }
 
     @Override
-    public List<TripDTO> getOngoingPublicTrips(UUID requestingUserId) {
-        List<Trip> publicTrips =
-                tripRepository.findByVisibilityAndStatusIn(
-                        TripVisibility.PUBLIC, List.of(TripStatus.CREATED, TripStatus.IN_PROGRESS));
+    public void streamOngoingPublicTrips(UUID requestingUserId, Consumer<TripSummaryDTO> consumer) {
+        Set<UUID> followedUserIds = followedUserIds(requestingUserId);
+        streamPages(
+                cursor -> ongoingPublicTripsPage(followedUserIds, cursor, STREAM_PAGE_SIZE),
+                consumer);
+    }
 
-        if (requestingUserId == null) {
-            return enrichListWithUsernames(publicTrips.stream().map(tripMapper::toDTO).toList());
+    private CursorPage<TripSummaryDTO> ongoingPublicTripsPage(
+            Set<UUID> followedUserIds, String cursor, int limit) {
+        return ongoingTripFeedProperties.isEnabled()
+                ? feedPage(followedUserIds, cursor, limit)
+                : keysetPage(followedUserIds, cursor, limit);
+    }
+
+    /**
+     * Takes the page's trip ids from the in-memory feed and loads their summaries by id. Trips
+     * that stopped being ongoing or public since the feed last heard about them are left out.
+     */
+    private CursorPage<TripSummaryDTO> feedPage(
+            Set<UUID> followedUserIds, String cursor, int limit) {
+        CursorPage<UUID> page = ongoingTripFeed.page(followedUserIds, cursor, limit);
+        if (page.items().isEmpty()) {
+            return new CursorPage<>(List.of(), page.nextCursor());
         }
+        Map<String, TripSummaryDTO> summaries =
+                tripRepository.findSummariesByIdIn(page.items()).stream()
+                        .filter(OngoingTripFeed::isOngoingPublic)
+                        .collect(Collectors.toMap(TripSummaryDTO::id, Function.identity()));
+        List<TripSummaryDTO> trips =
+                page.items().stream()
+                        .map(id -> summaries.get(id.toString()))
+                        .filter(Objects::nonNull)
+                        .toList();
+        return new CursorPage<>(trips, page.nextCursor());
+    }
 
-        // Get followed user IDs
-        Set<UUID> followedUserIds =
-                userFollowRepository.findByFollowerId(requestingUserId).stream()
-                        .map(UserFollow::getFollowedId)
-                        .collect(Collectors.toSet());
-
-        Map<Boolean, List<Trip>> partitionedTrips =
-                publicTrips.stream()
-                        .collect(
-                                Collectors.partitioningBy(
-                                        trip -> followedUserIds.contains(trip.getUserId())));
-
-        return enrichListWithUsernames(
-                Stream.concat(
-                                partitionedTrips.get(true).stream(),
-                                partitionedTrips.get(false).stream())
-                        .map(tripMapper::toDTO)
-                        .toList());
+    /**
+     * Pages through the trips of followed users first and all other trips afterwards. When the
+     * followed users' trips run out mid-page, the page is topped up from the other trips.
+     */
+    private CursorPage<TripSummaryDTO> keysetPage(
+            Set<UUID> followedUserIds, String cursor, int limit) {
+        TripCursor after =
+                cursor == null
+                        ? TripCursor.first(!followedUserIds.isEmpty())
+                        : TripCursor.decode(cursor);
+
+        List<TripSummaryDTO> followedTrips = List.of();
+        if (after.followedSegment() && !followedUserIds.isEmpty()) {
+            followedTrips =
+                    tripRepository.findPageByVisibilityAndStatusInAndUserIdIn(
+                            TripVisibility.PUBLIC,
+                            OngoingTripFeed.ONGOING_STATUSES,
+                            followedUserIds,
+                            after.creationTimestamp(),
+                            after.id(),
+                            Limit.of(limit + 1));
+            if (followedTrips.size() > limit) {
+                return toPage(followedTrips, limit, followedTrips.size());
+            }
+            after = TripCursor.first(false);
+        } else if (after.followedSegment()) {
+            // The user unfollowed everyone since the previous page
+            after = TripCursor.first(false);
+        }
+
+        Limit otherLimit = Limit.of(limit - followedTrips.size() + 1);
+        List<TripSummaryDTO> otherTrips =
+                followedUserIds.isEmpty()
+                        ? tripRepository.findPageByVisibilityAndStatusIn(
+                                TripVisibility.PUBLIC,
+                                OngoingTripFeed.ONGOING_STATUSES,
+                                after.creationTimestamp(),
+                                after.id(),
+                                otherLimit)
+                        : tripRepository.findPageByVisibilityAndStatusInAndUserIdNotIn(
+                                TripVisibility.PUBLIC,
+                                OngoingTripFeed.ONGOING_STATUSES,
+                                followedUserIds,
+                                after.creationTimestamp(),
+                                after.id(),
+                                otherLimit);
+
+        List<TripSummaryDTO> trips = new ArrayList<>(followedTrips.size() + otherTrips.size());
+        trips.addAll(followedTrips);
+        trips.addAll(otherTrips);
+        return toPage(trips, limit, followedTrips.size());
     }
 
     @Override
-    public List<TripDTO> getAllAvailableTripsForUser(UUID userId) {
-        // Get all friend IDs
-        List<UUID> friendIds =
-                friendshipRepository.findByUserId(userId).stream()
-                        .map(Friendship::getFriendId)
-                        .toList();
+    public List<TripSummaryDTO> getAllAvailableTripsForUser(UUID userId) {
+        return tripRepository.findAvailableSummariesForUser(userId, friendIds(userId));
+    }
 
-        return enrichListWithUsernames(
-                tripRepository.findAllAvailableTripsForUser(userId, friendIds).stream()
-                        .map(tripMapper::toDTO)
-                        .toList());
+    @Override
+    public CursorPage<TripSummaryDTO> getAllAvailableTripsForUser(
+            UUID userId, String cursor, int limit) {
+        return availableTripsPage(userId, friendIds(userId), cursor, limit);
+    }
+
+    @Override
+    public void streamAllAvailableTripsForUser(UUID userId, Consumer<TripSummaryDTO> consumer) {
+        List<UUID> friendIds = friendIds(userId);
+        streamPages(
+                cursor -> availableTripsPage(userId, friendIds, cursor, STREAM_PAGE_SIZE),
+                consumer);
+    }
+
+    private CursorPage<TripSummaryDTO> availableTripsPage(
+            UUID userId, List<UUID> friendIds, String cursor, int limit) {
+        TripCursor after = cursor == null ? TripCursor.first(false) : TripCursor.decode(cursor);
+        return toPage(
+                tripRepository.findAvailablePageForUser(
+                        userId,
+                        friendIds,
+                        after.creationTimestamp(),
+                        after.id(),
+                        Limit.of(limit + 1)),
+                limit,
+                0);
+    }
+
+    private List<UUID> friendIds(UUID userId) {
+        return friendshipRepository.findByUserId(userId).stream()
+                .map(Friendship::getFriendId)
+                .toList();
+    }
+
+    private Set<UUID> followedUserIds(UUID userId) {
+        return userId == null ? Set.of() : followedUsersCache.getFollowedUserIds(userId);
     }
 
     /**
-     * Enriches a list of TripDTOs with usernames by fetching users in batch.
+     * Builds a page from up to {@code limit + 1} trips; the extra trip only signals that a next
+     * page exists.
      *
-     * @param trips list of TripDTOs to enrich
-     * @return list of enriched TripDTOs with usernames populated
+     * @param trips the trips fetched for the page
+     * @param limit the page size
+     * @param followedCount how many leading trips belong to the followed users' segment; the next
+     *     cursor stays in that segment while the page ends on one of them
      */
-    private List<TripDTO> enrichListWithUsernames(List<TripDTO> trips) {
-        if (trips.isEmpty()) {
-            return trips;
+    private static CursorPage<TripSummaryDTO> toPage(
+            List<TripSummaryDTO> trips, int limit, int followedCount) {
+        if (trips.size() <= limit) {
+            return new CursorPage<>(trips, null);
         }
+        List<TripSummaryDTO> items = List.copyOf(trips.subList(0, limit));
+        TripCursor next = TripCursor.after(items.getLast(), limit <= followedCount);
+        return new CursorPage<>(items, next.encode());
+    }
 
-        // Collect all unique user IDs
-        Set<UUID> userIds =
-                trips.stream()
-                        .map(TripDTO::userId)
-                        .filter(userId -> userId != null)
-                        .map(UUID::fromString)
-                        .collect(Collectors.toSet());
-
-        // Fetch all users in a single query
-        Map<UUID, String> userIdToUsername =
-                userRepository.findAllById(userIds).stream()
-                        .collect(Collectors.toMap(User::getId, User::getUsername));
-
-        // Enrich each trip DTO with username
-        return trips.stream()
-                .map(
-                        trip ->
-                                new TripDTO(
-                                        trip.id(),
-                                        trip.name(),
-                                        trip.userId(),
-                                        trip.userId() != null
-                                                ? userIdToUsername.get(
-                                                        UUID.fromString(trip.userId()))
-                                                : null,
-                                        trip.tripSettings(),
-                                        trip.tripDetails(),
-                                        trip.tripPlanId(),
-                                        trip.comments(),
-                                        trip.tripUpdates(),
-                                        trip.encodedPolyline(),
-                                        trip.polylineUpdatedAt(),
-                                        trip.creationTimestamp(),
-                                        trip.enabled()))
-                .toList();
+    /**
+     * Feeds every page to {@code consumer}. Summaries are not managed entities, so the persistence
+     * context stays empty however long the listing is.
+     */
+    private static void streamPages(
+            Function<String, CursorPage<TripSummaryDTO>> pageLoader,
+            Consumer<TripSummaryDTO> consumer) {
+        String cursor = null;
+        do {
+            CursorPage<TripSummaryDTO> page = pageLoader.apply(cursor);
+            page.items().forEach(consumer);
+            cursor = page.nextCursor();
+        } while (cursor != null);
     }
 
     /**
@@ -186,11 +293,7 @@ public class TripServiceImpl implements TripService {
             return trip;
         }
 
-        String username =
-                userRepository
-                        .findById(UUID.fromString(trip.userId()))
-                        .map(User::getUsername)
-                        .orElse(null);
+        String username = usernameCache.getUsername(UUID.fromString(trip.userId())).orElse(null);
 
         return new TripDTO(
                 trip.id(),
@@ -210,57 +313,18 @@ public class TripServiceImpl implements TripService {
 
     @Override
     public TripMaintenanceStatsDTO getTripMaintenanceStats() {
-        List<Trip> trips = tripRepository.findAll();
-
-        long totalTrips = trips.size();
-        long tripsWithPolyline =
-                trips.stream()
-                        .filter(
-                                t ->
-                                        t.getEncodedPolyline() != null
-                                                && !t.getEncodedPolyline().isBlank())
-                        .count();
-        long tripsWithMultipleLocations =
-                trips.stream()
-                        .filter(t -> t.getTripUpdates() != null && t.getTripUpdates().size() >= 2)
-                        .count();
-        long tripsMissingPolyline =
-                trips.stream()
-                        .filter(
-                                t ->
-                                        t.getTripUpdates() != null
-                                                && t.getTripUpdates().size() >= 2
-                                                && (t.getEncodedPolyline() == null
-                                                        || t.getEncodedPolyline().isBlank()))
-                        .count();
-
-        long totalUpdates =
-                trips.stream()
-                        .mapToLong(t -> t.getTripUpdates() != null ? t.getTripUpdates().size() : 0)
-                        .sum();
-        long updatesWithGeocoding =
-                trips.stream()
-                        .flatMap(
-                                t ->
-                                        t.getTripUpdates() != null
-                                                ? t.getTripUpdates().stream()
-                                                : Stream.empty())
-                        .filter(
-                                u ->
-                                        u.getCity() != null
-                                                && !u.getCity().isBlank()
-                                                && u.getCountry() != null
-                                                && !u.getCountry().isBlank())
-                        .count();
-        long updatesMissingGeocoding = totalUpdates - updatesWithGeocoding;
+        TripRepository.PolylineCoverage coverage = tripRepository.countPolylineCoverage();
+        long tripsMissingPolyline = tripRepository.countTripsMissingPolyline();
+        long totalUpdates = tripUpdateRepository.count();
+        long updatesMissingGeocoding = tripUpdateRepository.countMissingGeocoding();
 
         return new TripMaintenanceStatsDTO(
-                totalTrips,
-                tripsWithPolyline,
-                tripsWithMultipleLocations,
+                coverage.getTotalTrips(),
+                coverage.getTripsWithPolyline(),
+                coverage.getTripsWithMultipleLocations(),
                 tripsMissingPolyline,
                 totalUpdates,
-                updatesWithGeocoding,
+                totalUpdates - updatesMissingGeocoding,
                 updatesMissingGeocoding);
     }
 }
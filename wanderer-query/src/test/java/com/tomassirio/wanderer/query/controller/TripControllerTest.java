@@ -4,12 +4,18 @@ import static com.tomassirio.wanderer.commons.utils.BaseTestEntityFactory.USERNA
 import static com.tomassirio.wanderer.commons.utils.BaseTestEntityFactory.USER_ID;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.tomassirio.wanderer.commons.domain.TripStatus;
 import com.tomassirio.wanderer.commons.domain.TripVisibility;
 import com.tomassirio.wanderer.commons.dto.TripDTO;
@@ -17,18 +23,24 @@ import com.tomassirio.wanderer.commons.dto.TripDetailsDTO;
 import com.tomassirio.wanderer.commons.dto.TripSettingsDTO;
 import com.tomassirio.wanderer.commons.exception.GlobalExceptionHandler;
 import com.tomassirio.wanderer.commons.utils.MockMvcTestUtils;
+import com.tomassirio.wanderer.query.dto.CursorPage;
+import com.tomassirio.wanderer.query.dto.TripSummaryDTO;
 import com.tomassirio.wanderer.query.service.TripService;
 import jakarta.persistence.EntityNotFoundException;
 import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Consumer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 @ExtendWith(MockitoExtension.class)
 class TripControllerTest {
@@ -40,6 +52,8 @@ class TripControllerTest {
 
     @Mock private TripService tripService;
 
+    @Spy private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
     @InjectMocks private TripController tripController;
 
     @BeforeEach
@@ -119,8 +133,8 @@ class TripControllerTest {
         UUID tripId1 = UUID.randomUUID();
         UUID tripId2 = UUID.randomUUID();
 
-        TripDTO trip1 = createTripDTO(tripId1, "Trip 1", TripVisibility.PUBLIC);
-        TripDTO trip2 = createTripDTO(tripId2, "Trip 2", TripVisibility.PRIVATE);
+        TripSummaryDTO trip1 = createTripSummary(tripId1, "Trip 1", TripVisibility.PUBLIC);
+        TripSummaryDTO trip2 = createTripSummary(tripId2, "Trip 2", TripVisibility.PRIVATE);
 
         when(tripService.getAllTrips()).thenReturn(List.of(trip1, trip2));
 
@@ -152,13 +166,13 @@ class TripControllerTest {
     @Test
     void getAllTrips_withMultipleTrips_shouldReturnAllTrips() throws Exception {
         // Given
-        List<TripDTO> trips =
+        List<TripSummaryDTO> trips =
                 List.of(
-                        createTripDTO(UUID.randomUUID(), "Trip A", TripVisibility.PUBLIC),
-                        createTripDTO(UUID.randomUUID(), "Trip B", TripVisibility.PRIVATE),
-                        createTripDTO(UUID.randomUUID(), "Trip C", TripVisibility.PROTECTED),
-                        createTripDTO(UUID.randomUUID(), "Trip D", TripVisibility.PUBLIC),
-                        createTripDTO(UUID.randomUUID(), "Trip E", TripVisibility.PUBLIC));
+                        createTripSummary(UUID.randomUUID(), "Trip A", TripVisibility.PUBLIC),
+                        createTripSummary(UUID.randomUUID(), "Trip B", TripVisibility.PRIVATE),
+                        createTripSummary(UUID.randomUUID(), "Trip C", TripVisibility.PROTECTED),
+                        createTripSummary(UUID.randomUUID(), "Trip D", TripVisibility.PUBLIC),
+                        createTripSummary(UUID.randomUUID(), "Trip E", TripVisibility.PUBLIC));
 
         when(tripService.getAllTrips()).thenReturn(trips);
 
@@ -172,8 +186,8 @@ class TripControllerTest {
     @Test
     void getMyTrips_whenTripsExist_shouldReturnListOfTrips() throws Exception {
         // Given
-        List<TripDTO> trips =
-                List.of(createTripDTO(UUID.randomUUID(), "My Trip", TripVisibility.PUBLIC));
+        List<TripSummaryDTO> trips =
+                List.of(createTripSummary(UUID.randomUUID(), "My Trip", TripVisibility.PUBLIC));
         when(tripService.getTripsForUser(USER_ID)).thenReturn(trips);
 
         // When & Then
@@ -199,11 +213,12 @@ class TripControllerTest {
     @Test
     void getMyTrips_withMultipleTrips_shouldReturnAllMyTrips() throws Exception {
         // Given
-        List<TripDTO> trips =
+        List<TripSummaryDTO> trips =
                 List.of(
-                        createTripDTO(UUID.randomUUID(), "My Trip 1", TripVisibility.PUBLIC),
-                        createTripDTO(UUID.randomUUID(), "My Trip 2", TripVisibility.PRIVATE),
-                        createTripDTO(UUID.randomUUID(), "My Trip 3", TripVisibility.PROTECTED));
+                        createTripSummary(UUID.randomUUID(), "My Trip 1", TripVisibility.PUBLIC),
+                        createTripSummary(UUID.randomUUID(), "My Trip 2", TripVisibility.PRIVATE),
+                        createTripSummary(
+                                UUID.randomUUID(), "My Trip 3", TripVisibility.PROTECTED));
         when(tripService.getTripsForUser(USER_ID)).thenReturn(trips);
 
         // When & Then
@@ -220,10 +235,10 @@ class TripControllerTest {
     void getTripsByUser_whenTripsExist_shouldReturnVisibleTrips() throws Exception {
         // Given
         UUID otherUserId = UUID.randomUUID();
-        List<TripDTO> trips =
+        List<TripSummaryDTO> trips =
                 List.of(
-                        createTripDTO(UUID.randomUUID(), "Public Trip", TripVisibility.PUBLIC),
-                        createTripDTO(
+                        createTripSummary(UUID.randomUUID(), "Public Trip", TripVisibility.PUBLIC),
+                        createTripSummary(
                                 UUID.randomUUID(), "Protected Trip", TripVisibility.PROTECTED));
         when(tripService.getTripsForUserWithVisibility(eq(otherUserId), any(UUID.class)))
                 .thenReturn(trips);
@@ -257,8 +272,8 @@ class TripControllerTest {
     void getTripsByUser_shouldNotIncludePrivateTrips() throws Exception {
         // Given
         UUID otherUserId = UUID.randomUUID();
-        List<TripDTO> trips =
-                List.of(createTripDTO(UUID.randomUUID(), "Public Trip", TripVisibility.PUBLIC));
+        List<TripSummaryDTO> trips =
+                List.of(createTripSummary(UUID.randomUUID(), "Public Trip", TripVisibility.PUBLIC));
         when(tripService.getTripsForUserWithVisibility(eq(otherUserId), any(UUID.class)))
                 .thenReturn(trips);
 
@@ -273,14 +288,14 @@ class TripControllerTest {
     @Test
     void getOngoingPublicTrips_whenOngoingTripsExist_shouldReturnOngoingTrips() throws Exception {
         // Given
-        List<TripDTO> ongoingTrips =
+        List<TripSummaryDTO> ongoingTrips =
                 List.of(
-                        createTripDTOWithStatus(
+                        createTripSummaryWithStatus(
                                 UUID.randomUUID(),
                                 "Ongoing Trip 1",
                                 TripVisibility.PUBLIC,
                                 TripStatus.IN_PROGRESS),
-                        createTripDTOWithStatus(
+                        createTripSummaryWithStatus(
                                 UUID.randomUUID(),
                                 "Ongoing Trip 2",
                                 TripVisibility.PUBLIC,
@@ -314,9 +329,9 @@ class TripControllerTest {
     @Test
     void getOngoingPublicTrips_shouldOnlyReturnPublicTrips() throws Exception {
         // Given
-        List<TripDTO> ongoingTrips =
+        List<TripSummaryDTO> ongoingTrips =
                 List.of(
-                        createTripDTOWithStatus(
+                        createTripSummaryWithStatus(
                                 UUID.randomUUID(),
                                 "Public Ongoing",
                                 TripVisibility.PUBLIC,
@@ -335,11 +350,12 @@ class TripControllerTest {
     void getAllAvailableTrips_whenAvailableTripsExist_shouldReturnAllAvailableTrips()
             throws Exception {
         // Given
-        List<TripDTO> availableTrips =
+        List<TripSummaryDTO> availableTrips =
                 List.of(
-                        createTripDTO(UUID.randomUUID(), "My Trip", TripVisibility.PRIVATE),
-                        createTripDTO(UUID.randomUUID(), "Public Trip", TripVisibility.PUBLIC),
-                        createTripDTO(UUID.randomUUID(), "Friend Trip", TripVisibility.PROTECTED));
+                        createTripSummary(UUID.randomUUID(), "My Trip", TripVisibility.PRIVATE),
+                        createTripSummary(UUID.randomUUID(), "Public Trip", TripVisibility.PUBLIC),
+                        createTripSummary(
+                                UUID.randomUUID(), "Friend Trip", TripVisibility.PROTECTED));
         when(tripService.getAllAvailableTripsForUser(any(UUID.class))).thenReturn(availableTrips);
 
         // When & Then
@@ -370,9 +386,9 @@ class TripControllerTest {
     @Test
     void getAllAvailableTrips_shouldIncludeOwnPrivateTrips() throws Exception {
         // Given
-        List<TripDTO> availableTrips =
+        List<TripSummaryDTO> availableTrips =
                 List.of(
-                        createTripDTO(
+                        createTripSummary(
                                 UUID.randomUUID(), "My Private Trip", TripVisibility.PRIVATE));
         when(tripService.getAllAvailableTripsForUser(any(UUID.class))).thenReturn(availableTrips);
 
@@ -388,9 +404,9 @@ class TripControllerTest {
     @Test
     void getAllAvailableTrips_shouldIncludePublicTripsFromOtherUsers() throws Exception {
         // Given
-        List<TripDTO> availableTrips =
+        List<TripSummaryDTO> availableTrips =
                 List.of(
-                        createTripDTO(
+                        createTripSummary(
                                 UUID.randomUUID(), "Other User Public", TripVisibility.PUBLIC));
         when(tripService.getAllAvailableTripsForUser(any(UUID.class))).thenReturn(availableTrips);
 
@@ -406,9 +422,9 @@ class TripControllerTest {
     @Test
     void getAllAvailableTrips_shouldIncludeProtectedTripsFromFriends() throws Exception {
         // Given
-        List<TripDTO> availableTrips =
+        List<TripSummaryDTO> availableTrips =
                 List.of(
-                        createTripDTO(
+                        createTripSummary(
                                 UUID.randomUUID(), "Friend Protected", TripVisibility.PROTECTED));
         when(tripService.getAllAvailableTripsForUser(any(UUID.class))).thenReturn(availableTrips);
 
@@ -424,13 +440,13 @@ class TripControllerTest {
     @Test
     void getAllAvailableTrips_withMultipleVisibilityTypes_shouldReturnAllTypes() throws Exception {
         // Given
-        List<TripDTO> availableTrips =
+        List<TripSummaryDTO> availableTrips =
                 List.of(
-                        createTripDTO(UUID.randomUUID(), "Trip 1", TripVisibility.PUBLIC),
-                        createTripDTO(UUID.randomUUID(), "Trip 2", TripVisibility.PRIVATE),
-                        createTripDTO(UUID.randomUUID(), "Trip 3", TripVisibility.PROTECTED),
-                        createTripDTO(UUID.randomUUID(), "Trip 4", TripVisibility.PUBLIC),
-                        createTripDTO(UUID.randomUUID(), "Trip 5", TripVisibility.PROTECTED));
+                        createTripSummary(UUID.randomUUID(), "Trip 1", TripVisibility.PUBLIC),
+                        createTripSummary(UUID.randomUUID(), "Trip 2", TripVisibility.PRIVATE),
+                        createTripSummary(UUID.randomUUID(), "Trip 3", TripVisibility.PROTECTED),
+                        createTripSummary(UUID.randomUUID(), "Trip 4", TripVisibility.PUBLIC),
+                        createTripSummary(UUID.randomUUID(), "Trip 5", TripVisibility.PROTECTED));
         when(tripService.getAllAvailableTripsForUser(any(UUID.class))).thenReturn(availableTrips);
 
         // When & Then
@@ -451,6 +467,150 @@ class TripControllerTest {
         verify(tripService).getAllAvailableTripsForUser(USER_ID);
     }
 
+    @Test
+    void getAllTrips_withLimit_shouldReturnPageAndNextCursorHeader() throws Exception {
+        // Given
+        UUID tripId = UUID.randomUUID();
+        TripSummaryDTO trip = createTripSummary(tripId, "Trip 1", TripVisibility.PUBLIC);
+
+        when(tripService.getAllTrips(null, 1)).thenReturn(new CursorPage<>(List.of(trip), "next"));
+
+        // When & Then
+        mockMvc.perform(get(TRIPS_BASE_URL).param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "next"))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(tripId.toString()))
+                .andExpect(jsonPath("$[0].comments").doesNotExist())
+                .andExpect(jsonPath("$[0].tripUpdates").doesNotExist());
+    }
+
+    @Test
+    void getAllTrips_withCursorOnly_shouldUseDefaultPageSizeAndOmitHeaderOnLastPage()
+            throws Exception {
+        // Given
+        when(tripService.getAllTrips("abc", TripController.DEFAULT_PAGE_SIZE))
+                .thenReturn(new CursorPage<>(List.of(), null));
+
+        // When & Then
+        mockMvc.perform(get(TRIPS_BASE_URL).param("cursor", "abc"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    @Test
+    void getAllTrips_withLimitAboveMaximum_shouldReturnBadRequest() throws Exception {
+        // When & Then
+        mockMvc.perform(
+                        get(TRIPS_BASE_URL)
+                                .param("limit", String.valueOf(TripController.MAX_PAGE_SIZE + 1)))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(tripService);
+    }
+
+    @Test
+    void getAllTrips_withInvalidCursor_shouldReturnBadRequest() throws Exception {
+        // Given
+        when(tripService.getAllTrips("garbage", TripController.DEFAULT_PAGE_SIZE))
+                .thenThrow(new IllegalArgumentException("Invalid cursor"));
+
+        // When & Then
+        mockMvc.perform(get(TRIPS_BASE_URL).param("cursor", "garbage"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void streamAllTrips_whenNdjsonAccepted_shouldWriteOneTripPerLine() throws Exception {
+        // Given
+        TripSummaryDTO trip1 =
+                createTripSummary(UUID.randomUUID(), "Trip 1", TripVisibility.PUBLIC);
+        TripSummaryDTO trip2 =
+                createTripSummary(UUID.randomUUID(), "Trip 2", TripVisibility.PRIVATE);
+        doAnswer(
+                        invocation -> {
+                            Consumer<TripSummaryDTO> consumer = invocation.getArgument(0);
+                            consumer.accept(trip1);
+                            consumer.accept(trip2);
+                            return null;
+                        })
+                .when(tripService)
+                .streamAllTrips(any());
+
+        // When
+        MvcResult result =
+                mockMvc.perform(get(TRIPS_BASE_URL).accept(MediaType.APPLICATION_NDJSON))
+                        .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(
+                        content()
+                                .string(
+                                        objectMapper.writeValueAsString(trip1)
+                                                + "\n"
+                                                + objectMapper.writeValueAsString(trip2)
+                                                + "\n"));
+    }
+
+    @Test
+    void getAllAvailableTrips_withLimit_shouldReturnPage() throws Exception {
+        // Given
+        when(tripService.getAllAvailableTripsForUser(USER_ID, null, 20))
+                .thenReturn(new CursorPage<>(List.of(), null));
+
+        // When & Then
+        mockMvc.perform(get(TRIPS_ME_URL + "/available").param("limit", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+
+        verify(tripService).getAllAvailableTripsForUser(USER_ID, null, 20);
+    }
+
+    @Test
+    void streamAllAvailableTrips_shouldStreamForCurrentUser() throws Exception {
+        // Given
+        TripSummaryDTO trip = createTripSummary(UUID.randomUUID(), "Trip", TripVisibility.PUBLIC);
+        doAnswer(
+                        invocation -> {
+                            Consumer<TripSummaryDTO> consumer = invocation.getArgument(1);
+                            consumer.accept(trip);
+                            return null;
+                        })
+                .when(tripService)
+                .streamAllAvailableTripsForUser(eq(USER_ID), any());
+
+        // When
+        MvcResult result =
+                mockMvc.perform(
+                                get(TRIPS_ME_URL + "/available")
+                                        .accept(MediaType.APPLICATION_NDJSON))
+                        .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string(objectMapper.writeValueAsString(trip) + "\n"));
+    }
+
+    @Test
+    void getOngoingPublicTrips_withCursorAndLimit_shouldReturnPageAndNextCursorHeader()
+            throws Exception {
+        // Given
+        TripSummaryDTO trip = createTripSummary(UUID.randomUUID(), "Trip", TripVisibility.PUBLIC);
+        when(tripService.getOngoingPublicTrips(USER_ID, "abc", 5))
+                .thenReturn(new CursorPage<>(List.of(trip), "def"));
+
+        // When & Then
+        mockMvc.perform(get(TRIPS_BASE_URL + "/public").param("cursor", "abc").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "def"))
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+
     private TripDTO createTripDTO(UUID tripId, String name, TripVisibility visibility) {
         TripSettingsDTO tripSettings =
                 new TripSettingsDTO(TripStatus.CREATED, visibility, null, null, null);
@@ -472,21 +632,20 @@ class TripControllerTest {
                 true);
     }
 
-    private TripDTO createTripDTOWithStatus(
-            UUID tripId, String name, TripVisibility visibility, TripStatus status) {
-        TripSettingsDTO tripSettings = new TripSettingsDTO(status, visibility, null, null, null);
-        TripDetailsDTO tripDetails = new TripDetailsDTO(null, null, null, null, null);
+    private TripSummaryDTO createTripSummary(UUID tripId, String name, TripVisibility visibility) {
+        return createTripSummaryWithStatus(tripId, name, visibility, TripStatus.CREATED);
+    }
 
-        return new TripDTO(
+    private TripSummaryDTO createTripSummaryWithStatus(
+            UUID tripId, String name, TripVisibility visibility, TripStatus status) {
+        return new TripSummaryDTO(
                 tripId.toString(),
                 name,
                 USER_ID.toString(),
                 USERNAME,
-                tripSettings,
-                tripDetails,
+                new TripSettingsDTO(status, visibility, null, null, null),
+                new TripDetailsDTO(null, null, null, null, null),
                 null, // tripPlanId
-                List.of(), // comments
-                List.of(), // tripUpdates
                 null, // encodedPolyline
                 null, // polylineUpdatedAt
                 Instant.now(),
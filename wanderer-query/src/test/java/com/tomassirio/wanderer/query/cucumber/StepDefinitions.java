@@ -27,6 +27,7 @@ import com.tomassirio.wanderer.commons.domain.TripVisibility;
 import com.tomassirio.wanderer.commons.domain.User;
 import com.tomassirio.wanderer.commons.domain.UserFollow;
 import com.tomassirio.wanderer.commons.utils.JwtBuilder;
+import com.tomassirio.wanderer.query.dto.TripSummaryDTO;
 import com.tomassirio.wanderer.query.repository.CommentRepository;
 import com.tomassirio.wanderer.query.repository.FriendRequestRepository;
 import com.tomassirio.wanderer.query.repository.FriendshipRepository;
@@ -35,6 +36,7 @@ import com.tomassirio.wanderer.query.repository.TripRepository;
 import com.tomassirio.wanderer.query.repository.TripUpdateRepository;
 import com.tomassirio.wanderer.query.repository.UserFollowRepository;
 import com.tomassirio.wanderer.query.repository.UserRepository;
+import com.tomassirio.wanderer.query.utils.TestEntityFactory;
 import io.cucumber.java.en.And;
 import io.cucumber.java.en.Given;
 import io.cucumber.java.en.Then;
@@ -42,6 +44,7 @@ import io.cucumber.java.en.When;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -134,6 +137,7 @@ public class StepDefinitions {
                 friendRequestRepository);
 
         when(tripRepository.findAll()).thenReturn(new ArrayList<>());
+        when(tripRepository.findAllSummaries()).thenReturn(new ArrayList<>());
         when(friendshipRepository.findByUserId(Mockito.any())).thenReturn(new ArrayList<>());
         when(userFollowRepository.findByFollowerId(Mockito.any())).thenReturn(new ArrayList<>());
         when(userFollowRepository.findByFollowedId(Mockito.any())).thenReturn(new ArrayList<>());
@@ -154,10 +158,11 @@ public class StepDefinitions {
 
         when(userRepository.findByUsername(username)).thenReturn(Optional.of(user));
         when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        when(userRepository.findUsernameById(user.getId())).thenReturn(Optional.of(username));
         when(userRepository.findAll()).thenReturn(new ArrayList<>(users.values()));
         when(userRepository.findAllById(Mockito.anyCollection()))
                 .thenReturn(new ArrayList<>(users.values()));
-        when(tripRepository.findByUserId(user.getId())).thenReturn(new ArrayList<>());
+        when(tripRepository.findSummariesByUserId(user.getId())).thenReturn(new ArrayList<>());
 
         // Initialize friendship repository mock for this user (empty by default)
         when(friendshipRepository.findByUserId(user.getId()))
@@ -203,11 +208,13 @@ public class StepDefinitions {
 
         when(tripRepository.findById(trip.getId())).thenReturn(Optional.of(trip));
         when(tripRepository.findAll()).thenReturn(new ArrayList<>(trips.values()));
+        when(tripRepository.findAllSummaries()).thenReturn(summaries(trips.values()));
 
         // Update the mock to return all trips for this user
         List<Trip> userTrips =
                 trips.values().stream().filter(t -> t.getUserId().equals(owner.getId())).toList();
-        when(tripRepository.findByUserId(owner.getId())).thenReturn(userTrips);
+        when(tripRepository.findSummariesByUserId(owner.getId()))
+                .thenReturn(summaries(userTrips));
 
         // Update the mock for available trips
         updateAvailableTripsForAllUsers();
@@ -251,11 +258,13 @@ public class StepDefinitions {
 
         when(tripRepository.findById(trip.getId())).thenReturn(Optional.of(trip));
         when(tripRepository.findAll()).thenReturn(new ArrayList<>(trips.values()));
+        when(tripRepository.findAllSummaries()).thenReturn(summaries(trips.values()));
 
         // Update the mock to return all trips for this user
         List<Trip> userTrips =
                 trips.values().stream().filter(t -> t.getUserId().equals(owner.getId())).toList();
-        when(tripRepository.findByUserId(owner.getId())).thenReturn(userTrips);
+        when(tripRepository.findSummariesByUserId(owner.getId()))
+                .thenReturn(summaries(userTrips));
 
         // Update the mock for available trips
         updateAvailableTripsForAllUsers();
@@ -285,11 +294,26 @@ public class StepDefinitions {
                                     )
                             .toList();
 
-            when(tripRepository.findAllAvailableTripsForUser(user.getId(), friendIds))
-                    .thenReturn(availableTrips);
+            when(tripRepository.findAvailableSummariesForUser(user.getId(), friendIds))
+                    .thenReturn(summaries(availableTrips));
         }
     }
 
+    /** Builds the summaries the trip listing queries would return, with the owners' usernames. */
+    private List<TripSummaryDTO> summaries(Collection<Trip> tripsToSummarize) {
+        return tripsToSummarize.stream()
+                .map(
+                        trip ->
+                                TestEntityFactory.createTripSummary(
+                                        trip,
+                                        users.values().stream()
+                                                .filter(u -> u.getId().equals(trip.getUserId()))
+                                                .map(User::getUsername)
+                                                .findFirst()
+                                                .orElse(null)))
+                .toList();
+    }
+
     @Given("a trip plan exists with name {string}")
     public void a_trip_plan_exists_with_name(String name) {
         User owner = users.get(getLastCreatedUsername());
@@ -0,0 +1,71 @@
+package com.tomassirio.wanderer.query.dto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.tomassirio.wanderer.commons.domain.Trip;
+import com.tomassirio.wanderer.query.utils.TestEntityFactory;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class TripCursorTest {
+
+    @Test
+    void encode_thenDecode_shouldRoundTrip() {
+        // Given
+        Trip trip = TestEntityFactory.createTrip(UUID.randomUUID());
+        trip.setCreationTimestamp(Instant.parse("2025-06-01T10:15:30.123456Z"));
+        TripCursor cursor = TripCursor.after(TestEntityFactory.createTripSummary(trip), true);
+
+        // When
+        TripCursor decoded = TripCursor.decode(cursor.encode());
+
+        // Then
+        assertThat(decoded).isEqualTo(cursor);
+        assertThat(decoded.creationTimestamp()).isEqualTo(trip.getCreationTimestamp());
+        assertThat(decoded.id()).isEqualTo(trip.getId());
+        assertThat(decoded.followedSegment()).isTrue();
+    }
+
+    @Test
+    void encode_shouldBeUrlSafe() {
+        // When
+        String encoded = TripCursor.first(false).encode();
+
+        // Then
+        assertThat(encoded).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void first_shouldSortAfterEveryTrip() {
+        // When
+        TripCursor cursor = TripCursor.first(false);
+
+        // Then
+        assertThat(cursor.creationTimestamp()).isAfter(Instant.now());
+        assertThat(cursor.id().compareTo(UUID.randomUUID())).isPositive();
+    }
+
+    @Test
+    void decode_whenNotBase64_shouldThrowIllegalArgumentException() {
+        assertThatThrownBy(() -> TripCursor.decode("not a cursor!"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor");
+    }
+
+    @Test
+    void decode_whenMalformedContent_shouldThrowIllegalArgumentException() {
+        // Given
+        String cursor =
+                Base64.getUrlEncoder()
+                        .encodeToString("x|yesterday|42".getBytes(StandardCharsets.UTF_8));
+
+        // When & Then
+        assertThatThrownBy(() -> TripCursor.decode(cursor))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor");
+    }
+}
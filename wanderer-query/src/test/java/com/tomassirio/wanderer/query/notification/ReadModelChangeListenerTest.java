@@ -0,0 +1,52 @@
+package com.tomassirio.wanderer.query.notification;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import com.tomassirio.wanderer.commons.notification.ReadModelChange;
+import com.tomassirio.wanderer.query.config.properties.ReadModelListenerProperties;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+@ExtendWith(MockitoExtension.class)
+class ReadModelChangeListenerTest {
+
+    @Mock private ApplicationEventPublisher eventPublisher;
+
+    @Mock private DataSource dataSource;
+
+    private ReadModelChangeListener listener;
+
+    @BeforeEach
+    void setUp() {
+        listener =
+                new ReadModelChangeListener(
+                        eventPublisher, dataSource, new ReadModelListenerProperties());
+    }
+
+    @Test
+    void receive_shouldPublishDecodedChange() {
+        // Given
+        ReadModelChange change = ReadModelChange.user(UUID.randomUUID());
+
+        // When
+        listener.receive(change.encode());
+
+        // Then
+        verify(eventPublisher).publishEvent(change);
+    }
+
+    @Test
+    void receive_whenPayloadMalformed_shouldThrowWithoutPublishing() {
+        assertThatThrownBy(() -> listener.receive("garbage"))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(eventPublisher);
+    }
+}
@@ -0,0 +1,352 @@
+package com.tomassirio.wanderer.query.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.tomassirio.wanderer.commons.BaseIntegrationTest;
+import com.tomassirio.wanderer.commons.config.DatabaseConfig;
+import com.tomassirio.wanderer.commons.domain.Trip;
+import com.tomassirio.wanderer.commons.domain.TripStatus;
+import com.tomassirio.wanderer.commons.domain.TripUpdate;
+import com.tomassirio.wanderer.commons.domain.TripVisibility;
+import com.tomassirio.wanderer.query.dto.TripSummaryDTO;
+import com.tomassirio.wanderer.query.service.helper.OngoingTripFeed;
+import com.tomassirio.wanderer.query.utils.TestEntityFactory;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+
+/**
+ * Runs the trip queries against PostgreSQL, since their native SQL and JPQL constructor
+ * expressions cannot be exercised with mocked repositories. The schema is generated from the
+ * entities.
+ */
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=create-drop")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(DatabaseConfig.class)
+class TripRepositoryTest extends BaseIntegrationTest {
+
+    @Autowired private TestEntityManager entityManager;
+
+    @Autowired private TripRepository tripRepository;
+
+    @Autowired private TripUpdateRepository tripUpdateRepository;
+
+    @Test
+    void getTripMaintenanceStats_tripMissingPolyline_shouldBeCountedCorrectly() {
+        // Given — one trip with 2+ locations but no polyline, one with a polyline
+        Trip noPolyline = persistTrip(null);
+        persistUpdate(noPolyline, "Santiago de Compostela", "Spain");
+        persistUpdate(noPolyline, "Santiago de Compostela", "Spain");
+        Trip withPolyline = persistTrip("_p~iF~ps|U");
+        persistUpdate(withPolyline, "Santiago de Compostela", "Spain");
+        persistUpdate(withPolyline, "Santiago de Compostela", "Spain");
+        entityManager.flush();
+
+        // When
+        TripRepository.PolylineCoverage coverage = tripRepository.countPolylineCoverage();
+        long tripsMissingPolyline = tripRepository.countTripsMissingPolyline();
+
+        // Then
+        assertThat(coverage.getTotalTrips()).isEqualTo(2);
+        assertThat(coverage.getTripsWithPolyline()).isEqualTo(1);
+        assertThat(coverage.getTripsWithMultipleLocations()).isEqualTo(2);
+        assertThat(tripsMissingPolyline).isEqualTo(1);
+    }
+
+    @Test
+    void countTripsMissingPolyline_withWhitespacePolyline_shouldCountItAsMissing() {
+        // Given — whitespace-only polylines are blank, as String.isBlank sees them
+        Trip tabs = persistTrip("\t\n");
+        persistUpdate(tabs, "Santiago de Compostela", "Spain");
+        persistUpdate(tabs, "Santiago de Compostela", "Spain");
+        entityManager.flush();
+
+        // When
+        TripRepository.PolylineCoverage coverage = tripRepository.countPolylineCoverage();
+        long tripsMissingPolyline = tripRepository.countTripsMissingPolyline();
+
+        // Then
+        assertThat(coverage.getTripsWithPolyline()).isZero();
+        assertThat(tripsMissingPolyline).isEqualTo(1);
+    }
+
+    @Test
+    void countTripsMissingPolyline_withSingleUpdate_shouldNotCountTrip() {
+        // Given
+        Trip trip = persistTrip(null);
+        persistUpdate(trip, "Santiago de Compostela", "Spain");
+        entityManager.flush();
+
+        // When
+        TripRepository.PolylineCoverage coverage = tripRepository.countPolylineCoverage();
+        long tripsMissingPolyline = tripRepository.countTripsMissingPolyline();
+
+        // Then
+        assertThat(coverage.getTotalTrips()).isEqualTo(1);
+        assertThat(coverage.getTripsWithMultipleLocations()).isZero();
+        assertThat(tripsMissingPolyline).isZero();
+    }
+
+    @Test
+    void getTripMaintenanceStats_allUpdatesMissingGeocoding_shouldReflectCorrectly() {
+        // Given
+        Trip trip = persistTrip(null);
+        persistUpdate(trip, null, null);
+        persistUpdate(trip, null, null);
+        entityManager.flush();
+
+        // When
+        long totalUpdates = tripUpdateRepository.count();
+        long updatesMissingGeocoding = tripUpdateRepository.countMissingGeocoding();
+
+        // Then
+        assertThat(totalUpdates).isEqualTo(2);
+        assertThat(updatesMissingGeocoding).isEqualTo(2);
+    }
+
+    @Test
+    void countMissingGeocoding_shouldTreatBlankCityOrCountryAsMissing() {
+        // Given
+        Trip trip = persistTrip(null);
+        persistUpdate(trip, "Santiago de Compostela", "Spain");
+        persistUpdate(trip, " \t", "Spain");
+        persistUpdate(trip, "Santiago de Compostela", "");
+        persistUpdate(trip, "Santiago de Compostela", null);
+        entityManager.flush();
+
+        // When
+        long updatesMissingGeocoding = tripUpdateRepository.countMissingGeocoding();
+
+        // Then
+        assertThat(updatesMissingGeocoding).isEqualTo(3);
+    }
+
+    @Test
+    void findAllSummaries_shouldSelectTripColumnsAndOwnerUsername() {
+        // Given
+        UUID ownerId = UUID.randomUUID();
+        entityManager.persist(TestEntityFactory.createUser(ownerId, "walker"));
+        Trip trip = persistTrip(ownerId, TripVisibility.PUBLIC, Instant.now());
+        trip.setEncodedPolyline("_p~iF~ps|U");
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        List<TripSummaryDTO> summaries = tripRepository.findAllSummaries();
+
+        // Then
+        assertThat(summaries)
+                .singleElement()
+                .usingRecursiveComparison()
+                .ignoringFields("creationTimestamp", "tripDetails.startTimestamp")
+                .isEqualTo(TestEntityFactory.createTripSummary(trip, "walker"));
+    }
+
+    @Test
+    void findAllSummaries_withoutOwnerRow_shouldStillReturnTripWithoutUsername() {
+        // Given
+        Trip trip = persistTrip(UUID.randomUUID(), TripVisibility.PUBLIC, Instant.now());
+        entityManager.flush();
+
+        // When
+        List<TripSummaryDTO> summaries = tripRepository.findAllSummaries();
+
+        // Then
+        assertThat(summaries)
+                .singleElement()
+                .satisfies(
+                        summary -> {
+                            assertThat(summary.id()).isEqualTo(trip.getId().toString());
+                            assertThat(summary.username()).isNull();
+                        });
+    }
+
+    @Test
+    void findSummariesByVisibility_shouldOnlyReturnTripsWithThatVisibility() {
+        // Given
+        UUID ownerId = UUID.randomUUID();
+        Trip publicTrip = persistTrip(ownerId, TripVisibility.PUBLIC, Instant.now());
+        persistTrip(ownerId, TripVisibility.PRIVATE, Instant.now());
+        entityManager.flush();
+
+        // When
+        List<TripSummaryDTO> summaries =
+                tripRepository.findSummariesByVisibility(TripVisibility.PUBLIC);
+
+        // Then
+        assertThat(summaries)
+                .extracting(TripSummaryDTO::id)
+                .containsExactly(publicTrip.getId().toString());
+    }
+
+    @Test
+    void findAvailableSummariesForUser_shouldApplyVisibilityRules() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        UUID friendId = UUID.randomUUID();
+        UUID strangerId = UUID.randomUUID();
+        Trip own = persistTrip(userId, TripVisibility.PRIVATE, Instant.now());
+        Trip friendProtected = persistTrip(friendId, TripVisibility.PROTECTED, Instant.now());
+        Trip strangerPublic = persistTrip(strangerId, TripVisibility.PUBLIC, Instant.now());
+        persistTrip(strangerId, TripVisibility.PROTECTED, Instant.now());
+        persistTrip(friendId, TripVisibility.PRIVATE, Instant.now());
+        entityManager.flush();
+
+        // When
+        List<TripSummaryDTO> summaries =
+                tripRepository.findAvailableSummariesForUser(userId, List.of(friendId));
+
+        // Then
+        assertThat(summaries)
+                .extracting(TripSummaryDTO::id)
+                .containsExactlyInAnyOrder(
+                        own.getId().toString(),
+                        friendProtected.getId().toString(),
+                        strangerPublic.getId().toString());
+    }
+
+    @Test
+    void findPage_shouldWalkTripsNewestFirstAfterCursor() {
+        // Given — two trips share a creation timestamp, so the id breaks the tie
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        UUID ownerId = UUID.randomUUID();
+        Trip newest = persistTrip(ownerId, TripVisibility.PUBLIC, now);
+        Trip tiedA = persistTrip(ownerId, TripVisibility.PUBLIC, now.minusSeconds(60));
+        Trip tiedB = persistTrip(ownerId, TripVisibility.PUBLIC, now.minusSeconds(60));
+        Trip oldest = persistTrip(ownerId, TripVisibility.PUBLIC, now.minusSeconds(120));
+        entityManager.flush();
+        // PostgreSQL orders uuids by their unsigned bytes, which is the order of their hex strings
+        String a = tiedA.getId().toString();
+        String b = tiedB.getId().toString();
+        List<String> tied = a.compareTo(b) > 0 ? List.of(a, b) : List.of(b, a);
+
+        // When
+        List<TripSummaryDTO> first =
+                tripRepository.findPage(now.plusSeconds(1), new UUID(0, 0), Limit.of(2));
+        TripSummaryDTO last = first.getLast();
+        List<TripSummaryDTO> second =
+                tripRepository.findPage(
+                        last.creationTimestamp(), UUID.fromString(last.id()), Limit.of(2));
+
+        // Then
+        assertThat(first)
+                .extracting(TripSummaryDTO::id)
+                .containsExactly(newest.getId().toString(), tied.get(0));
+        assertThat(second)
+                .extracting(TripSummaryDTO::id)
+                .containsExactly(tied.get(1), oldest.getId().toString());
+    }
+
+    @Test
+    void findAvailablePageForUser_shouldApplyVisibilityRulesAndCursor() {
+        // Given
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        UUID userId = UUID.randomUUID();
+        UUID strangerId = UUID.randomUUID();
+        Trip newer = persistTrip(userId, TripVisibility.PRIVATE, now);
+        persistTrip(strangerId, TripVisibility.PRIVATE, now.minusSeconds(30));
+        Trip older = persistTrip(strangerId, TripVisibility.PUBLIC, now.minusSeconds(60));
+        entityManager.flush();
+
+        // When
+        List<TripSummaryDTO> first =
+                tripRepository.findAvailablePageForUser(
+                        userId,
+                        List.of(UUID.randomUUID()),
+                        now.plusSeconds(1),
+                        new UUID(0, 0),
+                        Limit.of(1));
+        List<TripSummaryDTO> second =
+                tripRepository.findAvailablePageForUser(
+                        userId, List.of(UUID.randomUUID()), now, newer.getId(), Limit.of(1));
+
+        // Then
+        assertThat(first).extracting(TripSummaryDTO::id).containsExactly(newer.getId().toString());
+        assertThat(second).extracting(TripSummaryDTO::id).containsExactly(older.getId().toString());
+    }
+
+    @Test
+    void findPageByVisibilityAndStatusIn_shouldSplitOngoingPublicTripsByOwner() {
+        // Given
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        UUID followedId = UUID.randomUUID();
+        UUID otherId = UUID.randomUUID();
+        Trip followed = persistTrip(followedId, TripVisibility.PUBLIC, now.minusSeconds(60));
+        Trip newer = persistTrip(otherId, TripVisibility.PUBLIC, now);
+        Trip older = persistTrip(otherId, TripVisibility.PUBLIC, now.minusSeconds(120));
+        persistTrip(otherId, TripVisibility.PRIVATE, now);
+        Trip finished = persistTrip(otherId, TripVisibility.PUBLIC, now);
+        finished.getTripSettings().setTripStatus(TripStatus.FINISHED);
+        entityManager.flush();
+        Instant start = now.plusSeconds(1);
+        UUID startId = new UUID(0, 0);
+
+        // When
+        List<TripSummaryDTO> all =
+                tripRepository.findPageByVisibilityAndStatusIn(
+                        TripVisibility.PUBLIC,
+                        OngoingTripFeed.ONGOING_STATUSES,
+                        start,
+                        startId,
+                        Limit.of(10));
+        List<TripSummaryDTO> ofFollowed =
+                tripRepository.findPageByVisibilityAndStatusInAndUserIdIn(
+                        TripVisibility.PUBLIC,
+                        OngoingTripFeed.ONGOING_STATUSES,
+                        List.of(followedId),
+                        start,
+                        startId,
+                        Limit.of(10));
+        List<TripSummaryDTO> ofOthers =
+                tripRepository.findPageByVisibilityAndStatusInAndUserIdNotIn(
+                        TripVisibility.PUBLIC,
+                        OngoingTripFeed.ONGOING_STATUSES,
+                        List.of(followedId),
+                        start,
+                        startId,
+                        Limit.of(1));
+
+        // Then
+        assertThat(all)
+                .extracting(TripSummaryDTO::id)
+                .containsExactly(
+                        newer.getId().toString(),
+                        followed.getId().toString(),
+                        older.getId().toString());
+        assertThat(ofFollowed)
+                .extracting(TripSummaryDTO::id)
+                .containsExactly(followed.getId().toString());
+        assertThat(ofOthers)
+                .extracting(TripSummaryDTO::id)
+                .containsExactly(newer.getId().toString());
+    }
+
+    private Trip persistTrip(UUID userId, TripVisibility visibility, Instant creationTimestamp) {
+        Trip trip =
+                TestEntityFactory.createTripWithUser(
+                        UUID.randomUUID(), userId, "Test Trip", visibility);
+        trip.setCreationTimestamp(creationTimestamp);
+        return entityManager.persist(trip);
+    }
+
+    private Trip persistTrip(String encodedPolyline) {
+        Trip trip = TestEntityFactory.createTrip(UUID.randomUUID());
+        trip.setEncodedPolyline(encodedPolyline);
+        return entityManager.persist(trip);
+    }
+
+    private void persistUpdate(Trip trip, String city, String country) {
+        TripUpdate update = TestEntityFactory.createTripUpdate(UUID.randomUUID(), trip);
+        update.setCity(city);
+        update.setCountry(country);
+        entityManager.persist(update);
+    }
+}
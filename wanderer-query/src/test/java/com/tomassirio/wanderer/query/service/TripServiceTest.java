@@ -2,34 +2,48 @@ package com.tomassirio.wanderer.query.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
-import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import com.tomassirio.wanderer.commons.domain.Friendship;
 import com.tomassirio.wanderer.commons.domain.Trip;
 import com.tomassirio.wanderer.commons.domain.TripStatus;
-import com.tomassirio.wanderer.commons.domain.TripUpdate;
 import com.tomassirio.wanderer.commons.domain.TripVisibility;
-import com.tomassirio.wanderer.commons.domain.UserFollow;
 import com.tomassirio.wanderer.commons.dto.TripDTO;
 import com.tomassirio.wanderer.commons.dto.TripMaintenanceStatsDTO;
+import com.tomassirio.wanderer.query.config.properties.OngoingTripFeedProperties;
+import com.tomassirio.wanderer.query.dto.CursorPage;
+import com.tomassirio.wanderer.query.dto.TripCursor;
+import com.tomassirio.wanderer.query.dto.TripSummaryDTO;
 import com.tomassirio.wanderer.query.repository.FriendshipRepository;
 import com.tomassirio.wanderer.query.repository.TripRepository;
-import com.tomassirio.wanderer.query.repository.UserFollowRepository;
-import com.tomassirio.wanderer.query.repository.UserRepository;
+import com.tomassirio.wanderer.query.repository.TripUpdateRepository;
+import com.tomassirio.wanderer.query.service.helper.FollowedUsersCache;
+import com.tomassirio.wanderer.query.service.helper.OngoingTripFeed;
+import com.tomassirio.wanderer.query.service.helper.UsernameCache;
 import com.tomassirio.wanderer.query.service.impl.TripServiceImpl;
 import com.tomassirio.wanderer.query.utils.TestEntityFactory;
 import jakarta.persistence.EntityNotFoundException;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
 @ExtendWith(MockitoExtension.class)
 class TripServiceTest {
@@ -38,9 +52,15 @@ class TripServiceTest {
 
     @Mock private FriendshipRepository friendshipRepository;
 
-    @Mock private UserFollowRepository userFollowRepository;
+    @Mock private TripUpdateRepository tripUpdateRepository;
 
-    @Mock private UserRepository userRepository;
+    @Mock private FollowedUsersCache followedUsersCache;
+
+    @Mock private OngoingTripFeed ongoingTripFeed;
+
+    @Spy private OngoingTripFeedProperties feedProperties = new OngoingTripFeedProperties();
+
+    @Mock private UsernameCache usernameCache;
 
     @InjectMocks private TripServiceImpl tripService;
 
@@ -51,8 +71,8 @@ class TripServiceTest {
         Trip trip = TestEntityFactory.createTrip(tripId, "Test Trip");
 
         when(tripRepository.findById(tripId)).thenReturn(Optional.of(trip));
-        when(userRepository.findById(TestEntityFactory.USER_ID))
-                .thenReturn(Optional.of(TestEntityFactory.createUser()));
+        when(usernameCache.getUsername(TestEntityFactory.USER_ID))
+                .thenReturn(Optional.of(TestEntityFactory.USERNAME));
 
         // When
         TripDTO result = tripService.getTrip(tripId);
@@ -91,13 +111,10 @@ class TripServiceTest {
         Trip trip2 =
                 TestEntityFactory.createTrip(UUID.randomUUID(), "Trip 2", TripVisibility.PRIVATE);
 
-        List<Trip> trips = List.of(trip1, trip2);
-        when(tripRepository.findAll()).thenReturn(trips);
-        when(userRepository.findAllById(anyCollection()))
-                .thenReturn(List.of(TestEntityFactory.createUser()));
+        when(tripRepository.findAllSummaries()).thenReturn(summaries(trip1, trip2));
 
         // When
-        List<TripDTO> result = tripService.getAllTrips();
+        List<TripSummaryDTO> result = tripService.getAllTrips();
 
         // Then
         assertThat(result).isNotNull();
@@ -109,22 +126,22 @@ class TripServiceTest {
         assertThat(result.get(1).tripSettings().visibility()).isEqualTo(TripVisibility.PRIVATE);
         assertThat(result.get(1).tripSettings().tripStatus()).isEqualTo(TripStatus.CREATED);
 
-        verify(tripRepository).findAll();
+        verify(tripRepository).findAllSummaries();
     }
 
     @Test
     void getAllTrips_whenNoTripsExist_shouldReturnEmptyList() {
         // Given
-        when(tripRepository.findAll()).thenReturn(Collections.emptyList());
+        when(tripRepository.findAllSummaries()).thenReturn(Collections.emptyList());
 
         // When
-        List<TripDTO> result = tripService.getAllTrips();
+        List<TripSummaryDTO> result = tripService.getAllTrips();
 
         // Then
         assertThat(result).isNotNull();
         assertThat(result).isEmpty();
 
-        verify(tripRepository).findAll();
+        verify(tripRepository).findAllSummaries();
     }
 
     @Test
@@ -135,16 +152,14 @@ class TripServiceTest {
         Trip trip =
                 TestEntityFactory.createTrip(tripId, "Summer Road Trip", TripVisibility.PROTECTED);
 
-        when(tripRepository.findAll()).thenReturn(List.of(trip));
-        when(userRepository.findAllById(anyCollection()))
-                .thenReturn(List.of(TestEntityFactory.createUser()));
+        when(tripRepository.findAllSummaries()).thenReturn(summaries(trip));
 
         // When
-        List<TripDTO> result = tripService.getAllTrips();
+        List<TripSummaryDTO> result = tripService.getAllTrips();
 
         // Then
         assertThat(result).hasSize(1);
-        TripDTO tripDTO = result.getFirst();
+        TripSummaryDTO tripDTO = result.getFirst();
         assertThat(tripDTO.id()).isEqualTo(tripId.toString());
         assertThat(tripDTO.name()).isEqualTo("Summer Road Trip");
         assertThat(tripDTO.userId()).isEqualTo(TestEntityFactory.USER_ID.toString());
@@ -153,7 +168,22 @@ class TripServiceTest {
         assertThat(tripDTO.enabled()).isTrue();
         assertThat(tripDTO.creationTimestamp()).isNotNull();
 
-        verify(tripRepository).findAll();
+        verify(tripRepository).findAllSummaries();
+    }
+
+    @Test
+    void getAllTrips_shouldTakeUsernameFromSummaryWithoutLoadingUsers() {
+        // Given
+        Trip trip = TestEntityFactory.createTrip(UUID.randomUUID(), "Trip");
+        when(tripRepository.findAllSummaries())
+                .thenReturn(List.of(TestEntityFactory.createTripSummary(trip, "owner")));
+
+        // When
+        List<TripSummaryDTO> result = tripService.getAllTrips();
+
+        // Then
+        assertThat(result).extracting(TripSummaryDTO::username).containsExactly("owner");
+        verifyNoInteractions(usernameCache);
     }
 
     @Test
@@ -163,38 +193,36 @@ class TripServiceTest {
         UUID tripId = UUID.randomUUID();
         Trip trip = TestEntityFactory.createTrip(tripId, "Owned Trip");
 
-        when(tripRepository.findByUserId(userId)).thenReturn(List.of(trip));
-        when(userRepository.findAllById(anyCollection()))
-                .thenReturn(List.of(TestEntityFactory.createUser()));
+        when(tripRepository.findSummariesByUserId(userId)).thenReturn(summaries(trip));
 
         // When
-        List<TripDTO> result = tripService.getTripsForUser(userId);
+        List<TripSummaryDTO> result = tripService.getTripsForUser(userId);
 
         // Then
         assertThat(result).isNotNull();
         assertThat(result).hasSize(1);
-        TripDTO dto = result.getFirst();
+        TripSummaryDTO dto = result.getFirst();
         assertThat(dto.id()).isEqualTo(tripId.toString());
         assertThat(dto.userId()).isEqualTo(userId.toString());
         assertThat(dto.name()).isEqualTo("Owned Trip");
 
-        verify(tripRepository).findByUserId(userId);
+        verify(tripRepository).findSummariesByUserId(userId);
     }
 
     @Test
     void getTripsForUser_whenNoTripsExist_shouldReturnEmptyList() {
         // Given
         UUID userId = TestEntityFactory.USER_ID;
-        when(tripRepository.findByUserId(userId)).thenReturn(Collections.emptyList());
+        when(tripRepository.findSummariesByUserId(userId)).thenReturn(Collections.emptyList());
 
         // When
-        List<TripDTO> result = tripService.getTripsForUser(userId);
+        List<TripSummaryDTO> result = tripService.getTripsForUser(userId);
 
         // Then
         assertThat(result).isNotNull();
         assertThat(result).isEmpty();
 
-        verify(tripRepository).findByUserId(userId);
+        verify(tripRepository).findSummariesByUserId(userId);
     }
 
     @Test
@@ -207,13 +235,11 @@ class TripServiceTest {
                 TestEntityFactory.createTrip(
                         UUID.randomUUID(), "Public Trip 2", TripVisibility.PUBLIC);
 
-        when(tripRepository.findByTripSettingsVisibility(TripVisibility.PUBLIC))
-                .thenReturn(List.of(publicTrip1, publicTrip2));
-        when(userRepository.findAllById(anyCollection()))
-                .thenReturn(List.of(TestEntityFactory.createUser()));
+        when(tripRepository.findSummariesByVisibility(TripVisibility.PUBLIC))
+                .thenReturn(summaries(publicTrip1, publicTrip2));
 
         // When
-        List<TripDTO> result = tripService.getPublicTrips();
+        List<TripSummaryDTO> result = tripService.getPublicTrips();
 
         // Then
         assertThat(result).isNotNull();
@@ -223,23 +249,23 @@ class TripServiceTest {
         assertThat(result.get(1).name()).isEqualTo("Public Trip 2");
         assertThat(result.get(1).tripSettings().visibility()).isEqualTo(TripVisibility.PUBLIC);
 
-        verify(tripRepository).findByTripSettingsVisibility(TripVisibility.PUBLIC);
+        verify(tripRepository).findSummariesByVisibility(TripVisibility.PUBLIC);
     }
 
     @Test
     void getPublicTrips_whenNoPublicTripsExist_shouldReturnEmptyList() {
         // Given
-        when(tripRepository.findByTripSettingsVisibility(TripVisibility.PUBLIC))
+        when(tripRepository.findSummariesByVisibility(TripVisibility.PUBLIC))
                 .thenReturn(Collections.emptyList());
 
         // When
-        List<TripDTO> result = tripService.getPublicTrips();
+        List<TripSummaryDTO> result = tripService.getPublicTrips();
 
         // Then
         assertThat(result).isNotNull();
         assertThat(result).isEmpty();
 
-        verify(tripRepository).findByTripSettingsVisibility(TripVisibility.PUBLIC);
+        verify(tripRepository).findSummariesByVisibility(TripVisibility.PUBLIC);
     }
 
     @Test
@@ -258,13 +284,12 @@ class TripServiceTest {
                 .thenReturn(true);
         List<TripVisibility> visibilities =
                 List.of(TripVisibility.PUBLIC, TripVisibility.PROTECTED);
-        when(tripRepository.findByUserIdAndVisibilityIn(userId, visibilities))
-                .thenReturn(List.of(publicTrip, protectedTrip));
-        when(userRepository.findAllById(anyCollection()))
-                .thenReturn(List.of(TestEntityFactory.createUser()));
+        when(tripRepository.findSummariesByUserIdAndVisibilityIn(userId, visibilities))
+                .thenReturn(summaries(publicTrip, protectedTrip));
 
         // When
-        List<TripDTO> result = tripService.getTripsForUserWithVisibility(userId, requestingUserId);
+        List<TripSummaryDTO> result =
+                tripService.getTripsForUserWithVisibility(userId, requestingUserId);
 
         // Then
         assertThat(result).isNotNull();
@@ -274,7 +299,7 @@ class TripServiceTest {
         assertThat(result.get(1).name()).isEqualTo("Protected Trip");
         assertThat(result.get(1).tripSettings().visibility()).isEqualTo(TripVisibility.PROTECTED);
 
-        verify(tripRepository).findByUserIdAndVisibilityIn(userId, visibilities);
+        verify(tripRepository).findSummariesByUserIdAndVisibilityIn(userId, visibilities);
     }
 
     @Test
@@ -286,17 +311,18 @@ class TripServiceTest {
                 .thenReturn(true);
         List<TripVisibility> visibilities =
                 List.of(TripVisibility.PUBLIC, TripVisibility.PROTECTED);
-        when(tripRepository.findByUserIdAndVisibilityIn(userId, visibilities))
+        when(tripRepository.findSummariesByUserIdAndVisibilityIn(userId, visibilities))
                 .thenReturn(Collections.emptyList());
 
         // When
-        List<TripDTO> result = tripService.getTripsForUserWithVisibility(userId, requestingUserId);
+        List<TripSummaryDTO> result =
+                tripService.getTripsForUserWithVisibility(userId, requestingUserId);
 
         // Then
         assertThat(result).isNotNull();
         assertThat(result).isEmpty();
 
-        verify(tripRepository).findByUserIdAndVisibilityIn(userId, visibilities);
+        verify(tripRepository).findSummariesByUserIdAndVisibilityIn(userId, visibilities);
     }
 
     @Test
@@ -312,13 +338,12 @@ class TripServiceTest {
                 .thenReturn(true);
         List<TripVisibility> visibilities =
                 List.of(TripVisibility.PUBLIC, TripVisibility.PROTECTED);
-        when(tripRepository.findByUserIdAndVisibilityIn(userId, visibilities))
-                .thenReturn(List.of(publicTrip));
-        when(userRepository.findAllById(anyCollection()))
-                .thenReturn(List.of(TestEntityFactory.createUser()));
+        when(tripRepository.findSummariesByUserIdAndVisibilityIn(userId, visibilities))
+                .thenReturn(summaries(publicTrip));
 
         // When
-        List<TripDTO> result = tripService.getTripsForUserWithVisibility(userId, requestingUserId);
+        List<TripSummaryDTO> result =
+                tripService.getTripsForUserWithVisibility(userId, requestingUserId);
 
         // Then
         assertThat(result).isNotNull();
@@ -331,7 +356,7 @@ class TripServiceTest {
                                                         == TripVisibility.PRIVATE))
                 .isTrue();
 
-        verify(tripRepository).findByUserIdAndVisibilityIn(userId, visibilities);
+        verify(tripRepository).findSummariesByUserIdAndVisibilityIn(userId, visibilities);
     }
 
     @Test
@@ -346,13 +371,12 @@ class TripServiceTest {
         when(friendshipRepository.existsByUserIdAndFriendId(requestingUserId, userId))
                 .thenReturn(false);
         List<TripVisibility> visibilities = List.of(TripVisibility.PUBLIC);
-        when(tripRepository.findByUserIdAndVisibilityIn(userId, visibilities))
-                .thenReturn(List.of(publicTrip));
-        when(userRepository.findAllById(anyCollection()))
-                .thenReturn(List.of(TestEntityFactory.createUser()));
+        when(tripRepository.findSummariesByUserIdAndVisibilityIn(userId, visibilities))
+                .thenReturn(summaries(publicTrip));
 
         // When
-        List<TripDTO> result = tripService.getTripsForUserWithVisibility(userId, requestingUserId);
+        List<TripSummaryDTO> result =
+                tripService.getTripsForUserWithVisibility(userId, requestingUserId);
 
         // Then
         assertThat(result).isNotNull();
@@ -361,7 +385,7 @@ class TripServiceTest {
         assertThat(result.get(0).tripSettings().visibility()).isEqualTo(TripVisibility.PUBLIC);
 
         verify(friendshipRepository).existsByUserIdAndFriendId(requestingUserId, userId);
-        verify(tripRepository).findByUserIdAndVisibilityIn(userId, visibilities);
+        verify(tripRepository).findSummariesByUserIdAndVisibilityIn(userId, visibilities);
     }
 
     @Test
@@ -373,13 +397,11 @@ class TripServiceTest {
                         UUID.randomUUID(), "Public Trip", TripVisibility.PUBLIC);
 
         List<TripVisibility> visibilities = List.of(TripVisibility.PUBLIC);
-        when(tripRepository.findByUserIdAndVisibilityIn(userId, visibilities))
-                .thenReturn(List.of(publicTrip));
-        when(userRepository.findAllById(anyCollection()))
-                .thenReturn(List.of(TestEntityFactory.createUser()));
+        when(tripRepository.findSummariesByUserIdAndVisibilityIn(userId, visibilities))
+                .thenReturn(summaries(publicTrip));
 
         // When
-        List<TripDTO> result = tripService.getTripsForUserWithVisibility(userId, null);
+        List<TripSummaryDTO> result = tripService.getTripsForUserWithVisibility(userId, null);
 
         // Then
         assertThat(result).isNotNull();
@@ -387,7 +409,7 @@ class TripServiceTest {
         assertThat(result.get(0).name()).isEqualTo("Public Trip");
         assertThat(result.get(0).tripSettings().visibility()).isEqualTo(TripVisibility.PUBLIC);
 
-        verify(tripRepository).findByUserIdAndVisibilityIn(userId, visibilities);
+        verify(tripRepository).findSummariesByUserIdAndVisibilityIn(userId, visibilities);
     }
 
     @Test
@@ -398,314 +420,150 @@ class TripServiceTest {
         when(friendshipRepository.existsByUserIdAndFriendId(requestingUserId, userId))
                 .thenReturn(false);
         List<TripVisibility> visibilities = List.of(TripVisibility.PUBLIC);
-        when(tripRepository.findByUserIdAndVisibilityIn(userId, visibilities))
+        when(tripRepository.findSummariesByUserIdAndVisibilityIn(userId, visibilities))
                 .thenReturn(Collections.emptyList());
 
         // When
-        List<TripDTO> result = tripService.getTripsForUserWithVisibility(userId, requestingUserId);
+        List<TripSummaryDTO> result =
+                tripService.getTripsForUserWithVisibility(userId, requestingUserId);
 
         // Then
         assertThat(result).isNotNull();
         assertThat(result).isEmpty();
 
-        verify(tripRepository).findByUserIdAndVisibilityIn(userId, visibilities);
+        verify(tripRepository).findSummariesByUserIdAndVisibilityIn(userId, visibilities);
     }
 
     @Test
-    void getOngoingPublicTrips_whenOngoingTripsExist_shouldReturnOngoingPublicTrips() {
+    void getOngoingPublicTrips_whenAnonymous_shouldReturnFeedTripsInFeedOrder() {
         // Given
-        Trip ongoingTrip1 =
-                TestEntityFactory.createTrip(
-                        UUID.randomUUID(), "Ongoing Trip 1", TripVisibility.PUBLIC);
-        ongoingTrip1.getTripSettings().setTripStatus(TripStatus.IN_PROGRESS);
-
-        Trip ongoingTrip2 =
-                TestEntityFactory.createTrip(
-                        UUID.randomUUID(), "Ongoing Trip 2", TripVisibility.PUBLIC);
-        ongoingTrip2.getTripSettings().setTripStatus(TripStatus.IN_PROGRESS);
+        Trip newer = tripOwnedBy(UUID.randomUUID(), "2025-06-02T00:00:00Z");
+        Trip older = tripOwnedBy(UUID.randomUUID(), "2025-06-01T00:00:00Z");
+        List<UUID> ids = List.of(newer.getId(), older.getId());
 
-        when(tripRepository.findByVisibilityAndStatusIn(
-                        TripVisibility.PUBLIC, List.of(TripStatus.CREATED, TripStatus.IN_PROGRESS)))
-                .thenReturn(List.of(ongoingTrip1, ongoingTrip2));
-        when(userRepository.findAllById(anyCollection()))
-                .thenReturn(List.of(TestEntityFactory.createUser()));
+        when(ongoingTripFeed.page(Set.of(), null, TripServiceImpl.STREAM_PAGE_SIZE))
+                .thenReturn(new CursorPage<>(ids, null));
+        when(tripRepository.findSummariesByIdIn(ids)).thenReturn(summaries(older, newer));
 
         // When
-        List<TripDTO> result = tripService.getOngoingPublicTrips(null);
+        List<TripSummaryDTO> result = tripService.getOngoingPublicTrips(null);
 
         // Then
-        assertThat(result).isNotNull();
-        assertThat(result).hasSize(2);
-        assertThat(result.get(0).name()).isEqualTo("Ongoing Trip 1");
-        assertThat(result.get(0).tripSettings().visibility()).isEqualTo(TripVisibility.PUBLIC);
-        assertThat(result.get(0).tripSettings().tripStatus()).isEqualTo(TripStatus.IN_PROGRESS);
-        assertThat(result.get(1).name()).isEqualTo("Ongoing Trip 2");
-        assertThat(result.get(1).tripSettings().tripStatus()).isEqualTo(TripStatus.IN_PROGRESS);
-
-        verify(tripRepository)
-                .findByVisibilityAndStatusIn(
-                        TripVisibility.PUBLIC, List.of(TripStatus.CREATED, TripStatus.IN_PROGRESS));
+        assertThat(result)
+                .extracting(TripSummaryDTO::id)
+                .containsExactly(newer.getId().toString(), older.getId().toString());
+        verifyNoInteractions(followedUsersCache);
     }
 
     @Test
     void getOngoingPublicTrips_whenNoOngoingTripsExist_shouldReturnEmptyList() {
         // Given
-        when(tripRepository.findByVisibilityAndStatusIn(
-                        TripVisibility.PUBLIC, List.of(TripStatus.CREATED, TripStatus.IN_PROGRESS)))
-                .thenReturn(Collections.emptyList());
+        when(ongoingTripFeed.page(Set.of(), null, TripServiceImpl.STREAM_PAGE_SIZE))
+                .thenReturn(new CursorPage<>(List.of(), null));
 
         // When
-        List<TripDTO> result = tripService.getOngoingPublicTrips(null);
+        List<TripSummaryDTO> result = tripService.getOngoingPublicTrips(null);
 
         // Then
-        assertThat(result).isNotNull();
         assertThat(result).isEmpty();
-
-        verify(tripRepository)
-                .findByVisibilityAndStatusIn(
-                        TripVisibility.PUBLIC, List.of(TripStatus.CREATED, TripStatus.IN_PROGRESS));
+        verify(tripRepository, never()).findSummariesByIdIn(any());
     }
 
     @Test
-    void getOngoingPublicTrips_shouldOnlyReturnInProgressPublicTrips() {
+    void getOngoingPublicTrips_shouldLeaveOutTripsNoLongerOngoingOrPublic() {
         // Given
-        Trip ongoingPublicTrip =
-                TestEntityFactory.createTrip(
-                        UUID.randomUUID(), "Ongoing Public", TripVisibility.PUBLIC);
-        ongoingPublicTrip.getTripSettings().setTripStatus(TripStatus.IN_PROGRESS);
-
-        when(tripRepository.findByVisibilityAndStatusIn(
-                        TripVisibility.PUBLIC, List.of(TripStatus.CREATED, TripStatus.IN_PROGRESS)))
-                .thenReturn(List.of(ongoingPublicTrip));
-        when(userRepository.findAllById(anyCollection()))
-                .thenReturn(List.of(TestEntityFactory.createUser()));
-
-        // When
-        List<TripDTO> result = tripService.getOngoingPublicTrips(null);
-
-        // Then
-        assertThat(result).isNotNull();
-        assertThat(result).hasSize(1);
-        assertThat(result.get(0).tripSettings().visibility()).isEqualTo(TripVisibility.PUBLIC);
-        assertThat(result.get(0).tripSettings().tripStatus()).isEqualTo(TripStatus.IN_PROGRESS);
-
-        verify(tripRepository)
-                .findByVisibilityAndStatusIn(
-                        TripVisibility.PUBLIC, List.of(TripStatus.CREATED, TripStatus.IN_PROGRESS));
-    }
-
-    @Test
-    void
-            getOngoingPublicTrips_withRequestingUserId_whenUserFollowsSomeUsers_shouldPrioritizeFollowedUsers() {
-        // Given
-        UUID requestingUserId = UUID.randomUUID();
-        UUID followedUserId1 = UUID.randomUUID();
-        UUID followedUserId2 = UUID.randomUUID();
-        UUID notFollowedUserId = UUID.randomUUID();
-
-        Trip followedTrip1 =
-                TestEntityFactory.createTripWithUser(
-                        UUID.randomUUID(), followedUserId1, "Followed Trip 1");
-        followedTrip1.getTripSettings().setTripStatus(TripStatus.IN_PROGRESS);
-
-        Trip followedTrip2 =
-                TestEntityFactory.createTripWithUser(
-                        UUID.randomUUID(), followedUserId2, "Followed Trip 2");
-        followedTrip2.getTripSettings().setTripStatus(TripStatus.IN_PROGRESS);
-
-        Trip notFollowedTrip =
-                TestEntityFactory.createTripWithUser(
-                        UUID.randomUUID(), notFollowedUserId, "Not Followed Trip");
-        notFollowedTrip.getTripSettings().setTripStatus(TripStatus.IN_PROGRESS);
-
-        UserFollow follow1 =
-                UserFollow.builder()
-                        .id(UUID.randomUUID())
-                        .followerId(requestingUserId)
-                        .followedId(followedUserId1)
-                        .build();
-
-        UserFollow follow2 =
-                UserFollow.builder()
-                        .id(UUID.randomUUID())
-                        .followerId(requestingUserId)
-                        .followedId(followedUserId2)
-                        .build();
-
-        when(tripRepository.findByVisibilityAndStatusIn(
-                        TripVisibility.PUBLIC, List.of(TripStatus.CREATED, TripStatus.IN_PROGRESS)))
-                .thenReturn(List.of(notFollowedTrip, followedTrip1, followedTrip2));
-        when(userFollowRepository.findByFollowerId(requestingUserId))
-                .thenReturn(List.of(follow1, follow2));
-        when(userRepository.findAllById(anyCollection()))
-                .thenReturn(
-                        List.of(
-                                TestEntityFactory.createUser(followedUserId1, "user1"),
-                                TestEntityFactory.createUser(followedUserId2, "user2"),
-                                TestEntityFactory.createUser(notFollowedUserId, "user3")));
+        Trip ongoing = tripOwnedBy(UUID.randomUUID(), "2025-06-03T00:00:00Z");
+        Trip finished = tripOwnedBy(UUID.randomUUID(), "2025-06-02T00:00:00Z");
+        finished.getTripSettings().setTripStatus(TripStatus.FINISHED);
+        Trip madePrivate = tripOwnedBy(UUID.randomUUID(), "2025-06-01T00:00:00Z");
+        madePrivate.getTripSettings().setVisibility(TripVisibility.PRIVATE);
+        List<UUID> ids = List.of(ongoing.getId(), finished.getId(), madePrivate.getId());
+
+        when(ongoingTripFeed.page(Set.of(), null, TripServiceImpl.STREAM_PAGE_SIZE))
+                .thenReturn(new CursorPage<>(ids, null));
+        when(tripRepository.findSummariesByIdIn(ids))
+                .thenReturn(summaries(ongoing, finished, madePrivate));
 
         // When
-        List<TripDTO> result = tripService.getOngoingPublicTrips(requestingUserId);
+        List<TripSummaryDTO> result = tripService.getOngoingPublicTrips(null);
 
         // Then
-        assertThat(result).isNotNull();
-        assertThat(result).hasSize(3);
-        // Followed trips should come first
-        assertThat(result.get(0).name()).isEqualTo("Followed Trip 1");
-        assertThat(result.get(1).name()).isEqualTo("Followed Trip 2");
-        assertThat(result.get(2).name()).isEqualTo("Not Followed Trip");
-
-        verify(tripRepository)
-                .findByVisibilityAndStatusIn(
-                        TripVisibility.PUBLIC, List.of(TripStatus.CREATED, TripStatus.IN_PROGRESS));
-        verify(userFollowRepository).findByFollowerId(requestingUserId);
+        assertThat(result)
+                .extracting(TripSummaryDTO::id)
+                .containsExactly(ongoing.getId().toString());
     }
 
     @Test
-    void getOngoingPublicTrips_withRequestingUserId_whenUserFollowsNoOne_shouldReturnAllTrips() {
+    void getOngoingPublicTrips_whenTripDeletedSinceFeedRead_shouldSkipIt() {
         // Given
-        UUID requestingUserId = UUID.randomUUID();
+        Trip trip = tripOwnedBy(UUID.randomUUID(), "2025-06-02T00:00:00Z");
+        List<UUID> ids = List.of(UUID.randomUUID(), trip.getId());
 
-        Trip trip1 =
-                TestEntityFactory.createTrip(UUID.randomUUID(), "Trip 1", TripVisibility.PUBLIC);
-        trip1.getTripSettings().setTripStatus(TripStatus.IN_PROGRESS);
-
-        Trip trip2 =
-                TestEntityFactory.createTrip(UUID.randomUUID(), "Trip 2", TripVisibility.PUBLIC);
-        trip2.getTripSettings().setTripStatus(TripStatus.IN_PROGRESS);
-
-        when(tripRepository.findByVisibilityAndStatusIn(
-                        TripVisibility.PUBLIC, List.of(TripStatus.CREATED, TripStatus.IN_PROGRESS)))
-                .thenReturn(List.of(trip1, trip2));
-        when(userFollowRepository.findByFollowerId(requestingUserId))
-                .thenReturn(Collections.emptyList());
-        when(userRepository.findAllById(anyCollection()))
-                .thenReturn(List.of(TestEntityFactory.createUser()));
+        when(ongoingTripFeed.page(Set.of(), null, TripServiceImpl.STREAM_PAGE_SIZE))
+                .thenReturn(new CursorPage<>(ids, null));
+        when(tripRepository.findSummariesByIdIn(ids)).thenReturn(summaries(trip));
 
         // When
-        List<TripDTO> result = tripService.getOngoingPublicTrips(requestingUserId);
+        List<TripSummaryDTO> result = tripService.getOngoingPublicTrips(null);
 
         // Then
-        assertThat(result).isNotNull();
-        assertThat(result).hasSize(2);
-        assertThat(result.get(0).name()).isEqualTo("Trip 1");
-        assertThat(result.get(1).name()).isEqualTo("Trip 2");
-
-        verify(tripRepository)
-                .findByVisibilityAndStatusIn(
-                        TripVisibility.PUBLIC, List.of(TripStatus.CREATED, TripStatus.IN_PROGRESS));
-        verify(userFollowRepository).findByFollowerId(requestingUserId);
+        assertThat(result).extracting(TripSummaryDTO::id).containsExactly(trip.getId().toString());
     }
 
     @Test
-    void
-            getOngoingPublicTrips_withRequestingUserId_whenAllTripsAreFromFollowedUsers_shouldReturnAllInOrder() {
+    void getOngoingPublicTrips_withRequestingUserId_shouldPassFollowedUsersToFeed() {
         // Given
         UUID requestingUserId = UUID.randomUUID();
-        UUID followedUserId1 = UUID.randomUUID();
-        UUID followedUserId2 = UUID.randomUUID();
-
-        Trip followedTrip1 =
-                TestEntityFactory.createTripWithUser(
-                        UUID.randomUUID(), followedUserId1, "Followed Trip 1");
-        followedTrip1.getTripSettings().setTripStatus(TripStatus.IN_PROGRESS);
-
-        Trip followedTrip2 =
-                TestEntityFactory.createTripWithUser(
-                        UUID.randomUUID(), followedUserId2, "Followed Trip 2");
-        followedTrip2.getTripSettings().setTripStatus(TripStatus.IN_PROGRESS);
-
-        UserFollow follow1 =
-                UserFollow.builder()
-                        .id(UUID.randomUUID())
-                        .followerId(requestingUserId)
-                        .followedId(followedUserId1)
-                        .build();
-
-        UserFollow follow2 =
-                UserFollow.builder()
-                        .id(UUID.randomUUID())
-                        .followerId(requestingUserId)
-                        .followedId(followedUserId2)
-                        .build();
-
-        when(tripRepository.findByVisibilityAndStatusIn(
-                        TripVisibility.PUBLIC, List.of(TripStatus.CREATED, TripStatus.IN_PROGRESS)))
-                .thenReturn(List.of(followedTrip1, followedTrip2));
-        when(userFollowRepository.findByFollowerId(requestingUserId))
-                .thenReturn(List.of(follow1, follow2));
-        when(userRepository.findAllById(anyCollection()))
-                .thenReturn(
-                        List.of(
-                                TestEntityFactory.createUser(followedUserId1, "user1"),
-                                TestEntityFactory.createUser(followedUserId2, "user2")));
+        UUID followedId = UUID.randomUUID();
+        Trip followedTrip = tripOwnedBy(followedId, "2025-06-01T00:00:00Z");
+        Trip otherTrip = tripOwnedBy(UUID.randomUUID(), "2025-06-02T00:00:00Z");
+        List<UUID> ids = List.of(followedTrip.getId(), otherTrip.getId());
+
+        when(followedUsersCache.getFollowedUserIds(requestingUserId))
+                .thenReturn(Set.of(followedId));
+        when(ongoingTripFeed.page(Set.of(followedId), null, TripServiceImpl.STREAM_PAGE_SIZE))
+                .thenReturn(new CursorPage<>(ids, null));
+        when(tripRepository.findSummariesByIdIn(ids))
+                .thenReturn(summaries(otherTrip, followedTrip));
 
         // When
-        List<TripDTO> result = tripService.getOngoingPublicTrips(requestingUserId);
+        List<TripSummaryDTO> result = tripService.getOngoingPublicTrips(requestingUserId);
 
         // Then
-        assertThat(result).isNotNull();
-        assertThat(result).hasSize(2);
-        assertThat(result.get(0).name()).isEqualTo("Followed Trip 1");
-        assertThat(result.get(1).name()).isEqualTo("Followed Trip 2");
-
-        verify(tripRepository)
-                .findByVisibilityAndStatusIn(
-                        TripVisibility.PUBLIC, List.of(TripStatus.CREATED, TripStatus.IN_PROGRESS));
-        verify(userFollowRepository).findByFollowerId(requestingUserId);
+        assertThat(result)
+                .extracting(TripSummaryDTO::id)
+                .containsExactly(followedTrip.getId().toString(), otherTrip.getId().toString());
+        verify(followedUsersCache).getFollowedUserIds(requestingUserId);
     }
 
     @Test
-    void
-            getOngoingPublicTrips_withRequestingUserId_whenNoTripsFromFollowedUsers_shouldReturnAllTrips() {
+    void streamOngoingPublicTrips_shouldFollowFeedCursorsAndReadFollowsOnce() {
         // Given
         UUID requestingUserId = UUID.randomUUID();
-        UUID followedUserId = UUID.randomUUID();
-        UUID notFollowedUserId1 = UUID.randomUUID();
-        UUID notFollowedUserId2 = UUID.randomUUID();
-
-        Trip notFollowedTrip1 =
-                TestEntityFactory.createTripWithUser(
-                        UUID.randomUUID(), notFollowedUserId1, "Not Followed Trip 1");
-        notFollowedTrip1.getTripSettings().setTripStatus(TripStatus.IN_PROGRESS);
-
-        Trip notFollowedTrip2 =
-                TestEntityFactory.createTripWithUser(
-                        UUID.randomUUID(), notFollowedUserId2, "Not Followed Trip 2");
-        notFollowedTrip2.getTripSettings().setTripStatus(TripStatus.IN_PROGRESS);
-
-        UserFollow follow =
-                UserFollow.builder()
-                        .id(UUID.randomUUID())
-                        .followerId(requestingUserId)
-                        .followedId(followedUserId)
-                        .build();
-
-        when(tripRepository.findByVisibilityAndStatusIn(
-                        TripVisibility.PUBLIC, List.of(TripStatus.CREATED, TripStatus.IN_PROGRESS)))
-                .thenReturn(List.of(notFollowedTrip1, notFollowedTrip2));
-        when(userFollowRepository.findByFollowerId(requestingUserId)).thenReturn(List.of(follow));
-        when(userRepository.findAllById(anyCollection()))
-                .thenReturn(
-                        List.of(
-                                TestEntityFactory.createUser(notFollowedUserId1, "user1"),
-                                TestEntityFactory.createUser(notFollowedUserId2, "user2")));
+        Trip first = tripOwnedBy(UUID.randomUUID(), "2025-06-02T00:00:00Z");
+        Trip second = tripOwnedBy(UUID.randomUUID(), "2025-06-01T00:00:00Z");
+        int pageSize = TripServiceImpl.STREAM_PAGE_SIZE;
+
+        when(followedUsersCache.getFollowedUserIds(requestingUserId)).thenReturn(Set.of());
+        when(ongoingTripFeed.page(Set.of(), null, pageSize))
+                .thenReturn(new CursorPage<>(List.of(first.getId()), "next"));
+        when(ongoingTripFeed.page(Set.of(), "next", pageSize))
+                .thenReturn(new CursorPage<>(List.of(second.getId()), null));
+        when(tripRepository.findSummariesByIdIn(List.of(first.getId())))
+                .thenReturn(summaries(first));
+        when(tripRepository.findSummariesByIdIn(List.of(second.getId())))
+                .thenReturn(summaries(second));
+        List<TripSummaryDTO> emitted = new ArrayList<>();
 
         // When
-        List<TripDTO> result = tripService.getOngoingPublicTrips(requestingUserId);
+        tripService.streamOngoingPublicTrips(requestingUserId, emitted::add);
 
         // Then
-        assertThat(result).isNotNull();
-        assertThat(result).hasSize(2);
-        assertThat(result.get(0).name()).isEqualTo("Not Followed Trip 1");
-        assertThat(result.get(1).name()).isEqualTo("Not Followed Trip 2");
-
-        verify(tripRepository)
-                .findByVisibilityAndStatusIn(
-                        TripVisibility.PUBLIC, List.of(TripStatus.CREATED, TripStatus.IN_PROGRESS));
-        verify(userFollowRepository).findByFollowerId(requestingUserId);
+        assertThat(emitted)
+                .extracting(TripSummaryDTO::id)
+                .containsExactly(first.getId().toString(), second.getId().toString());
+        verify(followedUsersCache, times(1)).getFollowedUserIds(requestingUserId);
     }
-
     @Test
     void getAllAvailableTripsForUser_whenUserHasOwnTripsAndPublicTrips_shouldReturnAll() {
         // Given
@@ -731,17 +589,11 @@ class TripServiceTest {
                                         .userId(userId)
                                         .friendId(friendId)
                                         .build()));
-        when(tripRepository.findAllAvailableTripsForUser(userId, List.of(friendId)))
-                .thenReturn(List.of(ownTrip, publicTrip, friendTrip));
-        when(userRepository.findAllById(anyCollection()))
-                .thenReturn(
-                        List.of(
-                                TestEntityFactory.createUser(userId, "myuser"),
-                                TestEntityFactory.createUser(publicUserId, "publicuser"),
-                                TestEntityFactory.createUser(friendId, "frienduser")));
+        when(tripRepository.findAvailableSummariesForUser(userId, List.of(friendId)))
+                .thenReturn(summaries(ownTrip, publicTrip, friendTrip));
 
         // When
-        List<TripDTO> result = tripService.getAllAvailableTripsForUser(userId);
+        List<TripSummaryDTO> result = tripService.getAllAvailableTripsForUser(userId);
 
         // Then
         assertThat(result).isNotNull();
@@ -754,7 +606,7 @@ class TripServiceTest {
         assertThat(result.get(2).tripSettings().visibility()).isEqualTo(TripVisibility.PROTECTED);
 
         verify(friendshipRepository).findByUserId(userId);
-        verify(tripRepository).findAllAvailableTripsForUser(userId, List.of(friendId));
+        verify(tripRepository).findAvailableSummariesForUser(userId, List.of(friendId));
     }
 
     @Test
@@ -771,16 +623,11 @@ class TripServiceTest {
                         UUID.randomUUID(), publicUserId, "Public Trip", TripVisibility.PUBLIC);
 
         when(friendshipRepository.findByUserId(userId)).thenReturn(Collections.emptyList());
-        when(tripRepository.findAllAvailableTripsForUser(userId, Collections.emptyList()))
-                .thenReturn(List.of(ownTrip, publicTrip));
-        when(userRepository.findAllById(anyCollection()))
-                .thenReturn(
-                        List.of(
-                                TestEntityFactory.createUser(userId, "myuser"),
-                                TestEntityFactory.createUser(publicUserId, "publicuser")));
+        when(tripRepository.findAvailableSummariesForUser(userId, Collections.emptyList()))
+                .thenReturn(summaries(ownTrip, publicTrip));
 
         // When
-        List<TripDTO> result = tripService.getAllAvailableTripsForUser(userId);
+        List<TripSummaryDTO> result = tripService.getAllAvailableTripsForUser(userId);
 
         // Then
         assertThat(result).isNotNull();
@@ -789,7 +636,7 @@ class TripServiceTest {
         assertThat(result.get(1).name()).isEqualTo("Public Trip");
 
         verify(friendshipRepository).findByUserId(userId);
-        verify(tripRepository).findAllAvailableTripsForUser(userId, Collections.emptyList());
+        verify(tripRepository).findAvailableSummariesForUser(userId, Collections.emptyList());
     }
 
     @Test
@@ -798,18 +645,18 @@ class TripServiceTest {
         UUID userId = UUID.randomUUID();
 
         when(friendshipRepository.findByUserId(userId)).thenReturn(Collections.emptyList());
-        when(tripRepository.findAllAvailableTripsForUser(userId, Collections.emptyList()))
+        when(tripRepository.findAvailableSummariesForUser(userId, Collections.emptyList()))
                 .thenReturn(Collections.emptyList());
 
         // When
-        List<TripDTO> result = tripService.getAllAvailableTripsForUser(userId);
+        List<TripSummaryDTO> result = tripService.getAllAvailableTripsForUser(userId);
 
         // Then
         assertThat(result).isNotNull();
         assertThat(result).isEmpty();
 
         verify(friendshipRepository).findByUserId(userId);
-        verify(tripRepository).findAllAvailableTripsForUser(userId, Collections.emptyList());
+        verify(tripRepository).findAvailableSummariesForUser(userId, Collections.emptyList());
     }
 
     @Test
@@ -822,13 +669,11 @@ class TripServiceTest {
                         UUID.randomUUID(), userId, "My Private Trip", TripVisibility.PRIVATE);
 
         when(friendshipRepository.findByUserId(userId)).thenReturn(Collections.emptyList());
-        when(tripRepository.findAllAvailableTripsForUser(userId, Collections.emptyList()))
-                .thenReturn(List.of(privateTrip));
-        when(userRepository.findAllById(anyCollection()))
-                .thenReturn(List.of(TestEntityFactory.createUser(userId, "myuser")));
+        when(tripRepository.findAvailableSummariesForUser(userId, Collections.emptyList()))
+                .thenReturn(summaries(privateTrip));
 
         // When
-        List<TripDTO> result = tripService.getAllAvailableTripsForUser(userId);
+        List<TripSummaryDTO> result = tripService.getAllAvailableTripsForUser(userId);
 
         // Then
         assertThat(result).isNotNull();
@@ -837,7 +682,7 @@ class TripServiceTest {
         assertThat(result.get(0).tripSettings().visibility()).isEqualTo(TripVisibility.PRIVATE);
 
         verify(friendshipRepository).findByUserId(userId);
-        verify(tripRepository).findAllAvailableTripsForUser(userId, Collections.emptyList());
+        verify(tripRepository).findAvailableSummariesForUser(userId, Collections.emptyList());
     }
 
     @Test
@@ -854,13 +699,11 @@ class TripServiceTest {
                         TripVisibility.PUBLIC);
 
         when(friendshipRepository.findByUserId(userId)).thenReturn(Collections.emptyList());
-        when(tripRepository.findAllAvailableTripsForUser(userId, Collections.emptyList()))
-                .thenReturn(List.of(publicTrip));
-        when(userRepository.findAllById(anyCollection()))
-                .thenReturn(List.of(TestEntityFactory.createUser(otherUserId, "otheruser")));
+        when(tripRepository.findAvailableSummariesForUser(userId, Collections.emptyList()))
+                .thenReturn(summaries(publicTrip));
 
         // When
-        List<TripDTO> result = tripService.getAllAvailableTripsForUser(userId);
+        List<TripSummaryDTO> result = tripService.getAllAvailableTripsForUser(userId);
 
         // Then
         assertThat(result).isNotNull();
@@ -869,7 +712,7 @@ class TripServiceTest {
         assertThat(result.get(0).tripSettings().visibility()).isEqualTo(TripVisibility.PUBLIC);
 
         verify(friendshipRepository).findByUserId(userId);
-        verify(tripRepository).findAllAvailableTripsForUser(userId, Collections.emptyList());
+        verify(tripRepository).findAvailableSummariesForUser(userId, Collections.emptyList());
     }
 
     @Test
@@ -893,13 +736,11 @@ class TripServiceTest {
                                         .userId(userId)
                                         .friendId(friendId)
                                         .build()));
-        when(tripRepository.findAllAvailableTripsForUser(userId, List.of(friendId)))
-                .thenReturn(List.of(friendProtectedTrip));
-        when(userRepository.findAllById(anyCollection()))
-                .thenReturn(List.of(TestEntityFactory.createUser(friendId, "frienduser")));
+        when(tripRepository.findAvailableSummariesForUser(userId, List.of(friendId)))
+                .thenReturn(summaries(friendProtectedTrip));
 
         // When
-        List<TripDTO> result = tripService.getAllAvailableTripsForUser(userId);
+        List<TripSummaryDTO> result = tripService.getAllAvailableTripsForUser(userId);
 
         // Then
         assertThat(result).isNotNull();
@@ -908,7 +749,7 @@ class TripServiceTest {
         assertThat(result.get(0).tripSettings().visibility()).isEqualTo(TripVisibility.PROTECTED);
 
         verify(friendshipRepository).findByUserId(userId);
-        verify(tripRepository).findAllAvailableTripsForUser(userId, List.of(friendId));
+        verify(tripRepository).findAvailableSummariesForUser(userId, List.of(friendId));
     }
 
     @Test
@@ -922,13 +763,11 @@ class TripServiceTest {
                         UUID.randomUUID(), publicUserId, "Public Trip", TripVisibility.PUBLIC);
 
         when(friendshipRepository.findByUserId(userId)).thenReturn(Collections.emptyList());
-        when(tripRepository.findAllAvailableTripsForUser(userId, Collections.emptyList()))
-                .thenReturn(List.of(publicTrip));
-        when(userRepository.findAllById(anyCollection()))
-                .thenReturn(List.of(TestEntityFactory.createUser(publicUserId, "publicuser")));
+        when(tripRepository.findAvailableSummariesForUser(userId, Collections.emptyList()))
+                .thenReturn(summaries(publicTrip));
 
         // When
-        List<TripDTO> result = tripService.getAllAvailableTripsForUser(userId);
+        List<TripSummaryDTO> result = tripService.getAllAvailableTripsForUser(userId);
 
         // Then
         assertThat(result).isNotNull();
@@ -942,7 +781,7 @@ class TripServiceTest {
                 .isTrue();
 
         verify(friendshipRepository).findByUserId(userId);
-        verify(tripRepository).findAllAvailableTripsForUser(userId, Collections.emptyList());
+        verify(tripRepository).findAvailableSummariesForUser(userId, Collections.emptyList());
     }
 
     @Test
@@ -979,18 +818,11 @@ class TripServiceTest {
                                         .userId(userId)
                                         .friendId(friendId2)
                                         .build()));
-        when(tripRepository.findAllAvailableTripsForUser(userId, List.of(friendId1, friendId2)))
-                .thenReturn(List.of(ownTrip, publicTrip, friend1Trip, friend2Trip));
-        when(userRepository.findAllById(anyCollection()))
-                .thenReturn(
-                        List.of(
-                                TestEntityFactory.createUser(userId, "myuser"),
-                                TestEntityFactory.createUser(publicUserId, "publicuser"),
-                                TestEntityFactory.createUser(friendId1, "friend1"),
-                                TestEntityFactory.createUser(friendId2, "friend2")));
+        when(tripRepository.findAvailableSummariesForUser(userId, List.of(friendId1, friendId2)))
+                .thenReturn(summaries(ownTrip, publicTrip, friend1Trip, friend2Trip));
 
         // When
-        List<TripDTO> result = tripService.getAllAvailableTripsForUser(userId);
+        List<TripSummaryDTO> result = tripService.getAllAvailableTripsForUser(userId);
 
         // Then
         assertThat(result).isNotNull();
@@ -1001,7 +833,7 @@ class TripServiceTest {
         assertThat(result.get(3).name()).isEqualTo("Friend 2 Trip");
 
         verify(friendshipRepository).findByUserId(userId);
-        verify(tripRepository).findAllAvailableTripsForUser(userId, List.of(friendId1, friendId2));
+        verify(tripRepository).findAvailableSummariesForUser(userId, List.of(friendId1, friendId2));
     }
 
     @Test
@@ -1015,17 +847,15 @@ class TripServiceTest {
                         tripId, userId, "Test Trip", TripVisibility.PUBLIC);
 
         when(friendshipRepository.findByUserId(userId)).thenReturn(Collections.emptyList());
-        when(tripRepository.findAllAvailableTripsForUser(userId, Collections.emptyList()))
-                .thenReturn(List.of(trip));
-        when(userRepository.findAllById(anyCollection()))
-                .thenReturn(List.of(TestEntityFactory.createUser(userId, "testuser")));
+        when(tripRepository.findAvailableSummariesForUser(userId, Collections.emptyList()))
+                .thenReturn(summaries(trip));
 
         // When
-        List<TripDTO> result = tripService.getAllAvailableTripsForUser(userId);
+        List<TripSummaryDTO> result = tripService.getAllAvailableTripsForUser(userId);
 
         // Then
         assertThat(result).hasSize(1);
-        TripDTO tripDTO = result.getFirst();
+        TripSummaryDTO tripDTO = result.getFirst();
         assertThat(tripDTO.id()).isEqualTo(tripId.toString());
         assertThat(tripDTO.name()).isEqualTo("Test Trip");
         assertThat(tripDTO.userId()).isEqualTo(userId.toString());
@@ -1035,7 +865,7 @@ class TripServiceTest {
         assertThat(tripDTO.creationTimestamp()).isNotNull();
 
         verify(friendshipRepository).findByUserId(userId);
-        verify(tripRepository).findAllAvailableTripsForUser(userId, Collections.emptyList());
+        verify(tripRepository).findAvailableSummariesForUser(userId, Collections.emptyList());
     }
 
     // ========================================================================
@@ -1045,7 +875,7 @@ class TripServiceTest {
     @Test
     void getTripMaintenanceStats_whenNoTrips_shouldReturnAllZeros() {
         // Given
-        when(tripRepository.findAll()).thenReturn(List.of());
+        when(tripRepository.countPolylineCoverage()).thenReturn(coverage(0, 0, 0));
 
         // When
         TripMaintenanceStatsDTO stats = tripService.getTripMaintenanceStats();
@@ -1061,81 +891,329 @@ class TripServiceTest {
     }
 
     @Test
-    void getTripMaintenanceStats_withTripsAndUpdates_shouldComputeCorrectStats() {
+    void getTripMaintenanceStats_shouldCombineAggregateCounts() {
         // Given
-        UUID tripId1 = UUID.randomUUID();
-        UUID tripId2 = UUID.randomUUID();
+        when(tripRepository.countPolylineCoverage()).thenReturn(coverage(10, 6, 8));
+        when(tripRepository.countTripsMissingPolyline()).thenReturn(2L);
+        when(tripUpdateRepository.count()).thenReturn(40L);
+        when(tripUpdateRepository.countMissingGeocoding()).thenReturn(15L);
 
-        Trip trip1 = TestEntityFactory.createTrip(tripId1, "Trip 1");
-        TripUpdate update1a = TestEntityFactory.createTripUpdate(UUID.randomUUID(), trip1);
-        TripUpdate update1b = TestEntityFactory.createTripUpdate(UUID.randomUUID(), trip1);
-        trip1.setTripUpdates(List.of(update1a, update1b));
-        trip1.setEncodedPolyline("encodedPolyline");
+        // When
+        TripMaintenanceStatsDTO stats = tripService.getTripMaintenanceStats();
 
-        Trip trip2 = TestEntityFactory.createTrip(tripId2, "Trip 2");
-        TripUpdate update2a = TestEntityFactory.createTripUpdate(UUID.randomUUID(), trip2);
-        update2a.setCity(null);
-        update2a.setCountry(null);
-        trip2.setTripUpdates(List.of(update2a));
+        // Then
+        assertThat(stats.totalTrips()).isEqualTo(10);
+        assertThat(stats.tripsWithPolyline()).isEqualTo(6);
+        assertThat(stats.tripsWithMultipleLocations()).isEqualTo(8);
+        assertThat(stats.tripsMissingPolyline()).isEqualTo(2);
+        assertThat(stats.totalUpdates()).isEqualTo(40);
+        assertThat(stats.updatesWithGeocoding()).isEqualTo(25);
+        assertThat(stats.updatesMissingGeocoding()).isEqualTo(15);
+    }
 
-        when(tripRepository.findAll()).thenReturn(List.of(trip1, trip2));
+    @Test
+    void getTripMaintenanceStats_shouldNotLoadTrips() {
+        // Given
+        when(tripRepository.countPolylineCoverage()).thenReturn(coverage(1, 1, 1));
 
         // When
-        TripMaintenanceStatsDTO stats = tripService.getTripMaintenanceStats();
+        tripService.getTripMaintenanceStats();
 
         // Then
-        assertThat(stats.totalTrips()).isEqualTo(2);
-        assertThat(stats.tripsWithPolyline()).isEqualTo(1);
-        assertThat(stats.tripsWithMultipleLocations()).isEqualTo(1);
-        assertThat(stats.tripsMissingPolyline()).isZero();
-        assertThat(stats.totalUpdates()).isEqualTo(3);
-        assertThat(stats.updatesWithGeocoding()).isEqualTo(2);
-        assertThat(stats.updatesMissingGeocoding()).isEqualTo(1);
+        verify(tripRepository, never()).findAll();
+        verify(tripUpdateRepository, never()).findAll();
     }
 
     @Test
-    void getTripMaintenanceStats_tripMissingPolyline_shouldBeCountedCorrectly() {
-        // Given — trip with 2+ locations but no polyline
-        UUID tripId = UUID.randomUUID();
-        Trip trip = TestEntityFactory.createTrip(tripId, "No Polyline Trip");
-        TripUpdate update1 = TestEntityFactory.createTripUpdate(UUID.randomUUID(), trip);
-        TripUpdate update2 = TestEntityFactory.createTripUpdate(UUID.randomUUID(), trip);
-        trip.setTripUpdates(List.of(update1, update2));
-        trip.setEncodedPolyline(null);
+    void getAllTripsPage_whenMoreTripsThanLimit_shouldReturnLimitAndNextCursor() {
+        // Given
+        Trip newest = tripCreatedAt(UUID.randomUUID(), "2025-06-03T00:00:00Z");
+        Trip middle = tripCreatedAt(UUID.randomUUID(), "2025-06-02T00:00:00Z");
+        Trip oldest = tripCreatedAt(UUID.randomUUID(), "2025-06-01T00:00:00Z");
+        TripCursor first = TripCursor.first(false);
 
-        when(tripRepository.findAll()).thenReturn(List.of(trip));
+        when(tripRepository.findPage(first.creationTimestamp(), first.id(), Limit.of(3)))
+                .thenReturn(summaries(newest, middle, oldest));
 
         // When
-        TripMaintenanceStatsDTO stats = tripService.getTripMaintenanceStats();
+        CursorPage<TripSummaryDTO> page = tripService.getAllTrips(null, 2);
 
         // Then
-        assertThat(stats.totalTrips()).isEqualTo(1);
-        assertThat(stats.tripsWithPolyline()).isZero();
-        assertThat(stats.tripsWithMultipleLocations()).isEqualTo(1);
-        assertThat(stats.tripsMissingPolyline()).isEqualTo(1);
+        assertThat(page.items())
+                .extracting(TripSummaryDTO::id)
+                .containsExactly(newest.getId().toString(), middle.getId().toString());
+        assertThat(TripCursor.decode(page.nextCursor()))
+                .isEqualTo(TripCursor.after(TestEntityFactory.createTripSummary(middle), false));
     }
 
     @Test
-    void getTripMaintenanceStats_allUpdatesMissingGeocoding_shouldReflectCorrectly() {
+    void getAllTripsPage_withCursor_shouldQueryAfterCursorAndEndWithoutNextCursor() {
         // Given
-        UUID tripId = UUID.randomUUID();
-        Trip trip = TestEntityFactory.createTrip(tripId, "No Geocoding Trip");
-        TripUpdate update1 = TestEntityFactory.createTripUpdate(UUID.randomUUID(), trip);
-        update1.setCity(null);
-        update1.setCountry(null);
-        TripUpdate update2 = TestEntityFactory.createTripUpdate(UUID.randomUUID(), trip);
-        update2.setCity(null);
-        update2.setCountry(null);
-        trip.setTripUpdates(List.of(update1, update2));
+        Trip previous = tripCreatedAt(UUID.randomUUID(), "2025-06-02T00:00:00Z");
+        Trip last = tripCreatedAt(UUID.randomUUID(), "2025-06-01T00:00:00Z");
+        String cursor =
+                TripCursor.after(TestEntityFactory.createTripSummary(previous), false).encode();
 
-        when(tripRepository.findAll()).thenReturn(List.of(trip));
+        when(tripRepository.findPage(
+                        previous.getCreationTimestamp(), previous.getId(), Limit.of(3)))
+                .thenReturn(summaries(last));
 
         // When
-        TripMaintenanceStatsDTO stats = tripService.getTripMaintenanceStats();
+        CursorPage<TripSummaryDTO> page = tripService.getAllTrips(cursor, 2);
 
         // Then
-        assertThat(stats.totalUpdates()).isEqualTo(2);
-        assertThat(stats.updatesWithGeocoding()).isZero();
-        assertThat(stats.updatesMissingGeocoding()).isEqualTo(2);
+        assertThat(page.items()).hasSize(1);
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void getAllTripsPage_withInvalidCursor_shouldThrowIllegalArgumentException() {
+        assertThatThrownBy(() -> tripService.getAllTrips("garbage", 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void getAllAvailableTripsForUserPage_shouldPassFriendIdsAndLimit() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        UUID friendId = UUID.randomUUID();
+        Friendship friendship = Friendship.builder().userId(userId).friendId(friendId).build();
+        TripCursor first = TripCursor.first(false);
+
+        when(friendshipRepository.findByUserId(userId)).thenReturn(List.of(friendship));
+        when(tripRepository.findAvailablePageForUser(
+                        userId,
+                        List.of(friendId),
+                        first.creationTimestamp(),
+                        first.id(),
+                        Limit.of(11)))
+                .thenReturn(List.of());
+
+        // When
+        CursorPage<TripSummaryDTO> page = tripService.getAllAvailableTripsForUser(userId, null, 10);
+
+        // Then
+        assertThat(page.items()).isEmpty();
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void getOngoingPublicTripsPage_shouldReturnFeedCursor() {
+        // Given
+        UUID requestingUserId = UUID.randomUUID();
+        UUID followedId = UUID.randomUUID();
+        Trip trip = tripOwnedBy(followedId, "2025-06-01T00:00:00Z");
+        String next = TripCursor.after(TestEntityFactory.createTripSummary(trip), true).encode();
+
+        when(followedUsersCache.getFollowedUserIds(requestingUserId))
+                .thenReturn(Set.of(followedId));
+        when(ongoingTripFeed.page(Set.of(followedId), "cursor", 1))
+                .thenReturn(new CursorPage<>(List.of(trip.getId()), next));
+        when(tripRepository.findSummariesByIdIn(List.of(trip.getId())))
+                .thenReturn(summaries(trip));
+
+        // When
+        CursorPage<TripSummaryDTO> page =
+                tripService.getOngoingPublicTrips(requestingUserId, "cursor", 1);
+
+        // Then
+        assertThat(page.items())
+                .extracting(TripSummaryDTO::id)
+                .containsExactly(trip.getId().toString());
+        assertThat(page.nextCursor()).isEqualTo(next);
+    }
+
+    @Test
+    void getOngoingPublicTripsPage_whenEveryTripFilteredOut_shouldKeepCursor() {
+        // Given
+        Trip finished = tripOwnedBy(UUID.randomUUID(), "2025-06-01T00:00:00Z");
+        finished.getTripSettings().setTripStatus(TripStatus.FINISHED);
+
+        when(ongoingTripFeed.page(Set.of(), null, 1))
+                .thenReturn(new CursorPage<>(List.of(finished.getId()), "next"));
+        when(tripRepository.findSummariesByIdIn(List.of(finished.getId())))
+                .thenReturn(summaries(finished));
+
+        // When
+        CursorPage<TripSummaryDTO> page = tripService.getOngoingPublicTrips(null, null, 1);
+
+        // Then
+        assertThat(page.items()).isEmpty();
+        assertThat(page.nextCursor()).isEqualTo("next");
+        verifyNoInteractions(followedUsersCache);
+    }
+
+    @Test
+    void getOngoingPublicTripsPage_whenFeedDisabledAndAnonymous_shouldPageAllOngoingTrips() {
+        // Given
+        feedProperties.setEnabled(false);
+        Trip trip = tripCreatedAt(UUID.randomUUID(), "2025-06-01T00:00:00Z");
+        TripCursor first = TripCursor.first(false);
+
+        when(tripRepository.findPageByVisibilityAndStatusIn(
+                        TripVisibility.PUBLIC,
+                        List.of(TripStatus.CREATED, TripStatus.IN_PROGRESS),
+                        first.creationTimestamp(),
+                        first.id(),
+                        Limit.of(6)))
+                .thenReturn(summaries(trip));
+
+        // When
+        CursorPage<TripSummaryDTO> page = tripService.getOngoingPublicTrips(null, null, 5);
+
+        // Then
+        assertThat(page.items())
+                .extracting(TripSummaryDTO::id)
+                .containsExactly(trip.getId().toString());
+        assertThat(page.nextCursor()).isNull();
+        verifyNoInteractions(followedUsersCache, ongoingTripFeed);
+    }
+
+    @Test
+    void getOngoingPublicTripsPage_whenFeedDisabledAndFollowedTripsFillPage_shouldStayInSegment() {
+        // Given
+        feedProperties.setEnabled(false);
+        UUID requestingUserId = UUID.randomUUID();
+        UUID followedId = UUID.randomUUID();
+        Trip followed1 = tripOwnedBy(followedId, "2025-06-03T00:00:00Z");
+        Trip followed2 = tripOwnedBy(followedId, "2025-06-02T00:00:00Z");
+        TripCursor first = TripCursor.first(true);
+
+        when(followedUsersCache.getFollowedUserIds(requestingUserId))
+                .thenReturn(Set.of(followedId));
+        when(tripRepository.findPageByVisibilityAndStatusInAndUserIdIn(
+                        TripVisibility.PUBLIC,
+                        List.of(TripStatus.CREATED, TripStatus.IN_PROGRESS),
+                        Set.of(followedId),
+                        first.creationTimestamp(),
+                        first.id(),
+                        Limit.of(2)))
+                .thenReturn(summaries(followed1, followed2));
+
+        // When
+        CursorPage<TripSummaryDTO> page =
+                tripService.getOngoingPublicTrips(requestingUserId, null, 1);
+
+        // Then
+        assertThat(page.items())
+                .extracting(TripSummaryDTO::id)
+                .containsExactly(followed1.getId().toString());
+        assertThat(TripCursor.decode(page.nextCursor()))
+                .isEqualTo(TripCursor.after(TestEntityFactory.createTripSummary(followed1), true));
+        verify(tripRepository, never())
+                .findPageByVisibilityAndStatusInAndUserIdNotIn(
+                        any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void getOngoingPublicTripsPage_whenFeedDisabledAndFollowedTripsRunOut_shouldTopUp() {
+        // Given
+        feedProperties.setEnabled(false);
+        UUID requestingUserId = UUID.randomUUID();
+        UUID followedId = UUID.randomUUID();
+        Trip followed = tripOwnedBy(followedId, "2025-06-01T00:00:00Z");
+        Trip other1 = tripOwnedBy(UUID.randomUUID(), "2025-06-03T00:00:00Z");
+        Trip other2 = tripOwnedBy(UUID.randomUUID(), "2025-06-02T00:00:00Z");
+        TripCursor firstFollowed = TripCursor.first(true);
+        TripCursor firstOther = TripCursor.first(false);
+
+        when(followedUsersCache.getFollowedUserIds(requestingUserId))
+                .thenReturn(Set.of(followedId));
+        when(tripRepository.findPageByVisibilityAndStatusInAndUserIdIn(
+                        TripVisibility.PUBLIC,
+                        List.of(TripStatus.CREATED, TripStatus.IN_PROGRESS),
+                        Set.of(followedId),
+                        firstFollowed.creationTimestamp(),
+                        firstFollowed.id(),
+                        Limit.of(3)))
+                .thenReturn(summaries(followed));
+        when(tripRepository.findPageByVisibilityAndStatusInAndUserIdNotIn(
+                        TripVisibility.PUBLIC,
+                        List.of(TripStatus.CREATED, TripStatus.IN_PROGRESS),
+                        Set.of(followedId),
+                        firstOther.creationTimestamp(),
+                        firstOther.id(),
+                        Limit.of(2)))
+                .thenReturn(summaries(other1, other2));
+
+        // When
+        CursorPage<TripSummaryDTO> page =
+                tripService.getOngoingPublicTrips(requestingUserId, null, 2);
+
+        // Then
+        assertThat(page.items())
+                .extracting(TripSummaryDTO::id)
+                .containsExactly(followed.getId().toString(), other1.getId().toString());
+        assertThat(TripCursor.decode(page.nextCursor()))
+                .isEqualTo(TripCursor.after(TestEntityFactory.createTripSummary(other1), false));
+    }
+
+    @Test
+    void streamAllTrips_shouldEmitEveryPage() {
+        // Given
+        int pageSize = TripServiceImpl.STREAM_PAGE_SIZE;
+        List<Trip> firstPage = new ArrayList<>();
+        Instant base = Instant.parse("2025-06-01T00:00:00Z");
+        for (int i = 0; i <= pageSize; i++) {
+            firstPage.add(tripCreatedAt(UUID.randomUUID(), base.minusSeconds(i).toString()));
+        }
+        Trip lastOfFirstPage = firstPage.get(pageSize - 1);
+        Trip onlyOfSecondPage = firstPage.get(pageSize);
+
+        TripCursor first = TripCursor.first(false);
+        when(tripRepository.findPage(first.creationTimestamp(), first.id(), Limit.of(pageSize + 1)))
+                .thenReturn(firstPage.stream().map(TestEntityFactory::createTripSummary).toList());
+        when(tripRepository.findPage(
+                        eq(lastOfFirstPage.getCreationTimestamp()),
+                        eq(lastOfFirstPage.getId()),
+                        eq(Limit.of(pageSize + 1))))
+                .thenReturn(summaries(onlyOfSecondPage));
+
+        List<TripSummaryDTO> emitted = new ArrayList<>();
+
+        // When
+        tripService.streamAllTrips(emitted::add);
+
+        // Then
+        assertThat(emitted).hasSize(pageSize + 1);
+        assertThat(emitted.getLast().id()).isEqualTo(onlyOfSecondPage.getId().toString());
+        verify(tripRepository, times(2)).findPage(any(), any(), any());
+    }
+
+    private static List<TripSummaryDTO> summaries(Trip... trips) {
+        return Stream.of(trips).map(TestEntityFactory::createTripSummary).toList();
+    }
+
+    private static Trip tripCreatedAt(UUID tripId, String creationTimestamp) {
+        Trip trip = TestEntityFactory.createTrip(tripId);
+        trip.setCreationTimestamp(Instant.parse(creationTimestamp));
+        return trip;
+    }
+
+    private static Trip tripOwnedBy(UUID userId, String creationTimestamp) {
+        Trip trip = TestEntityFactory.createTripWithUser(UUID.randomUUID(), userId, "Trip");
+        trip.getTripSettings().setTripStatus(TripStatus.IN_PROGRESS);
+        trip.setCreationTimestamp(Instant.parse(creationTimestamp));
+        return trip;
+    }
+
+    private static TripRepository.PolylineCoverage coverage(
+            long totalTrips, long tripsWithPolyline, long tripsWithMultipleLocations) {
+        return new TripRepository.PolylineCoverage() {
+            @Override
+            public long getTotalTrips() {
+                return totalTrips;
+            }
+
+            @Override
+            public long getTripsWithPolyline() {
+                return tripsWithPolyline;
+            }
+
+            @Override
+            public long getTripsWithMultipleLocations() {
+                return tripsWithMultipleLocations;
+            }
+        };
     }
 }
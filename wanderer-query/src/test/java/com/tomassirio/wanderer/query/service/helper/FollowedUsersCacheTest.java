@@ -0,0 +1,148 @@
+package com.tomassirio.wanderer.query.service.helper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.tomassirio.wanderer.commons.notification.ReadModelChange;
+import com.tomassirio.wanderer.query.config.properties.FollowCacheProperties;
+import com.tomassirio.wanderer.query.notification.ReadModelListenerConnectedEvent;
+import com.tomassirio.wanderer.query.repository.UserFollowRepository;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class FollowedUsersCacheTest {
+
+    private static final UUID FOLLOWER_ID = UUID.randomUUID();
+    private static final UUID FOLLOWED_ID = UUID.randomUUID();
+
+    @Mock private UserFollowRepository userFollowRepository;
+
+    private FollowedUsersCache followedUsersCache;
+
+    @BeforeEach
+    void setUp() {
+        followedUsersCache =
+                new FollowedUsersCache(userFollowRepository, new FollowCacheProperties());
+    }
+
+    @Test
+    void getFollowedUserIds_shouldLoadOnceAndServeRepeatsFromCache() {
+        // Given
+        when(userFollowRepository.findFollowedIdsByFollowerId(FOLLOWER_ID))
+                .thenReturn(List.of(FOLLOWED_ID));
+
+        // When
+        Set<UUID> first = followedUsersCache.getFollowedUserIds(FOLLOWER_ID);
+        Set<UUID> second = followedUsersCache.getFollowedUserIds(FOLLOWER_ID);
+
+        // Then
+        assertThat(first).containsExactly(FOLLOWED_ID);
+        assertThat(second).containsExactly(FOLLOWED_ID);
+        verify(userFollowRepository, times(1)).findFollowedIdsByFollowerId(FOLLOWER_ID);
+    }
+
+    @Test
+    void getFollowedUserIds_whenFollowingNoOne_shouldCacheEmptySet() {
+        // Given
+        when(userFollowRepository.findFollowedIdsByFollowerId(FOLLOWER_ID)).thenReturn(List.of());
+
+        // When
+        Set<UUID> first = followedUsersCache.getFollowedUserIds(FOLLOWER_ID);
+        followedUsersCache.getFollowedUserIds(FOLLOWER_ID);
+
+        // Then
+        assertThat(first).isEmpty();
+        verify(userFollowRepository, times(1)).findFollowedIdsByFollowerId(FOLLOWER_ID);
+    }
+
+    @Test
+    void onReadModelChange_whenFollowsChanged_shouldEvictFollower() {
+        // Given
+        when(userFollowRepository.findFollowedIdsByFollowerId(FOLLOWER_ID))
+                .thenReturn(List.of())
+                .thenReturn(List.of(FOLLOWED_ID));
+        followedUsersCache.getFollowedUserIds(FOLLOWER_ID);
+
+        // When
+        followedUsersCache.onReadModelChange(ReadModelChange.follow(FOLLOWER_ID));
+        Set<UUID> result = followedUsersCache.getFollowedUserIds(FOLLOWER_ID);
+
+        // Then
+        assertThat(result).containsExactly(FOLLOWED_ID);
+    }
+
+    @Test
+    void getFollowedUserIds_whenEvictedWhileLoading_shouldNotCacheStaleList() {
+        // Given — the follow change lands between the query and the cache write
+        when(userFollowRepository.findFollowedIdsByFollowerId(FOLLOWER_ID))
+                .thenAnswer(
+                        invocation -> {
+                            followedUsersCache.onReadModelChange(
+                                    ReadModelChange.follow(FOLLOWER_ID));
+                            return List.of();
+                        })
+                .thenReturn(List.of(FOLLOWED_ID));
+
+        // When
+        Set<UUID> stale = followedUsersCache.getFollowedUserIds(FOLLOWER_ID);
+        Set<UUID> fresh = followedUsersCache.getFollowedUserIds(FOLLOWER_ID);
+
+        // Then
+        assertThat(stale).isEmpty();
+        assertThat(fresh).containsExactly(FOLLOWED_ID);
+    }
+
+    @Test
+    void onReadModelChange_whenUserChanged_shouldEvictIt() {
+        // Given
+        when(userFollowRepository.findFollowedIdsByFollowerId(FOLLOWER_ID))
+                .thenReturn(List.of(FOLLOWED_ID));
+        followedUsersCache.getFollowedUserIds(FOLLOWER_ID);
+
+        // When
+        followedUsersCache.onReadModelChange(ReadModelChange.user(FOLLOWER_ID));
+        followedUsersCache.getFollowedUserIds(FOLLOWER_ID);
+
+        // Then
+        verify(userFollowRepository, times(2)).findFollowedIdsByFollowerId(FOLLOWER_ID);
+    }
+
+    @Test
+    void onReadModelChange_whenTripChanged_shouldKeepEntries() {
+        // Given
+        when(userFollowRepository.findFollowedIdsByFollowerId(FOLLOWER_ID))
+                .thenReturn(List.of(FOLLOWED_ID));
+        followedUsersCache.getFollowedUserIds(FOLLOWER_ID);
+
+        // When
+        followedUsersCache.onReadModelChange(ReadModelChange.trip(FOLLOWER_ID));
+        followedUsersCache.getFollowedUserIds(FOLLOWER_ID);
+
+        // Then
+        verify(userFollowRepository, times(1)).findFollowedIdsByFollowerId(FOLLOWER_ID);
+    }
+
+    @Test
+    void onListenerConnected_shouldClearEverything() {
+        // Given
+        when(userFollowRepository.findFollowedIdsByFollowerId(FOLLOWER_ID))
+                .thenReturn(List.of(FOLLOWED_ID));
+        followedUsersCache.getFollowedUserIds(FOLLOWER_ID);
+
+        // When
+        followedUsersCache.onListenerConnected(new ReadModelListenerConnectedEvent());
+        followedUsersCache.getFollowedUserIds(FOLLOWER_ID);
+
+        // Then
+        verify(userFollowRepository, times(2)).findFollowedIdsByFollowerId(FOLLOWER_ID);
+    }
+}
@@ -0,0 +1,338 @@
+package com.tomassirio.wanderer.query.service.helper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.tomassirio.wanderer.commons.domain.TripVisibility;
+import com.tomassirio.wanderer.commons.notification.ReadModelChange;
+import com.tomassirio.wanderer.query.config.properties.OngoingTripFeedProperties;
+import com.tomassirio.wanderer.query.dto.CursorPage;
+import com.tomassirio.wanderer.query.dto.TripCursor;
+import com.tomassirio.wanderer.query.notification.ReadModelListenerConnectedEvent;
+import com.tomassirio.wanderer.query.repository.TripRepository;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class OngoingTripFeedTest {
+
+    private static final UUID FOLLOWED_ID = UUID.randomUUID();
+
+    @Mock private TripRepository tripRepository;
+
+    private OngoingTripFeed ongoingTripFeed;
+
+    @BeforeEach
+    void setUp() {
+        ongoingTripFeed = new OngoingTripFeed(tripRepository, new OngoingTripFeedProperties());
+    }
+
+    @Test
+    void page_whenAnonymous_shouldReturnTripsNewestFirst() {
+        // Given
+        TripRepository.FeedEntry newest = entry(UUID.randomUUID(), "2025-06-03T00:00:00Z");
+        TripRepository.FeedEntry middle = entry(UUID.randomUUID(), "2025-06-02T00:00:00Z");
+        TripRepository.FeedEntry oldest = entry(UUID.randomUUID(), "2025-06-01T00:00:00Z");
+        givenFeed(oldest, newest, middle);
+
+        // When
+        CursorPage<UUID> first = ongoingTripFeed.page(Set.of(), null, 2);
+        CursorPage<UUID> second = ongoingTripFeed.page(Set.of(), first.nextCursor(), 2);
+
+        // Then
+        assertThat(first.items()).containsExactly(newest.getId(), middle.getId());
+        assertThat(TripCursor.decode(first.nextCursor()))
+                .isEqualTo(
+                        new TripCursor(middle.getCreationTimestamp(), middle.getId(), false));
+        assertThat(second.items()).containsExactly(oldest.getId());
+        assertThat(second.nextCursor()).isNull();
+    }
+
+    @Test
+    void page_whenCreatedAtSameInstant_shouldOrderIdsUnsignedLikePostgres() {
+        // Given
+        TripRepository.FeedEntry low =
+                entry(
+                        UUID.fromString("00000000-0000-0000-0000-000000000001"),
+                        UUID.randomUUID(),
+                        "2025-06-01T00:00:00Z");
+        TripRepository.FeedEntry high =
+                entry(
+                        UUID.fromString("80000000-0000-0000-0000-000000000001"),
+                        UUID.randomUUID(),
+                        "2025-06-01T00:00:00Z");
+        givenFeed(low, high);
+
+        // When
+        CursorPage<UUID> page = ongoingTripFeed.page(Set.of(), null, 10);
+
+        // Then
+        assertThat(page.items()).containsExactly(high.getId(), low.getId());
+    }
+
+    @Test
+    void page_whenFollowedTripsRunOut_shouldTopUpWithOtherTrips() {
+        // Given
+        TripRepository.FeedEntry followed =
+                entry(UUID.randomUUID(), FOLLOWED_ID, "2025-06-01T00:00:00Z");
+        TripRepository.FeedEntry other1 = entry(UUID.randomUUID(), "2025-06-03T00:00:00Z");
+        TripRepository.FeedEntry other2 = entry(UUID.randomUUID(), "2025-06-02T00:00:00Z");
+        givenFeed(other1, followed, other2);
+
+        // When
+        CursorPage<UUID> first = ongoingTripFeed.page(Set.of(FOLLOWED_ID), null, 2);
+        CursorPage<UUID> second = ongoingTripFeed.page(Set.of(FOLLOWED_ID), first.nextCursor(), 2);
+
+        // Then
+        assertThat(first.items()).containsExactly(followed.getId(), other1.getId());
+        assertThat(TripCursor.decode(first.nextCursor()).followedSegment()).isFalse();
+        assertThat(second.items()).containsExactly(other2.getId());
+        assertThat(second.nextCursor()).isNull();
+    }
+
+    @Test
+    void page_whenPagingOneByOne_shouldVisitEveryTripOnceWithFollowedFirst() {
+        // Given
+        TripRepository.FeedEntry followed1 =
+                entry(UUID.randomUUID(), FOLLOWED_ID, "2025-06-03T00:00:00Z");
+        TripRepository.FeedEntry followed2 =
+                entry(UUID.randomUUID(), FOLLOWED_ID, "2025-06-01T00:00:00Z");
+        TripRepository.FeedEntry other1 = entry(UUID.randomUUID(), "2025-06-04T00:00:00Z");
+        TripRepository.FeedEntry other2 = entry(UUID.randomUUID(), "2025-06-02T00:00:00Z");
+        givenFeed(followed1, followed2, other1, other2);
+
+        // When
+        List<UUID> visited = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<UUID> page = ongoingTripFeed.page(Set.of(FOLLOWED_ID), cursor, 1);
+            visited.addAll(page.items());
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        // Then
+        assertThat(visited)
+                .containsExactly(
+                        followed1.getId(), followed2.getId(), other1.getId(), other2.getId());
+    }
+
+    @Test
+    void page_whenSeveralFollowedUsers_shouldMergeTheirTripsNewestFirstUpToLimit() {
+        // Given
+        UUID otherFollowedId = UUID.randomUUID();
+        TripRepository.FeedEntry a1 = entry(UUID.randomUUID(), FOLLOWED_ID, "2025-06-05T00:00:00Z");
+        TripRepository.FeedEntry b1 =
+                entry(UUID.randomUUID(), otherFollowedId, "2025-06-04T00:00:00Z");
+        TripRepository.FeedEntry a2 = entry(UUID.randomUUID(), FOLLOWED_ID, "2025-06-03T00:00:00Z");
+        TripRepository.FeedEntry b2 =
+                entry(UUID.randomUUID(), otherFollowedId, "2025-06-02T00:00:00Z");
+        givenFeed(b2, a2, b1, a1);
+
+        // When
+        CursorPage<UUID> first =
+                ongoingTripFeed.page(Set.of(FOLLOWED_ID, otherFollowedId), null, 3);
+        CursorPage<UUID> second =
+                ongoingTripFeed.page(Set.of(FOLLOWED_ID, otherFollowedId), first.nextCursor(), 3);
+
+        // Then
+        assertThat(first.items()).containsExactly(a1.getId(), b1.getId(), a2.getId());
+        assertThat(TripCursor.decode(first.nextCursor()).followedSegment()).isTrue();
+        assertThat(second.items()).containsExactly(b2.getId());
+    }
+
+    @Test
+    void page_shouldLoadFromDatabaseOnlyOnce() {
+        // Given
+        givenFeed(entry(UUID.randomUUID(), "2025-06-01T00:00:00Z"));
+
+        // When
+        ongoingTripFeed.page(Set.of(), null, 10);
+        ongoingTripFeed.page(Set.of(), null, 10);
+
+        // Then
+        verify(tripRepository, times(1))
+                .findFeedEntriesByVisibilityAndStatusIn(
+                        TripVisibility.PUBLIC, OngoingTripFeed.ONGOING_STATUSES);
+    }
+
+    @Test
+    void onReadModelChange_whenTripBecameOngoing_shouldAddItInOrder() {
+        // Given
+        TripRepository.FeedEntry existing = entry(UUID.randomUUID(), "2025-06-01T00:00:00Z");
+        TripRepository.FeedEntry started = entry(UUID.randomUUID(), "2025-06-02T00:00:00Z");
+        givenFeed(existing);
+        ongoingTripFeed.page(Set.of(), null, 10);
+        when(tripRepository.findFeedEntryByIdAndVisibilityAndStatusIn(
+                        started.getId(), TripVisibility.PUBLIC, OngoingTripFeed.ONGOING_STATUSES))
+                .thenReturn(Optional.of(started));
+
+        // When
+        ongoingTripFeed.onReadModelChange(ReadModelChange.trip(started.getId()));
+        CursorPage<UUID> page = ongoingTripFeed.page(Set.of(), null, 10);
+
+        // Then
+        assertThat(page.items()).containsExactly(started.getId(), existing.getId());
+    }
+
+    @Test
+    void onReadModelChange_whenTripNoLongerOngoing_shouldRemoveIt() {
+        // Given
+        TripRepository.FeedEntry finished = entry(UUID.randomUUID(), "2025-06-02T00:00:00Z");
+        TripRepository.FeedEntry ongoing = entry(UUID.randomUUID(), "2025-06-01T00:00:00Z");
+        givenFeed(finished, ongoing);
+        ongoingTripFeed.page(Set.of(), null, 10);
+        when(tripRepository.findFeedEntryByIdAndVisibilityAndStatusIn(
+                        finished.getId(), TripVisibility.PUBLIC, OngoingTripFeed.ONGOING_STATUSES))
+                .thenReturn(Optional.empty());
+
+        // When
+        ongoingTripFeed.onReadModelChange(ReadModelChange.trip(finished.getId()));
+        CursorPage<UUID> page = ongoingTripFeed.page(Set.of(), null, 10);
+
+        // Then
+        assertThat(page.items()).containsExactly(ongoing.getId());
+    }
+
+    @Test
+    void onReadModelChange_whenUserChanged_shouldDropTheirTrips() {
+        // Given
+        TripRepository.FeedEntry deletedUsers =
+                entry(UUID.randomUUID(), FOLLOWED_ID, "2025-06-02T00:00:00Z");
+        TripRepository.FeedEntry other = entry(UUID.randomUUID(), "2025-06-01T00:00:00Z");
+        givenFeed(deletedUsers, other);
+        ongoingTripFeed.page(Set.of(), null, 10);
+
+        // When
+        ongoingTripFeed.onReadModelChange(ReadModelChange.user(FOLLOWED_ID));
+        CursorPage<UUID> page = ongoingTripFeed.page(Set.of(FOLLOWED_ID), null, 10);
+
+        // Then
+        assertThat(page.items()).containsExactly(other.getId());
+    }
+
+    @Test
+    void onReadModelChange_beforeFirstLoad_shouldNotQuery() {
+        // When
+        ongoingTripFeed.onReadModelChange(ReadModelChange.trip(UUID.randomUUID()));
+
+        // Then
+        verifyNoInteractions(tripRepository);
+    }
+
+    @Test
+    void onReadModelChange_duringFirstLoad_shouldBeReplayedOntoLoadedFeed() {
+        // Given — the trip starts after the load read the trips table
+        TripRepository.FeedEntry existing = entry(UUID.randomUUID(), "2025-06-01T00:00:00Z");
+        TripRepository.FeedEntry started = entry(UUID.randomUUID(), "2025-06-02T00:00:00Z");
+        when(tripRepository.findFeedEntriesByVisibilityAndStatusIn(
+                        TripVisibility.PUBLIC, OngoingTripFeed.ONGOING_STATUSES))
+                .thenAnswer(
+                        invocation -> {
+                            ongoingTripFeed.onReadModelChange(
+                                    ReadModelChange.trip(started.getId()));
+                            return List.of(existing);
+                        });
+        when(tripRepository.findFeedEntryByIdAndVisibilityAndStatusIn(
+                        started.getId(), TripVisibility.PUBLIC, OngoingTripFeed.ONGOING_STATUSES))
+                .thenReturn(Optional.of(started));
+
+        // When
+        CursorPage<UUID> page = ongoingTripFeed.page(Set.of(), null, 10);
+
+        // Then
+        assertThat(page.items()).containsExactly(started.getId(), existing.getId());
+    }
+
+    @Test
+    void page_whenFeedExpired_shouldServePreviousFeedWhileRebuilding() throws Exception {
+        // Given
+        OngoingTripFeedProperties properties = new OngoingTripFeedProperties();
+        properties.setMaxAge(Duration.ZERO);
+        ongoingTripFeed = new OngoingTripFeed(tripRepository, properties);
+        TripRepository.FeedEntry before = entry(UUID.randomUUID(), "2025-06-01T00:00:00Z");
+        TripRepository.FeedEntry after = entry(UUID.randomUUID(), "2025-06-02T00:00:00Z");
+        CountDownLatch rebuildMayFinish = new CountDownLatch(1);
+        when(tripRepository.findFeedEntriesByVisibilityAndStatusIn(
+                        TripVisibility.PUBLIC, OngoingTripFeed.ONGOING_STATUSES))
+                .thenReturn(List.of(before))
+                .thenAnswer(
+                        invocation -> {
+                            rebuildMayFinish.await(5, TimeUnit.SECONDS);
+                            return List.of(after);
+                        });
+        ongoingTripFeed.page(Set.of(), null, 10);
+
+        // When
+        CursorPage<UUID> page = ongoingTripFeed.page(Set.of(), null, 10);
+        rebuildMayFinish.countDown();
+
+        // Then
+        assertThat(page.items()).containsExactly(before.getId());
+        verify(tripRepository, timeout(5000).times(2))
+                .findFeedEntriesByVisibilityAndStatusIn(
+                        TripVisibility.PUBLIC, OngoingTripFeed.ONGOING_STATUSES);
+    }
+
+    @Test
+    void onListenerConnected_shouldRebuildOnNextPage() {
+        // Given
+        givenFeed(entry(UUID.randomUUID(), "2025-06-01T00:00:00Z"));
+        ongoingTripFeed.page(Set.of(), null, 10);
+
+        // When
+        ongoingTripFeed.onListenerConnected(new ReadModelListenerConnectedEvent());
+        ongoingTripFeed.page(Set.of(), null, 10);
+
+        // Then
+        verify(tripRepository, timeout(5000).times(2))
+                .findFeedEntriesByVisibilityAndStatusIn(
+                        TripVisibility.PUBLIC, OngoingTripFeed.ONGOING_STATUSES);
+    }
+
+    private void givenFeed(TripRepository.FeedEntry... entries) {
+        when(tripRepository.findFeedEntriesByVisibilityAndStatusIn(
+                        TripVisibility.PUBLIC, OngoingTripFeed.ONGOING_STATUSES))
+                .thenReturn(List.of(entries));
+    }
+
+    private static TripRepository.FeedEntry entry(UUID tripId, String creationTimestamp) {
+        return entry(tripId, UUID.randomUUID(), creationTimestamp);
+    }
+
+    private static TripRepository.FeedEntry entry(
+            UUID tripId, UUID userId, String creationTimestamp) {
+        Instant createdAt = Instant.parse(creationTimestamp);
+        return new TripRepository.FeedEntry() {
+            @Override
+            public UUID getId() {
+                return tripId;
+            }
+
+            @Override
+            public UUID getUserId() {
+                return userId;
+            }
+
+            @Override
+            public Instant getCreationTimestamp() {
+                return createdAt;
+            }
+        };
+    }
+}
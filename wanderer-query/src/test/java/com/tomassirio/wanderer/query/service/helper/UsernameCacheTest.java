@@ -0,0 +1,128 @@
+package com.tomassirio.wanderer.query.service.helper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.tomassirio.wanderer.commons.notification.ReadModelChange;
+import com.tomassirio.wanderer.query.config.properties.UsernameCacheProperties;
+import com.tomassirio.wanderer.query.notification.ReadModelListenerConnectedEvent;
+import com.tomassirio.wanderer.query.repository.UserRepository;
+import java.util.Optional;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class UsernameCacheTest {
+
+    private static final UUID USER_ID = UUID.randomUUID();
+
+    @Mock private UserRepository userRepository;
+
+    private UsernameCache usernameCache;
+
+    @BeforeEach
+    void setUp() {
+        usernameCache = new UsernameCache(userRepository, new UsernameCacheProperties());
+    }
+
+    @Test
+    void getUsername_shouldLoadOnceAndServeRepeatsFromCache() {
+        // Given
+        when(userRepository.findUsernameById(USER_ID)).thenReturn(Optional.of("alice"));
+
+        // When
+        Optional<String> first = usernameCache.getUsername(USER_ID);
+        Optional<String> second = usernameCache.getUsername(USER_ID);
+
+        // Then
+        assertThat(first).contains("alice");
+        assertThat(second).contains("alice");
+        verify(userRepository, times(1)).findUsernameById(USER_ID);
+    }
+
+    @Test
+    void getUsername_whenUserUnknown_shouldNotCacheTheMiss() {
+        // Given
+        when(userRepository.findUsernameById(USER_ID))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of("alice"));
+
+        // When
+        Optional<String> first = usernameCache.getUsername(USER_ID);
+        Optional<String> second = usernameCache.getUsername(USER_ID);
+
+        // Then
+        assertThat(first).isEmpty();
+        assertThat(second).contains("alice");
+    }
+
+    @Test
+    void getUsername_whenEvictedWhileLoading_shouldNotCacheStaleName() {
+        // Given — the user is deleted between the query and the cache write
+        when(userRepository.findUsernameById(USER_ID))
+                .thenAnswer(
+                        invocation -> {
+                            usernameCache.onReadModelChange(ReadModelChange.user(USER_ID));
+                            return Optional.of("alice");
+                        })
+                .thenReturn(Optional.empty());
+
+        // When
+        Optional<String> stale = usernameCache.getUsername(USER_ID);
+        Optional<String> fresh = usernameCache.getUsername(USER_ID);
+
+        // Then
+        assertThat(stale).contains("alice");
+        assertThat(fresh).isEmpty();
+    }
+
+    @Test
+    void onReadModelChange_whenUserChanged_shouldEvictIt() {
+        // Given
+        when(userRepository.findUsernameById(USER_ID)).thenReturn(Optional.of("alice"));
+        usernameCache.getUsername(USER_ID);
+
+        // When
+        usernameCache.onReadModelChange(ReadModelChange.user(USER_ID));
+        usernameCache.getUsername(USER_ID);
+
+        // Then
+        verify(userRepository, times(2)).findUsernameById(USER_ID);
+    }
+
+    @Test
+    void onListenerConnected_shouldClearEverything() {
+        // Given
+        when(userRepository.findUsernameById(USER_ID)).thenReturn(Optional.of("alice"));
+        usernameCache.getUsername(USER_ID);
+
+        // When
+        usernameCache.onListenerConnected(new ReadModelListenerConnectedEvent());
+        usernameCache.getUsername(USER_ID);
+
+        // Then
+        verify(userRepository, times(2)).findUsernameById(USER_ID);
+    }
+
+    @Test
+    void getUsername_whenDisabled_shouldAlwaysLoad() {
+        // Given
+        UsernameCacheProperties properties = new UsernameCacheProperties();
+        properties.setEnabled(false);
+        usernameCache = new UsernameCache(userRepository, properties);
+        when(userRepository.findUsernameById(USER_ID)).thenReturn(Optional.of("alice"));
+
+        // When
+        usernameCache.getUsername(USER_ID);
+        usernameCache.getUsername(USER_ID);
+
+        // Then
+        verify(userRepository, times(2)).findUsernameById(USER_ID);
+    }
+}
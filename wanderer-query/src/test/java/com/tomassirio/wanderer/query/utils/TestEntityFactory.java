@@ -1,9 +1,44 @@
 package com.tomassirio.wanderer.query.utils;
 
+import com.tomassirio.wanderer.commons.domain.Trip;
+import com.tomassirio.wanderer.commons.domain.TripDetails;
+import com.tomassirio.wanderer.commons.domain.TripSettings;
 import com.tomassirio.wanderer.commons.utils.BaseTestEntityFactory;
+import com.tomassirio.wanderer.query.dto.TripSummaryDTO;
 
 /**
  * Test entity factory for wanderer-query module. Extends the commons BaseTestEntityFactory. Add
  * query-specific factory methods here if needed.
  */
-public class TestEntityFactory extends BaseTestEntityFactory {}
+public class TestEntityFactory extends BaseTestEntityFactory {
+
+    /** Builds the summary the trip listing queries would select for {@code trip}. */
+    public static TripSummaryDTO createTripSummary(Trip trip) {
+        return createTripSummary(trip, USERNAME);
+    }
+
+    public static TripSummaryDTO createTripSummary(Trip trip, String username) {
+        TripSettings settings = trip.getTripSettings();
+        TripDetails details = trip.getTripDetails();
+        return new TripSummaryDTO(
+                trip.getId(),
+                trip.getName(),
+                trip.getUserId(),
+                username,
+                settings.getTripStatus(),
+                settings.getVisibility(),
+                settings.getUpdateRefresh(),
+                settings.getAutomaticUpdates(),
+                settings.getTripModality(),
+                details.getStartTimestamp(),
+                details.getEndTimestamp(),
+                details.getStartLocation(),
+                details.getEndLocation(),
+                details.getWaypoints(),
+                trip.getTripPlanId(),
+                trip.getEncodedPolyline(),
+                trip.getPolylineUpdatedAt(),
+                trip.getCreationTimestamp(),
+                trip.getEnabled());
+    }
+}